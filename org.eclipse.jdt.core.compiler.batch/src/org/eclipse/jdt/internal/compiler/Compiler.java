@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -560,6 +560,14 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 	public void setBinaryTypes(ReferenceBinding[] binaryTypes) {
 		this.referenceBindings = binaryTypes;
 	}
+	/**
+	 * Called by {@link #resolve(CompilationUnitDeclaration, ICompilationUnit, boolean, boolean, boolean)} once the given
+	 * unit is resolved, before its flow analysis and code generation. Does nothing by default.
+	 */
+	protected void unitResolved(CompilationUnitDeclaration unit) {
+		// nothing by default
+	}
+
 	/*
 	 * Compiler crash recovery in case of unexpected runtime exceptions
 	 */
@@ -973,6 +981,7 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 				}
 				// type checking
 				unit.resolve();
+				unitResolved(unit);
 
 				// flow analysis
 				if (analyzeCode) unit.analyseCode();
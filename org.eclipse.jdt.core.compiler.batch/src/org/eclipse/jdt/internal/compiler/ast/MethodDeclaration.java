@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -59,6 +59,43 @@ public class MethodDeclaration extends AbstractMethodDeclaration {
 		this.bits |= ASTNode.CanBeStatic; // Start with this assumption, will course correct during resolve and analyseCode.
 	}
 
+	/**
+	 * Reports the problems of the declaration of this resolved method that depend on its usage in the
+	 * whole unit: an unused private method, and unused type parameters.
+	 *
+	 * @return whether the body of this method is to be analyzed
+	 */
+	public boolean analyseDeclaration(ClassScope classScope) {
+		if (!this.binding.isUsed() && !this.binding.isAbstract()) {
+			if (this.binding.isPrivate()
+				|| (((this.binding.modifiers & (ExtraCompilerModifiers.AccOverriding|ExtraCompilerModifiers.AccImplementing)) == 0)
+					&& this.binding.isOrEnclosedByPrivateType())) {
+				if (!classScope.referenceCompilationUnit().compilationResult.hasSyntaxError) {
+					this.scope.problemReporter().unusedPrivateMethod(this);
+				}
+			}
+		}
+
+		// skip enum implicit methods
+		if (this.binding.declaringClass.isEnum() && (this.selector == TypeConstants.VALUES || this.selector == TypeConstants.VALUEOF))
+			return false;
+
+		// may be in a non necessary <clinit> for innerclass with static final constant fields
+		if (this.binding.isAbstract() || this.binding.isNative())
+			return false;
+
+		// https://bugs.eclipse.org/bugs/show_bug.cgi?id=385780
+		if (this.typeParameters != null &&
+				!this.scope.referenceCompilationUnit().compilationResult.hasSyntaxError) {
+			for (TypeParameter typeParameter : this.typeParameters) {
+				if ((typeParameter.binding.modifiers  & ExtraCompilerModifiers.AccLocallyUsed) == 0) {
+					this.scope.problemReporter().unusedTypeParameter(typeParameter);
+				}
+			}
+		}
+		return true;
+	}
+
 	public void analyseCode(ClassScope classScope, FlowContext flowContext, FlowInfo flowInfo) {
 		// starting of the code analysis for methods
 		if (this.ignoreFurtherInvestigation)
@@ -67,33 +104,9 @@ public class MethodDeclaration extends AbstractMethodDeclaration {
 			if (this.binding == null)
 				return;
 
-			if (!this.binding.isUsed() && !this.binding.isAbstract()) {
-				if (this.binding.isPrivate()
-					|| (((this.binding.modifiers & (ExtraCompilerModifiers.AccOverriding|ExtraCompilerModifiers.AccImplementing)) == 0)
-						&& this.binding.isOrEnclosedByPrivateType())) {
-					if (!classScope.referenceCompilationUnit().compilationResult.hasSyntaxError) {
-						this.scope.problemReporter().unusedPrivateMethod(this);
-					}
-				}
-			}
-
-			// skip enum implicit methods
-			if (this.binding.declaringClass.isEnum() && (this.selector == TypeConstants.VALUES || this.selector == TypeConstants.VALUEOF))
-				return;
-
-			// may be in a non necessary <clinit> for innerclass with static final constant fields
-			if (this.binding.isAbstract() || this.binding.isNative())
+			if (!analyseDeclaration(classScope))
 				return;
 
-			// https://bugs.eclipse.org/bugs/show_bug.cgi?id=385780
-			if (this.typeParameters != null &&
-					!this.scope.referenceCompilationUnit().compilationResult.hasSyntaxError) {
-				for (TypeParameter typeParameter : this.typeParameters) {
-					if ((typeParameter.binding.modifiers  & ExtraCompilerModifiers.AccLocallyUsed) == 0) {
-						this.scope.problemReporter().unusedTypeParameter(typeParameter);
-					}
-				}
-			}
 			ExceptionHandlingFlowContext methodContext =
 				new ExceptionHandlingFlowContext(
 					flowContext,
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2024 IBM Corporation and others.
+ * Copyright (c) 2011, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -10574,4 +10574,116 @@ public class ASTConverterTestAST8_2 extends ConverterTestSetup {
 			}
 		}
 	}
+	/*
+	 * The method bodies converted on demand are the same as the ones converted with the compilation unit.
+	 */
+	public void testLazyMethodBodies() {
+		final char[] source = ("package p;\n" +
+				"public class X {\n" +
+				"	int field = 1;\n" +
+				"	X() {\n" +
+				"		this(0); // delegate\n" +
+				"	}\n" +
+				"	X(int i) {\n" +
+				"		super();\n" +
+				"		this.field = i;\n" +
+				"	}\n" +
+				"	/** Javadoc */\n" +
+				"	int foo(int[] values) {\n" +
+				"		int sum = 0, count = 0;\n" +
+				"		// loop over the values\n" +
+				"		for (int value : values) {\n" +
+				"			sum += value; /* trailing */\n" +
+				"			count++;\n" +
+				"		}\n" +
+				"		Runnable r = new Runnable() {\n" +
+				"			public void run() {\n" +
+				"				System.out.println(\"run\");\n" +
+				"			}\n" +
+				"		};\n" +
+				"		r.run();\n" +
+				"		return count == 0 ? 0 : sum / count;\n" +
+				"	}\n" +
+				"	abstract class Y {\n" +
+				"		abstract void bar();\n" +
+				"	}\n" +
+				"}\n").toCharArray();
+		ASTParser parser = ASTParser.newParser(getJLSFirst());
+		parser.setKind(ASTParser.K_COMPILATION_UNIT);
+		parser.setSource(source);
+		CompilationUnit eager = (CompilationUnit) parser.createAST(null);
+		parser.setKind(ASTParser.K_COMPILATION_UNIT);
+		parser.setLazyMethodBodies(true);
+		parser.setSource(source);
+		CompilationUnit lazy = (CompilationUnit) parser.createAST(null);
+		assertEquals("Wrong number of problems", 0, lazy.getProblems().length);
+		long modificationCount = lazy.getAST().modificationCount();
+		TypeDeclaration type = (TypeDeclaration) lazy.types().get(0);
+		MethodDeclaration foo = type.getMethods()[2];
+		assertEquals("Wrong size", 5, foo.getBody().statements().size());
+		assertEquals("Wrong parent", foo.getBody(), ((ASTNode) foo.getBody().statements().get(0)).getParent());
+		assertTrue("Not an original node", (((ASTNode) foo.getBody().statements().get(0)).getFlags() & ASTNode.ORIGINAL) != 0);
+		assertEquals("Should not be modified", modificationCount, lazy.getAST().modificationCount());
+		assertTrue("Different trees", lazy.subtreeMatch(new ASTMatcher(true), eager));
+		assertEquals("Different trees", eager.toString(), lazy.toString());
+		final List<String> eagerRanges = new ArrayList<>();
+		final List<String> lazyRanges = new ArrayList<>();
+		eager.accept(new ASTVisitor(true) {
+			@Override
+			public void preVisit(ASTNode node) {
+				eagerRanges.add(node.getStartPosition() + "," + node.getLength() + "," + eager.getExtendedStartPosition(node) + "," + eager.getExtendedLength(node)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			}
+		});
+		lazy.accept(new ASTVisitor(true) {
+			@Override
+			public void preVisit(ASTNode node) {
+				lazyRanges.add(node.getStartPosition() + "," + node.getLength() + "," + lazy.getExtendedStartPosition(node) + "," + lazy.getExtendedLength(node)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			}
+		});
+		assertEquals("Different source ranges", eagerRanges, lazyRanges);
+		assertEquals("Should not be modified", modificationCount, lazy.getAST().modificationCount());
+	}
+	/*
+	 * The method bodies of a tree protected before they are accessed are converted on demand too.
+	 */
+	public void testLazyMethodBodies_Protected() {
+		final char[] source = ("package p;\n" +
+				"public class X {\n" +
+				"	int foo(int[] values) {\n" +
+				"		int sum = 0;\n" +
+				"		for (int value : values) {\n" +
+				"			sum += value;\n" +
+				"		}\n" +
+				"		return sum;\n" +
+				"	}\n" +
+				"}\n").toCharArray();
+		ASTParser parser = ASTParser.newParser(getJLSFirst());
+		parser.setKind(ASTParser.K_COMPILATION_UNIT);
+		parser.setSource(source);
+		CompilationUnit eager = (CompilationUnit) parser.createAST(null);
+		parser.setKind(ASTParser.K_COMPILATION_UNIT);
+		parser.setLazyMethodBodies(true);
+		parser.setSource(source);
+		CompilationUnit lazy = (CompilationUnit) parser.createAST(null);
+		// each block is protected before its statements are converted
+		lazy.accept(new ASTVisitor(true) {
+			@Override
+			public void preVisit(ASTNode node) {
+				node.setFlags(node.getFlags() | ASTNode.PROTECT);
+			}
+		});
+		TypeDeclaration type = (TypeDeclaration) lazy.types().get(0);
+		Block body = type.getMethods()[0].getBody();
+		assertEquals("Wrong size", 3, body.statements().size());
+		ASTNode statement = (ASTNode) body.statements().get(0);
+		assertEquals("Wrong parent", body, statement.getParent());
+		assertTrue("Not a protected node", (statement.getFlags() & ASTNode.PROTECT) != 0);
+		assertTrue("Different trees", lazy.subtreeMatch(new ASTMatcher(true), eager));
+		try {
+			body.statements().remove(0);
+			assertTrue("Should not be modified", false);
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -670,6 +670,12 @@ public class ASTMatcherTest extends org.eclipse.jdt.core.tests.junit.extension.T
 			assertTrue(result == true);
 		}
 
+		// check that a matching copy has the same structural hash code
+		{
+			ASTNode copy = ASTNode.copySubtree(this.ast, node);
+			assertTrue(node.subtreeMatch(new ASTMatcher(true), copy));
+			assertEquals(new ASTHasher().hashCode(node), new ASTHasher().hashCode(copy));
+		}
 	}
 
 	// NAMES
@@ -1593,4 +1599,36 @@ public class ASTMatcherTest extends org.eclipse.jdt.core.tests.junit.extension.T
 		x1.types().add(this.ast.newSimpleType(this.N1));
 		basicMatch(x1);
 	}
+
+	public void testStructuralHashCode() {
+		// x + 1
+		InfixExpression x1 = this.ast.newInfixExpression();
+		x1.setLeftOperand(this.ast.newSimpleName("x")); //$NON-NLS-1$
+		x1.setOperator(InfixExpression.Operator.PLUS);
+		x1.setRightOperand(this.ast.newNumberLiteral("1")); //$NON-NLS-1$
+		// y + 2
+		InfixExpression x2 = this.ast.newInfixExpression();
+		x2.setLeftOperand(this.ast.newSimpleName("y")); //$NON-NLS-1$
+		x2.setOperator(InfixExpression.Operator.PLUS);
+		x2.setRightOperand(this.ast.newNumberLiteral("2")); //$NON-NLS-1$
+		// y - 2
+		InfixExpression x3 = (InfixExpression) ASTNode.copySubtree(this.ast, x2);
+		x3.setOperator(InfixExpression.Operator.MINUS);
+
+		ASTHasher hasher = new ASTHasher();
+		assertFalse(hasher.hashCode(x1) == hasher.hashCode(x2));
+		assertEquals(hasher.hashCode(x2), hasher.hashCode(ASTNode.copySubtree(this.ast, x2)));
+
+		ASTHasher identifiersHasher = new ASTHasher(ASTHasher.NORMALIZE_IDENTIFIERS);
+		assertFalse(identifiersHasher.hashCode(x1) == identifiersHasher.hashCode(x2));
+
+		ASTHasher normalizingHasher = new ASTHasher(ASTHasher.NORMALIZE_IDENTIFIERS | ASTHasher.NORMALIZE_LITERALS);
+		assertEquals(normalizingHasher.hashCode(x1), normalizingHasher.hashCode(x2));
+		assertFalse(normalizingHasher.hashCode(x2) == normalizingHasher.hashCode(x3));
+
+		// the cached hash codes are discarded when the AST is modified
+		x1.setLeftOperand(this.ast.newSimpleName("y")); //$NON-NLS-1$
+		x1.setRightOperand(this.ast.newNumberLiteral("2")); //$NON-NLS-1$
+		assertEquals(hasher.hashCode(x2), hasher.hashCode(x1));
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2017 IBM Corporation and others.
+ * Copyright (c) 2004, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -1364,6 +1364,64 @@ public class ASTModelBridgeTests extends AbstractASTTests {
 			bindings);
 	}
 
+	/*
+	 * Ensures that the bindings of binary elements see the current source of the source types they reference,
+	 * once the source changed since the bindings were created.
+	 */
+	public void testCreateBindings26b() throws CoreException {
+		IJavaProject project = getJavaProject("P");
+		String projectPath = project.getProject().getLocation().toOSString() + File.separatorChar;
+		Util.compile(
+			new String[] {
+				projectPath + "A26b.java",
+				"public class A26b {\n" +
+				"  public void foo(B26b b) {}\n" +
+				"}",
+				projectPath + "B26b.java",
+				"public class B26b {\n" +
+				"}"
+			},
+			project.getOptions(true),
+			getFolder("/P/lib").getLocation().toOSString());
+		try {
+			project.getProject().refreshLocal(IResource.DEPTH_INFINITE, null);
+			// B26b is only available as a source type
+			deleteFile("/P/lib/B26b.class");
+			createFile("/P/src/B26b.java",
+				"public class B26b {\n" +
+				"}");
+			IMethod method = getClassFile("/P/lib/A26b.class").getType().getMethod("foo", new String[] {"LB26b;"});
+			ASTParser parser = ASTParser.newParser(getJLS8());
+			parser.setProject(project);
+			IBinding[] bindings = parser.createBindings(new IJavaElement[] {method}, null);
+			assertBindingsEqual(
+				"LA26b;.foo(LB26b;)V",
+				bindings);
+			ITypeBinding parameterType = ((IMethodBinding) bindings[0]).getParameterTypes()[0];
+			assertFalse("Should not find bar()", declaresMethod(parameterType, "bar"));
+
+			editFile("/P/src/B26b.java",
+				"public class B26b {\n" +
+				"  void bar() {}\n" +
+				"}");
+			parser.setProject(project);
+			bindings = parser.createBindings(new IJavaElement[] {method}, null);
+			parameterType = ((IMethodBinding) bindings[0]).getParameterTypes()[0];
+			assertTrue("Should find bar()", declaresMethod(parameterType, "bar"));
+		} finally {
+			deleteFile("/P/src/B26b.java");
+			deleteFile("/P/lib/A26b.class");
+		}
+	}
+
+	private boolean declaresMethod(ITypeBinding type, String name) {
+		for (IMethodBinding method : type.getDeclaredMethods()) {
+			if (name.equals(method.getName()))
+				return true;
+		}
+		return false;
+	}
+
 	/*
 	 * Ensures that the correct IBindings are created for a given set of IJavaElement
 	 * (invocation of a generic method - binary)
@@ -1945,6 +2003,39 @@ public class ASTModelBridgeTests extends AbstractASTTests {
 		assertTrue("Not checked", checked[0]);
 	}
 
+	/*
+	 * Ensures that the bindings of a local variable and its IJavaElement are unchanged once the bindings
+	 * of the AST are detached.
+	 */
+	public void testLocalVariableDetachedBindings() throws JavaModelException {
+		ASTNode node = buildAST(
+			"public class X {\n" +
+			"  void foo() {\n" +
+			"    int /*start*/local = 1/*end*/;\n" +
+			"    local++;\n" +
+			"  }\n" +
+			"}"
+		);
+		VariableDeclarationFragment fragment = (VariableDeclarationFragment) node;
+		IVariableBinding binding = fragment.resolveBinding();
+		String key = binding.getKey();
+		CompilationUnit unit = (CompilationUnit) node.getRoot();
+		unit.detachBindings();
+		assertSame("Unexpected binding", binding, fragment.resolveBinding());
+		assertSame("Unexpected name binding", binding, fragment.getName().resolveBinding());
+		assertEquals("Unexpected key", key, binding.getKey());
+		assertEquals("Unexpected initializer type", "int", fragment.getInitializer().resolveTypeBinding().getName());
+		assertEquals("Unexpected declaring method", "foo", binding.getDeclaringMethod().getName());
+		assertSame("Unexpected declaring node", fragment, unit.findDeclaringNode(key));
+		assertFalse("Should not be effectively final", binding.isEffectivelyFinal());
+		assertEquals("Unexpected well-known type", "java.lang.String", unit.getAST().resolveWellKnownType("java.lang.String").getQualifiedName());
+		assertEquals(
+			"Unexpected Java element",
+			getLocalVariable(this.workingCopy, "local", "local"),
+			binding.getJavaElement()
+		);
+	}
+
 	/*
 	 * Ensures that the IJavaElement of an IBinding representing a member type is correct.
 	 */
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2025 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
 
 package org.eclipse.jdt.core.tests.dom;
 
+import java.io.StringWriter;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
@@ -29,6 +30,7 @@ import junit.framework.Test;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.dom.*;
 import org.eclipse.jdt.core.dom.Modifier.ModifierKeyword;
+import org.eclipse.jdt.internal.core.dom.NaiveASTFlattener;
 import org.eclipse.jdt.internal.core.dom.util.DOMASTUtil;
 
 // testing
@@ -9585,5 +9587,74 @@ public class ASTTest extends org.eclipse.jdt.core.tests.junit.extension.TestCase
 		assertEquals(copy.getStartPosition(), 1);
 		assertEquals(copy.getLength(), 2);
 	}
-}
 
+	public void testPrintDeepChains() {
+		int depth = 100000;
+		// x.m0().m1()...
+		Expression invocations = this.ast.newSimpleName("x"); //$NON-NLS-1$
+		// 0 + 0 + 1 + ... with the infix expressions nested in their left operand
+		Expression concatenation = this.ast.newNumberLiteral("0"); //$NON-NLS-1$
+		for (int i = 0; i < depth; i++) {
+			MethodInvocation methodInvocation = this.ast.newMethodInvocation();
+			methodInvocation.setExpression(invocations);
+			methodInvocation.setName(this.ast.newSimpleName("m" + i % 10)); //$NON-NLS-1$
+			invocations = methodInvocation;
+			InfixExpression infixExpression = this.ast.newInfixExpression();
+			infixExpression.setLeftOperand(concatenation);
+			infixExpression.setOperator(InfixExpression.Operator.PLUS);
+			infixExpression.setRightOperand(this.ast.newNumberLiteral(Integer.toString(i % 10)));
+			concatenation = infixExpression;
+		}
+
+		String printedInvocations = invocations.toString();
+		assertEquals("x.m0().m1()", printedInvocations.substring(0, 11)); //$NON-NLS-1$
+		assertEquals(".m8().m9()", printedInvocations.substring(printedInvocations.length() - 10)); //$NON-NLS-1$
+		assertEquals(1 + 5 * depth, printedInvocations.length());
+
+		String printedConcatenation = concatenation.toString();
+		assertEquals("0 + 0 + 1", printedConcatenation.substring(0, 9)); //$NON-NLS-1$
+		assertEquals(" + 8 + 9", printedConcatenation.substring(printedConcatenation.length() - 8)); //$NON-NLS-1$
+		assertEquals(1 + 4 * depth, printedConcatenation.length());
+	}
+
+	public void testPrintToOutput() {
+		MethodInvocation invocations = this.ast.newMethodInvocation();
+		invocations.setName(this.ast.newSimpleName("m")); //$NON-NLS-1$
+		for (int i = 0; i < 1000; i++) {
+			MethodInvocation methodInvocation = this.ast.newMethodInvocation();
+			methodInvocation.setExpression(invocations);
+			methodInvocation.setName(this.ast.newSimpleName("m")); //$NON-NLS-1$
+			methodInvocation.arguments().add(this.ast.newStringLiteral());
+			invocations = methodInvocation;
+		}
+		NaiveASTFlattener printer = new NaiveASTFlattener();
+		invocations.accept(printer);
+		String expected = printer.getResult();
+
+		StringWriter writer = new StringWriter();
+		printer = new NaiveASTFlattener(writer, 100);
+		invocations.accept(printer);
+		// the buffer is written to the output whenever it is full
+		assertTrue(printer.getResult().length() < 200);
+		printer.flush();
+		assertEquals("", printer.getResult()); //$NON-NLS-1$
+		assertEquals(expected, writer.toString());
+	}
+
+	public void testPrintToBuffer() {
+		MethodInvocation methodInvocation = this.ast.newMethodInvocation();
+		methodInvocation.setName(this.ast.newSimpleName("m")); //$NON-NLS-1$
+		methodInvocation.arguments().add(this.ast.newStringLiteral());
+		NaiveASTFlattener printer = new NaiveASTFlattener();
+		methodInvocation.accept(printer);
+		String expected = printer.getResult();
+
+		StringBuilder buffer = new StringBuilder("prefix "); //$NON-NLS-1$
+		printer = new NaiveASTFlattener(buffer);
+		methodInvocation.accept(printer);
+		// the printer appends to the given buffer
+		assertEquals("prefix " + expected, buffer.toString()); //$NON-NLS-1$
+		assertEquals(buffer.toString(), printer.getResult());
+		assertEquals(expected, methodInvocation.toString());
+	}
+}
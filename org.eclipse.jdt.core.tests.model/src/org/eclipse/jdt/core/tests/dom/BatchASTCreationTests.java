@@ -2274,4 +2274,48 @@ public void test082() throws CoreException, IOException {
 					requestor.asts
 				);
 	}
+
+	/*
+	 * Ensures that the ASTs of a batch resolved by several threads are passed to the requestor in the order
+	 * of the compilation units, with bindings that can be resolved while they are passed.
+	 */
+	public void testParallelResolution() throws CoreException {
+		int length = 40;
+		String[] pathAndSources = new String[length * 2];
+		for (int i = 0; i < length; i++) {
+			pathAndSources[i * 2] = "/P/p1/X" + i + ".java";
+			pathAndSources[i * 2 + 1] =
+				"package p1;\n" +
+				"public class X" + i + (i > 0 ? " extends X" + (i - 1) : "") + " {\n" +
+				"}";
+		}
+		this.workingCopies = createWorkingCopies(pathAndSources);
+		class OrderedRequestor extends ASTRequestor {
+			StringBuilder sources = new StringBuilder();
+			StringBuilder superclasses = new StringBuilder();
+			StringBuilder bindings = new StringBuilder();
+			@Override
+			public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+				this.sources.append(source.getElementName()).append('\n');
+				ITypeBinding type = ((TypeDeclaration) ast.types().get(0)).resolveBinding();
+				this.superclasses.append(type.getSuperclass().getKey()).append('\n');
+			}
+			@Override
+			public void acceptBinding(String bindingKey, IBinding binding) {
+				this.bindings.append(binding == null ? "null" : binding.getKey()).append('\n');
+			}
+		}
+		OrderedRequestor serialRequestor = new OrderedRequestor();
+		resolveASTs(this.workingCopies, new String[] {"Lp1/X0;"}, serialRequestor, getJavaProject("P"), this.owner);
+		OrderedRequestor parallelRequestor = new OrderedRequestor();
+		try {
+			System.setProperty("org.eclipse.jdt.core.dom.resolverThreads", "3");
+			resolveASTs(this.workingCopies, new String[] {"Lp1/X0;"}, parallelRequestor, getJavaProject("P"), this.owner);
+		} finally {
+			System.clearProperty("org.eclipse.jdt.core.dom.resolverThreads");
+		}
+		assertEquals("Unexpected sources", serialRequestor.sources.toString(), parallelRequestor.sources.toString());
+		assertEquals("Unexpected superclasses", serialRequestor.superclasses.toString(), parallelRequestor.superclasses.toString());
+		assertEquals("Unexpected bindings", "Lp1/X0;\n", parallelRequestor.bindings.toString());
+	}
 }
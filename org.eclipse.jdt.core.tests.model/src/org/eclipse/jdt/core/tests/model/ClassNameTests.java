@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2025 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -31,7 +31,9 @@ import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.core.JavaModelManager;
 import org.eclipse.jdt.internal.core.SourceType;
+import org.eclipse.jdt.internal.core.search.indexing.IndexManager;
 
 /**
  * Test retrieving types by their name.
@@ -1184,6 +1186,79 @@ public void testFindSecondaryType_Unknown03() throws JavaModelException, CoreExc
 	assertTypeUnknown("org.eclipse.jdt.core.test.Unknown");
 }
 
+/*
+ * Ensures that the secondary types of a project are saved with the workspace
+ * and are known after a restart without searching the indexes.
+ */
+public void testFindSecondaryType_Restart() throws CoreException {
+	try {
+		IJavaProject javaProject = createJavaProject("P", new String[] {"src"}, "bin");
+		createFolder("/P/src/p");
+		createFile(
+			"/P/src/p/X.java",
+			"package p;\n" +
+			"public class X {}\n" +
+			"class Y {}\n"
+		);
+		waitUntilIndexesReady();
+		IType type = javaProject.findType("p", "Y", new NullProgressMonitor());
+		assertTrue("type 'Y' should exist!", type != null && type.exists());
+
+		simulateExitRestart();
+		IndexManager indexManager = JavaModelManager.getIndexManager();
+		indexManager.disable();
+		try {
+			type = JavaModelManager.getJavaModelManager().secondaryTypeIfKnown(javaProject, "p", "Y");
+			assertNotNull("type 'Y' should be known after restart", type);
+			assertEquals("Unexpected compilation unit", "/P/src/p/X.java", type.getCompilationUnit().getPath().toString());
+			type = javaProject.findType("p", "Y", new NullProgressMonitor());
+			assertTrue("type 'Y' should exist after restart!", type != null && type.exists());
+		} finally {
+			indexManager.enable();
+		}
+	} finally {
+		deleteProject("P");
+	}
+}
+
+/*
+ * Ensures that the secondary types saved with the workspace do not hide the secondary types
+ * of a file added while the workspace was closed.
+ */
+public void testFindSecondaryType_Restart2() throws CoreException {
+	try {
+		IJavaProject javaProject = createJavaProject("P", new String[] {"src"}, "bin");
+		createFolder("/P/src/p");
+		createFile(
+			"/P/src/p/X.java",
+			"package p;\n" +
+			"public class X {}\n" +
+			"class Y {}\n"
+		);
+		waitUntilIndexesReady();
+		IType type = javaProject.findType("p", "Y", new NullProgressMonitor());
+		assertTrue("type 'Y' should exist!", type != null && type.exists());
+
+		simulateExit();
+		try {
+			createFile(
+				"/P/src/p/Z.java",
+				"package p;\n" +
+				"public class Z {}\n" +
+				"class W {}\n"
+			);
+		} finally {
+			simulateRestart();
+		}
+		type = javaProject.findType("p", "W", new NullProgressMonitor());
+		assertTrue("type 'W' should exist after restart!", type != null && type.exists());
+		type = javaProject.findType("p", "Y", new NullProgressMonitor());
+		assertTrue("type 'Y' should exist after restart!", type != null && type.exists());
+	} finally {
+		deleteProject("P");
+	}
+}
+
 /**
  * bug 152841: [model] IJavaProject.findType(name, monitor) doesn't find secondary type
  * test Ensure that secondary type is found just after having created the compilation unit
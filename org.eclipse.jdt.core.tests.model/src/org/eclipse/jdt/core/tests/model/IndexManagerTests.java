@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 Gayan Perera and others.
+ * Copyright (c) 2021, 2026 Gayan Perera and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
 package org.eclipse.jdt.core.tests.model;
 
 import java.io.IOException;
+import java.lang.reflect.Field;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -27,19 +28,30 @@ import junit.framework.Test;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
 import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.tests.model.AbstractJavaSearchTests.JavaSearchResultCollector;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.eclipse.jdt.internal.core.JavaModelManager;
 import org.eclipse.jdt.internal.core.index.EntryResult;
 import org.eclipse.jdt.internal.core.index.Index;
+import org.eclipse.jdt.internal.core.index.IndexLocation;
 import org.eclipse.jdt.internal.core.index.MetaIndex;
+import org.eclipse.jdt.internal.core.search.IndexSelector;
 import org.eclipse.jdt.internal.core.search.indexing.IIndexConstants;
 import org.eclipse.jdt.internal.core.search.indexing.IndexManager;
+import org.eclipse.jdt.internal.core.search.indexing.IndexRequest;
 import org.eclipse.jdt.internal.core.search.indexing.ReadWriteMonitor;
+import org.eclipse.jdt.internal.core.search.processing.IJob;
+import org.eclipse.jdt.internal.core.search.processing.JobManager;
 
 public class IndexManagerTests extends ModifyingResourceTests {
 	private static final boolean SKIP_TESTS = Boolean.parseBoolean(System.getProperty("org.eclipse.jdt.disableMetaIndex", "false"));
@@ -176,6 +188,135 @@ public class IndexManagerTests extends ModifyingResourceTests {
 		assertEquals("No results found", 1, indexNames.get().size());
 	}
 
+	public void testSearchMetaIndex_ForMethodAndFieldReferences() throws CoreException {
+		if (SKIP_TESTS)
+			return;
+
+		createFolder("/IndexProject/src/app");
+		createFile("/IndexProject/src/app/Q2.java",
+				"package app;\n" +
+				"public class Q2 {\n" +
+				"	int metaIndexedField;\n" +
+				"	void metaIndexedMethod(int i) {\n" +
+				"	}\n" +
+				"	void foo(Q2 q) {\n" +
+				"		q.metaIndexedMethod(q.metaIndexedField);\n" +
+				"	}\n" +
+				"}");
+		IJavaProject otherProject = createJavaProject("IndexProject2", new String[] { "src" }, new String[0], "bin", CompilerOptions.getFirstSupportedJavaVersion());
+		try {
+			createFile("/IndexProject2/src/Q3.java",
+					"public class Q3 {\n" +
+					"	void foo() {\n" +
+					"		bar();\n" +
+					"	}\n" +
+					"	void bar() {\n" +
+					"	}\n" +
+					"}");
+			waitUntilIndexesReady();
+			IJavaSearchScope scope = SearchEngine.createJavaSearchScope(new IJavaElement[] { this.project, otherProject }, IJavaSearchScope.SOURCES);
+
+			// the index of IndexProject2 is skipped, since it does not reference the method or the field
+			assertSelectedIndexes("metaIndexedMethod", IJavaSearchConstants.METHOD, scope, "IndexProject");
+			assertSelectedIndexes("metaIndexedField", IJavaSearchConstants.FIELD, scope, "IndexProject");
+			assertSelectedIndexes("bar", IJavaSearchConstants.METHOD, scope, "IndexProject2");
+
+			// same results as a pattern search, whose indexes are not filtered
+			assertSearchResults("metaIndexedMethod", IJavaSearchConstants.METHOD, scope,
+					"src/app/Q2.java void app.Q2.foo(Q2) [metaIndexedMethod(q.metaIndexedField)] EXACT_MATCH");
+			assertSearchResults("metaIndexedField", IJavaSearchConstants.FIELD, scope,
+					"src/app/Q2.java void app.Q2.foo(Q2) [metaIndexedField] EXACT_MATCH");
+		} finally {
+			deleteProject(otherProject);
+		}
+	}
+
+	private void assertSelectedIndexes(String name, int searchFor, IJavaSearchScope scope, String expectedProject) {
+		SearchPattern pattern = SearchPattern.createPattern(name, searchFor, IJavaSearchConstants.REFERENCES,
+				SearchPattern.R_EXACT_MATCH | SearchPattern.R_CASE_SENSITIVE);
+		IndexLocation[] locations = new IndexSelector(scope, pattern).getIndexLocations();
+		IndexLocation expected = this.indexManager.computeIndexLocation(getProject(expectedProject).getFullPath());
+		assertEquals("Unexpected indexes for " + name, Arrays.asList(expected), Arrays.asList(locations));
+	}
+
+	private void assertSearchResults(String name, int searchFor, IJavaSearchScope scope, String expected) throws CoreException {
+		JavaSearchResultCollector exactResults = new JavaSearchResultCollector();
+		search(name, searchFor, IJavaSearchConstants.REFERENCES, scope, exactResults);
+		assertEquals("Unexpected references to " + name, expected, exactResults.toString());
+		JavaSearchResultCollector patternResults = new JavaSearchResultCollector();
+		search(name.substring(0, name.length() - 1) + '*', searchFor, IJavaSearchConstants.REFERENCES, scope, patternResults);
+		assertEquals("Unexpected references to " + name + " with a pattern", expected, patternResults.toString());
+	}
+
+	public void testDocumentRequests_OnlyLastRequestRuns() throws Exception {
+		createFile("/IndexProject/src/Q3.java", "public class Q3 {\n}");
+		waitUntilIndexesReady();
+		assertTrue("Document should be indexed", isDocumentIndexed("src/Q3.java"));
+
+		IFile file = getFile("/IndexProject/src/Q3.java");
+		IPath containerPath = this.project.getProject().getFullPath();
+		while (this.indexManager.isEnabled())
+			this.indexManager.disable();
+		try {
+			this.indexManager.addSource(file, containerPath, null);
+			this.indexManager.remove("src/Q3.java", containerPath);
+			this.indexManager.addSource(file, containerPath, null);
+			this.indexManager.remove("src/Q3.java", containerPath);
+			assertEquals("Unexpected requests to run", "[removing src/Q3.java from index /IndexProject]", getUncancelledIndexRequests().toString());
+		} finally {
+			while (!this.indexManager.isEnabled())
+				this.indexManager.enable();
+		}
+		waitUntilIndexesReady();
+		assertFalse("Document should be removed from the index", isDocumentIndexed("src/Q3.java"));
+
+		while (this.indexManager.isEnabled())
+			this.indexManager.disable();
+		try {
+			this.indexManager.remove("src/Q3.java", containerPath);
+			this.indexManager.addSource(file, containerPath, null);
+			this.indexManager.remove("src/Q3.java", containerPath);
+			this.indexManager.addSource(file, containerPath, null);
+			assertEquals("Unexpected requests to run", "[indexing /IndexProject/src/Q3.java]", getUncancelledIndexRequests().toString());
+		} finally {
+			while (!this.indexManager.isEnabled())
+				this.indexManager.enable();
+		}
+		waitUntilIndexesReady();
+		assertTrue("Document should be indexed again", isDocumentIndexed("src/Q3.java"));
+	}
+
+	private boolean isDocumentIndexed(String containerRelativePath) throws IOException {
+		Index index = this.indexManager.getIndex(this.project.getProject().getFullPath(), true, false);
+		assertNotNull("No index", index);
+		ReadWriteMonitor monitor = index.monitor;
+		monitor.enterRead();
+		try {
+			String[] documentNames = index.queryDocumentNames(null);
+			return documentNames != null && Arrays.asList(documentNames).contains(containerRelativePath);
+		} finally {
+			monitor.exitRead();
+		}
+	}
+
+	/*
+	 * Returns the index requests waiting in the queue of the index manager that are not cancelled.
+	 */
+	private List<IJob> getUncancelledIndexRequests() throws ReflectiveOperationException {
+		Field awaitingJobsField = JobManager.class.getDeclaredField("awaitingJobs");
+		awaitingJobsField.setAccessible(true);
+		Field isCancelledField = IndexRequest.class.getDeclaredField("isCancelled");
+		isCancelledField.setAccessible(true);
+		List<IJob> requests = new ArrayList<>();
+		synchronized (this.indexManager) {
+			for (Object job : (List<?>) awaitingJobsField.get(this.indexManager)) {
+				if (job instanceof IndexRequest && !isCancelledField.getBoolean(job))
+					requests.add((IJob) job);
+			}
+		}
+		return requests;
+	}
+
 	private void changeFile(String path, String content) {
 		IFile file = getFile(path);
 		if (!file.exists()) {
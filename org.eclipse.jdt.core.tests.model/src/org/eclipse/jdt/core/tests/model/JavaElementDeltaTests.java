@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,7 +16,9 @@
 package org.eclipse.jdt.core.tests.model;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import junit.framework.Test;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
@@ -33,6 +35,8 @@ import org.eclipse.jdt.core.ElementChangedEvent;
 import org.eclipse.jdt.core.IClasspathAttribute;
 import org.eclipse.jdt.core.IClasspathEntry;
 import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElementDelta;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
@@ -3229,6 +3233,37 @@ public void testBug455882() {
 		delta
 	);
 }
+/*
+ * Ensures that the deltas batched from previous resource changes are notified before a delta fired immediately.
+ */
+public void testBatchedDeltasFiredFirst() throws CoreException {
+	List<String> notified = new ArrayList<>();
+	IElementChangedListener listener = event -> {
+		for (IJavaElementDelta delta : event.getDelta().getAffectedChildren())
+			notified.add(delta.getElement().getElementName());
+	};
+	try {
+		IJavaProject p1 = createJavaProject("P1");
+		IJavaProject p2 = createJavaProject("P2");
+		JavaCore.addElementChangedListener(listener, ElementChangedEvent.POST_CHANGE);
+		JavaElementDelta batchedDelta = new JavaElementDelta(getJavaModel());
+		batchedDelta.changed(p1, IJavaElementDelta.F_CONTENT);
+		JavaElementDelta delta = new JavaElementDelta(getJavaModel());
+		delta.changed(p2, IJavaElementDelta.F_CONTENT);
+		DeltaProcessingState deltaState = JavaModelManager.getJavaModelManager().deltaState;
+		// the job firing the batch waits for the lock of the state
+		synchronized (deltaState) {
+			deltaState.batchDeltas(Arrays.asList(batchedDelta));
+			deltaState.getDeltaProcessor().notifyAndFire(delta);
+		}
+		JavaCore.removeElementChangedListener(listener);
+		assertEquals("Unexpected notifications", Arrays.asList("P1", "P2"), notified);
+	} finally {
+		JavaCore.removeElementChangedListener(listener);
+		deleteProject("P1");
+		deleteProject("P2");
+	}
+}
 // See: https://github.com/eclipse-jdt/eclipse.jdt.core/issues/486
 public void testClasspathAttributesDeltaGh486() throws Exception {
 	try {
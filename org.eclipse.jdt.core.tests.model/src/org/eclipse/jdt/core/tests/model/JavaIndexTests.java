@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2022 IBM Corporation and others.
+ * Copyright (c) 2012, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,9 +15,15 @@ package org.eclipse.jdt.core.tests.model;
 
 import java.io.File;
 import java.io.IOException;
+import java.lang.reflect.Field;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntPredicate;
 import java.util.zip.CRC32;
 import junit.framework.Test;
 import org.eclipse.core.resources.IProject;
@@ -33,15 +39,22 @@ import org.eclipse.jdt.core.IClasspathEntry;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.index.IndexMetrics;
 import org.eclipse.jdt.core.index.JavaIndexer;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
 import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchPattern;
 import org.eclipse.jdt.core.tests.util.Util;
 import org.eclipse.jdt.internal.core.ClasspathEntry;
 import org.eclipse.jdt.internal.core.JavaModelManager;
 import org.eclipse.jdt.internal.core.UserLibraryClasspathContainer;
 import org.eclipse.jdt.internal.core.index.DiskIndex;
+import org.eclipse.jdt.internal.core.index.EntryResult;
+import org.eclipse.jdt.internal.core.index.FileIndexLocation;
 import org.eclipse.jdt.internal.core.index.Index;
+import org.eclipse.jdt.internal.core.search.indexing.IIndexConstants;
 import org.eclipse.jdt.internal.core.search.indexing.IndexManager;
+import org.eclipse.jdt.internal.core.search.indexing.SharedIndexStore;
 import org.osgi.service.prefs.BackingStoreException;
 
 public class JavaIndexTests extends AbstractJavaSearchTests  {
@@ -932,4 +945,322 @@ public class JavaIndexTests extends AbstractJavaSearchTests  {
 			ClasspathEntry.setSharedIndexLocation(null, getClass());
 		}
 	}
+
+	public void testSharedIndexStore() throws CoreException, IOException {
+		File storeDir = Files.createTempDirectory("index_store").toFile();
+		String jarFilePath = Path.fromOSString(new File(storeDir.getParentFile(), "StoreTest.jar").getAbsolutePath()).toPortableString();
+		SharedIndexStore store = new SharedIndexStore(storeDir);
+		File indexFile = null;
+		try {
+			createJar(new String[] {
+					"pkg/Test.java",
+					"package pkg;\n" +
+					"public class Test {\n" +
+					"  protected Test(int i) {}\n" +
+					"}"}, jarFilePath);
+
+			assertTrue("Index should be added", store.add(new File(jarFilePath)));
+			assertFalse("Index should only be added once", store.add(new File(jarFilePath)));
+			indexFile = store.getIndexFile(new File(jarFilePath));
+			assertTrue(indexFile.exists());
+			long modified = indexFile.lastModified();
+
+			System.setProperty(SharedIndexStore.STORE_PROPERTY, storeDir.getAbsolutePath());
+			IJavaProject p = createJavaProject("P");
+			Path libPath = new Path(jarFilePath);
+			IClasspathEntry entry = JavaCore.newLibraryEntry(libPath, null, null, null, null, false);
+			setClasspath(p, new IClasspathEntry[] { entry });
+
+			waitUntilIndexesReady();
+
+			search("Test", TYPE, DECLARATIONS, EXACT_RULE,
+					SearchEngine.createJavaSearchScope(new IJavaElement[] { p }));
+			assertSearchResults(new File(jarFilePath).getAbsolutePath() + " pkg.Test");
+
+			// the index of the store is used as is
+			File usedIndexFile = JavaModelManager.getIndexManager().getIndex(libPath, false, false).getIndexFile();
+			assertEquals("Index of the store is not being used", indexFile, usedIndexFile);
+			assertEquals(modified, indexFile.lastModified());
+		} finally {
+			System.clearProperty(SharedIndexStore.STORE_PROPERTY);
+			deleteProject("P");
+			if (indexFile != null)
+				indexFile.delete();
+			new File(jarFilePath).delete();
+			storeDir.delete();
+		}
+	}
+
+	// Test that the n-gram tables of an index find the types matching a substring or a camel case pattern
+	public void testSubstringAndCamelCaseTypeNames() throws CoreException, IOException {
+		String indexFilePath = getExternalResourcePath("Test.index");
+		String jarFilePath = getExternalResourcePath("Test.jar");
+		try {
+			createJar(new String[] {
+					"pkg/StringBuilderHelper.java",
+					"package pkg;\n" +
+					"public class StringBuilderHelper {}",
+					"pkg/MyStringList.java",
+					"package pkg;\n" +
+					"public class MyStringList {}",
+					"pkg/ListHelper.java",
+					"package pkg;\n" +
+					"public class ListHelper {}",
+					"pkg/Other.java",
+					"package pkg;\n" +
+					"public class Other {}"}, jarFilePath);
+			JavaIndexer.generateIndexForJar(jarFilePath, indexFilePath);
+
+			IJavaProject p = createJavaProject("P");
+			Path libPath = new Path(jarFilePath);
+			IClasspathAttribute attribute = JavaCore.newClasspathAttribute(IClasspathAttribute.INDEX_LOCATION_ATTRIBUTE_NAME, "file:///"+indexFilePath);
+			IClasspathEntry entry = JavaCore.newLibraryEntry(libPath, null, null, null, new IClasspathAttribute[]{attribute}, false);
+			setClasspath(p, new IClasspathEntry[] {entry});
+			waitUntilIndexesReady();
+			IJavaSearchScope scope = SearchEngine.createJavaSearchScope(new IJavaElement[]{p});
+
+			search("tringl", TYPE, DECLARATIONS, SearchPattern.R_SUBSTRING_MATCH, scope);
+			assertSearchResults(getExternalPath() + "Test.jar pkg.MyStringList");
+			this.resultCollector.clear();
+			search("SBH", TYPE, DECLARATIONS, SearchPattern.R_CAMELCASE_MATCH, scope);
+			assertSearchResults(getExternalPath() + "Test.jar pkg.StringBuilderHelper");
+			this.resultCollector.clear();
+			search("MySL", TYPE, DECLARATIONS, SearchPattern.R_CAMELCASE_MATCH | SearchPattern.R_CASE_SENSITIVE, scope);
+			assertSearchResults(getExternalPath() + "Test.jar pkg.MyStringList");
+			this.resultCollector.clear();
+			search("*build*lp*", TYPE, DECLARATIONS, SearchPattern.R_PATTERN_MATCH, scope);
+			assertSearchResults(getExternalPath() + "Test.jar pkg.StringBuilderHelper");
+		} finally {
+			deleteProject("P");
+			new File(indexFilePath).delete();
+			new File(jarFilePath).delete();
+		}
+	}
+
+	// Test that the results of the queries of an index are cached until the index changes
+	public void testQueryResultCache() throws IOException {
+		String indexFilePath = getExternalResourcePath("Test.index");
+		String jarFilePath = getExternalResourcePath("Test.jar");
+		try {
+			createJar(new String[] {
+					"pkg/Test.java",
+					"package pkg;\n" +
+					"public class Test {\n" +
+					"  protected Test(int i) {}\n" +
+					"}"}, jarFilePath);
+			JavaIndexer.generateIndexForJar(jarFilePath, indexFilePath);
+
+			Index index = new Index(new FileIndexLocation(new File(indexFilePath)), jarFilePath, true);
+			char[][] categories = { IIndexConstants.TYPE_DECL };
+			int matchRule = SearchPattern.R_PREFIX_MATCH | SearchPattern.R_CASE_SENSITIVE;
+			EntryResult[] results = index.query(categories, "Te".toCharArray(), matchRule);
+			assertEquals(1, results.length);
+			assertEquals(0, index.getQueryCacheHits());
+			assertEquals(1, index.getQueryCacheMisses());
+
+			results = index.query(categories, "Te".toCharArray(), matchRule);
+			assertEquals(1, results.length);
+			assertEquals(1, index.getQueryCacheHits());
+
+			// the cache is not used while the memory index has changes, and is cleared once they are saved
+			index.addIndexEntry(IIndexConstants.TYPE_DECL, "Test2/pkg//C".toCharArray(), "pkg/Test2.class");
+			results = index.query(categories, "Te".toCharArray(), matchRule);
+			assertEquals(2, results.length);
+			assertEquals(1, index.getQueryCacheHits());
+			index.save();
+			results = index.query(categories, "Te".toCharArray(), matchRule);
+			assertEquals(2, results.length);
+			assertEquals(1, index.getQueryCacheHits());
+			assertEquals(2, index.getQueryCacheMisses());
+		} finally {
+			new File(indexFilePath).delete();
+			new File(jarFilePath).delete();
+		}
+	}
+
+	public void testIndexMetrics() throws Exception {
+		String indexFilePath = getExternalResourcePath("Test.index");
+		String jarFilePath = getExternalResourcePath("Test.jar");
+		try {
+			IndexMetrics.reset();
+			createJavaProject("P");
+			createFile("/P/X.java", "public class X {}");
+			waitUntilIndexesReady();
+
+			IndexMetrics metrics = IndexMetrics.getSnapshot();
+			IndexMetrics.ContainerIndexing indexing = metrics.getContainerIndexing().get("/P");
+			assertNotNull(metrics.toString(), indexing);
+			assertTrue(metrics.toString(), indexing.getDocuments() >= 1);
+			assertTrue(metrics.toString(), metrics.getJobWaitTimes().getCount() >= 1);
+			assertTrue(metrics.toString(), metrics.getWaitUntilReadyTimes().getCount() >= 1);
+
+			createJar(new String[] {
+					"pkg/Test.java",
+					"package pkg;\n" +
+					"public class Test {}"}, jarFilePath);
+			JavaIndexer.generateIndexForJar(jarFilePath, indexFilePath);
+			Index index = new Index(new FileIndexLocation(new File(indexFilePath)), jarFilePath, true);
+			EntryResult[] results = index.query(new char[][] { IIndexConstants.TYPE_DECL }, "Test".toCharArray(), SearchPattern.R_PREFIX_MATCH);
+			assertEquals(1, results.length);
+			assertEquals("pkg/Test.class", results[0].getDocumentNames(index)[0]);
+
+			IndexMetrics next = IndexMetrics.getSnapshot();
+			IndexMetrics.Histogram latencies = next.getQueryLatencies().get(jarFilePath);
+			assertNotNull(next.toString(), latencies);
+			assertEquals(1, latencies.getCount());
+			assertEquals(latencies.getMaxNanos(), latencies.getTotalNanos());
+			assertTrue(latencies.getPercentileNanos(50) > latencies.getMaxNanos());
+			assertTrue(next.getCategoryTablesLoaded() > metrics.getCategoryTablesLoaded());
+			assertTrue(next.getBytesRead() > metrics.getBytesRead());
+
+			IndexMetrics.reset();
+			assertNull(IndexMetrics.getSnapshot().getQueryLatencies().get(jarFilePath));
+		} finally {
+			deleteProject("P");
+			new File(indexFilePath).delete();
+			new File(jarFilePath).delete();
+		}
+	}
+
+	/*
+	 * Ensures that the words and document numbers written in an index file are read back, whether the file is mapped or not:
+	 * words sharing a prefix in several blocks, words sharing more than 255 chars, single documents, and delta or bitmap
+	 * encoded lists of documents that are inlined or written before the words.
+	 */
+	public void testDiskIndexRoundTrip() throws Exception {
+		String indexFilePath = getExternalResourcePath("Test.index");
+		Field mapIndexFilesField = DiskIndex.class.getDeclaredField("mapIndexFiles");
+		mapIndexFilesField.setAccessible(true);
+		boolean mapIndexFiles = mapIndexFilesField.getBoolean(null);
+		String longPrefix = "a".repeat(300);
+		char[] category = IIndexConstants.REF;
+		int documentCount = 3000;
+		Index index = null;
+		try {
+			index = new Index(new FileIndexLocation(new File(indexFilePath)), "Test", false);
+			for (int i = 0; i < documentCount; i++) {
+				String documentName = indexedDocumentName(i);
+				index.addIndexEntry(category, "common".toCharArray(), documentName); // large bitmap
+				if (i % 10 == 0)
+					index.addIndexEntry(category, "spread".toCharArray(), documentName); // large deltas
+				if (i % 500 == 0)
+					index.addIndexEntry(category, "sparse".toCharArray(), documentName); // inlined deltas
+				if (i >= 8 && i < 24)
+					index.addIndexEntry(category, "dense".toCharArray(), documentName); // inlined bitmap
+				if (i < 100)
+					index.addIndexEntry(category, ("java/lang/Object" + i).toCharArray(), documentName);
+				if (i == 1500) {
+					index.addIndexEntry(category, "single".toCharArray(), documentName);
+					index.addIndexEntry(category, (longPrefix + "x").toCharArray(), documentName);
+				}
+				if (i == 1501)
+					index.addIndexEntry(category, (longPrefix + "y").toCharArray(), documentName);
+				if (i == documentCount / 2)
+					index.save(); // the second save merges the new documents with the saved ones
+			}
+			index.save();
+			index.release();
+
+			boolean[] mappings = File.separatorChar == '/' ? new boolean[] {true, false} : new boolean[] {false};
+			for (boolean mapped : mappings) {
+				mapIndexFilesField.setBoolean(null, mapped);
+				index = new Index(new FileIndexLocation(new File(indexFilePath)), "Test", true);
+				index.startQuery();
+				try {
+					// the second run reads the category table cached by the first one when the file is not mapped
+					for (int run = 0; run < 2; run++) {
+						String message = (mapped ? "mapped" : "streamed") + " run " + run + ": ";
+						int exactMatch = SearchPattern.R_EXACT_MATCH | SearchPattern.R_CASE_SENSITIVE;
+						int prefixMatch = SearchPattern.R_PREFIX_MATCH | SearchPattern.R_CASE_SENSITIVE;
+						assertIndexedDocuments(message + "common", index, category, "common", exactMatch, i -> i < documentCount);
+						assertIndexedDocuments(message + "spread", index, category, "spread", exactMatch, i -> i < documentCount && i % 10 == 0);
+						assertIndexedDocuments(message + "sparse", index, category, "sparse", exactMatch, i -> i < documentCount && i % 500 == 0);
+						assertIndexedDocuments(message + "dense", index, category, "dense", exactMatch, i -> i >= 8 && i < 24);
+						assertIndexedDocuments(message + "single", index, category, "single", exactMatch, i -> i == 1500);
+						assertIndexedDocuments(message + "Object42", index, category, "java/lang/Object42", exactMatch, i -> i == 42);
+						assertIndexedDocuments(message + "Object1*", index, category, "java/lang/Object1", prefixMatch, i -> i == 1 || (i >= 10 && i < 20));
+						assertIndexedDocuments(message + "*Object9?", index, category, "*Object9?", SearchPattern.R_PATTERN_MATCH | SearchPattern.R_CASE_SENSITIVE, i -> i >= 90 && i < 100);
+						assertIndexedDocuments(message + "long x", index, category, longPrefix + "x", exactMatch, i -> i == 1500);
+						assertIndexedDocuments(message + "long y", index, category, longPrefix + "y", exactMatch, i -> i == 1501);
+						assertIndexedDocuments(message + "long prefix", index, category, longPrefix, prefixMatch, i -> i == 1500 || i == 1501);
+						assertIndexedDocuments(message + "unknown", index, category, "unknown", exactMatch, i -> false);
+					}
+				} finally {
+					index.stopQuery();
+					index.release();
+				}
+			}
+		} finally {
+			mapIndexFilesField.setBoolean(null, mapIndexFiles);
+			if (index != null)
+				index.release();
+			new File(indexFilePath).delete();
+		}
+	}
+
+	/*
+	 * Ensures that a released index doesn't map the file which replaced its index file.
+	 */
+	public void testDiskIndexReleased() throws Exception {
+		Field mapIndexFilesField = DiskIndex.class.getDeclaredField("mapIndexFiles");
+		mapIndexFilesField.setAccessible(true);
+		if (!mapIndexFilesField.getBoolean(null))
+			return; // index files are not mapped on this platform
+		String indexFilePath = getExternalResourcePath("Test.index");
+		char[] category = IIndexConstants.REF;
+		int exactMatch = SearchPattern.R_EXACT_MATCH | SearchPattern.R_CASE_SENSITIVE;
+		Index index = null, newIndex = null;
+		try {
+			index = new Index(new FileIndexLocation(new File(indexFilePath)), "Test", false);
+			index.addIndexEntry(category, "foo".toCharArray(), indexedDocumentName(0));
+			index.addIndexEntry(category, "bar".toCharArray(), indexedDocumentName(1));
+			index.save();
+			index.release();
+			index = new Index(new FileIndexLocation(new File(indexFilePath)), "Test", true);
+			assertIndexedDocuments("foo", index, category, "foo", exactMatch, i -> i == 0);
+			index.release();
+
+			// the index file is replaced by another one
+			newIndex = new Index(new FileIndexLocation(new File(indexFilePath)), "Test", false);
+			newIndex.addIndexEntry(category, "baz".toCharArray(), indexedDocumentName(2));
+			newIndex.save();
+
+			try {
+				index.query(new char[][] { category }, "bar".toCharArray(), exactMatch);
+				fail("Should not read the new index file");
+			} catch (IOException e) {
+				// expected
+			}
+			assertIndexedDocuments("baz", newIndex, category, "baz", exactMatch, i -> i == 2);
+		} finally {
+			if (index != null)
+				index.release();
+			if (newIndex != null)
+				newIndex.release();
+			new File(indexFilePath).delete();
+		}
+	}
+
+	private static String indexedDocumentName(int documentNumber) {
+		return String.format("p/X%04d.java", documentNumber);
+	}
+
+	private void assertIndexedDocuments(String message, Index index, char[] category, String key, int matchRule, IntPredicate expected) throws IOException {
+		StringBuilder expectedNames = new StringBuilder();
+		for (int i = 0; i < 10000; i++) {
+			if (expected.test(i))
+				expectedNames.append(indexedDocumentName(i)).append('\n');
+		}
+		List<String> names = new ArrayList<>();
+		EntryResult[] results = index.query(new char[][] { category }, key.toCharArray(), matchRule);
+		if (results != null) {
+			for (EntryResult result : results)
+				names.addAll(Arrays.asList(result.getDocumentNames(index)));
+		}
+		Collections.sort(names);
+		StringBuilder actualNames = new StringBuilder();
+		for (String name : names)
+			actualNames.append(name).append('\n');
+		assertEquals(message, expectedNames.toString(), actualNames.toString());
+	}
 }
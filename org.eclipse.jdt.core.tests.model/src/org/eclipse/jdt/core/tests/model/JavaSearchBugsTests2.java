@@ -3086,6 +3086,102 @@ public class JavaSearchBugsTests2 extends AbstractJavaSearchTests {
 		}
 	}
 
+	/**
+	 * Ensures that the matches located by several threads are the same and in the same order
+	 * as the matches located by the thread of the search.
+	 */
+	public void testParallelMatchLocator() throws Exception {
+		String projectName = "TestParallelMatchLocator";
+		try {
+			createJavaProject(projectName, new String[] { "src" }, new String[] { "JCL18_LIB" }, "bin", CompilerOptions.getFirstSupportedJavaVersion());
+			String packageFolder = "/" + projectName + "/src/test";
+			createFolder(packageFolder);
+			createFile(packageFolder + "/Util.java",
+					"""
+					package test;
+					public class Util {
+						public static String format(String s, int i) { return s; }
+					}
+					""");
+			// enough units for several chunks of possible matches
+			int units = 2 * MatchLocator.MAX_AT_ONCE + 10;
+			for (int i = 0; i < units; i++) {
+				createFile(packageFolder + "/X" + i + ".java",
+						"package test;\n" +
+						"public class X" + i + " {\n" +
+						"	String foo() { return Util.format(\"X\", " + i + "); }\n" +
+						"}\n");
+			}
+			waitUntilIndexesReady();
+			IMethod method = getCompilationUnit(packageFolder + "/Util.java").getType("Util").getMethods()[0];
+			IJavaSearchScope scope = SearchEngine.createJavaSearchScope(new IJavaElement[] { method.getJavaProject() });
+
+			search(method, REFERENCES, EXACT_RULE, scope, this.resultCollector);
+			String serialResults = this.resultCollector.toString();
+			assertEquals("Unexpected number of matches", units, ((TestCollector) this.resultCollector).matches.size());
+
+			System.setProperty(MatchLocator.THREADS_PROPERTY, "3");
+			this.resultCollector = new TestCollector();
+			this.resultCollector.showAccuracy(true);
+			search(method, REFERENCES, EXACT_RULE, scope, this.resultCollector);
+			assertEquals("Unexpected matches of parallel search", serialResults, this.resultCollector.toString());
+		} finally {
+			System.clearProperty(MatchLocator.THREADS_PROPERTY);
+			deleteProject(projectName);
+		}
+	}
+
+	/**
+	 * Ensures that a search limited to a number of matches stops once it reported them,
+	 * and that it tells whether it completed.
+	 */
+	public void testSearchWithMaxMatches() throws Exception {
+		String projectName = "TestSearchWithMaxMatches";
+		try {
+			IJavaProject project = createJavaProject(projectName, new String[] { "src" }, new String[] { "JCL18_LIB" }, "bin", CompilerOptions.getFirstSupportedJavaVersion());
+			String packageFolder = "/" + projectName + "/src/test";
+			createFolder(packageFolder);
+			createFile(packageFolder + "/Util.java",
+					"""
+					package test;
+					public class Util {
+						public static void foo() {}
+					}
+					""");
+			for (int i = 0; i < 3; i++) {
+				createFile(packageFolder + "/X" + i + ".java",
+						"package test;\n" +
+						"public class X" + i + " {\n" +
+						"	void bar() { Util.foo(); }\n" +
+						"}\n");
+			}
+			waitUntilIndexesReady();
+			IMethod method = project.findType("test.Util").getMethods()[0];
+			SearchPattern pattern = SearchPattern.createPattern(method, REFERENCES);
+			SearchParticipant[] participants = new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() };
+			IJavaSearchScope scope = SearchEngine.createJavaSearchScope(new IJavaElement[] { project });
+
+			TestCollector collector = new TestCollector();
+			boolean complete = new SearchEngine().search(pattern, participants, scope, collector, 1, null);
+			assertFalse("Search should have stopped", complete);
+			assertEquals("Unexpected number of matches", 1, collector.matches.size());
+
+			collector = new TestCollector();
+			complete = new SearchEngine().search(pattern, participants, scope, collector, 10, null);
+			assertTrue("Search should have completed", complete);
+			assertEquals("Unexpected number of matches", 3, collector.matches.size());
+
+			collector = new TestCollector();
+			complete = new SearchEngine().search(pattern, participants, scope, collector,
+					match -> match.getResource().getName().equals("X1.java"), null);
+			assertFalse("Search should have stopped", complete);
+			assertEquals("Unexpected matches", "src/test/X0.java void test.X0.bar() [foo()]\n" +
+					"src/test/X1.java void test.X1.bar() [foo()]", collector.toString());
+		} finally {
+			deleteProject(projectName);
+		}
+	}
+
 	private static void printJavaElements(IJavaProject javaProject, PrintStream output) throws Exception {
 		output.println("Printing Java elements of Java project: " + javaProject);
 		List<IJavaElement> queue = new LinkedList<>();
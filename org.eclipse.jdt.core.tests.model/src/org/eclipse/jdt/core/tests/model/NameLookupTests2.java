@@ -265,6 +265,74 @@ public void testFindPackageFragmentWithWorkingCopy() throws CoreException {
 		deleteProject("P");
 	}
 }
+/*
+ * Ensures that a partial package lookup finds the packages starting with the given name (ignoring case)
+ * and their sub-packages, but not the packages that only share a prefix with an inner segment.
+ */
+public void testFindPackageFragmentsPartialMatch() throws CoreException {
+	try {
+		JavaProject project = (JavaProject)createJavaProject("P", new String[] {"src"}, "bin");
+		createFolder("/P/src/p1/q/r");
+		createFolder("/P/src/p1x");
+		createFolder("/P/src/P2");
+		createFolder("/P/src/other/p1");
+		NameLookup nameLookup = getNameLookup(project);
+		assertElementsEqual(
+			"Unexpected packages for 'p1'",
+			"p1 [in src [in P]]\n" +
+			"p1.q [in src [in P]]\n" +
+			"p1.q.r [in src [in P]]\n" +
+			"p1x [in src [in P]]",
+			nameLookup.findPackageFragments("p1", true/*partial match*/),
+			false,
+			true/*sorted*/);
+		assertElementsEqual(
+			"Unexpected packages for 'P1.Q'",
+			"p1.q [in src [in P]]\n" +
+			"p1.q.r [in src [in P]]",
+			nameLookup.findPackageFragments("P1.Q", true/*partial match*/),
+			false,
+			true/*sorted*/);
+		assertElementsEqual(
+			"Unexpected packages for 'p2'",
+			"P2 [in src [in P]]",
+			nameLookup.findPackageFragments("p2", true/*partial match*/));
+		assertElementsEqual(
+			"Unexpected packages for 'q'",
+			"<null>",
+			nameLookup.findPackageFragments("q", true/*partial match*/));
+	} finally {
+		deleteProject("P");
+	}
+}
+/*
+ * Ensures that a partial package lookup finds a package that only exists in a working copy.
+ */
+public void testFindPackageFragmentsPartialMatchWithWorkingCopy() throws CoreException {
+	this.workingCopies = new ICompilationUnit[1];
+	try {
+		JavaProject project = (JavaProject)createJavaProject("P");
+		createFolder("/P/p1");
+		// populate the project cache before the working copy exists
+		getNameLookup(project).findPackageFragments("p", true/*partial match*/);
+		this.workingCopies[0] = getWorkingCopy(
+			"/P/p2/X.java",
+			"package p2;\n" +
+			"public class X {\n" +
+			"}"
+		);
+		NameLookup nameLookup = project.newNameLookup(this.workingCopies);
+		assertElementsEqual(
+			"Unexpected packages",
+			"p1 [in <project root> [in P]]\n" +
+			"p2 [in <project root> [in P]]",
+			nameLookup.findPackageFragments("p", true/*partial match*/),
+			false,
+			true/*sorted*/);
+	} finally {
+		deleteProject("P");
+	}
+}
 /*
  * Ensure that a package fragment with a path with a length equals to an external jar path length + 1
  * is not found
@@ -698,6 +698,34 @@ public class OverflowingCacheTests extends ModifyingResourceTests {
 		assertEquals("overflow space incorrect (after flush)", 0, actualOverflow);
 	}
 
+	/**
+	 * Creates an empty ElementCache of size 500, inserts 1000 elements
+	 * and ensures that the hits, misses and evictions are counted.
+	 * 666 elements are evicted (see #testElementCacheUseNoOverflow()).
+	 */
+	public void testElementCacheStatistics() {
+		int spaceLimit = 500;
+		int entryCount = 1000;
+
+		ElementCache<OverflowingTestOpenable> cache = new ElementCache<>(spaceLimit);
+		OverflowingTestOpenable[] openables = new OverflowingTestOpenable[entryCount];
+		for (int i = 0; i < entryCount; i++) {
+			openables[i] = new OverflowingTestOpenable(new OverflowingTestBuffer(false, null), cache);
+			cache.put(openables[i], new MockInfo(i));
+		}
+		assertEquals("evictions incorrect", 666, cache.getEvictionCount());
+
+		for (int i = 0; i < entryCount; i++) {
+			cache.get(openables[i]);
+		}
+		assertEquals("hits incorrect", 334, cache.getHitCount());
+		assertEquals("misses incorrect", 666, cache.getMissCount());
+
+		// peeking doesn't count as a lookup
+		cache.peek(openables[entryCount - 1]);
+		assertEquals("hits incorrect after peek", 334, cache.getHitCount());
+	}
+
 	static class MockInfo extends JavaElementInfo {
 		private final int index;
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,7 @@ package org.eclipse.jdt.core.tests.model;
 import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.util.List;
 import java.util.Map;
 import junit.framework.Test;
 import org.eclipse.core.resources.IResource;
@@ -1844,6 +1845,230 @@ public void testGrowImports() throws JavaModelException {
 		"	import p[-]: {}"
 	);
 }
+/*
+ * Ensures that the problems of the methods following an edit in another method body are still reported
+ * at the right positions when the reconcile only analyzes the edited method.
+ */
+public void testIncrementalReconcile1() throws CoreException {
+	setWorkingCopyContents(
+		"package p1;\n" +
+		"public class X {\n" +
+		"  void bar() {\n" +
+		"  }\n" +
+		"  void foo() {\n" +
+		"    int i = 0;\n" +
+		"  }\n" +
+		"}");
+	this.workingCopy.reconcile(ICompilationUnit.NO_AST, false, null, null);
+
+	// edit the body of bar()
+	setWorkingCopyContents(
+		"package p1;\n" +
+		"public class X {\n" +
+		"  void bar() {\n" +
+		"    int j;\n" +
+		"  }\n" +
+		"  void foo() {\n" +
+		"    int i = 0;\n" +
+		"  }\n" +
+		"}");
+	this.workingCopy.reconcile(ICompilationUnit.NO_AST, false, null, null);
+	assertProblems(
+		"Unexpected problems",
+		"----------\n" +
+		"1. WARNING in /Reconciler/src/p1/X.java (at line 4)\n" +
+		"	int j;\n" +
+		"	    ^\n" +
+		"The value of the local variable j is not used\n" +
+		"----------\n" +
+		"2. WARNING in /Reconciler/src/p1/X.java (at line 7)\n" +
+		"	int i = 0;\n" +
+		"	    ^\n" +
+		"The value of the local variable i is not used\n" +
+		"----------\n"
+	);
+}
+/*
+ * Ensures that the usage of a private method is updated when the reconcile only analyzes the edited method.
+ */
+public void testIncrementalReconcile2() throws CoreException {
+	setWorkingCopyContents(
+		"package p1;\n" +
+		"public class X {\n" +
+		"  void bar() {\n" +
+		"  }\n" +
+		"  private void foo() {\n" +
+		"  }\n" +
+		"}");
+	this.workingCopy.reconcile(ICompilationUnit.NO_AST, false, null, null);
+	assertProblems(
+		"Unexpected problems",
+		"----------\n" +
+		"1. WARNING in /Reconciler/src/p1/X.java (at line 5)\n" +
+		"	private void foo() {\n" +
+		"	             ^^^^^\n" +
+		"The method foo() from the type X is never used locally\n" +
+		"----------\n"
+	);
+
+	// use foo() in the body of bar()
+	setWorkingCopyContents(
+		"package p1;\n" +
+		"public class X {\n" +
+		"  void bar() {\n" +
+		"    foo();\n" +
+		"  }\n" +
+		"  private void foo() {\n" +
+		"  }\n" +
+		"}");
+	this.workingCopy.reconcile(ICompilationUnit.NO_AST, false, null, null);
+	assertProblems(
+		"Unexpected problems",
+		"----------\n" +
+		"----------\n"
+	);
+}
+/*
+ * Ensures that the problems of the methods that did not change are not reused when the options changed
+ * since the last reconcile.
+ */
+public void testIncrementalReconcile3() throws CoreException {
+	IJavaProject project = this.workingCopy.getJavaProject();
+	String unusedLocal = project.getOption(JavaCore.COMPILER_PB_UNUSED_LOCAL, true);
+	try {
+		setWorkingCopyContents(
+			"package p1;\n" +
+			"public class X {\n" +
+			"  void bar() {\n" +
+			"  }\n" +
+			"  void foo() {\n" +
+			"    int i = 0;\n" +
+			"  }\n" +
+			"}");
+		this.workingCopy.reconcile(ICompilationUnit.NO_AST, false, null, null);
+		project.setOption(JavaCore.COMPILER_PB_UNUSED_LOCAL, JavaCore.IGNORE);
+
+		// edit the body of bar()
+		setWorkingCopyContents(
+			"package p1;\n" +
+			"public class X {\n" +
+			"  void bar() {\n" +
+			"    int j;\n" +
+			"  }\n" +
+			"  void foo() {\n" +
+			"    int i = 0;\n" +
+			"  }\n" +
+			"}");
+		this.workingCopy.reconcile(ICompilationUnit.NO_AST, false, null, null);
+		assertProblems(
+			"Unexpected problems",
+			"----------\n" +
+			"----------\n"
+		);
+	} finally {
+		project.setOption(JavaCore.COMPILER_PB_UNUSED_LOCAL, unusedLocal);
+	}
+}
+/*
+ * Ensures that the usage of a private field in a method that did not change is still reported
+ * when another method is edited.
+ */
+public void testIncrementalReconcile4() throws CoreException {
+	setWorkingCopyContents(
+		"package p1;\n" +
+		"public class X {\n" +
+		"  private int count;\n" +
+		"  void bar() {\n" +
+		"  }\n" +
+		"  void foo() {\n" +
+		"    this.count++;\n" +
+		"  }\n" +
+		"}");
+	this.workingCopy.reconcile(ICompilationUnit.NO_AST, false, null, null);
+
+	// edit the body of bar()
+	setWorkingCopyContents(
+		"package p1;\n" +
+		"public class X {\n" +
+		"  private int count;\n" +
+		"  void bar() {\n" +
+		"    int j;\n" +
+		"  }\n" +
+		"  void foo() {\n" +
+		"    this.count++;\n" +
+		"  }\n" +
+		"}");
+	this.workingCopy.reconcile(ICompilationUnit.NO_AST, false, null, null);
+	assertProblems(
+		"Unexpected problems",
+		"----------\n" +
+		"1. WARNING in /Reconciler/src/p1/X.java (at line 3)\n" +
+		"	private int count;\n" +
+		"	            ^^^^^\n" +
+		"The value of the field X.count is not used\n" +
+		"----------\n" +
+		"2. WARNING in /Reconciler/src/p1/X.java (at line 5)\n" +
+		"	int j;\n" +
+		"	    ^\n" +
+		"The value of the local variable j is not used\n" +
+		"----------\n"
+	);
+}
+/*
+ * Ensures that the bindings of the locals of a method that did not change are the same as after a full reconcile
+ * when another method is edited and an AST is created.
+ */
+public void testIncrementalReconcile5() throws CoreException {
+	setWorkingCopyContents(
+		"package p1;\n" +
+		"public class X {\n" +
+		"  void bar() {\n" +
+		"  }\n" +
+		"  void foo() {\n" +
+		"    int i = 0;\n" +
+		"    i = 1;\n" +
+		"    int k = i;\n" +
+		"  }\n" +
+		"}");
+	this.workingCopy.reconcile(ICompilationUnit.NO_AST, false, null, null);
+
+	// edit the body of bar()
+	setWorkingCopyContents(
+		"package p1;\n" +
+		"public class X {\n" +
+		"  void bar() {\n" +
+		"    int j;\n" +
+		"  }\n" +
+		"  void foo() {\n" +
+		"    int i = 0;\n" +
+		"    i = 1;\n" +
+		"    int k = i;\n" +
+		"  }\n" +
+		"}");
+	org.eclipse.jdt.core.dom.CompilationUnit unit = this.workingCopy.reconcile(JLS_LATEST, true, null, null);
+	org.eclipse.jdt.core.dom.TypeDeclaration type = (org.eclipse.jdt.core.dom.TypeDeclaration) unit.types().get(0);
+	List<?> statements = type.getMethods()[1].getBody().statements();
+	org.eclipse.jdt.core.dom.VariableDeclarationStatement i = (org.eclipse.jdt.core.dom.VariableDeclarationStatement) statements.get(0);
+	org.eclipse.jdt.core.dom.VariableDeclarationStatement k = (org.eclipse.jdt.core.dom.VariableDeclarationStatement) statements.get(2);
+	assertFalse("i should not be effectively final",
+		((org.eclipse.jdt.core.dom.VariableDeclarationFragment) i.fragments().get(0)).resolveBinding().isEffectivelyFinal());
+	assertTrue("k should be effectively final",
+		((org.eclipse.jdt.core.dom.VariableDeclarationFragment) k.fragments().get(0)).resolveBinding().isEffectivelyFinal());
+	assertProblems(
+		"Unexpected problems",
+		"----------\n" +
+		"1. WARNING in /Reconciler/src/p1/X.java (at line 4)\n" +
+		"	int j;\n" +
+		"	    ^\n" +
+		"The value of the local variable j is not used\n" +
+		"----------\n" +
+		"2. WARNING in /Reconciler/src/p1/X.java (at line 9)\n" +
+		"	int k = i;\n" +
+		"	    ^\n" +
+		"The value of the local variable k is not used\n" +
+		"----------\n"
+	);
+}
 /*
  * Ensures that a type matching a ignore-if-better non-accessible rule is further found when accessible
  * on another classpath entry.
@@ -15,7 +15,10 @@ package org.eclipse.jdt.core.tests.model;
 
 import java.io.FileInputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import junit.framework.Test;
 import org.eclipse.core.resources.IProject;
@@ -42,6 +45,7 @@ import org.eclipse.jdt.internal.core.LocalVariable;
 import org.eclipse.jdt.internal.core.search.BasicSearchEngine;
 import org.eclipse.jdt.internal.core.search.indexing.IndexManager;
 import org.eclipse.jdt.internal.core.search.processing.IJob;
+import org.eclipse.jdt.internal.core.search.processing.JobManager;
 
 /*
  * Test indexing support.
@@ -620,6 +624,83 @@ public void testConcurrentJob() throws Exception {
 		deleteProject("P1");
 	}
 }
+/*
+ * Ensure that jobs which can run concurrently are executed in parallel when they belong to different families,
+ * while the jobs of a same family and the jobs which cannot run concurrently keep the order of the queue.
+ */
+public void testConcurrentLibraryJobs() throws Exception {
+	List<String> events = Collections.synchronizedList(new ArrayList<>());
+	CountDownLatch bothStarted = new CountDownLatch(2);
+	class LibraryJob implements IJob {
+		final String name, family;
+		final boolean concurrent;
+		boolean overlapped;
+		LibraryJob(String name, String family, boolean concurrent) {
+			this.name = name;
+			this.family = family;
+			this.concurrent = concurrent;
+		}
+		public boolean belongsTo(String jobFamily) {
+			return this.family.equals(jobFamily);
+		}
+		public void cancel() {
+		}
+		public void ensureReadyToRun() {
+		}
+		public boolean execute(IProgressMonitor progress) {
+			events.add("start " + this.name);
+			if (this.name.equals("a1") || this.name.equals("b1")) {
+				bothStarted.countDown();
+				try {
+					this.overlapped = bothStarted.await(30, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					// fail below
+				}
+			}
+			events.add("end " + this.name);
+			return true;
+		}
+		public String getJobFamily() {
+			return this.family;
+		}
+		@Override
+		public boolean canRunConcurrently() {
+			return this.concurrent;
+		}
+	}
+	JobManager jobManager = new JobManager() {
+		@Override
+		protected void notifyIdle(long idlingMilliSeconds) {
+		}
+		@Override
+		public String processName() {
+			return "SearchTests.ConcurrentLibraryJobs";
+		}
+		@Override
+		protected int getMaxConcurrentJobs() {
+			return 2;
+		}
+	};
+	LibraryJob a1 = new LibraryJob("a1", "a.jar", true);
+	LibraryJob b1 = new LibraryJob("b1", "b.jar", true);
+	try {
+		jobManager.disable();
+		jobManager.reset();
+		jobManager.request(a1);
+		jobManager.request(new LibraryJob("a2", "a.jar", true));
+		jobManager.request(b1);
+		jobManager.request(new LibraryJob("p", "P", false));
+		jobManager.enable();
+		for (int i = 0; i < 300 && jobManager.awaitingJobsCount() > 0; i++)
+			Thread.sleep(100);
+		assertEquals("Unexpected awaiting jobs", 0, jobManager.awaitingJobsCount());
+	} finally {
+		jobManager.shutdown();
+	}
+	assertTrue("Jobs of different families should run concurrently", a1.overlapped && b1.overlapped);
+	assertTrue("Job of the same family should wait: " + events, events.indexOf("start a2") > events.indexOf("end a1"));
+	assertEquals("Job which cannot run concurrently should run last: " + events, "start p", events.get(events.size() - 2));
+}
 /*
  * Ensures that passing a null progress monitor with a CANCEL_IF_NOT_READY_TO_SEARCH
  * waiting policy doesn't throw a NullPointerException but an OperationCanceledException.
@@ -39,6 +39,7 @@ import org.eclipse.jdt.core.tests.model.SearchTests.WaitingJob;
 import org.eclipse.jdt.core.tests.model.Semaphore.TimeOutException;
 import org.eclipse.jdt.core.tests.util.Util;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.core.hierarchy.RegionBasedHierarchyBuilder;
 
 @SuppressWarnings("rawtypes")
 public class TypeHierarchyTests extends ModifyingResourceTests {
@@ -3783,4 +3784,46 @@ public void testHierarchyOfCircular() throws CoreException {
 
 }
 
+/*
+ * Ensures that a type hierarchy on a region resolved by several threads is the same as the
+ * type hierarchy resolved by the thread of the operation.
+ */
+public void testRegionResolvedInParallel() throws CoreException {
+	try {
+		createJavaProject("P", new String[] {""}, new String[] {"JCL18_LIB"}, "");
+		createFolder("/P/p");
+		createFile(
+			"/P/p/I.java",
+			"package p;\n" +
+			"public interface I {\n" +
+			"}"
+		);
+		// enough units for several chunks of openables
+		for (int i = 1; i < 150; i++) {
+			createFile(
+				"/P/p/X" + i + ".java",
+				"package p;\n" +
+				"public class X" + i + (i > 1 ? " extends X" + (i / 2) : "") + (i % 3 == 0 ? " implements I" : "") + " {\n" +
+				"}"
+			);
+		}
+		createFile(
+			"/P/p/Y.java",
+			"package p;\n" +
+			"public class Y extends Unknown {\n" +
+			"}"
+		);
+		IRegion region = JavaCore.newRegion();
+		region.add(getPackage("/P/p"));
+		String serialHierarchy = getJavaProject("P").newTypeHierarchy(region, null).toString();
+
+		System.setProperty(RegionBasedHierarchyBuilder.THREADS_PROPERTY, "3");
+		ITypeHierarchy hierarchy = getJavaProject("P").newTypeHierarchy(region, null);
+		assertHierarchyEquals(serialHierarchy, hierarchy);
+		assertEquals("Unexpected number of subclasses", 2, hierarchy.getSubclasses(getCompilationUnit("/P/p/X7.java").getType("X7")).length);
+	} finally {
+		System.clearProperty(RegionBasedHierarchyBuilder.THREADS_PROPERTY);
+		deleteProject("P");
+	}
+}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 20157IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,7 @@ package org.eclipse.jdt.core.tests.performance;
 
 import java.io.PrintStream;
 import java.text.NumberFormat;
+import java.util.ArrayList;
 import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.List;
@@ -26,6 +27,11 @@ import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.compiler.IProblem;
 import org.eclipse.jdt.core.dom.*;
+import org.eclipse.jdt.core.dom.rewrite.ASTRewrite;
+import org.eclipse.jdt.core.dom.rewrite.ListRewrite;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.text.edits.TextEdit;
 
 @SuppressWarnings({"rawtypes", "unchecked"})
 public class FullSourceWorkspaceASTTests extends FullSourceWorkspaceTests {
@@ -39,6 +45,10 @@ public class FullSourceWorkspaceASTTests extends FullSourceWorkspaceTests {
     // Tests counter
     private static int TESTS_COUNT = 0;
 	private final static int ITERATIONS_COUNT = 10;
+	// Heap retained per source line by the ASTs built without bindings, in bytes
+	private final static int MEMORY_BUDGET_PER_LINE = 1500;
+	// Methods of the unit rewritten with two edits each
+	private final static int REWRITTEN_METHODS = 4000;
 	int nodesCount = 0;
 
     // Log files
@@ -741,4 +751,187 @@ public class FullSourceWorkspaceASTTests extends FullSourceWorkspaceTests {
 		tagAsSummary("DOM AST tree for project files (JLS3)", true); // put in fingerprint
 		runAstCreation(getProject("org.eclipse.search"));
 	}
+
+	/*
+	 * Returns the size of the heap retained by the ASTs of the given units, with their bindings resolved
+	 * and detached or not.
+	 */
+	private long retainedSize(ASTParser parser, ICompilationUnit[] compilationUnits, final boolean detach) {
+		final List asts = new ArrayList();
+		runGc();
+		Runtime runtime = Runtime.getRuntime();
+		long used = runtime.totalMemory() - runtime.freeMemory();
+		parser.createASTs(compilationUnits, new String[0], new ASTRequestor() {
+				public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+					ast.accept(new ASTVisitor() {
+						public boolean visit(SimpleName node) {
+							node.resolveBinding();
+							return true;
+						}
+					});
+					if (detach) {
+						ast.detachBindings();
+					}
+					asts.add(ast);
+				}
+			},
+			null);
+		runGc();
+		long retained = runtime.totalMemory() - runtime.freeMemory() - used;
+		assertEquals("Unexpected number of ASTs", compilationUnits.length, asts.size());
+		return retained;
+	}
+
+	/**
+	 * Retained size of the ASTs of all compilation units in org.eclipse.search project once their bindings are detached.
+	 */
+	public void testDomAstDetachedBindings() throws JavaModelException {
+		tagAsSummary("DOM AST trees with detached bindings for project files", false); // do NOT put in fingerprint
+
+		IJavaProject javaProject = getProject("org.eclipse.search");
+		ASTParser parser = ASTParser.newParser(JLS3_INTERNAL);
+		parser.setResolveBindings(true);
+		parser.setProject(javaProject);
+		List units = getProjectCompilationUnits(javaProject);
+		ICompilationUnit[] compilationUnits = new ICompilationUnit[units.size()];
+		units.toArray(compilationUnits);
+
+		// warm up
+		long attachedSize = retainedSize(parser, compilationUnits, false);
+
+		// Measures
+		long detachedSize = 0;
+		for (int i = 0; i < MEASURES_COUNT; i++) {
+			startMeasuring();
+			detachedSize = retainedSize(parser, compilationUnits, true);
+			stopMeasuring();
+		}
+		commitMeasurements();
+		assertPerformance();
+
+		if (DEBUG) {
+			NumberFormat intFormat = NumberFormat.getIntegerInstance();
+			System.out.println("	- retained size of "+compilationUnits.length+" ASTs: "+intFormat.format(attachedSize)+" bytes with bindings, "
+				+intFormat.format(detachedSize)+" bytes with detached bindings ("+(attachedSize == 0 ? 0 : 100 - detachedSize * 100 / attachedSize)+"% less)");
+		}
+	}
+
+	/**
+	 * Heap retained per source line by the ASTs of all compilation units in org.eclipse.search project,
+	 * built without bindings.
+	 */
+	public void testDomAstMemoryPerLine() throws JavaModelException {
+		tagAsSummary("DOM AST trees memory per source line for project files", false); // do NOT put in fingerprint
+
+		IJavaProject javaProject = getProject("org.eclipse.search");
+		ASTParser parser = ASTParser.newParser(JLS3_INTERNAL);
+		parser.setProject(javaProject);
+		List units = getProjectCompilationUnits(javaProject);
+		ICompilationUnit[] compilationUnits = new ICompilationUnit[units.size()];
+		units.toArray(compilationUnits);
+
+		// Measures
+		Runtime runtime = Runtime.getRuntime();
+		final int[] lines = new int[1];
+		long retained = 0;
+		for (int i = 0; i < MEASURES_COUNT; i++) {
+			final List asts = new ArrayList();
+			lines[0] = 0;
+			runGc();
+			long used = runtime.totalMemory() - runtime.freeMemory();
+			startMeasuring();
+			parser.createASTs(compilationUnits, new String[0], new ASTRequestor() {
+					public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+						lines[0] += ast.getLineNumber(ast.getStartPosition() + ast.getLength() - 1);
+						asts.add(ast);
+					}
+				},
+				null);
+			stopMeasuring();
+			runGc();
+			retained = runtime.totalMemory() - runtime.freeMemory() - used;
+			assertEquals("Unexpected number of ASTs", compilationUnits.length, asts.size());
+		}
+		commitMeasurements();
+		assertPerformance();
+
+		long bytesPerLine = lines[0] == 0 ? 0 : retained / lines[0];
+		if (DEBUG) {
+			NumberFormat intFormat = NumberFormat.getIntegerInstance();
+			System.out.println("	- retained size of "+compilationUnits.length+" ASTs: "+intFormat.format(retained)+" bytes for "
+				+intFormat.format(lines[0])+" lines ("+bytesPerLine+" bytes per line)");
+		}
+		assertTrue("DOM ASTs retain "+bytesPerLine+" bytes per source line, more than the budget of "+MEMORY_BUDGET_PER_LINE,
+			bytesPerLine <= MEMORY_BUDGET_PER_LINE);
+	}
+
+	/*
+	 * Returns the time spent to rewrite a generated compilation unit with the given number of methods,
+	 * with a replaced initializer and a moved statement in each method, in nanoseconds.
+	 */
+	private long rewriteTime(int methods) throws BadLocationException {
+		StringBuilder source = new StringBuilder("public class X {\n");
+		for (int i = 0; i < methods; i++) {
+			source.append("	// method ").append(i).append('\n');
+			source.append("	int m").append(i).append("(int p) {\n");
+			source.append("		int a = ").append(i).append("; // first\n");
+			source.append("		int b = p + a; /* second */\n");
+			source.append("		return a + b;\n");
+			source.append("	}\n");
+		}
+		source.append("}\n");
+		Document document = new Document(source.toString());
+		ASTParser parser = ASTParser.newParser(JLS3_INTERNAL);
+		parser.setSource(document.get().toCharArray());
+		CompilationUnit unit = (CompilationUnit) parser.createAST(null);
+		AST ast = unit.getAST();
+		ASTRewrite rewrite = ASTRewrite.create(ast);
+		MethodDeclaration[] methodDeclarations = ((TypeDeclaration) unit.types().get(0)).getMethods();
+		for (MethodDeclaration methodDeclaration : methodDeclarations) {
+			List statements = methodDeclaration.getBody().statements();
+			VariableDeclarationStatement first = (VariableDeclarationStatement) statements.get(0);
+			rewrite.replace(((VariableDeclarationFragment) first.fragments().get(0)).getInitializer(), ast.newNumberLiteral("0"), null);
+			ListRewrite listRewrite = rewrite.getListRewrite(methodDeclaration.getBody(), Block.STATEMENTS_PROPERTY);
+			listRewrite.insertFirst(rewrite.createMoveTarget((ASTNode) statements.get(1)), null);
+		}
+		long start = System.nanoTime();
+		TextEdit edit = rewrite.rewriteAST(document, null);
+		edit.apply(document);
+		long time = System.nanoTime() - start;
+		assertEquals("Unexpected number of methods", methods, methodDeclarations.length);
+		return time;
+	}
+
+	/**
+	 * Rewrite of a large compilation unit with thousands of edits, compared to the rewrite
+	 * of a unit with four times less edits.
+	 */
+	public void testDomAstRewriteScaling() throws BadLocationException {
+		tagAsSummary("DOM AST rewrite with thousands of edits in one file", false); // do NOT put in fingerprint
+
+		// warm up
+		rewriteTime(REWRITTEN_METHODS / 4);
+
+		// Measures
+		long smallTime = Long.MAX_VALUE;
+		long largeTime = Long.MAX_VALUE;
+		for (int i = 0; i < MEASURES_COUNT; i++) {
+			smallTime = Math.min(smallTime, rewriteTime(REWRITTEN_METHODS / 4));
+			runGc();
+			startMeasuring();
+			largeTime = Math.min(largeTime, rewriteTime(REWRITTEN_METHODS));
+			stopMeasuring();
+		}
+		commitMeasurements();
+		assertPerformance();
+
+		if (DEBUG) {
+			NumberFormat intFormat = NumberFormat.getIntegerInstance();
+			System.out.println("	- rewrite of "+intFormat.format(REWRITTEN_METHODS / 4)+" methods: "+intFormat.format(smallTime / 1000)+"us, of "
+				+intFormat.format(REWRITTEN_METHODS)+" methods: "+intFormat.format(largeTime / 1000)+"us");
+		}
+		// linear scaling allows 4 times the time, with some margin for the noise of small measures
+		assertTrue("Rewrite of "+REWRITTEN_METHODS+" methods took "+largeTime / smallTime+" times the rewrite of "+REWRITTEN_METHODS / 4+" methods",
+			largeTime <= 8 * smallTime);
+	}
 }
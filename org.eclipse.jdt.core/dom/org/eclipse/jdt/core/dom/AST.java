@@ -614,6 +614,12 @@ public final class AST {
 	 */
 	static final int RESOLVED_BINDINGS = 0x80000000;
 
+	/*
+	 * Requests the conversion of the method bodies on demand, see ASTParser#setLazyMethodBodies(boolean).
+	 * Must not collide with a value for ICompilationUnit constants
+	 */
+	static final int LAZY_METHOD_BODIES = 0x40000000;
+
 	private static Map<String, Long> jdkLevelMap = getLevelMapTable();
 
 	private static Map<String, Integer> apiLevelMap = getApiLevelMapTable();
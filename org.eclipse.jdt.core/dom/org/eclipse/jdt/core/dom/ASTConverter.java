@@ -60,6 +60,11 @@ class ASTConverter {
 	protected DocCommentParser docParser;
 	// comments
 	protected boolean insideComments;
+	/*
+	 * Whether the statements of the method bodies are converted on demand, see ASTParser#setLazyMethodBodies(boolean)
+	 */
+	boolean lazyMethodBodies;
+	private boolean hasLazyMethodBodies;
 	protected IProgressMonitor monitor;
 	protected Set pendingNameScopeResolution;
 	protected Set pendingThisExpressionScopeResolution;
@@ -762,20 +767,13 @@ class ASTConverter {
 				methodDecl.setBody(block);
 			}
 			if (block != null && (statements != null || explicitConstructorCall != null)) {
-				if (explicitConstructorCall != null && explicitConstructorCall.accessMode != org.eclipse.jdt.internal.compiler.ast.ExplicitConstructorCall.ImplicitSuper && explicitConstructorCall.firstStatement) {
-					block.statements().add(convert(explicitConstructorCall));
-				}
-				int statementsLength = statements == null ? 0 : statements.length;
-				for (int i = 0; i < statementsLength; i++) {
-					org.eclipse.jdt.internal.compiler.ast.Statement astStatement = statements[i];
-					if (astStatement instanceof org.eclipse.jdt.internal.compiler.ast.LocalDeclaration) {
-						checkAndAddMultipleLocalDeclaration(statements, i, block.statements());
-					} else {
-						final Statement statement = convert(astStatement);
-						if (statement != null) {
-							block.statements().add(statement);
-						}
-					}
+				if (this.lazyMethodBodies) {
+					final MethodDeclaration context = methodDecl;
+					final org.eclipse.jdt.internal.compiler.ast.ExplicitConstructorCall constructorCall = explicitConstructorCall;
+					block.setLazyStatements(blockStatements -> convertLazyStatements(context, constructorCall, statements, blockStatements));
+					this.hasLazyMethodBodies = true;
+				} else {
+					convertStatements(explicitConstructorCall, statements, block.statements());
 				}
 			}
 			if (block != null) {
@@ -841,6 +839,48 @@ class ASTConverter {
 		return methodDecl;
 	}
 
+	private void convertStatements(org.eclipse.jdt.internal.compiler.ast.ExplicitConstructorCall explicitConstructorCall, org.eclipse.jdt.internal.compiler.ast.Statement[] statements, List blockStatements) {
+		if (explicitConstructorCall != null && explicitConstructorCall.accessMode != org.eclipse.jdt.internal.compiler.ast.ExplicitConstructorCall.ImplicitSuper && explicitConstructorCall.firstStatement) {
+			blockStatements.add(convert(explicitConstructorCall));
+		}
+		int statementsLength = statements == null ? 0 : statements.length;
+		for (int i = 0; i < statementsLength; i++) {
+			org.eclipse.jdt.internal.compiler.ast.Statement astStatement = statements[i];
+			if (astStatement instanceof org.eclipse.jdt.internal.compiler.ast.LocalDeclaration) {
+				checkAndAddMultipleLocalDeclaration(statements, i, blockStatements);
+			} else {
+				final Statement statement = convert(astStatement);
+				if (statement != null) {
+					blockStatements.add(statement);
+				}
+			}
+		}
+	}
+
+	/*
+	 * Converts the statements of a method body the first time they are accessed, once the
+	 * conversion of the compilation unit is done.
+	 * The events of the AST are disabled by the block.
+	 */
+	private void convertLazyStatements(MethodDeclaration methodDecl, org.eclipse.jdt.internal.compiler.ast.ExplicitConstructorCall explicitConstructorCall, org.eclipse.jdt.internal.compiler.ast.Statement[] statements, List blockStatements) {
+		synchronized (this) {
+			ASTNode oldReferenceContext = this.referenceContext;
+			IProgressMonitor oldMonitor = this.monitor;
+			int oldDefaultNodeFlag = this.ast.getDefaultNodeFlag();
+			this.referenceContext = methodDecl;
+			// the monitor of the conversion may be done already
+			this.monitor = null;
+			this.ast.setDefaultNodeFlag(ASTNode.ORIGINAL);
+			try {
+				convertStatements(explicitConstructorCall, statements, blockStatements);
+			} finally {
+				this.ast.setDefaultNodeFlag(oldDefaultNodeFlag);
+				this.monitor = oldMonitor;
+				this.referenceContext = oldReferenceContext;
+			}
+		}
+	}
+
 	public ClassInstanceCreation convert(org.eclipse.jdt.internal.compiler.ast.AllocationExpression expression) {
 		ClassInstanceCreation classInstanceCreation = new ClassInstanceCreation(this.ast);
 		if (this.resolveBindings) {
@@ -1501,6 +1541,10 @@ class ASTConverter {
 
 	public CompilationUnit convert(org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration unit, char[] source) {
 		try {
+			if (unit.compilationResult.problemCount != 0) {
+				// the problems are propagated to all the nodes of the tree
+				this.lazyMethodBodies = false;
+			}
 			if(unit.compilationResult.recoveryScannerData != null) {
 				RecoveryScanner recoveryScanner = new RecoveryScanner(this.scanner, unit.compilationResult.recoveryScannerData.removeUnused());
 				this.scanner = recoveryScanner;
@@ -1585,7 +1629,12 @@ class ASTConverter {
 			if (this.resolveBindings) {
 				lookupForScopes();
 			}
-			compilationUnit.initCommentMapper(this.scanner);
+			if (this.hasLazyMethodBodies) {
+				// the extended ranges of the nodes of the method bodies are computed once they are converted
+				compilationUnit.initLazyCommentMapper(this.scanner);
+			} else {
+				compilationUnit.initCommentMapper(this.scanner);
+			}
 			if (SourceRangeVerifier.DEBUG) {
 				String bugs = new SourceRangeVerifier().process(compilationUnit);
 				if (bugs != null) {
@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.dom;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes structural hash codes of AST subtrees.
+ * <p>
+ * The hash code of a subtree is consistent with {@link ASTMatcher}: two subtrees that match according to
+ * <code>n1.subtreeMatch(new ASTMatcher(), n2)</code> or <code>n1.subtreeMatch(new ASTMatcher(true), n2)</code>
+ * have the same hash code. Subtrees with the same hash code do not necessarily match. For instance, to find
+ * the duplicated subtrees among many subtrees, put the subtrees in buckets keyed by their hash code, and
+ * call the matcher only on the subtrees of the same bucket.
+ * </p>
+ * <p>
+ * The hash code of a node is computed from its node type, its simple properties and the hash codes of its
+ * children. Doc comments only contribute their node type, since the default matcher ignores their tags.
+ * The hasher can optionally ignore the identifiers of the names ({@link #NORMALIZE_IDENTIFIERS}) and the
+ * values of the literals ({@link #NORMALIZE_LITERALS}), so that subtrees that only differ by them have the
+ * same hash code.
+ * </p>
+ * <p>
+ * The hash codes of the nodes are cached by the hasher, so that computing the hash code of every node of
+ * an AST takes a time proportional to the size of the AST. The cached hash codes of the nodes of an AST are
+ * discarded when the AST is modified. A hasher keeps references to the nodes it has hashed; it should be
+ * discarded once the ASTs are no longer needed. A hasher is not thread-safe.
+ * </p>
+ * <p>
+ * This class is not intended to be subclassed by clients.
+ * </p>
+ *
+ * @see ASTMatcher
+ * @since 3.46
+ */
+@SuppressWarnings("rawtypes")
+public final class ASTHasher {
+
+	/**
+	 * Normalization flag indicating that the identifiers of the simple names are ignored.
+	 */
+	public static final int NORMALIZE_IDENTIFIERS = 0x1;
+
+	/**
+	 * Normalization flag indicating that the values of the boolean, character, number, string and
+	 * text block literals are ignored.
+	 */
+	public static final int NORMALIZE_LITERALS = 0x2;
+
+	/*
+	 * The cached hash codes of the nodes of an AST.
+	 */
+	private static class Cache {
+		final long modificationCount;
+		final Map<ASTNode, Integer> hashCodes = new IdentityHashMap<>();
+
+		Cache(long modificationCount) {
+			this.modificationCount = modificationCount;
+		}
+	}
+
+	private final int normalization;
+
+	private final Map<AST, Cache> caches = new IdentityHashMap<>();
+
+	/**
+	 * Creates a new hasher that doesn't normalize the subtrees.
+	 */
+	public ASTHasher() {
+		this(0);
+	}
+
+	/**
+	 * Creates a new hasher with the given normalization.
+	 *
+	 * @param normalization a bit-wise or of {@link #NORMALIZE_IDENTIFIERS} and {@link #NORMALIZE_LITERALS}, or
+	 * <code>0</code> for none
+	 */
+	public ASTHasher(int normalization) {
+		this.normalization = normalization;
+	}
+
+	/**
+	 * Returns the structural hash code of the subtree rooted at the given node.
+	 *
+	 * @param node the root of the subtree
+	 * @return the hash code of the subtree
+	 */
+	public int hashCode(ASTNode node) {
+		AST ast = node.getAST();
+		long modificationCount = ast.modificationCount();
+		Cache cache = this.caches.get(ast);
+		if (cache == null || cache.modificationCount != modificationCount) {
+			cache = new Cache(modificationCount);
+			this.caches.put(ast, cache);
+		}
+		return hashCode(node, cache.hashCodes);
+	}
+
+	private int hashCode(ASTNode node, Map<ASTNode, Integer> hashCodes) {
+		Integer cached = hashCodes.get(node);
+		if (cached != null) {
+			return cached.intValue();
+		}
+		int nodeType = node.getNodeType();
+		int hashCode = nodeType;
+		if (nodeType != ASTNode.JAVADOC) {
+			List properties = node.structuralPropertiesForType();
+			for (int i = 0, size = properties.size(); i < size; i++) {
+				StructuralPropertyDescriptor property = (StructuralPropertyDescriptor) properties.get(i);
+				if (isIgnored(node, property)) {
+					continue;
+				}
+				Object value = node.getStructuralProperty(property);
+				int valueHashCode;
+				if (value == null) {
+					valueHashCode = 0;
+				} else if (property.isChildProperty()) {
+					valueHashCode = hashCode((ASTNode) value, hashCodes);
+				} else if (property.isChildListProperty()) {
+					List children = (List) value;
+					valueHashCode = children.size();
+					for (int j = 0, length = children.size(); j < length; j++) {
+						valueHashCode = 31 * valueHashCode + hashCode((ASTNode) children.get(j), hashCodes);
+					}
+				} else if (value instanceof String || value instanceof Boolean || value instanceof Integer) {
+					valueHashCode = value.hashCode();
+				} else {
+					// operators, modifier keywords and primitive type codes
+					valueHashCode = value.toString().hashCode();
+				}
+				hashCode = 31 * hashCode + valueHashCode;
+			}
+		}
+		hashCodes.put(node, Integer.valueOf(hashCode));
+		return hashCode;
+	}
+
+	/*
+	 * Returns whether the given property is not compared by the default matcher, or is normalized.
+	 */
+	@SuppressWarnings("deprecation")
+	private boolean isIgnored(ASTNode node, StructuralPropertyDescriptor property) {
+		switch (node.getNodeType()) {
+			case ASTNode.SIMPLE_NAME :
+				return property == SimpleName.VAR_PROPERTY
+					|| (property == SimpleName.IDENTIFIER_PROPERTY && (this.normalization & NORMALIZE_IDENTIFIERS) != 0);
+			case ASTNode.BOOLEAN_LITERAL :
+			case ASTNode.CHARACTER_LITERAL :
+			case ASTNode.NUMBER_LITERAL :
+			case ASTNode.STRING_LITERAL :
+			case ASTNode.TEXT_BLOCK :
+				return property.isSimpleProperty() && (this.normalization & NORMALIZE_LITERALS) != 0;
+			case ASTNode.BREAK_STATEMENT :
+				return property == BreakStatement.EXPRESSION_PROPERTY;
+			case ASTNode.SWITCH_CASE :
+				return property == SwitchCase.SWITCH_LABELED_RULE_PROPERTY;
+			case ASTNode.SINGLE_VARIABLE_DECLARATION :
+				return property == SingleVariableDeclaration.VARARGS_ANNOTATIONS_PROPERTY
+					&& !((SingleVariableDeclaration) node).isVarargs();
+			case ASTNode.UNNAMED_CLASS :
+				return property != ImplicitTypeDeclaration.JAVADOC_PROPERTY
+					&& property != ImplicitTypeDeclaration.BODY_DECLARATIONS_PROPERTY;
+			case ASTNode.JAVADOC_REGION :
+				return property == JavaDocRegion.DUMMY_REGION_PROPERTY
+					|| property == JavaDocRegion.VALID_SNIPPET_PROPERTY;
+		}
+		return false;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,11 +16,14 @@ package org.eclipse.jdt.core.dom;
 
 import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import org.eclipse.jdt.internal.core.dom.NaiveASTFlattener;
 
 /**
@@ -1349,25 +1352,34 @@ public abstract class ASTNode {
 		= Collections.unmodifiableMap(new HashMap(1));
 
 	/**
-	 * Primary field used in representing node properties efficiently.
-	 * If <code>null</code>, this node has no properties.
-	 * If a {@link String}, this is the name of this node's sole property,
-	 * and <code>property2</code> contains its value.
-	 * If a {@link Map}, this is the table of property name-value
-	 * mappings; <code>property2</code>, if non-null is its unmodifiable
-	 * equivalent.
-	 * Initially <code>null</code>.
-	 *
-	 * @see #property2
+	 * The array shared by the empty node lists.
 	 */
-	private Object property1 = null;
+	static final ASTNode[] NO_NODES = new ASTNode[0];
 
 	/**
-	 * Auxiliary field used in representing node properties efficiently.
-	 *
-	 * @see #property1
+	 * The sole property of a node.
 	 */
-	private Object property2 = null;
+	private static final class Property {
+		final String name;
+		Object value;
+
+		Property(String name, Object value) {
+			this.name = name;
+			this.value = value;
+		}
+	}
+
+	/**
+	 * Field used in representing node properties efficiently, the storage
+	 * is only allocated for the nodes that have properties.
+	 * If <code>null</code>, this node has no properties.
+	 * If a {@link Property}, this is the name and value of this node's
+	 * sole property.
+	 * If a {@link Map}, this is the table of property name-value
+	 * mappings.
+	 * Initially <code>null</code>.
+	 */
+	private Object properties = null;
 
 	/**
 	 * A character index into the original source string,
@@ -1487,10 +1499,12 @@ public abstract class ASTNode {
 	class NodeList extends AbstractList {
 
 		/**
-		 * The underlying list in which the nodes of this list are
-		 * stored (element type: {@link ASTNode}).
+		 * The underlying array in which the nodes of this list are
+		 * stored, followed by unused slots.
 		 * <p>
-		 * Be stingy on storage - assume that list will be empty.
+		 * Be stingy on storage - assume that list will be empty. The
+		 * empty lists share the same array, the array of a list is
+		 * allocated when its first node is added.
 		 * </p>
 		 * <p>
 		 * This field declared default visibility (rather than private)
@@ -1498,7 +1512,12 @@ public abstract class ASTNode {
 		 * a synthetic accessor method.
 		 * </p>
 		 */
-		ArrayList store = new ArrayList(0);
+		ASTNode[] store = NO_NODES;
+
+		/**
+		 * The number of nodes of this list.
+		 */
+		int size = 0;
 
 		/**
 		 * The property descriptor for this list.
@@ -1521,12 +1540,15 @@ public abstract class ASTNode {
 
 			@Override
 			public boolean hasNext() {
-				return this.position < NodeList.this.store.size();
+				return this.position < NodeList.this.size;
 			}
 
 			@Override
 			public Object next() {
-				Object result = NodeList.this.store.get(this.position);
+				if (this.position >= NodeList.this.size) {
+					throw new NoSuchElementException();
+				}
+				Object result = NodeList.this.store[this.position];
 				this.position++;
 				return result;
 		    }
@@ -1582,12 +1604,13 @@ public abstract class ASTNode {
 
 		@Override
 		public int size() {
-			return this.store.size();
+			return this.size;
 		}
 
 		@Override
 		public Object get(int index) {
-			return this.store.get(index);
+			Objects.checkIndex(index, this.size);
+			return this.store[index];
 		}
 
 		@Override
@@ -1601,7 +1624,8 @@ public abstract class ASTNode {
 			}
 			// delink old child from parent, and link new child to parent
 			ASTNode newChild = (ASTNode) element;
-			ASTNode oldChild = (ASTNode) this.store.get(index);
+			Objects.checkIndex(index, this.size);
+			ASTNode oldChild = this.store[index];
 			if (oldChild == newChild) {
 				return oldChild;
 			}
@@ -1612,7 +1636,8 @@ public abstract class ASTNode {
 			ASTNode.checkNewChild(ASTNode.this, newChild, this.propertyDescriptor.cycleRisk, this.propertyDescriptor.elementType);
 			ASTNode.this.ast.preReplaceChildEvent(ASTNode.this, oldChild, newChild, this.propertyDescriptor);
 
-			Object result = this.store.set(index, newChild);
+			Object result = oldChild;
+			this.store[index] = newChild;
 			// n.b. setParent will call ast.modifying()
 			oldChild.setParent(null, null);
 			newChild.setParent(ASTNode.this, this.propertyDescriptor);
@@ -1631,11 +1656,20 @@ public abstract class ASTNode {
 			}
 			// link new child to parent
 			ASTNode newChild = (ASTNode) element;
+			if (index < 0 || index > this.size) {
+				throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size); //$NON-NLS-1$ //$NON-NLS-2$
+			}
 			ASTNode.checkNewChild(ASTNode.this, newChild, this.propertyDescriptor.cycleRisk, this.propertyDescriptor.elementType);
 			ASTNode.this.ast.preAddChildEvent(ASTNode.this, newChild, this.propertyDescriptor);
 
 
-			this.store.add(index, element);
+			if (this.size == this.store.length) {
+				// grow like an ArrayList created with an initial capacity of 0
+				this.store = Arrays.copyOf(this.store, this.size + Math.max(1, this.size >> 1));
+			}
+			System.arraycopy(this.store, index, this.store, index + 1, this.size - index);
+			this.store[index] = newChild;
+			this.size++;
 			updateCursors(index, +1);
 			// n.b. setParent will call ast.modifying()
 			newChild.setParent(ASTNode.this, this.propertyDescriptor);
@@ -1649,7 +1683,8 @@ public abstract class ASTNode {
 				throw new IllegalArgumentException("AST node cannot be modified"); //$NON-NLS-1$
 			}
 			// delink old child from parent
-			ASTNode oldChild = (ASTNode) this.store.get(index);
+			Objects.checkIndex(index, this.size);
+			ASTNode oldChild = this.store[index];
 			if ((oldChild.typeAndFlags & PROTECT) != 0) {
 				// old child is protected => cannot be unparented
 				throw new IllegalArgumentException("AST node cannot be modified"); //$NON-NLS-1$
@@ -1658,13 +1693,51 @@ public abstract class ASTNode {
 			ASTNode.this.ast.preRemoveChildEvent(ASTNode.this, oldChild, this.propertyDescriptor);
 			// n.b. setParent will call ast.modifying()
 			oldChild.setParent(null, null);
-			Object result = this.store.remove(index);
+			Object result = oldChild;
+			System.arraycopy(this.store, index + 1, this.store, index, this.size - index - 1);
+			this.store[--this.size] = null;
 			updateCursors(index, -1);
 			ASTNode.this.ast.postRemoveChildEvent(ASTNode.this, oldChild, this.propertyDescriptor);
 			return result;
 
 		}
 
+		/**
+		 * Returns a view of this list for the lazy initialization of the
+		 * node that owns it. The nodes added to the view are appended to this
+		 * list directly, without the checks and the events of
+		 * {@link #add(int, Object)}: they are new nodes of the same AST, and
+		 * the owner may already be protected.
+		 *
+		 * @return a view of this list that only supports appending nodes
+		 */
+		List lazyInitView() {
+			return new AbstractList() {
+				@Override
+				public Object get(int index) {
+					return NodeList.this.get(index);
+				}
+
+				@Override
+				public int size() {
+					return NodeList.this.size;
+				}
+
+				@Override
+				public boolean add(Object element) {
+					ASTNode newChild = (ASTNode) element;
+					if (NodeList.this.size == NodeList.this.store.length) {
+						// grow like an ArrayList created with an initial capacity of 0
+						NodeList.this.store = Arrays.copyOf(NodeList.this.store, NodeList.this.size + Math.max(1, NodeList.this.size >> 1));
+					}
+					NodeList.this.store[NodeList.this.size++] = newChild;
+					// n.b. events are disabled during lazy init
+					newChild.setParent(ASTNode.this, NodeList.this.propertyDescriptor);
+					return true;
+				}
+			};
+		}
+
 		/**
 		 * Allocate a cursor to use for a visit. The client must call
 		 * <code>releaseCursor</code> when done.
@@ -1738,20 +1811,20 @@ public abstract class ASTNode {
 		 * instance in bytes.
 	     * <ul>
 	     * <li>1 object header for the NodeList instance</li>
-	     * <li>5 4-byte fields of the NodeList instance</li>
+	     * <li>6 4-byte fields of the NodeList instance</li>
 	     * <li>0 for cursors since null unless walk in progress</li>
-	     * <li>1 object header for the ArrayList instance</li>
-	     * <li>2 4-byte fields of the ArrayList instance</li>
-	     * <li>1 object header for an Object[] instance</li>
-	     * <li>4 bytes in array for each element</li>
+	     * <li>0 for the array of an empty list since it is shared</li>
+	     * <li>1 object header for the ASTNode[] instance of a non-empty list</li>
+	     * <li>4 bytes in array for each slot</li>
 	     * </ul>
 	 	 *
 		 * @return the size of this node list in bytes
 		 */
 		int memSize() {
-			int result = HEADERS + 5 * 4;
-			result += HEADERS + 2 * 4;
-			result += HEADERS + 4 * size();
+			int result = HEADERS + 6 * 4;
+			if (this.store != NO_NODES) {
+				result += HEADERS + 4 * this.store.length;
+			}
 			return result;
 		}
 
@@ -2904,20 +2977,20 @@ public abstract class ASTNode {
 		if (propertyName == null) {
 			throw new IllegalArgumentException();
 		}
-		if (this.property1 == null) {
+		if (this.properties == null) {
 			// node has no properties at all
 			return null;
 		}
-		if (this.property1 instanceof String) {
+		if (this.properties instanceof Property property) {
 			// node has only a single property
-			if (propertyName.equals(this.property1)) {
-				return this.property2;
+			if (propertyName.equals(property.name)) {
+				return property.value;
 			} else {
 				return null;
 			}
 		}
 		// otherwise node has table of properties
-		Map m = (Map) this.property1;
+		Map m = (Map) this.properties;
 		return m.get(propertyName);
 	}
 
@@ -2947,28 +3020,26 @@ public abstract class ASTNode {
 		}
 		// N.B. DO NOT CALL ast.modifying();
 
-		if (this.property1 == null) {
+		if (this.properties == null) {
 			// node has no properties at all
 			if (data == null) {
 				// we already know this
 				return;
 			}
 			// node gets its fist property
-			this.property1 = propertyName;
-			this.property2 = data;
+			this.properties = new Property(propertyName, data);
 			return;
 		}
 
-		if (this.property1 instanceof String) {
+		if (this.properties instanceof Property property) {
 			// node has only a single property
-			if (propertyName.equals(this.property1)) {
+			if (propertyName.equals(property.name)) {
 				// we're in luck
 				if (data == null) {
 					// just deleted last property
-					this.property1 = null;
-					this.property2 = null;
+					this.properties = null;
 				} else {
-					this.property2 = data;
+					property.value = data;
 				}
 				return;
 			}
@@ -2979,23 +3050,21 @@ public abstract class ASTNode {
 			// node already has one property - getting its second
 			// convert to more flexible representation
 			Map m = new HashMap(3);
-			m.put(this.property1, this.property2);
+			m.put(property.name, property.value);
 			m.put(propertyName, data);
-			this.property1 = m;
-			this.property2 = null;
+			this.properties = m;
 			return;
 		}
 
 		// node has two or more properties
-		Map m = (Map) this.property1;
+		Map m = (Map) this.properties;
 		if (data == null) {
 			m.remove(propertyName);
 			// check for just one property left
 			if (m.size() == 1) {
 				// convert to more efficient representation
 				Map.Entry[] entries = (Map.Entry[]) m.entrySet().toArray(new Map.Entry[1]);
-				this.property1 = entries[0].getKey();
-				this.property2 = entries[0].getValue();
+				this.properties = new Property((String) entries[0].getKey(), entries[0].getValue());
 			}
 			return;
 		} else {
@@ -3013,21 +3082,17 @@ public abstract class ASTNode {
 	 *   (key type: <code>String</code>; value type: <code>Object</code>)
 	 */
 	public final Map properties() {
-		if (this.property1 == null) {
+		if (this.properties == null) {
 			// node has no properties at all
 			return UNMODIFIABLE_EMPTY_MAP;
 		}
-		if (this.property1 instanceof String) {
+		if (this.properties instanceof Property property) {
 			// node has a single property
-			return Collections.singletonMap(this.property1, this.property2);
+			return Collections.singletonMap(property.name, property.value);
 		}
 
 		// node has two or more properties
-		if (this.property2 == null) {
-			this.property2 = Collections.unmodifiableMap((Map) this.property1);
-		}
-		// property2 is unmodifiable wrapper for map in property1
-		return (Map) this.property2;
+		return Collections.unmodifiableMap((Map) this.properties);
 	}
 
 	/**
@@ -3508,9 +3573,8 @@ public abstract class ASTNode {
 	 * @param buffer the string buffer to append to
 	 */
 	final void appendPrintString(StringBuilder buffer) {
-		NaiveASTFlattener printer = new NaiveASTFlattener();
-		accept(printer);
-		buffer.append(printer.getResult());
+		// print directly into the buffer, rather than copying the printed subtree
+		accept(new NaiveASTFlattener(buffer));
 	}
 
 	/**
@@ -828,6 +828,38 @@ public class ASTParser {
 		}
 	}
 
+	/**
+	 * Requests an abstract syntax tree whose method bodies are converted on demand.
+	 *
+	 * <p>When lazy method bodies are enabled, the statements of the body of a method
+	 * declaration are converted from the internal AST of the compiler the first time
+	 * they are accessed, through {@link Block#statements()}, a visitor or any other
+	 * means. The resulting tree is the same as the tree built without this setting,
+	 * but clients which only look at the declarations of the compilation unit, or at
+	 * a few method bodies, don't pay for the conversion of the other bodies. The internal
+	 * AST of the compiler is kept until all the bodies are converted. The
+	 * {@linkplain CompilationUnit#getExtendedStartPosition(ASTNode) extended positions}
+	 * of the nodes are only computed once all the bodies are converted.</p>
+	 *
+	 * <p>This setting is not used when bindings are resolved, when method bodies are
+	 * {@linkplain #setIgnoreMethodBodies(boolean) ignored}, or when the compilation unit
+	 * has syntax errors. It is only used when the kind used in {@link #setKind(int)}
+	 * is {@link #K_COMPILATION_UNIT}.</p>
+	 *
+	 * <p>Default to <code>false</code>.</p>
+	 *
+	 * @param enabled <code>true</code> if the method bodies are converted on demand,
+	 *   and <code>false</code> if they are converted with the rest of the tree
+	 * @since 3.46
+	 */
+	public void setLazyMethodBodies(boolean enabled) {
+		if (enabled) {
+			this.bits |= CompilationUnitResolver.LAZY_METHOD_BODIES;
+		} else {
+			this.bits &= ~CompilationUnitResolver.LAZY_METHOD_BODIES;
+		}
+	}
+
     /**
      * Sets the working copy owner used when resolving bindings, where
      * <code>null</code> means the primary owner. Defaults to the primary owner.
@@ -1010,6 +1042,9 @@ public class ASTParser {
 			if ((this.bits & CompilationUnitResolver.IGNORE_METHOD_BODIES) != 0) {
 				flags |= ICompilationUnit.IGNORE_METHOD_BODIES;
 			}
+			if ((this.bits & CompilationUnitResolver.LAZY_METHOD_BODIES) != 0) {
+				flags |= AST.LAZY_METHOD_BODIES;
+			}
 			if ((this.bits & CompilationUnitResolver.RESOLVE_BINDING) != 0) {
 				if (this.project == null)
 					throw new IllegalStateException("project not specified"); //$NON-NLS-1$
@@ -1402,6 +1437,9 @@ public class ASTParser {
 					if (!useSearcher && ((this.bits & CompilationUnitResolver.IGNORE_METHOD_BODIES) != 0)) {
 						flags |= ICompilationUnit.IGNORE_METHOD_BODIES;
 					}
+					if ((this.bits & CompilationUnitResolver.LAZY_METHOD_BODIES) != 0) {
+						flags |= AST.LAZY_METHOD_BODIES;
+					}
 
 					if (needToResolveBindings) {
 						if ((this.bits & CompilationUnitResolver.BINDING_RECOVERY) != 0) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -73,6 +73,24 @@ public class Block extends Statement {
 	private final ASTNode.NodeList statements =
 		new ASTNode.NodeList(STATEMENTS_PROPERTY);
 
+	/**
+	 * Converts the statements of this block on demand.
+	 */
+	interface LazyStatements {
+		/**
+		 * Adds the statements of the block to the given list.
+		 *
+		 * @param statements the list of statements of the block
+		 */
+		void convert(List statements);
+	}
+
+	/**
+	 * The pending conversion of the statements of this block,
+	 * or <code>null</code> if the statements are converted already.
+	 */
+	private volatile LazyStatements lazyStatements;
+
 	/**
 	 * Creates a new unparented block node owned by the given AST.
 	 * By default, the block is empty.
@@ -125,7 +143,7 @@ public class Block extends Statement {
 	void accept0(ASTVisitor visitor) {
 		boolean visitChildren = visitor.visit(this);
 		if (visitChildren) {
-			acceptChildren(visitor, this.statements);
+			acceptChildren(visitor, (ASTNode.NodeList) statements());
 		}
 		visitor.endVisit(this);
 	}
@@ -141,17 +159,43 @@ public class Block extends Statement {
 	 *    (element type: {@link Statement})
 	 */
 	public List statements() {
+		if (this.lazyStatements != null) {
+			// lazy init must be thread-safe for readers
+			synchronized (this) {
+				LazyStatements pending = this.lazyStatements;
+				if (pending != null) {
+					preLazyInit();
+					try {
+						// the block may be protected already
+						pending.convert(this.statements.lazyInitView());
+					} finally {
+						this.lazyStatements = null;
+						this.ast.reenableEvents();
+					}
+				}
+			}
+		}
 		return this.statements;
 	}
 
+	/**
+	 * Sets the conversion of the statements of this block, done the first
+	 * time they are accessed.
+	 *
+	 * @param lazyStatements the conversion of the statements
+	 */
+	void setLazyStatements(LazyStatements lazyStatements) {
+		this.lazyStatements = lazyStatements;
+	}
+
 	@Override
 	int memSize() {
-		return super.memSize() + 1 * 4;
+		return super.memSize() + 2 * 4;
 	}
 
 	@Override
 	int treeSize() {
-		return memSize() + this.statements.listSize();
+		return memSize() + ((ASTNode.NodeList) statements()).listSize();
 	}
 }
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -157,6 +157,12 @@ public class CompilationUnit extends ASTNode {
 	 */
 	private DefaultCommentMapper commentMapper = null;
 
+	/**
+	 * The scanner used to initialize the comment mapper once the method
+	 * bodies converted on demand are converted, or <code>null</code> if none.
+	 */
+	private volatile Scanner lazyCommentMapperScanner = null;
+
 	/**
 	 * The Java type root (an <code>org.eclipse.jdt.core.ICompilationUnit</code> or an <code>org.eclipse.jdt.core.IClassFile</code>)
 	 * this compilation unit was created from, or <code>null</code> if it was not created from a Java type root.
@@ -420,6 +426,43 @@ public class CompilationUnit extends ASTNode {
 		return this.ast.getBindingResolver().findDeclaringNode(key);
 	}
 
+	/**
+	 * Resolves the bindings of all the nodes of this compilation unit, then
+	 * releases the internal compiler structures they were resolved from.
+	 * <p>
+	 * The bindings of an AST built with {@link ASTParser#setResolveBindings(boolean)
+	 * binding resolution} are resolved on demand from the internal AST of the
+	 * compiler and its scopes, which are kept as long as the AST is reachable.
+	 * Clients that keep many ASTs alive, or that keep an AST much longer than they
+	 * resolve its bindings, can call this method to trade a full resolution of the
+	 * bindings for the memory of these structures. The bindings answered by the
+	 * nodes of this compilation unit are the same before and after this call,
+	 * and the binding keys, the annotations, the declaring methods and the Java
+	 * elements of the local variables are computed before the structures are
+	 * released. The nodes created or modified after this call answer no binding.
+	 * </p>
+	 * <p>
+	 * Without the scope of the compilation unit, the type bindings of this AST
+	 * no longer answer {@link ITypeBinding#getFunctionalInterfaceMethod()},
+	 * {@link ITypeBinding#isAssignmentCompatible(ITypeBinding)} and
+	 * {@link ITypeBinding#isCastCompatible(ITypeBinding)} as they do before
+	 * this call: they answer <code>null</code> and <code>false</code>.
+	 * </p>
+	 * <p>
+	 * This method has no effect if bindings were not requested when this AST was
+	 * built, or if they have already been detached. It must not be called while
+	 * other threads resolve the bindings of this AST.
+	 * </p>
+	 *
+	 * @see ASTParser#setResolveBindings(boolean)
+	 * @since 3.46
+	 */
+	public void detachBindings() {
+		if (this.ast.getBindingResolver() instanceof DefaultBindingResolver resolver) {
+			this.ast.setBindingResolver(new DetachedBindingResolver(resolver, this));
+		}
+	}
+
 	/**
 	 * Returns a list of the comments encountered while parsing
 	 * this compilation unit.
@@ -479,6 +522,20 @@ public class CompilationUnit extends ASTNode {
 	 * @since 3.0
 	 */
 	DefaultCommentMapper getCommentMapper() {
+		if (this.lazyCommentMapperScanner != null) {
+			// lazy init must be thread-safe for readers
+			synchronized (this) {
+				Scanner scanner = this.lazyCommentMapperScanner;
+				if (scanner != null) {
+					// the comments are mapped to the nodes of all the method bodies
+					accept(new ASTVisitor(true) {
+						// visiting the blocks converts their statements
+					});
+					initCommentMapper(scanner);
+					this.lazyCommentMapperScanner = null;
+				}
+			}
+		}
 		return this.commentMapper;
 	}
 
@@ -498,11 +555,12 @@ public class CompilationUnit extends ASTNode {
 		if (node == null) {
 			throw new IllegalArgumentException();
 		}
-		if (this.commentMapper == null || node.getAST() != getAST()) {
+		DefaultCommentMapper mapper = getCommentMapper();
+		if (mapper == null || node.getAST() != getAST()) {
 			// fall back: use best info available
 			return node.getLength();
 		} else {
-			return this.commentMapper.getExtendedLength(node);
+			return mapper.getExtendedLength(node);
 		}
 	}
 
@@ -522,11 +580,12 @@ public class CompilationUnit extends ASTNode {
 		if (node == null) {
 			throw new IllegalArgumentException();
 		}
-		if (this.commentMapper == null || node.getAST() != getAST()) {
+		DefaultCommentMapper mapper = getCommentMapper();
+		if (mapper == null || node.getAST() != getAST()) {
 			// fall back: use best info available
 			return node.getStartPosition();
 		} else {
-			return this.commentMapper.getExtendedStartPosition(node);
+			return mapper.getExtendedStartPosition(node);
 		}
 	}
 
@@ -718,10 +777,11 @@ public class CompilationUnit extends ASTNode {
 		if (node == null) {
 			throw new IllegalArgumentException();
 		}
-		if (this.commentMapper == null || node.getAST() != getAST()) {
+		DefaultCommentMapper mapper = getCommentMapper();
+		if (mapper == null || node.getAST() != getAST()) {
 			return -1;
 		}
-		return this.commentMapper.firstLeadingCommentIndex(node);
+		return mapper.firstLeadingCommentIndex(node);
 	}
 
 	/**
@@ -737,10 +797,11 @@ public class CompilationUnit extends ASTNode {
 		if (node == null) {
 			throw new IllegalArgumentException();
 		}
-		if (this.commentMapper == null || node.getAST() != getAST()) {
+		DefaultCommentMapper mapper = getCommentMapper();
+		if (mapper == null || node.getAST() != getAST()) {
 			return -1;
 		}
-		return this.commentMapper.lastTrailingCommentIndex(node);
+		return mapper.lastTrailingCommentIndex(node);
 	}
 
 	/**
@@ -755,6 +816,17 @@ public class CompilationUnit extends ASTNode {
 		this.commentMapper.initialize(this, scanner);
 	}
 
+	/**
+	 * Initializes the internal comment mapper with the given
+	 * scanner the first time it is used, once the method bodies
+	 * converted on demand are converted.
+	 *
+	 * @param scanner the scanner
+	 */
+	void initLazyCommentMapper(Scanner scanner) {
+		this.lazyCommentMapperScanner = scanner;
+	}
+
 	@Override
 	final List internalGetChildListProperty(ChildListPropertyDescriptor property) {
 		if (property == IMPORTS_PROPERTY) {
@@ -942,6 +1014,8 @@ public class CompilationUnit extends ASTNode {
 	 * @since 3.0
 	 */
 	public void recordModifications() {
+		// the comments are mapped to the original nodes
+		getCommentMapper();
 		getAST().recordModifications(this);
 	}
 
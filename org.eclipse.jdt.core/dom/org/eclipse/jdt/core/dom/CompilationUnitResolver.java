@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -127,6 +127,7 @@ class CompilationUnitResolver extends Compiler {
 	public static final int BINDING_RECOVERY = 0x10;
 	public static final int INCLUDE_RUNNING_VM_BOOTCLASSPATH = 0x20;
 	public static final int FORCE_PROBLEM_DETECTION = 0x40;
+	public static final int LAZY_METHOD_BODIES = 0x80;
 
 	/* A list of int */
 	static class IntArrayList {
@@ -370,6 +371,8 @@ class CompilationUnitResolver extends Compiler {
 		ast.setDefaultNodeFlag(ASTNode.ORIGINAL);
 		CompilationUnit compilationUnit = null;
 		ASTConverter converter = new ASTConverter(options, needToResolveBindings, monitor);
+		// the bodies are converted on demand from the compiler AST, unless it is needed to resolve the bindings
+		converter.lazyMethodBodies = !needToResolveBindings && (flags & AST.LAZY_METHOD_BODIES) != 0;
 		if (needToResolveBindings) {
 			resolver = new DefaultBindingResolver(compilationUnitDeclaration.scope, owner, bindingTables, (flags & ICompilationUnit.ENABLE_BINDINGS_RECOVERY) != 0, fromJavaProject);
 			ast.setFlag(flags | AST.RESOLVED_BINDINGS);
@@ -711,6 +714,16 @@ class CompilationUnitResolver extends Compiler {
 		int flags,
 		IProgressMonitor monitor) {
 
+		int threads = ParallelCompilationUnitResolver.getThreads(compilationUnits.length);
+		if (threads > 1) {
+			try {
+				ParallelCompilationUnitResolver.resolve(compilationUnits, bindingKeys, requestor, apiLevel, options, (JavaProject) javaProject, owner, flags, threads, monitor);
+			} catch (JavaModelException e) {
+				// project doesn't exist -> simple parse without resolving
+				parse(compilationUnits, requestor, apiLevel, options, flags, monitor);
+			}
+			return;
+		}
 		CancelableNameEnvironment environment = null;
 		CancelableProblemFactory problemFactory = null;
 		try {
@@ -756,6 +769,11 @@ class CompilationUnitResolver extends Compiler {
 			int flags,
 			IProgressMonitor monitor) {
 
+			int threads = ParallelCompilationUnitResolver.getThreads(sourceUnits.length);
+			if (threads > 1) {
+				ParallelCompilationUnitResolver.resolve(sourceUnits, encodings, bindingKeys, requestor, apiLevel, options, classpaths, flags, threads, monitor);
+				return;
+			}
 			INameEnvironmentWithProgress environment = null;
 			CancelableProblemFactory problemFactory = null;
 			try {
@@ -938,7 +956,7 @@ class CompilationUnitResolver extends Compiler {
 		}
 	}
 
-	private void resolve(
+	void resolve(
 			ICompilationUnit[] compilationUnits,
 			String[] bindingKeys,
 			ASTRequestor astRequestor,
@@ -1055,7 +1073,7 @@ class CompilationUnitResolver extends Compiler {
 		}
 	}
 
-	private void resolve(
+	void resolve(
 			String[] sourceCompilationUnits,
 			String[] encodings,
 			String[] bindingKeys,
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,7 @@
  *******************************************************************************/
 package org.eclipse.jdt.core.dom;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -100,9 +101,14 @@ class DefaultBindingResolver extends BindingResolver {
 	Map newAstToOldAst;
 
 	/**
-	 * Compilation unit scope
+	 * Compilation unit scope, <code>null</code> once the resolver is detached from the compiler AST
 	 */
-	private final CompilationUnitScope scope;
+	private CompilationUnitScope scope;
+
+	/**
+	 * The lookup environment of the scope
+	 */
+	private final LookupEnvironment environment;
 
 	/**
 	 * The working copy owner that defines the context in which this resolver is creating the bindings.
@@ -128,6 +134,7 @@ class DefaultBindingResolver extends BindingResolver {
 		this.bindingsToAstNodes = new HashMap();
 		this.bindingTables = bindingTables;
 		this.scope = scope;
+		this.environment = scope != null ? scope.environment() : null;
 		this.workingCopyOwner = workingCopyOwner;
 		this.isRecoveringBindings = isRecoveringBindings;
 		this.fromJavaProject = fromJavaProject;
@@ -139,6 +146,7 @@ class DefaultBindingResolver extends BindingResolver {
 		this.bindingsToAstNodes = new HashMap();
 		this.bindingTables = bindingTables;
 		this.scope = new CompilationUnitScope(new CompilationUnitDeclaration(null, null, -1), lookupEnvironment);
+		this.environment = lookupEnvironment;
 		this.workingCopyOwner = workingCopyOwner;
 		this.isRecoveringBindings = isRecoveringBindings;
 		this.fromJavaProject = fromJavaProject;
@@ -198,6 +206,25 @@ class DefaultBindingResolver extends BindingResolver {
 		return null;
 	}
 
+	/*
+	 * Drops the references of this resolver to the compiler AST and the scopes the bindings were resolved from,
+	 * once the bindings of the nodes of the AST have been resolved, see DetachedBindingResolver. The given
+	 * variable bindings copy what they need from their compiler binding if they are local variables, since
+	 * these compiler bindings reference their declaration and scope. The compiler AST and bindings are not
+	 * modified.
+	 */
+	synchronized void detach(Collection<VariableBinding> variables) {
+		for (VariableBinding variable : variables) {
+			org.eclipse.jdt.internal.compiler.lookup.VariableBinding localVariableBinding = variable.detach();
+			if (localVariableBinding != null) {
+				this.bindingTables.compilerBindingsToASTBindings.remove(localVariableBinding);
+			}
+		}
+		this.newAstToOldAst = new HashMap();
+		this.astNodesToBlockScope = new HashMap();
+		this.scope = null;
+	}
+
 	Util.BindingsToNodesMap getBindingsToNodesMap() {
 		return new Util.BindingsToNodesMap() {
 			@Override
@@ -562,7 +589,7 @@ class DefaultBindingResolver extends BindingResolver {
 
 	@Override
 	LookupEnvironment lookupEnvironment() {
-		return this.scope.environment();
+		return this.environment;
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2011 IBM Corporation and others.
+ * Copyright (c) 2004, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.jdt.core.dom;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.core.compiler.InvalidInputException;
 import org.eclipse.jdt.internal.compiler.parser.Scanner;
@@ -37,6 +39,13 @@ class DefaultCommentMapper {
 	long[] trailingIndexes;
 	static final int STORAGE_INCREMENT = 16;
 
+	/*
+	 * The first position of the nodes in the leading and trailing tables, created on demand
+	 * as the extended range of every node is asked by a rewrite.
+	 */
+	private volatile Map<ASTNode, Integer> leadingPositions;
+	private volatile Map<ASTNode, Integer> trailingPositions;
+
 	/**
 	 * @param table the given table of comments
 	 */
@@ -124,11 +133,9 @@ class DefaultCommentMapper {
 	 * @since 3.0
 	 */
 	public int getExtendedStartPosition(ASTNode node) {
-		if (this.leadingPtr >= 0) {
-			long range = -1;
-			for (int i=0; range<0 && i<=this.leadingPtr; i++) {
-				if (this.leadingNodes[i] == node) range = this.leadingIndexes[i];
-			}
+		int i = leadingPosition(node);
+		if (i >= 0) {
+			long range = this.leadingIndexes[i];
 			if (range >= 0) {
 				return  this.comments[(int)(range>>32)].getStartPosition() ;
 			}
@@ -154,9 +161,10 @@ class DefaultCommentMapper {
 	 */
 	public int getExtendedEnd(ASTNode node) {
 		int end = node.getStartPosition() + node.getLength();
-		if (this.trailingPtr >= 0) {
-			long range = -1;
-			for (int i=0; range<0 && i<=this.trailingPtr; i++) {
+		int first = trailingPosition(node);
+		if (first >= 0) {
+			long range = this.trailingIndexes[first];
+			for (int i=first+1; range<0 && i<=this.trailingPtr; i++) {
 				if (this.trailingNodes[i] == node) range = this.trailingIndexes[i];
 			}
 			if (range >= 0) {
@@ -190,12 +198,9 @@ class DefaultCommentMapper {
 	 * @return index of first leading comment or -1 if node has no leading comment
 	 */
 	int firstLeadingCommentIndex(ASTNode node) {
-		if (this.leadingPtr >= 0) {
-			for (int i=0; i<=this.leadingPtr; i++) {
-				if (this.leadingNodes[i] == node) {
-					return (int) (this.leadingIndexes[i]>>32);
-				}
-			}
+		int i = leadingPosition(node);
+		if (i >= 0) {
+			return (int) (this.leadingIndexes[i]>>32);
 		}
 		return -1;
 	}
@@ -206,16 +211,51 @@ class DefaultCommentMapper {
 	 * @return index of last trailing comment or -1 if node has no trailing comment
 	 */
 	int lastTrailingCommentIndex(ASTNode node) {
-		if (this.trailingPtr >= 0) {
-			for (int i=0; i<=this.trailingPtr; i++) {
-				if (this.trailingNodes[i] == node) {
-					return (int) this.trailingIndexes[i];
-				}
-			}
+		int i = trailingPosition(node);
+		if (i >= 0) {
+			return (int) this.trailingIndexes[i];
 		}
 		return -1;
 	}
 
+	/*
+	 * Returns the first position of the given node in the leading nodes table, or -1 if none.
+	 */
+	private int leadingPosition(ASTNode node) {
+		if (this.leadingPtr < 0) {
+			return -1;
+		}
+		Map<ASTNode, Integer> positions = this.leadingPositions;
+		if (positions == null) {
+			this.leadingPositions = positions = positions(this.leadingNodes, this.leadingPtr);
+		}
+		Integer position = positions.get(node);
+		return position == null ? -1 : position.intValue();
+	}
+
+	/*
+	 * Returns the first position of the given node in the trailing nodes table, or -1 if none.
+	 */
+	private int trailingPosition(ASTNode node) {
+		if (this.trailingPtr < 0) {
+			return -1;
+		}
+		Map<ASTNode, Integer> positions = this.trailingPositions;
+		if (positions == null) {
+			this.trailingPositions = positions = positions(this.trailingNodes, this.trailingPtr);
+		}
+		Integer position = positions.get(node);
+		return position == null ? -1 : position.intValue();
+	}
+
+	private static Map<ASTNode, Integer> positions(ASTNode[] nodes, int ptr) {
+		Map<ASTNode, Integer> positions = new IdentityHashMap<>(ptr + 1);
+		for (int i = ptr; i >= 0; i--) {
+			positions.put(nodes[i], Integer.valueOf(i));
+		}
+		return positions;
+	}
+
 	/*
 	 * Initialize leading and trailing comments tables in whole nodes hierarchy of a compilation
 	 * unit.
@@ -227,6 +267,8 @@ class DefaultCommentMapper {
 		// Init array pointers
 		this.leadingPtr = -1;
 		this.trailingPtr = -1;
+		this.leadingPositions = null;
+		this.trailingPositions = null;
 
 		// Init comments
 		this.comments = unit.optionalCommentTable;
@@ -0,0 +1,507 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.dom;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.jdt.core.WorkingCopyOwner;
+import org.eclipse.jdt.internal.compiler.lookup.CompilationUnitScope;
+import org.eclipse.jdt.internal.compiler.lookup.ElementValuePair;
+import org.eclipse.jdt.internal.compiler.lookup.LookupEnvironment;
+
+/**
+ * Internal class for resolving the bindings of an AST whose compiler AST has been released, see
+ * {@link CompilationUnit#detachBindings()}.
+ * <p>
+ * The bindings of the nodes of the AST are resolved by the default binding resolver when this resolver is
+ * created, and then answered from the tables of this resolver. The bindings themselves still belong to the
+ * default binding resolver, which keeps translating the compiler bindings they refer to, but no longer has a
+ * compilation unit scope. The well-known types are resolved when this resolver is created too.
+ * </p>
+ * <p>
+ * The tables of this resolver are not modified once it is created, so that its methods don't need to be
+ * synchronized.
+ * </p>
+ */
+class DetachedBindingResolver extends BindingResolver {
+
+	/*
+	 * The names of the types answered by DefaultBindingResolver#resolveWellKnownType(String).
+	 */
+	private static final String[] WELL_KNOWN_TYPES = {
+		"boolean", "char", "byte", "short", "int", "long", "float", "double", "void", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$
+		"java.lang.Object", "java.lang.String", "java.lang.StringBuffer", "java.lang.Throwable", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		"java.lang.Exception", "java.lang.RuntimeException", "java.lang.Error", "java.lang.Class", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		"java.lang.Cloneable", "java.io.Serializable", "java.lang.Boolean", "java.lang.Byte", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		"java.lang.Character", "java.lang.Double", "java.lang.Float", "java.lang.Integer", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		"java.lang.Long", "java.lang.Short", "java.lang.Void", "java.lang.AssertionError", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	};
+
+	private final DefaultBindingResolver resolver;
+
+	/*
+	 * The binding of each node, except the constructor bindings.
+	 */
+	private final Map<ASTNode, IBinding> bindings = new HashMap<>();
+
+	/*
+	 * The constructor binding of each class instance creation, constructor invocation and enum constant.
+	 */
+	private final Map<ASTNode, IMethodBinding> constructors = new HashMap<>();
+
+	private final Map<Expression, ITypeBinding> expressionTypes = new HashMap<>();
+	private final Map<Expression, Object> constantValues = new HashMap<>();
+	private final Set<Expression> boxedExpressions = new HashSet<>();
+	private final Set<Expression> unboxedExpressions = new HashSet<>();
+	private final Set<ASTNode> inferredFromExpectedType = new HashSet<>();
+	private final Map<String, ITypeBinding> wellKnownTypes = new HashMap<>();
+
+	/**
+	 * Resolves the bindings of all the nodes of the given compilation unit with the given resolver, then
+	 * releases the compiler AST of the resolver.
+	 */
+	DetachedBindingResolver(DefaultBindingResolver resolver, CompilationUnit unit) {
+		this.resolver = resolver;
+		unit.accept(new ASTVisitor(true) {
+			@Override
+			public void preVisit(ASTNode node) {
+				resolve(node);
+			}
+		});
+		// the default resolver needs the scope of the unit to look up these types
+		for (String name : WELL_KNOWN_TYPES) {
+			ITypeBinding type = resolver.resolveWellKnownType(name);
+			if (type != null)
+				this.wellKnownTypes.put(name, type);
+		}
+		// the local variables of the unit are all declared or referenced by its nodes
+		List<VariableBinding> variables = new ArrayList<>();
+		for (IBinding binding : this.bindings.values()) {
+			if (binding instanceof VariableBinding variable)
+				variables.add(variable);
+		}
+		resolver.detach(variables);
+	}
+
+	private void resolve(ASTNode node) {
+		IBinding binding = null;
+		IMethodBinding constructor = null;
+		switch (node.getNodeType()) {
+			case ASTNode.ANNOTATION_TYPE_DECLARATION :
+				binding = this.resolver.resolveType((AnnotationTypeDeclaration) node);
+				break;
+			case ASTNode.ANNOTATION_TYPE_MEMBER_DECLARATION :
+				binding = this.resolver.resolveMember((AnnotationTypeMemberDeclaration) node);
+				break;
+			case ASTNode.ANONYMOUS_CLASS_DECLARATION :
+				binding = this.resolver.resolveType((AnonymousClassDeclaration) node);
+				break;
+			case ASTNode.CLASS_INSTANCE_CREATION :
+				ClassInstanceCreation creation = (ClassInstanceCreation) node;
+				constructor = this.resolver.resolveConstructor(creation);
+				if (this.resolver.isResolvedTypeInferredFromExpectedType(creation))
+					this.inferredFromExpectedType.add(node);
+				break;
+			case ASTNode.CONSTRUCTOR_INVOCATION :
+				constructor = this.resolver.resolveConstructor((ConstructorInvocation) node);
+				break;
+			case ASTNode.ENUM_CONSTANT_DECLARATION :
+				EnumConstantDeclaration enumConstant = (EnumConstantDeclaration) node;
+				binding = this.resolver.resolveVariable(enumConstant);
+				constructor = this.resolver.resolveConstructor(enumConstant);
+				break;
+			case ASTNode.ENUM_DECLARATION :
+				binding = this.resolver.resolveType((EnumDeclaration) node);
+				break;
+			case ASTNode.FIELD_ACCESS :
+				binding = this.resolver.resolveField((FieldAccess) node);
+				break;
+			case ASTNode.UNNAMED_CLASS :
+				binding = this.resolver.resolveType((ImplicitTypeDeclaration) node);
+				break;
+			case ASTNode.IMPORT_DECLARATION :
+				binding = this.resolver.resolveImport((ImportDeclaration) node);
+				break;
+			case ASTNode.LAMBDA_EXPRESSION :
+				binding = this.resolver.resolveMethod((LambdaExpression) node);
+				break;
+			case ASTNode.MEMBER_REF :
+				binding = this.resolver.resolveReference((MemberRef) node);
+				break;
+			case ASTNode.MEMBER_VALUE_PAIR :
+				binding = this.resolver.resolveMemberValuePair((MemberValuePair) node);
+				break;
+			case ASTNode.METHOD_DECLARATION :
+				binding = this.resolver.resolveMethod((MethodDeclaration) node);
+				break;
+			case ASTNode.METHOD_INVOCATION :
+				MethodInvocation invocation = (MethodInvocation) node;
+				binding = this.resolver.resolveMethod(invocation);
+				if (this.resolver.isResolvedTypeInferredFromExpectedType(invocation))
+					this.inferredFromExpectedType.add(node);
+				break;
+			case ASTNode.METHOD_REF :
+				binding = this.resolver.resolveReference((MethodRef) node);
+				break;
+			case ASTNode.CREATION_REFERENCE :
+			case ASTNode.EXPRESSION_METHOD_REFERENCE :
+			case ASTNode.SUPER_METHOD_REFERENCE :
+			case ASTNode.TYPE_METHOD_REFERENCE :
+				binding = this.resolver.resolveMethod((MethodReference) node);
+				break;
+			case ASTNode.MODULE_DECLARATION :
+				binding = this.resolver.resolveModule((ModuleDeclaration) node);
+				break;
+			case ASTNode.PACKAGE_DECLARATION :
+				binding = this.resolver.resolvePackage((PackageDeclaration) node);
+				break;
+			case ASTNode.RECORD_DECLARATION :
+				binding = this.resolver.resolveType((RecordDeclaration) node);
+				break;
+			case ASTNode.SUPER_CONSTRUCTOR_INVOCATION :
+				constructor = this.resolver.resolveConstructor((SuperConstructorInvocation) node);
+				break;
+			case ASTNode.SUPER_FIELD_ACCESS :
+				binding = this.resolver.resolveField((SuperFieldAccess) node);
+				break;
+			case ASTNode.SUPER_METHOD_INVOCATION :
+				SuperMethodInvocation superInvocation = (SuperMethodInvocation) node;
+				binding = this.resolver.resolveMethod(superInvocation);
+				if (this.resolver.isResolvedTypeInferredFromExpectedType(superInvocation))
+					this.inferredFromExpectedType.add(node);
+				break;
+			case ASTNode.TYPE_DECLARATION :
+				binding = this.resolver.resolveType((TypeDeclaration) node);
+				break;
+			case ASTNode.TYPE_PARAMETER :
+				binding = this.resolver.resolveTypeParameter((TypeParameter) node);
+				break;
+			default :
+				if (node instanceof Annotation annotation) {
+					binding = this.resolver.resolveAnnotation(annotation);
+				} else if (node instanceof Name name) {
+					binding = this.resolver.resolveName(name);
+				} else if (node instanceof Type type) {
+					binding = this.resolver.resolveType(type);
+				} else if (node instanceof VariableDeclaration variable) {
+					binding = this.resolver.resolveVariable(variable);
+				}
+		}
+		if (binding != null) {
+			// the keys are computed from the compiler bindings
+			binding.getKey();
+			this.bindings.put(node, binding);
+		}
+		if (constructor != null) {
+			constructor.getKey();
+			this.constructors.put(node, constructor);
+		}
+		if (node instanceof Expression expression) {
+			ITypeBinding type = this.resolver.resolveExpressionType(expression);
+			if (type != null)
+				this.expressionTypes.put(expression, type);
+			Object constant = this.resolver.resolveConstantExpressionValue(expression);
+			if (constant != null)
+				this.constantValues.put(expression, constant);
+			if (this.resolver.resolveBoxing(expression))
+				this.boxedExpressions.add(expression);
+			if (this.resolver.resolveUnboxing(expression))
+				this.unboxedExpressions.add(expression);
+		}
+	}
+
+	private <B extends IBinding> B binding(ASTNode node, Class<B> bindingClass) {
+		IBinding binding = this.bindings.get(node);
+		return bindingClass.isInstance(binding) ? bindingClass.cast(binding) : null;
+	}
+
+	@Override
+	ASTNode findDeclaringNode(IBinding binding) {
+		return this.resolver.findDeclaringNode(binding);
+	}
+
+	@Override
+	ASTNode findDeclaringNode(String bindingKey) {
+		return this.resolver.findDeclaringNode(bindingKey);
+	}
+
+	@Override
+	ASTNode findDeclaringNode(IAnnotationBinding instance) {
+		return this.resolver.findDeclaringNode(instance);
+	}
+
+	@Override
+	IMethodBinding getMethodBinding(org.eclipse.jdt.internal.compiler.lookup.MethodBinding methodBinding) {
+		return this.resolver.getMethodBinding(methodBinding);
+	}
+
+	@Override
+	IMemberValuePairBinding getMemberValuePairBinding(ElementValuePair valuePair) {
+		return this.resolver.getMemberValuePairBinding(valuePair);
+	}
+
+	@Override
+	IModuleBinding getModuleBinding(org.eclipse.jdt.internal.compiler.lookup.ModuleBinding moduleBinding) {
+		return this.resolver.getModuleBinding(moduleBinding);
+	}
+
+	@Override
+	IPackageBinding getPackageBinding(org.eclipse.jdt.internal.compiler.lookup.PackageBinding packageBinding) {
+		return this.resolver.getPackageBinding(packageBinding);
+	}
+
+	@Override
+	ITypeBinding getTypeBinding(org.eclipse.jdt.internal.compiler.lookup.TypeBinding referenceBinding) {
+		return this.resolver.getTypeBinding(referenceBinding);
+	}
+
+	@Override
+	ITypeBinding getTypeBinding(VariableDeclaration variableDeclaration) {
+		return this.resolver.getTypeBinding(variableDeclaration);
+	}
+
+	@Override
+	ITypeBinding getTypeBinding(Type type) {
+		return this.resolver.getTypeBinding(type);
+	}
+
+	@Override
+	ITypeBinding getTypeBinding(RecoveredTypeBinding recoveredTypeBinding, int dimensions) {
+		return this.resolver.getTypeBinding(recoveredTypeBinding, dimensions);
+	}
+
+	@Override
+	IVariableBinding getVariableBinding(org.eclipse.jdt.internal.compiler.lookup.VariableBinding binding) {
+		return this.resolver.getVariableBinding(binding);
+	}
+
+	@Override
+	public WorkingCopyOwner getWorkingCopyOwner() {
+		return this.resolver.getWorkingCopyOwner();
+	}
+
+	@Override
+	IAnnotationBinding getAnnotationInstance(org.eclipse.jdt.internal.compiler.lookup.AnnotationBinding instance) {
+		return this.resolver.getAnnotationInstance(instance);
+	}
+
+	@Override
+	boolean isResolvedTypeInferredFromExpectedType(MethodInvocation methodInvocation) {
+		return this.inferredFromExpectedType.contains(methodInvocation);
+	}
+
+	@Override
+	boolean isResolvedTypeInferredFromExpectedType(SuperMethodInvocation methodInvocation) {
+		return this.inferredFromExpectedType.contains(methodInvocation);
+	}
+
+	@Override
+	boolean isResolvedTypeInferredFromExpectedType(ClassInstanceCreation classInstanceCreation) {
+		return this.inferredFromExpectedType.contains(classInstanceCreation);
+	}
+
+	@Override
+	LookupEnvironment lookupEnvironment() {
+		return this.resolver.lookupEnvironment();
+	}
+
+	@Override
+	boolean resolveBoxing(Expression expression) {
+		return this.boxedExpressions.contains(expression);
+	}
+
+	@Override
+	boolean resolveUnboxing(Expression expression) {
+		return this.unboxedExpressions.contains(expression);
+	}
+
+	@Override
+	Object resolveConstantExpressionValue(Expression expression) {
+		return this.constantValues.get(expression);
+	}
+
+	@Override
+	IMethodBinding resolveConstructor(ClassInstanceCreation expression) {
+		return this.constructors.get(expression);
+	}
+
+	@Override
+	IMethodBinding resolveConstructor(ConstructorInvocation expression) {
+		return this.constructors.get(expression);
+	}
+
+	@Override
+	IMethodBinding resolveConstructor(EnumConstantDeclaration enumConstantDeclaration) {
+		return this.constructors.get(enumConstantDeclaration);
+	}
+
+	@Override
+	IMethodBinding resolveConstructor(SuperConstructorInvocation expression) {
+		return this.constructors.get(expression);
+	}
+
+	@Override
+	ITypeBinding resolveExpressionType(Expression expression) {
+		return this.expressionTypes.get(expression);
+	}
+
+	@Override
+	IVariableBinding resolveField(FieldAccess fieldAccess) {
+		return binding(fieldAccess, IVariableBinding.class);
+	}
+
+	@Override
+	IVariableBinding resolveField(SuperFieldAccess fieldAccess) {
+		return binding(fieldAccess, IVariableBinding.class);
+	}
+
+	@Override
+	IBinding resolveImport(ImportDeclaration importDeclaration) {
+		return this.bindings.get(importDeclaration);
+	}
+
+	@Override
+	IMethodBinding resolveMember(AnnotationTypeMemberDeclaration member) {
+		return binding(member, IMethodBinding.class);
+	}
+
+	@Override
+	IMethodBinding resolveMethod(MethodDeclaration method) {
+		return binding(method, IMethodBinding.class);
+	}
+
+	@Override
+	IMethodBinding resolveMethod(MethodReference methodReference) {
+		return binding(methodReference, IMethodBinding.class);
+	}
+
+	@Override
+	IMethodBinding resolveMethod(LambdaExpression lambda) {
+		return binding(lambda, IMethodBinding.class);
+	}
+
+	@Override
+	IMethodBinding resolveMethod(MethodInvocation method) {
+		return binding(method, IMethodBinding.class);
+	}
+
+	@Override
+	IMethodBinding resolveMethod(SuperMethodInvocation method) {
+		return binding(method, IMethodBinding.class);
+	}
+
+	@Override
+	IModuleBinding resolveModule(ModuleDeclaration module) {
+		return binding(module, IModuleBinding.class);
+	}
+
+	@Override
+	IBinding resolveName(Name name) {
+		return this.bindings.get(name);
+	}
+
+	@Override
+	IPackageBinding resolvePackage(PackageDeclaration pkg) {
+		return binding(pkg, IPackageBinding.class);
+	}
+
+	@Override
+	IBinding resolveReference(MemberRef ref) {
+		return this.bindings.get(ref);
+	}
+
+	@Override
+	IMemberValuePairBinding resolveMemberValuePair(MemberValuePair memberValuePair) {
+		return binding(memberValuePair, IMemberValuePairBinding.class);
+	}
+
+	@Override
+	IBinding resolveReference(MethodRef ref) {
+		return this.bindings.get(ref);
+	}
+
+	@Override
+	ITypeBinding resolveType(AnnotationTypeDeclaration type) {
+		return binding(type, ITypeBinding.class);
+	}
+
+	@Override
+	ITypeBinding resolveType(AnonymousClassDeclaration type) {
+		return binding(type, ITypeBinding.class);
+	}
+
+	@Override
+	ITypeBinding resolveType(EnumDeclaration type) {
+		return binding(type, ITypeBinding.class);
+	}
+
+	@Override
+	ITypeBinding resolveType(RecordDeclaration type) {
+		return binding(type, ITypeBinding.class);
+	}
+
+	@Override
+	ITypeBinding resolveType(Type type) {
+		return binding(type, ITypeBinding.class);
+	}
+
+	@Override
+	ITypeBinding resolveType(TypeDeclaration type) {
+		return binding(type, ITypeBinding.class);
+	}
+
+	@Override
+	ITypeBinding resolveType(ImplicitTypeDeclaration type) {
+		return binding(type, ITypeBinding.class);
+	}
+
+	@Override
+	ITypeBinding resolveTypeParameter(TypeParameter typeParameter) {
+		return binding(typeParameter, ITypeBinding.class);
+	}
+
+	@Override
+	IVariableBinding resolveVariable(EnumConstantDeclaration enumConstant) {
+		return binding(enumConstant, IVariableBinding.class);
+	}
+
+	@Override
+	IVariableBinding resolveVariable(VariableDeclaration variable) {
+		return binding(variable, IVariableBinding.class);
+	}
+
+	@Override
+	ITypeBinding resolveWellKnownType(String name) {
+		return this.wellKnownTypes.get(name);
+	}
+
+	@Override
+	IAnnotationBinding resolveAnnotation(Annotation annotation) {
+		return binding(annotation, IAnnotationBinding.class);
+	}
+
+	@Override
+	ITypeBinding resolveArrayType(ITypeBinding typeBinding, int dimensions) {
+		return this.resolver.resolveArrayType(typeBinding, dimensions);
+	}
+
+	@Override
+	public CompilationUnitScope scope() {
+		return this.resolver.scope();
+	}
+}
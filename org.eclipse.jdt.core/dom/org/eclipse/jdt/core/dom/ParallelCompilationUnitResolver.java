@@ -0,0 +1,349 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.dom;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.WorkingCopyOwner;
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.compiler.batch.FileSystem.Classpath;
+import org.eclipse.jdt.internal.compiler.env.INameEnvironment;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.core.CancelableNameEnvironment;
+import org.eclipse.jdt.internal.core.CancelableProblemFactory;
+import org.eclipse.jdt.internal.core.JavaProject;
+
+/**
+ * Resolves the ASTs of a batch of compilation units with several threads, see
+ * {@link ASTParser#createASTs(ICompilationUnit[], String[], ASTRequestor, IProgressMonitor)} and
+ * {@link ASTParser#createASTs(String[], String[], String[], FileASTRequestor, IProgressMonitor)}.
+ * <p>
+ * The units are dealt to the workers in turn. Each worker resolves its units like the resolver of a serial
+ * batch, with its own lookup environment. The binary types are not read again by each worker: the class file
+ * infos are cached by the Java model and the class path entries of a batch are shared by the name environments
+ * of the workers. The binding keys are resolved by the first worker.
+ * </p>
+ * <p>
+ * The ASTs and bindings created by a worker are passed to the requestor of the parser by the thread of the
+ * parser, taking one AST of each worker in turn, so that the ASTs are passed in the order of the given units.
+ * The worker of an AST does not resolve other units while its AST is passed to the requestor, so that the
+ * bindings of the AST can be resolved by the requestor and that the bindings of additional keys can be
+ * created with {@link ASTRequestor#createBindings(String[])}. The bindings of ASTs created by different
+ * workers are equal ({@link IBinding#isEqualTo(IBinding)}) but not identical.
+ * </p>
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+class ParallelCompilationUnitResolver {
+
+	/**
+	 * The system property giving the number of threads that resolve the ASTs of a batch of compilation units,
+	 * 1 by default.
+	 */
+	static final String THREADS_PROPERTY = "org.eclipse.jdt.core.dom.resolverThreads"; //$NON-NLS-1$
+
+	/*
+	 * The smallest number of units resolved by a worker, so that the binary types shared by the units are not
+	 * looked up again by too many workers.
+	 */
+	private static final int MIN_UNITS_PER_THREAD = 10;
+
+	/*
+	 * The number of callbacks a worker can make before they are passed to the requestor of the parser.
+	 */
+	private static final int QUEUE_CAPACITY = 4;
+
+	/*
+	 * A callback of a worker, passed to the requestor of the parser by the thread of the parser.
+	 */
+	private static final class Callback {
+		final Runnable call;
+		final boolean isAST;
+		Callback(Runnable call, boolean isAST) {
+			this.call = call;
+			this.isAST = isAST;
+		}
+	}
+
+	private static final Callback END = new Callback(null, false);
+
+	private final class Worker {
+		// held by the worker while it resolves units, and by the thread of the parser while it passes an AST
+		// of the worker to the requestor
+		final ReentrantLock lock = new ReentrantLock(true);
+		final BlockingQueue<Callback> callbacks = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+		CompilationUnitResolver resolver;
+		Throwable failure;
+
+		/*
+		 * Runs in the thread of the worker.
+		 */
+		void post(Runnable call, boolean isAST) {
+			this.lock.unlock();
+			try {
+				this.callbacks.put(new Callback(call, isAST));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new OperationCanceledException();
+			} finally {
+				this.lock.lock();
+			}
+		}
+
+		void start(Runnable resolution) {
+			ParallelCompilationUnitResolver.this.executor.execute(() -> {
+				this.lock.lock();
+				try {
+					resolution.run();
+				} catch (Throwable e) {
+					this.failure = e;
+				} finally {
+					this.lock.unlock();
+				}
+				try {
+					this.callbacks.put(END);
+				} catch (InterruptedException e) {
+					// the parser stopped taking the callbacks
+				}
+			});
+		}
+
+		/*
+		 * Passes the callbacks of the worker up to its next AST to the requestor of the parser.
+		 * Answers false if the worker has no more callbacks.
+		 */
+		boolean passNextAST(Runnable connect) {
+			while (true) {
+				Callback callback;
+				try {
+					callback = this.callbacks.take();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new OperationCanceledException();
+				}
+				if (callback == END) {
+					if (this.failure instanceof RuntimeException)
+						throw (RuntimeException) this.failure;
+					if (this.failure instanceof Error)
+						throw (Error) this.failure;
+					return false;
+				}
+				this.lock.lock();
+				try {
+					connect.run();
+					callback.call.run();
+				} finally {
+					this.lock.unlock();
+				}
+				ParallelCompilationUnitResolver.this.monitor.split(1);
+				if (callback.isAST)
+					return true;
+			}
+		}
+	}
+
+	final SubMonitor monitor;
+	// workers only check for cancellation, the progress is reported as their callbacks are passed to the requestor
+	final IProgressMonitor workerMonitor;
+	final ExecutorService executor;
+	private final List<Worker> workers = new ArrayList<>();
+	volatile boolean stopped;
+
+	private ParallelCompilationUnitResolver(int threads, int amountOfWork, IProgressMonitor monitor) {
+		this.monitor = SubMonitor.convert(monitor, amountOfWork);
+		this.workerMonitor = new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				return ParallelCompilationUnitResolver.this.stopped || (monitor != null && monitor.isCanceled());
+			}
+		};
+		AtomicInteger threadCount = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread t = new Thread(runnable, "AST parser resolver #" + threadCount.incrementAndGet()); //$NON-NLS-1$
+			t.setDaemon(true);
+			return t;
+		});
+	}
+
+	/**
+	 * Returns the number of threads that should resolve the given number of units, 1 if they should be resolved
+	 * by the thread of the parser.
+	 */
+	static int getThreads(int unitsLength) {
+		int threads = Integer.getInteger(THREADS_PROPERTY, 1);
+		return Math.max(1, Math.min(threads, unitsLength / MIN_UNITS_PER_THREAD));
+	}
+
+	static void resolve(
+			ICompilationUnit[] compilationUnits,
+			String[] bindingKeys,
+			ASTRequestor requestor,
+			int apiLevel,
+			Map options,
+			JavaProject javaProject,
+			WorkingCopyOwner owner,
+			int flags,
+			int threads,
+			IProgressMonitor monitor) throws JavaModelException {
+
+		ParallelCompilationUnitResolver parallelResolver = new ParallelCompilationUnitResolver(threads, compilationUnits.length + bindingKeys.length, monitor);
+		try {
+			// the name environments fail if the project doesn't exist, they are all created before any worker starts
+			// so that the caller can parse the units instead
+			for (int k = 0; k < threads; k++) {
+				parallelResolver.newWorker(
+						new CancelableNameEnvironment(javaProject, owner, parallelResolver.workerMonitor),
+						options,
+						flags,
+						true);
+			}
+			for (int k = 0; k < threads; k++) {
+				ICompilationUnit[] units = deal(compilationUnits, new ICompilationUnit[(compilationUnits.length - k + threads - 1) / threads], k, threads);
+				String[] keys = k == 0 ? bindingKeys : CharOperation.NO_STRINGS;
+				Worker worker = parallelResolver.workers.get(k);
+				ASTRequestor workerRequestor = new ASTRequestor() {
+					@Override
+					public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+						worker.post(() -> requestor.acceptAST(source, ast), true);
+					}
+					@Override
+					public void acceptBinding(String bindingKey, IBinding binding) {
+						worker.post(() -> requestor.acceptBinding(bindingKey, binding), false);
+					}
+				};
+				worker.start(() -> worker.resolver.resolve(units, keys, workerRequestor, apiLevel, options, owner, flags));
+			}
+			parallelResolver.passCallbacks(worker -> requestor.additionalBindingResolver = worker.resolver::createBinding);
+		} finally {
+			requestor.additionalBindingResolver = null;
+			parallelResolver.shutdown();
+		}
+	}
+
+	static void resolve(
+			String[] sourceUnits,
+			String[] encodings,
+			String[] bindingKeys,
+			FileASTRequestor requestor,
+			int apiLevel,
+			Map options,
+			List classpaths,
+			int flags,
+			int threads,
+			IProgressMonitor monitor) {
+
+		ParallelCompilationUnitResolver parallelResolver = new ParallelCompilationUnitResolver(threads, sourceUnits.length + bindingKeys.length, monitor);
+		try {
+			Classpath[] allEntries = new Classpath[classpaths.size()];
+			classpaths.toArray(allEntries);
+			for (int k = 0; k < threads; k++) {
+				int length = (sourceUnits.length - k + threads - 1) / threads;
+				String[] units = deal(sourceUnits, new String[length], k, threads);
+				String[] unitEncodings = encodings == null ? null : deal(encodings, new String[length], k, threads);
+				String[] keys = k == 0 ? bindingKeys : CharOperation.NO_STRINGS;
+				Worker worker = parallelResolver.newWorker(
+						new NameEnvironmentWithProgress(allEntries, null, parallelResolver.workerMonitor),
+						options,
+						flags,
+						false);
+				FileASTRequestor workerRequestor = new FileASTRequestor() {
+					@Override
+					public void acceptAST(String sourceFilePath, CompilationUnit ast) {
+						worker.post(() -> requestor.acceptAST(sourceFilePath, ast), true);
+					}
+					@Override
+					public void acceptBinding(String bindingKey, IBinding binding) {
+						worker.post(() -> requestor.acceptBinding(bindingKey, binding), false);
+					}
+				};
+				worker.start(() -> worker.resolver.resolve(units, unitEncodings, keys, workerRequestor, apiLevel, options, flags));
+			}
+			parallelResolver.passCallbacks(worker -> requestor.compilationUnitResolver = worker.resolver);
+		} finally {
+			requestor.compilationUnitResolver = null;
+			parallelResolver.shutdown();
+		}
+	}
+
+	/*
+	 * Copies every <code>step</code>th element of the given array from the given start into the given result.
+	 */
+	private static <T> T[] deal(T[] elements, T[] result, int start, int step) {
+		for (int i = start, j = 0; i < elements.length; i += step, j++)
+			result[j] = elements[i];
+		return result;
+	}
+
+	private Worker newWorker(INameEnvironment environment, Map options, int flags, boolean fromJavaProject) {
+		CompilerOptions compilerOptions = CompilationUnitResolver.getCompilerOptions(options, (flags & ICompilationUnit.ENABLE_STATEMENTS_RECOVERY) != 0);
+		compilerOptions.ignoreMethodBodies = (flags & ICompilationUnit.IGNORE_METHOD_BODIES) != 0;
+		Worker worker = new Worker();
+		worker.resolver =
+			new CompilationUnitResolver(
+				environment,
+				CompilationUnitResolver.getHandlingPolicy(),
+				compilerOptions,
+				CompilationUnitResolver.getRequestor(),
+				new CancelableProblemFactory(this.workerMonitor),
+				this.workerMonitor,
+				fromJavaProject);
+		this.workers.add(worker);
+		return worker;
+	}
+
+	/*
+	 * Passes the callbacks of the workers to the requestor of the parser, one AST of each worker in turn.
+	 */
+	private void passCallbacks(Consumer<Worker> connect) {
+		List<Worker> active = new ArrayList<>(this.workers);
+		int k = 0;
+		while (!active.isEmpty()) {
+			Worker worker = active.get(k);
+			if (worker.passNextAST(() -> connect.accept(worker))) {
+				k++;
+			} else {
+				active.remove(k);
+			}
+			if (k >= active.size())
+				k = 0;
+		}
+	}
+
+	private void shutdown() {
+		// stops the workers if their callbacks were not all passed to the requestor, and waits for them so that
+		// none of them is still running once the batch is over, or once the caller parses the units instead
+		this.stopped = true;
+		this.executor.shutdownNow();
+		try {
+			this.executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		this.monitor.done();
+	}
+}
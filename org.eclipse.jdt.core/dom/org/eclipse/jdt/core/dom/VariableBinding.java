@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -43,13 +43,16 @@ class VariableBinding implements IVariableBinding {
 	private static final int VALID_MODIFIERS = Modifier.PUBLIC | Modifier.PROTECTED | Modifier.PRIVATE |
 		Modifier.STATIC | Modifier.FINAL | Modifier.TRANSIENT | Modifier.VOLATILE;
 
-	private final org.eclipse.jdt.internal.compiler.lookup.VariableBinding binding;
+	private org.eclipse.jdt.internal.compiler.lookup.VariableBinding binding;
 	private ITypeBinding declaringClass;
 	private String key;
 	private String name;
 	private final BindingResolver resolver;
 	private ITypeBinding type;
 	private IAnnotationBinding[] annotations;
+	private boolean detached;
+	private JavaElement detachedJavaElement;
+	private IMethodBinding detachedDeclaringMethod;
 
 	VariableBinding(BindingResolver resolver, org.eclipse.jdt.internal.compiler.lookup.VariableBinding binding) {
 		this.resolver = resolver;
@@ -85,6 +88,29 @@ class VariableBinding implements IVariableBinding {
 		return this.annotations = AnnotationBinding.NoAnnotations;
 	}
 
+	/*
+	 * Computes what is derived from the compiler declaration and scope of a local variable, then replaces the
+	 * compiler binding of the variable with a copy that references neither, see DefaultBindingResolver#detach(Collection).
+	 * The compiler binding itself is not modified. Answers the compiler binding that was replaced, or null if this
+	 * is not a local variable.
+	 */
+	org.eclipse.jdt.internal.compiler.lookup.VariableBinding detach() {
+		if (this.detached || !(this.binding instanceof LocalVariableBinding localVariableBinding)) {
+			return null;
+		}
+		getKey();
+		getAnnotations();
+		this.detachedJavaElement = getUnresolvedJavaElement();
+		this.detachedDeclaringMethod = getDeclaringMethod();
+		LocalVariableBinding copy = new LocalVariableBinding(localVariableBinding.name, localVariableBinding.type, localVariableBinding.modifiers, false);
+		copy.tagBits = localVariableBinding.tagBits;
+		copy.id = localVariableBinding.id;
+		copy.setConstant(localVariableBinding.constant());
+		this.binding = copy;
+		this.detached = true;
+		return localVariableBinding;
+	}
+
 	@Override
 	public Object getConstantValue() {
 		Constant c = this.binding.constant();
@@ -128,6 +154,7 @@ class VariableBinding implements IVariableBinding {
 	@Override
 	public IMethodBinding getDeclaringMethod() {
 		if (!isField()) {
+			if (this.detached) return this.detachedDeclaringMethod;
 			ASTNode node = this.resolver.findDeclaringNode(this);
 			while (true) {
 				if (node == null) {
@@ -230,6 +257,7 @@ class VariableBinding implements IVariableBinding {
 			return null;
 		}
 		// local variable
+		if (this.detached) return this.detachedJavaElement;
 		if (!(this.resolver instanceof DefaultBindingResolver)) return null;
 		DefaultBindingResolver defaultBindingResolver = (DefaultBindingResolver) this.resolver;
 		if (!defaultBindingResolver.fromJavaProject) return null;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,9 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.core.dom;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import org.eclipse.jdt.core.dom.*;
@@ -34,6 +37,21 @@ import org.eclipse.jdt.internal.core.dom.util.DOMASTUtil;
  * }</pre>
  * Call the <code>reset</code> method to clear the previous result before reusing an
  * existing instance.
+ * <p>
+ * To print large ASTs, create the printer with an output: the serialized representation is then
+ * written to the output whenever the buffer is full, instead of being accumulated in the buffer.
+ * </p>
+ * <pre>{@code
+ *    NaiveASTFlattener p = new NaiveASTFlattener(writer, 8192);
+ *    node.accept(p);
+ *    p.flush();
+ * }</pre>
+ * <p>
+ * Chains of method invocations, like the invocations on a builder, and infix expressions nested in
+ * their left operand, like long string concatenations, are printed without recursion, so that deep
+ * chains don't overflow the stack. The inner nodes of such a chain get the <code>preVisit2</code>,
+ * <code>endVisit</code> and <code>postVisit</code> calls, but no <code>visit</code> call.
+ * </p>
  *
  * @since 2.0
  */
@@ -107,6 +125,17 @@ public class NaiveASTFlattener extends ASTVisitor {
 	 */
 	protected StringBuilder buffer;
 
+	/**
+	 * The output to which the buffer is written when it is full, or <code>null</code>
+	 * if the serialized representation is accumulated in the buffer.
+	 */
+	private final Appendable output;
+
+	/**
+	 * The number of characters of the buffer above which the buffer is written to the output.
+	 */
+	private final int bufferSize;
+
 	private int indent = 0;
 
 	/**
@@ -114,6 +143,68 @@ public class NaiveASTFlattener extends ASTVisitor {
 	 */
 	public NaiveASTFlattener() {
 		this.buffer = new StringBuilder();
+		this.output = null;
+		this.bufferSize = 0;
+	}
+
+	/**
+	 * Creates a new AST printer that appends the serialized representation of the AST
+	 * directly to the given buffer, after its current content.
+	 * <p>
+	 * {@link #getResult()} returns the whole content of the buffer, and {@link #reset()}
+	 * clears it.
+	 * </p>
+	 *
+	 * @param buffer the buffer to append to
+	 * @since 3.46
+	 */
+	public NaiveASTFlattener(StringBuilder buffer) {
+		if (buffer == null) {
+			throw new IllegalArgumentException();
+		}
+		this.buffer = buffer;
+		this.output = null;
+		this.bufferSize = 0;
+	}
+
+	/**
+	 * Creates a new AST printer that writes the serialized representation of the AST
+	 * to the given output.
+	 * <p>
+	 * The buffer is written to the output when it holds at least the given number of
+	 * characters. Call {@link #flush()} at the end of the visit to write the remaining
+	 * characters. {@link #getResult()} only returns the characters that are not yet written.
+	 * </p>
+	 *
+	 * @param output the output, for instance a <code>Writer</code>
+	 * @param bufferSize the number of buffered characters above which they are written to the output
+	 * @since 3.46
+	 */
+	public NaiveASTFlattener(Appendable output, int bufferSize) {
+		if (output == null || bufferSize <= 0) {
+			throw new IllegalArgumentException();
+		}
+		this.buffer = new StringBuilder(bufferSize + bufferSize / 2);
+		this.output = output;
+		this.bufferSize = bufferSize;
+	}
+
+	/**
+	 * Writes the buffered characters to the output, if any.
+	 *
+	 * @throws UncheckedIOException if the output fails
+	 * @since 3.46
+	 */
+	public void flush() {
+		if (this.output == null || this.buffer.length() == 0) {
+			return;
+		}
+		try {
+			this.output.append(this.buffer);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		this.buffer.setLength(0);
 	}
 
 	/**
@@ -285,6 +376,13 @@ public class NaiveASTFlattener extends ASTVisitor {
 		this.buffer.setLength(0);
 	}
 
+	@Override
+	public void postVisit(ASTNode node) {
+		if (this.output != null && this.buffer.length() >= this.bufferSize) {
+			flush();
+		}
+	}
+
 	/**
 	 * Internal synonym for {@link TypeDeclaration#superInterfaces()}. Use to alleviate
 	 * deprecation warnings.
@@ -857,7 +955,41 @@ public class NaiveASTFlattener extends ASTVisitor {
 
 	@Override
 	public boolean visit(InfixExpression node) {
-		node.getLeftOperand().accept(this);
+		// the infix expressions nested in the left operand are printed without recursion
+		List<InfixExpression> chain = null;
+		Expression leftOperand = node.getLeftOperand();
+		while (leftOperand instanceof InfixExpression) {
+			InfixExpression infixExpression = (InfixExpression) leftOperand;
+			if (!preVisit2(infixExpression)) {
+				postVisit(infixExpression);
+				leftOperand = null;
+				break;
+			}
+			if (chain == null) {
+				chain = new ArrayList<>();
+			}
+			chain.add(infixExpression);
+			leftOperand = infixExpression.getLeftOperand();
+		}
+		if (leftOperand != null) {
+			leftOperand.accept(this);
+		}
+		if (chain != null) {
+			for (int i = chain.size() - 1; i >= 0; i--) {
+				InfixExpression infixExpression = chain.get(i);
+				printOperands(infixExpression);
+				endVisit(infixExpression);
+				postVisit(infixExpression);
+			}
+		}
+		printOperands(node);
+		return false;
+	}
+
+	/*
+	 * Prints the operator and the operands of the given infix expression that follow its left operand.
+	 */
+	private void printOperands(InfixExpression node) {
 		this.buffer.append(' ');  // for cases like x= i - -1; or x= i++ + ++i;
 		this.buffer.append(node.getOperator().toString());
 		this.buffer.append(' ');
@@ -871,7 +1003,6 @@ public class NaiveASTFlattener extends ASTVisitor {
 				e.accept(this);
 			}
 		}
-		return false;
 	}
 
 	@Override
@@ -1116,8 +1247,42 @@ public class NaiveASTFlattener extends ASTVisitor {
 
 	@Override
 	public boolean visit(MethodInvocation node) {
+		// the invocations of a chain like a.b().c().d() are printed without recursion
+		List<MethodInvocation> chain = null;
+		Expression expression = node.getExpression();
+		while (expression instanceof MethodInvocation) {
+			MethodInvocation methodInvocation = (MethodInvocation) expression;
+			if (!preVisit2(methodInvocation)) {
+				postVisit(methodInvocation);
+				expression = null;
+				break;
+			}
+			if (chain == null) {
+				chain = new ArrayList<>();
+			}
+			chain.add(methodInvocation);
+			expression = methodInvocation.getExpression();
+		}
+		if (expression != null) {
+			expression.accept(this);
+		}
+		if (chain != null) {
+			for (int i = chain.size() - 1; i >= 0; i--) {
+				MethodInvocation methodInvocation = chain.get(i);
+				printInvocation(methodInvocation);
+				endVisit(methodInvocation);
+				postVisit(methodInvocation);
+			}
+		}
+		printInvocation(node);
+		return false;
+	}
+
+	/*
+	 * Prints the given method invocation after its expression.
+	 */
+	private void printInvocation(MethodInvocation node) {
 		if (node.getExpression() != null) {
-			node.getExpression().accept(this);
 			this.buffer.append(".");//$NON-NLS-1$
 		}
 		if (node.getAST().apiLevel() >= JLS3) {
@@ -1143,7 +1308,6 @@ public class NaiveASTFlattener extends ASTVisitor {
 			}
 		}
 		this.buffer.append(")");//$NON-NLS-1$
-		return false;
 	}
 
 	@Override
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -313,6 +313,9 @@ public final class RewriteEventStore {
 	/** Stores which nodes are source of a copy or move (list of CopySourceInfo)*/
 	List nodeCopySources;
 
+	/** Stores the copy sources of each node (map of <ASTNode, list of CopySourceInfo>), as they are looked up for every visited node */
+	private Map nodeCopySourcesByNode;
+
 	/** Stores node ranges that are used to copy or move (map of <PropertyLocation, CopyRangeInfo>)*/
 	Map nodeRangeInfos;
 
@@ -339,6 +342,7 @@ public final class RewriteEventStore {
 
 		this.nodePropertyMapper= null;
 		this.nodeCopySources= null;
+		this.nodeCopySourcesByNode= null;
 		this.nodeRangeInfos= null;
 	}
 
@@ -359,6 +363,7 @@ public final class RewriteEventStore {
 		this.editGroups= null; // lazy initialization
 		this.insertBoundToPrevious= null;
 		this.nodeCopySources= null;
+		this.nodeCopySourcesByNode= null;
 	}
 
 	public void addEvent(ASTNode parent, StructuralPropertyDescriptor childProperty, RewriteEvent event) {
@@ -608,8 +613,15 @@ public final class RewriteEventStore {
 
 		if (this.nodeCopySources == null) {
 			this.nodeCopySources= new ArrayList();
+			this.nodeCopySourcesByNode= new IdentityHashMap();
 		}
 		this.nodeCopySources.add(copySource);
+		List copySourcesOfNode= (List) this.nodeCopySourcesByNode.get(node);
+		if (copySourcesOfNode == null) {
+			copySourcesOfNode= new ArrayList(1);
+			this.nodeCopySourcesByNode.put(node, copySourcesOfNode);
+		}
+		copySourcesOfNode.add(copySource);
 		return copySource;
 	}
 
@@ -663,7 +675,11 @@ public final class RewriteEventStore {
 		if (this.nodeCopySources == null) {
 			return null;
 		}
-		return internalGetCopySources(this.nodeCopySources, node);
+		List copySourcesOfNode= (List) this.nodeCopySourcesByNode.get(node);
+		if (copySourcesOfNode == null) {
+			return null;
+		}
+		return internalGetCopySources(copySourcesOfNode, node);
 	}
 
 
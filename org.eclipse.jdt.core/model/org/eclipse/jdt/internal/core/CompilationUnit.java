@@ -259,7 +259,7 @@ protected boolean buildStructure(OpenableElementInfo info, final IProgressMonito
 				if (problems == null) {
 					// report problems to the problem requestor
 					problems = new HashMap<>();
-					compilationUnitDeclaration = CompilationUnitProblemFinder.process(source, parser, this.owner, problems, createAST, reconcileFlags, pm);
+					compilationUnitDeclaration = CompilationUnitProblemFinder.process(source, parser, this.owner, problems, createAST, reconcileFlags, perWorkingCopyInfo, pm);
 					try {
 						perWorkingCopyInfo.beginReporting();
 						for (CategorizedProblem[] categorizedProblems : problems.values()) {
@@ -273,7 +273,7 @@ protected boolean buildStructure(OpenableElementInfo info, final IProgressMonito
 					}
 				} else {
 					// collect problems
-					compilationUnitDeclaration = CompilationUnitProblemFinder.process(source, parser, this.owner, problems, createAST, reconcileFlags, pm);
+					compilationUnitDeclaration = CompilationUnitProblemFinder.process(source, parser, this.owner, problems, createAST, reconcileFlags, perWorkingCopyInfo, pm);
 				}
 			} else {
 				compilationUnitDeclaration = parser.parseCompilationUnit(source, true /*full parse to find local elements*/, pm);
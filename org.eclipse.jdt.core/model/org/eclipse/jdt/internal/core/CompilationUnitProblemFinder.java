@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.core;
 
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -26,6 +28,7 @@ import org.eclipse.jdt.internal.compiler.ICompilerRequestor;
 import org.eclipse.jdt.internal.compiler.IErrorHandlingPolicy;
 import org.eclipse.jdt.internal.compiler.IProblemFactory;
 import org.eclipse.jdt.internal.compiler.SourceElementParser;
+import org.eclipse.jdt.internal.compiler.ast.AbstractMethodDeclaration;
 import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
 import org.eclipse.jdt.internal.compiler.env.AccessRestriction;
 import org.eclipse.jdt.internal.compiler.env.IModule;
@@ -46,6 +49,9 @@ import org.eclipse.jdt.internal.core.util.Util;
  */
 public class CompilationUnitProblemFinder extends Compiler {
 
+	// the unchanged methods whose analysis is skipped by an incremental reconcile (see ReconcileSnapshot)
+	Map<AbstractMethodDeclaration, List<CategorizedProblem>> skippedMethods;
+
 	/**
 	 * Answer a new CompilationUnitVisitor using the given name environment and compiler options.
 	 * The environment and options will be in effect for the lifetime of the compiler.
@@ -266,16 +272,43 @@ public class CompilationUnitProblemFinder extends Compiler {
 			IProgressMonitor monitor)
 		throws JavaModelException {
 
+		return process(unitElement, parser, workingCopyOwner, problems, creatingAST, reconcileFlags, null/*no incremental reconcile*/, monitor);
+	}
+
+	/*
+	 * Same as process(CompilationUnit, SourceElementParser, WorkingCopyOwner, Map, boolean, int, IProgressMonitor),
+	 * but if the given working copy info is not null, the flow analysis of the methods that did not change since
+	 * its last reconcile is skipped if possible, and their previous problems are reported instead (see ReconcileSnapshot).
+	 * Can return null if the process was aborted or canceled
+	 */
+	public static CompilationUnitDeclaration process(
+			CompilationUnit unitElement,
+			SourceElementParser parser,
+			WorkingCopyOwner workingCopyOwner,
+			Map<String, CategorizedProblem[]> problems,
+			boolean creatingAST,
+			int reconcileFlags,
+			JavaModelManager.PerWorkingCopyInfo perWorkingCopyInfo,
+			IProgressMonitor monitor)
+		throws JavaModelException {
+
 		JavaProject project = unitElement.getJavaProject();
 		CancelableNameEnvironment environment = null;
 		CancelableProblemFactory problemFactory = null;
 		CompilationUnitProblemFinder problemFinder = null;
 		CompilationUnitDeclaration unit = null;
 		try {
+			boolean incremental = perWorkingCopyInfo != null && parser != null && ReconcileSnapshot.ENABLED;
+			long modelChangeStamp = incremental ? JavaModelManager.getJavaModelManager().deltaState.getModelChangeStamp() : 0;
+			// the DOM bindings read the state computed by the analysis of all the methods
+			ReconcileSnapshot snapshot = incremental && !creatingAST ? perWorkingCopyInfo.reconcileSnapshot : null;
+			if (incremental)
+				perWorkingCopyInfo.reconcileSnapshot = null; // only reused once
 			int release = getRelease(project, unitElement);
 			environment = new CancelableNameEnvironment(project, workingCopyOwner, monitor, !isTestSource(unitElement.getJavaProject(), unitElement), release);
 			problemFactory = new CancelableProblemFactory(monitor);
-			CompilerOptions compilerOptions = getCompilerOptions(project.getOptions(true), creatingAST, ((reconcileFlags & ICompilationUnit.ENABLE_STATEMENTS_RECOVERY) != 0));
+			Map<String, String> projectOptions = project.getOptions(true);
+			CompilerOptions compilerOptions = getCompilerOptions(projectOptions, creatingAST, ((reconcileFlags & ICompilationUnit.ENABLE_STATEMENTS_RECOVERY) != 0));
 			boolean ignoreMethodBodies = (reconcileFlags & ICompilationUnit.IGNORE_METHOD_BODIES) != 0;
 			compilerOptions.ignoreMethodBodies = ignoreMethodBodies;
 			if (release >= JavaProject.FIRST_MULTI_RELEASE) {
@@ -298,12 +331,25 @@ public class CompilationUnitProblemFinder extends Compiler {
 				if (parser != null) {
 					problemFinder.parser = parser;
 					unit = parser.parseCompilationUnit(unitElement, true/*full parse*/, monitor);
-					problemFinder.resolve(
-						unit,
-						unitElement,
-						true, // verify methods
-						analyzeAndGenerateCode, // analyze code
-						analyzeAndGenerateCode); // generate code
+					Map<AbstractMethodDeclaration, List<CategorizedProblem>> skippedMethods = new LinkedHashMap<>();
+					boolean reuseProblems = snapshot != null && snapshot.prepare(unit, perWorkingCopyInfo.getWorkingCopy(), unitElement.getContents(), projectOptions, reconcileFlags, skippedMethods);
+					if (reuseProblems)
+						problemFinder.skippedMethods = skippedMethods;
+					try {
+						problemFinder.resolve(
+							unit,
+							unitElement,
+							true, // verify methods
+							analyzeAndGenerateCode, // analyze code
+							analyzeAndGenerateCode); // generate code
+					} finally {
+						if (reuseProblems) {
+							ReconcileSnapshot.restoreAnalysis(skippedMethods);
+							problemFinder.skippedMethods = null;
+						}
+					}
+					if (reuseProblems)
+						ReconcileSnapshot.addReusedProblems(unit.compilationResult, skippedMethods);
 				} else {
 					unit =
 						problemFinder.resolve(
@@ -314,6 +360,7 @@ public class CompilationUnitProblemFinder extends Compiler {
 				}
 			} catch (AbortCompilation e) {
 				problemFinder.handleInternalException(e, unit);
+				incremental = false;
 			}
 			if (unit != null) {
 				CompilationResult unitResult = unit.compilationResult;
@@ -324,6 +371,10 @@ public class CompilationUnitProblemFinder extends Compiler {
 					System.arraycopy(unitProblems, 0, categorizedProblems, 0, length);
 					problems.put(IJavaModelMarker.JAVA_MODEL_PROBLEM_MARKER, categorizedProblems);
 				}
+				if (incremental && analyzeAndGenerateCode) {
+					perWorkingCopyInfo.reconcileSnapshot = ReconcileSnapshot.create(unit, unitElement.getContents(), projectOptions, reconcileFlags,
+							modelChangeStamp, unitProblems, compilerOptions.maxProblemsPerUnit);
+				}
 				unitProblems = unitResult.getTasks();
 				length = unitProblems == null ? 0 : unitProblems.length;
 				if (length > 0) {
@@ -375,6 +426,12 @@ public class CompilationUnitProblemFinder extends Compiler {
 		return process(unitElement, null/*use default Parser*/, workingCopyOwner, problems, creatingAST, reconcileFlags, monitor);
 	}
 
+	@Override
+	protected void unitResolved(CompilationUnitDeclaration unit) {
+		if (this.skippedMethods != null)
+			ReconcileSnapshot.skipAnalysis(this.skippedMethods);
+	}
+
 	/* (non-Javadoc)
 	 * Fix for bug https://bugs.eclipse.org/bugs/show_bug.cgi?id=60689.
 	 * @see org.eclipse.jdt.internal.compiler.Compiler#initializeParser()
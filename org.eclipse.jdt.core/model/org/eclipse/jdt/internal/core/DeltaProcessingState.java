@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -29,13 +29,17 @@ import org.eclipse.core.resources.IResourceChangeListener;
 import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElementDelta;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaModel;
 import org.eclipse.jdt.core.IJavaProject;
@@ -43,6 +47,7 @@ import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.internal.core.DeltaProcessor.RootInfo;
 import org.eclipse.jdt.internal.core.JavaModelManager.PerProjectInfo;
+import org.eclipse.jdt.internal.core.util.Messages;
 import org.eclipse.jdt.internal.core.util.Util;
 
 /**
@@ -135,6 +140,28 @@ public class DeltaProcessingState implements IResourceChangeListener {
 	private Set<IJavaElement> externalElementsToRefresh;
 	private final Object mutex = new Object();
 
+	/*
+	 * Incremented each time the Java model changes: when a Java element delta is registered or a resource changes,
+	 * and when a classpath, a classpath container, a classpath variable or the options change.
+	 * This is done when the change happens rather than when its delta is fired, since deltas can be delayed
+	 * (see stopDeltas() and batchDeltas(List)) and some changes have no delta.
+	 * If the last change was the reconcile of a single working copy, this working copy is remembered,
+	 * so that its next reconcile can reuse the problems found in the methods that did not change (see ReconcileSnapshot).
+	 */
+	private long modelChangeStamp;
+	private ICompilationUnit lastReconciledUnit;
+
+	/*
+	 * When positive, the Java element deltas resulting from resource changes are coalesced during that many milliseconds
+	 * and fired as one merged delta, e.g. to avoid a storm of notifications during a checkout touching many files.
+	 * By default, the deltas are fired at the end of each resource change notification.
+	 */
+	public static final long DELTA_BATCHING_DELAY = Long.getLong("org.eclipse.jdt.core.deltaBatchingDelay", 0); //$NON-NLS-1$
+
+	/* The deltas waiting to be fired at the end of the current batching window, synchronized by DeltaProcessingState.this */
+	private List<IJavaElementDelta> batchedDeltas = new ArrayList<>();
+	private Job batchedDeltasJob;
+
 	/*
 	 * Need to clone defensively the listener information, in case some listener is reacting to some notification iteration by adding/changing/removing
 	 * any of the other (for example, if it deregisters itself).
@@ -409,6 +436,63 @@ public class DeltaProcessingState implements IResourceChangeListener {
 		return result;
 	}
 
+	/*
+	 * Records that the Java model changed.
+	 * The given working copy is the only one changed if this is the reconcile of this working copy, null otherwise.
+	 */
+	public synchronized void recordModelChange(ICompilationUnit reconciledUnit) {
+		this.modelChangeStamp++;
+		this.lastReconciledUnit = reconciledUnit;
+	}
+
+	/*
+	 * Adds the given deltas to the current batch. The batch is fired when the batching window is over, or before
+	 * any other delta is fired.
+	 */
+	public synchronized void batchDeltas(List<IJavaElementDelta> deltas) {
+		this.batchedDeltas.addAll(deltas);
+		recordModelChange(null); // the model already changed
+		if (this.batchedDeltasJob == null) {
+			this.batchedDeltasJob = new Job(Messages.batchedDeltas_jobName) {
+				@Override
+				protected IStatus run(IProgressMonitor monitor) {
+					// fire() takes the batched deltas
+					getDeltaProcessor().notifyAndFire(null);
+					return Status.OK_STATUS;
+				}
+			};
+			this.batchedDeltasJob.setSystem(true);
+			this.batchedDeltasJob.setPriority(Job.SHORT);
+		}
+		if (this.batchedDeltasJob.getState() != Job.SLEEPING)
+			this.batchedDeltasJob.schedule(DELTA_BATCHING_DELAY);
+	}
+
+	/*
+	 * Removes and returns the deltas of the current batch, in the order they were batched.
+	 */
+	public synchronized List<IJavaElementDelta> removeBatchedDeltas() {
+		if (this.batchedDeltas.isEmpty())
+			return Collections.emptyList();
+		List<IJavaElementDelta> result = this.batchedDeltas;
+		this.batchedDeltas = new ArrayList<>();
+		return result;
+	}
+
+	public synchronized long getModelChangeStamp() {
+		return this.modelChangeStamp;
+	}
+
+	/*
+	 * Returns whether the Java model did not change since the given stamp was taken, except for the reconcile
+	 * of the given working copy.
+	 */
+	public synchronized boolean isUnchangedSince(long stamp, ICompilationUnit workingCopy) {
+		if (stamp == this.modelChangeStamp)
+			return true;
+		return stamp + 1 == this.modelChangeStamp && workingCopy.equals(this.lastReconciledUnit);
+	}
+
 	public synchronized void removeElementChangedListener(IElementChangedListener listener) {
 
 		for (int i = 0; i < this.elementChangedListenerCount; i++){
@@ -471,6 +555,7 @@ public class DeltaProcessingState implements IResourceChangeListener {
 
 	@Override
 	public void resourceChanged(final IResourceChangeEvent event) {
+		recordModelChange(null);
 		for (int i = 0; i < this.preResourceChangeListenerCount; i++) {
 			// wrap callbacks with Safe runnable for subsequent listeners to be called when some are causing grief
 			final IResourceChangeListener listener = this.preResourceChangeListeners[i];
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -1514,20 +1514,22 @@ public class DeltaProcessor {
 
 		IJavaElementDelta deltaToNotify;
 		if (customDelta == null){
+			// the batched deltas of previous resource changes must be notified first
+			List<IJavaElementDelta> batchedDeltas = this.state.removeBatchedDeltas();
+			if (!batchedDeltas.isEmpty())
+				this.javaModelDeltas.addAll(0, batchedDeltas);
 			deltaToNotify = mergeDeltas(this.javaModelDeltas);
 		} else {
+			// the batched deltas of previous resource changes must be notified before the custom delta
+			List<IJavaElementDelta> batchedDeltas = this.state.removeBatchedDeltas();
+			if (!batchedDeltas.isEmpty())
+				fireBatchedDeltas(mergeDeltas(batchedDeltas));
 			deltaToNotify = customDelta;
 		}
 
 		// Refresh internal scopes
-		if (deltaToNotify != null) {
-			for (AbstractSearchScope scope : this.manager.searchScopes.keySet()) {
-				scope.processDelta(deltaToNotify, eventType);
-			}
-			JavaWorkspaceScope workspaceScope = this.manager.workspaceScope;
-			if (workspaceScope != null)
-				workspaceScope.processDelta(deltaToNotify, eventType);
-		}
+		if (deltaToNotify != null)
+			refreshScopes(deltaToNotify, eventType);
 
 		// Notification
 
@@ -1551,6 +1553,33 @@ public class DeltaProcessor {
 		}
 	}
 
+	/*
+	 * Notifies the POST_CHANGE listeners of the given merged deltas of the current batch, see DeltaProcessingState#batchDeltas(List).
+	 */
+	private void fireBatchedDeltas(IJavaElementDelta deltaToNotify) {
+		if (deltaToNotify == null)
+			return;
+		refreshScopes(deltaToNotify, ElementChangedEvent.POST_CHANGE);
+		IElementChangedListener[] listeners;
+		int[] listenerMask;
+		int listenerCount;
+		synchronized (this.state) {
+			listeners = this.state.elementChangedListeners;
+			listenerMask = this.state.elementChangedListenerMasks;
+			listenerCount = this.state.elementChangedListenerCount;
+		}
+		firePostChangeDelta(deltaToNotify, listeners, listenerMask, listenerCount);
+	}
+
+	private void refreshScopes(IJavaElementDelta deltaToNotify, int eventType) {
+		for (AbstractSearchScope scope : this.manager.searchScopes.keySet()) {
+			scope.processDelta(deltaToNotify, eventType);
+		}
+		JavaWorkspaceScope workspaceScope = this.manager.workspaceScope;
+		if (workspaceScope != null)
+			workspaceScope.processDelta(deltaToNotify, eventType);
+	}
+
 	private void firePostChangeDelta(
 		IJavaElementDelta deltaToNotify,
 		IElementChangedListener[] listeners,
@@ -2027,6 +2056,7 @@ public class DeltaProcessor {
 					"JavaModel modified during 'read only' operation. Consider to report this warning to https://github.com/eclipse-jdt/eclipse.jdt.core/issues. delta=" //$NON-NLS-1$
 							+ delta));
 		}
+		this.state.recordModelChange(null);
 		this.javaModelDeltas.add(delta);
 	}
 	/*
@@ -2150,7 +2180,13 @@ public class DeltaProcessor {
 							this.sourceElementParserCache = null; // don't hold onto parser longer than necessary
 							startDeltas();
 						}
-						notifyAndFire(null);
+						if (DeltaProcessingState.DELTA_BATCHING_DELAY > 0) {
+							// coalesce with the deltas of the next resource changes, the model itself is already up to date
+							this.state.batchDeltas(this.javaModelDeltas);
+							flush();
+						} else {
+							notifyAndFire(null);
+						}
 					} finally {
 						// workaround for bug 15168 circular errors not reported
 						this.state.resetOldJavaProjectNames();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2009 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -23,7 +23,15 @@ import org.eclipse.jdt.core.JavaModelException;
 public class ElementCache<K extends IJavaElement & IOpenable> extends OverflowingLRUCache<K, JavaElementInfo> {
 
 	IJavaElement spaceLimitParent = null;
-	private final int initialSpaceLimit;
+	private int initialSpaceLimit;
+
+	/*
+	 * Sum and number of the estimated retained sizes of the infos recently put in this cache.
+	 * Both are halved periodically so that the average follows the current workload.
+	 */
+	private long footprintTotal;
+	private int footprintSamples;
+	private static final int MAX_FOOTPRINT_SAMPLES = 1024;
 
 /**
  * Constructs a new element cache of the given size.
@@ -80,6 +88,48 @@ protected void ensureSpaceLimit(JavaElementInfo info, IJavaElement parent) {
 	}
 }
 
+/*
+ * Records the estimated retained size (in bytes) of an info that was put in this cache.
+ */
+protected void recordFootprint(long bytes) {
+	if (this.footprintSamples == MAX_FOOTPRINT_SAMPLES) {
+		this.footprintTotal /= 2;
+		this.footprintSamples /= 2;
+	}
+	this.footprintTotal += bytes;
+	this.footprintSamples++;
+}
+
+/*
+ * Returns the average estimated retained size (in bytes) of the infos in this cache,
+ * or the given default if no info has been recorded yet.
+ */
+protected long averageFootprint(long defaultFootprint) {
+	if (this.footprintSamples == 0)
+		return defaultFootprint;
+	return Math.max(1, this.footprintTotal / this.footprintSamples);
+}
+
+/*
+ * Returns the space limit this cache returns to once the parent that increased it is closed.
+ */
+protected int getDefaultSpaceLimit() {
+	return this.initialSpaceLimit;
+}
+
+/*
+ * Changes the space limit this cache returns to once the parent that increased it is closed.
+ * If no parent currently needs a bigger space limit, the new limit is applied immediately,
+ * closing the least recently used elements if the cache shrinks.
+ */
+protected void setDefaultSpaceLimit(int limit) {
+	this.initialSpaceLimit = limit;
+	if (this.spaceLimitParent == null && limit != this.spaceLimit) {
+		setSpaceLimit(limit);
+		shrink();
+	}
+}
+
 /*
  * Returns a new instance of the receiver.
  */
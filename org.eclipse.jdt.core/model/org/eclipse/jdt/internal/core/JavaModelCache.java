@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -30,6 +30,12 @@ import org.eclipse.jdt.internal.core.util.Util;
 
 /**
  * The cache of java elements to their respective info.
+ * <p>
+ * The sizes of the root, package and openable caches are derived from a memory budget
+ * (a ratio of the maximum heap size, see {@link #HEAP_RATIO_PROPERTY}) divided by the
+ * average estimated retained size of the infos recently put in each cache. The budget
+ * is reduced when the heap is still nearly full after a garbage collection, and grows
+ * back once the pressure is gone.
  */
 public class JavaModelCache {
 	public static boolean VERBOSE = false;
@@ -41,6 +47,50 @@ public class JavaModelCache {
 
 	public static final String RATIO_PROPERTY = "org.eclipse.jdt.core.javamodelcache.ratio"; //$NON-NLS-1$
 	public static final String JAR_TYPE_RATIO_PROPERTY = "org.eclipse.jdt.core.javamodelcache.jartyperatio"; //$NON-NLS-1$
+	/**
+	 * System property for the ratio of the maximum heap size that the root, package and
+	 * openable caches may retain. The value of {@link #RATIO_PROPERTY} is applied on top of it.
+	 */
+	public static final String HEAP_RATIO_PROPERTY = "org.eclipse.jdt.core.javamodelcache.heapratio"; //$NON-NLS-1$
+	public static final double DEFAULT_HEAP_RATIO = 0.1;
+
+	/*
+	 * Share of the memory budget (in percent) given to each cache.
+	 */
+	private static final int ROOT_BUDGET_SHARE = 1;
+	private static final int PKG_BUDGET_SHARE = 9;
+	private static final int OPENABLE_BUDGET_SHARE = 90;
+
+	/*
+	 * Estimated retained sizes (in bytes) used before any info has been put in a cache.
+	 */
+	static final long DEFAULT_ROOT_FOOTPRINT = 1_000;
+	static final long DEFAULT_PKG_FOOTPRINT = 500;
+	static final long DEFAULT_OPENABLE_FOOTPRINT = 2_000;
+
+	/*
+	 * Estimated retained size of an element info without children, and of each child
+	 * (the child handle and its own info that lives in the children cache).
+	 */
+	static final int INFO_FOOTPRINT = 100;
+	static final int CHILD_FOOTPRINT = 250;
+
+	/*
+	 * Lower bounds of the cache sizes, so that a tiny budget doesn't cause thrashing.
+	 */
+	private static final int MIN_ROOT_SIZE = 100;
+	private static final int MIN_PKG_SIZE = 1_000;
+	private static final int MIN_OPENABLE_SIZE = 2_000;
+
+	/*
+	 * Number of insertions after which the cache sizes are recomputed.
+	 */
+	private static final int ADJUST_INTERVAL = 1_000;
+
+	/*
+	 * Minimum ratio of the budget that is kept under memory pressure.
+	 */
+	private static final double MIN_PRESSURE_FACTOR = 0.125;
 
 	public static final IBinaryInfo NON_EXISTING_JAR_TYPE_INFO = new IBinaryInfo() {/*empty marker instance only*/};
 
@@ -85,11 +135,35 @@ public class JavaModelCache {
 	 */
 	protected LRUCache<IJavaElement, IElementInfo> jarTypeCache;
 
+	/*
+	 * The memory (in bytes) the root, package and openable caches may retain, or -1 if the
+	 * maximum heap size is unknown in which case the fixed default sizes are used.
+	 */
+	protected long memoryBudget;
+
+	/*
+	 * The ratio of the memory budget currently in use. Halved each time memory pressure is reported.
+	 */
+	protected double pressureFactor = 1.0;
+
+	/*
+	 * Set asynchronously when memory pressure is reported, consumed by the next insertion.
+	 */
+	private volatile boolean memoryPressureReported;
+
+	/*
+	 * Tells whether the heap is still nearly full, or null if the heap is not monitored.
+	 */
+	private volatile MemoryPressureMonitor memoryPressureMonitor;
+
+	private int insertionsSinceAdjust;
+
 public JavaModelCache() {
 	double openableRatio = getOpenableRatio();
-	int rootCacheSize = sizeLimit(DEFAULT_ROOT_SIZE * openableRatio);
-	int packageCacheeSize = sizeLimit(DEFAULT_PKG_SIZE * openableRatio);
-	int openableCacheSize = sizeLimit(DEFAULT_OPENABLE_SIZE * openableRatio);
+	this.memoryBudget = computeMemoryBudget(openableRatio);
+	int rootCacheSize = initialSizeLimit(DEFAULT_ROOT_SIZE, ROOT_BUDGET_SHARE, DEFAULT_ROOT_FOOTPRINT, MIN_ROOT_SIZE, openableRatio);
+	int packageCacheeSize = initialSizeLimit(DEFAULT_PKG_SIZE, PKG_BUDGET_SHARE, DEFAULT_PKG_FOOTPRINT, MIN_PKG_SIZE, openableRatio);
+	int openableCacheSize = initialSizeLimit(DEFAULT_OPENABLE_SIZE, OPENABLE_BUDGET_SHARE, DEFAULT_OPENABLE_FOOTPRINT, MIN_OPENABLE_SIZE, openableRatio);
 
 	// NB: Don't use a LRUCache for projects as they are
 	// constantly reopened (e.g. during delta processing)
@@ -111,6 +185,107 @@ private int sizeLimit(double d) {
 	return (int) Double.min(Integer.MAX_VALUE/2,d);
 }
 
+private long computeMemoryBudget(double openableRatio) {
+	long maxMemory = Runtime.getRuntime().maxMemory();
+	if (maxMemory == Long.MAX_VALUE)
+		return -1;
+	double heapRatio = DEFAULT_HEAP_RATIO;
+	String property = System.getProperty(HEAP_RATIO_PROPERTY);
+	if (property != null) {
+		try {
+			heapRatio = Double.parseDouble(property);
+		} catch (NumberFormatException e) {
+			Util.log(e, "Could not parse value for " + HEAP_RATIO_PROPERTY + ": " + property); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+	return (long) (maxMemory * heapRatio * openableRatio);
+}
+
+private int initialSizeLimit(int defaultSize, int budgetShare, long defaultFootprint, int minSize, double openableRatio) {
+	if (this.memoryBudget < 0)
+		return sizeLimit(defaultSize * openableRatio);
+	return budgetedSizeLimit(budgetShare, defaultFootprint, minSize);
+}
+
+private int budgetedSizeLimit(int budgetShare, long footprint, int minSize) {
+	double budget = this.memoryBudget * this.pressureFactor * budgetShare / 100;
+	return Math.max(minSize, sizeLimit(budget / footprint));
+}
+
+/*
+ * Returns an estimate of the memory (in bytes) retained by the given info and its children.
+ */
+static long estimateFootprint(JavaElementInfo info) {
+	long footprint = INFO_FOOTPRINT + (long) CHILD_FOOTPRINT * info.getChildren().length;
+	if (info instanceof CompilationUnitElementInfo unitInfo) {
+		// members, their source ranges and infos are proportional to the source length
+		footprint += unitInfo.getSourceLength();
+	}
+	return footprint;
+}
+
+/*
+ * Records that the heap is nearly full after a garbage collection.
+ * May be called from any thread: the caches are shrunk on the next insertion.
+ */
+public void memoryPressureReported() {
+	this.memoryPressureReported = true;
+}
+
+/*
+ * Sets the monitor that is asked whether the heap is still nearly full before the budget grows back.
+ */
+public void setMemoryPressureMonitor(MemoryPressureMonitor monitor) {
+	this.memoryPressureMonitor = monitor;
+}
+
+private boolean isHeapUnderPressure() {
+	MemoryPressureMonitor monitor = this.memoryPressureMonitor;
+	return monitor != null && monitor.isUnderPressure();
+}
+
+/*
+ * Recomputes the sizes of the root, package and openable caches from the memory budget and the average
+ * estimated footprints of their infos. The budget is halved if memory pressure was reported since the
+ * last call, otherwise it grows back towards the full budget unless the heap is still nearly full.
+ * Sizes are only changed if they differ significantly from the current ones, as shrinking a cache closes
+ * a large fraction of its elements.
+ */
+protected void adjustSpaceLimits(boolean underPressure) {
+	this.insertionsSinceAdjust = 0;
+	if (this.memoryBudget < 0)
+		return;
+	if (underPressure) {
+		this.pressureFactor = Math.max(MIN_PRESSURE_FACTOR, this.pressureFactor / 2);
+	} else if (this.pressureFactor < 1.0 && !isHeapUnderPressure()) {
+		this.pressureFactor = Math.min(1.0, this.pressureFactor * 1.25);
+	}
+	adjustSpaceLimit(this.rootCache, budgetedSizeLimit(ROOT_BUDGET_SHARE, this.rootCache.averageFootprint(DEFAULT_ROOT_FOOTPRINT), MIN_ROOT_SIZE), underPressure);
+	adjustSpaceLimit(this.pkgCache, budgetedSizeLimit(PKG_BUDGET_SHARE, this.pkgCache.averageFootprint(DEFAULT_PKG_FOOTPRINT), MIN_PKG_SIZE), underPressure);
+	adjustSpaceLimit(this.openableCache, budgetedSizeLimit(OPENABLE_BUDGET_SHARE, this.openableCache.averageFootprint(DEFAULT_OPENABLE_FOOTPRINT), MIN_OPENABLE_SIZE), underPressure);
+	if (VERBOSE) {
+		JavaModelManager.trace(Thread.currentThread() + " ADJUSTED CACHE SIZES (pressure factor " + this.pressureFactor + ")\n" + toStringFillingRation("-> ") + toStringStatistics("-> ")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	}
+}
+
+private void adjustSpaceLimit(ElementCache<?> elementCache, int newLimit, boolean underPressure) {
+	int currentLimit = elementCache.getDefaultSpaceLimit();
+	if (underPressure ? newLimit < currentLimit : Math.abs(newLimit - currentLimit) > currentLimit / 8) {
+		elementCache.setDefaultSpaceLimit(newLimit);
+	}
+}
+
+private void recordInsertion(ElementCache<?> elementCache, JavaElementInfo info) {
+	elementCache.recordFootprint(estimateFootprint(info));
+	boolean underPressure = this.memoryPressureReported;
+	if (underPressure) {
+		this.memoryPressureReported = false;
+		adjustSpaceLimits(true);
+	} else if (++this.insertionsSinceAdjust >= ADJUST_INTERVAL) {
+		adjustSpaceLimits(false);
+	}
+}
+
 private double getOpenableRatio() {
 	return getRatioForProperty(RATIO_PROPERTY);
 }
@@ -225,15 +400,18 @@ protected void putInfo(IJavaElement element, IElementInfo info) {
 			break;
 		case IJavaElement.PACKAGE_FRAGMENT_ROOT:
 			this.rootCache.put((IPackageFragmentRoot) element, (JavaElementInfo) info);
+			recordInsertion(this.rootCache, (JavaElementInfo) info);
 			this.pkgCache.ensureSpaceLimit((JavaElementInfo) info, element);
 			break;
 		case IJavaElement.PACKAGE_FRAGMENT:
 			this.pkgCache.put((IPackageFragment) element, (JavaElementInfo) info);
+			recordInsertion(this.pkgCache, (JavaElementInfo) info);
 			this.openableCache.ensureSpaceLimit((JavaElementInfo) info, element);
 			break;
 		case IJavaElement.COMPILATION_UNIT:
 		case IJavaElement.CLASS_FILE:
 			this.openableCache.put((ITypeRoot) element, (JavaElementInfo) info);
+			recordInsertion(this.openableCache, (JavaElementInfo) info);
 			break;
 		default:
 			this.childrenCache.put(element, info);
@@ -338,4 +516,28 @@ public String toStringFillingRation(String prefix) {
 	buffer.append('\n');
 	return buffer.toString();
 }
+public String toStringStatistics(String prefix) {
+	StringBuilder buffer = new StringBuilder();
+	buffer.append(prefix);
+	buffer.append(this.rootCache.toStringStatistics("Root cache")); //$NON-NLS-1$
+	buffer.append('\n');
+	buffer.append(prefix);
+	buffer.append(this.pkgCache.toStringStatistics("Package cache")); //$NON-NLS-1$
+	buffer.append('\n');
+	buffer.append(prefix);
+	buffer.append(this.openableCache.toStringStatistics("Openable cache")); //$NON-NLS-1$
+	buffer.append('\n');
+	buffer.append(prefix);
+	buffer.append(this.jarTypeCache.toStringStatistics("Jar type cache")); //$NON-NLS-1$
+	buffer.append('\n');
+	if (this.memoryBudget >= 0) {
+		buffer.append(prefix);
+		buffer.append("Memory budget: "); //$NON-NLS-1$
+		buffer.append((long) (this.memoryBudget * this.pressureFactor) / 1024);
+		buffer.append(" KB of "); //$NON-NLS-1$
+		buffer.append(this.memoryBudget / 1024);
+		buffer.append(" KB\n"); //$NON-NLS-1$
+	}
+	return buffer.toString();
+}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -117,6 +117,8 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 	private static final String NON_CHAINING_JARS_CACHE = "nonChainingJarsCache"; //$NON-NLS-1$
 	private static final String EXTERNAL_FILES_CACHE = "externalFilesCache";  //$NON-NLS-1$
 	private static final String ASSUMED_EXTERNAL_FILES_CACHE = "assumedExternalFilesCache";  //$NON-NLS-1$
+	private static final String SECONDARY_TYPES_FILE_KIND = "SECONDARY_TYPES"; //$NON-NLS-1$
+	private static final int SECONDARY_TYPES_FILE_VERSION = 1;
 
 	public static enum ArchiveValidity {
 		INVALID, VALID;
@@ -690,6 +692,7 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 	}
 
 	public synchronized void containerPut(IJavaProject project, IPath containerPath, IClasspathContainer container){
+		this.deltaState.recordModelChange(null);
 
 		// set/unset the initialization in progress
 		if (container == CONTAINER_INITIALIZATION_IN_PROGRESS) {
@@ -897,6 +900,7 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 	}
 
 	private synchronized void containersReset(String[] containerIDs) {
+		this.deltaState.recordModelChange(null);
 		for (String containerID : containerIDs) {
 			for (Map<IPath, IClasspathContainer> projectContainers : this.containers.values()) {
 				if (projectContainers != null){
@@ -1190,6 +1194,11 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 	 */
 	private JavaModelCache cache;
 
+	/*
+	 * Shrinks the Java model cache when the heap is nearly full after a garbage collection
+	 */
+	private MemoryPressureMonitor memoryPressureMonitor;
+
 	/*
 	 * Temporary cache of newly opened elements
 	 */
@@ -1247,6 +1256,10 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 	 */
 	private static class SecondaryTypes {
 		private volatile SecondaryTypesCache cache;
+		// whether the secondary types cache holds all secondary types of the project (searched or restored)
+		private volatile boolean complete;
+		// whether the secondary types saved in the previous session have been read (or must be ignored)
+		private volatile boolean restored;
 
 		public SecondaryTypes() {
 			this.cache = new SecondaryTypesCache(null, null);
@@ -1256,6 +1269,36 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 			return this.cache;
 		}
 
+		/*
+		 * Initializes the cache with the secondary types saved in the previous session, unless
+		 * this was already tried. The saved types are read outside of the lock as creating their
+		 * handles may need to resolve the classpath.
+		 *
+		 * Files may have been added while the workspace was closed, and their types are only
+		 * reported once they are indexed. Hence the restored cache is considered as being indexed,
+		 * so that it is only done once the pending indexing jobs ran and their types were merged.
+		 */
+		SecondaryTypesCache restore(IProject project) {
+			if (this.restored) {
+				return this.cache;
+			}
+			Hashtable<String, Map<String, IType>> savedTypes = loadSecondaryTypes(project);
+			synchronized (this) {
+				if (!this.restored) {
+					this.restored = true;
+					if (savedTypes != null && this.cache.secondaryTypes() == null) {
+						Map<IFile, Map<String, Map<String, IType>>> indexingSecondaryCache = this.cache.indexingSecondaryCache();
+						if (indexingSecondaryCache == null) {
+							indexingSecondaryCache = Collections.synchronizedMap(new HashMap<>(3));
+						}
+						this.cache = new SecondaryTypesCache(savedTypes, indexingSecondaryCache);
+						this.complete = true;
+					}
+				}
+				return this.cache;
+			}
+		}
+
 		private synchronized SecondaryTypesCache getOrCreateCache() {
 			Hashtable<String, Map<String, IType>> secondaryTypes = this.cache.secondaryTypes;
 			Map<IFile, Map<String, Map<String, IType>>> indexingSecondaryCache = this.cache.indexingSecondaryCache;
@@ -1283,11 +1326,15 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 
 		private synchronized SecondaryTypesCache doneSearching(Hashtable<String, Map<String, IType>> newSecondaryTypes) {
 			this.cache = new SecondaryTypesCache(newSecondaryTypes, this.cache.indexingSecondaryCache());
+			this.complete = true;
 			return this.cache;
 		}
 
 		private synchronized void clearAllCaches() {
 			this.cache = new SecondaryTypesCache(null, null);
+			this.complete = false;
+			// saved types may have been computed with other Java-like extensions
+			this.restored = true;
 		}
 	}
 
@@ -1396,6 +1443,7 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 				}
 			}
 			ClasspathChange classpathChange = addClasspathChange ? addClasspathChange() : null;
+			getJavaModelManager().deltaState.recordModelChange(null);
 
 			synchronized (this) {
 				if (referencedEntries != null)	this.referencedEntries = referencedEntries;
@@ -1572,6 +1620,8 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 		int useCount = 0;
 		private final IProblemRequestor problemRequestor;
 		final CompilationUnit workingCopy;
+		// the state of the last reconcile, used to only analyze the changed method in the next reconcile
+		volatile ReconcileSnapshot reconcileSnapshot;
 		public PerWorkingCopyInfo(CompilationUnit workingCopy, IProblemRequestor problemRequestor) {
 			this.workingCopy = workingCopy;
 			this.problemRequestor = problemRequestor;
@@ -4299,6 +4349,7 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 	 * Reset project options stored in info cache.
 	 */
 	public void resetProjectOptions(JavaProject javaProject) {
+		this.deltaState.recordModelChange(null);
 		synchronized(this.perProjectInfos) { // use the perProjectInfo collection as its own lock
 			IProject project = javaProject.getProject();
 			PerProjectInfo info= this.perProjectInfos.get(project);
@@ -4312,6 +4363,7 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 	 * Reset project preferences stored in info cache.
 	 */
 	public void resetProjectPreferences(JavaProject javaProject) {
+		this.deltaState.recordModelChange(null);
 		synchronized(this.perProjectInfos) { // use the perProjectInfo collection as its own lock
 			IProject project = javaProject.getProject();
 			PerProjectInfo info= this.perProjectInfos.get(project);
@@ -4372,6 +4424,9 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 				trace("saveState took " + (stopTime - startTime) + "ms:" + info.project.getName()); //$NON-NLS-1$ //$NON-NLS-2$
 			}
 		}
+
+		// save secondary types
+		saveSecondaryTypes(info);
 	}
 
 	/**
@@ -4837,6 +4892,8 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 				IProject project = resource.getProject();
 				try {
 					PerProjectInfo projectInfo = getPerProjectInfoCheckExistence(project);
+					// Start from the secondary types of the previous session, the indexing cache will be merged into them
+					projectInfo.secondaryTypes.restore(project);
 					// Get or create map to cache secondary types while indexing (can be not synchronized as indexing insure a non-concurrent usage)
 					SecondaryTypesCache stCache = projectInfo.secondaryTypes.getOrCreateCache();
 					Map<IFile, Map<String, Map<String, IType>>> indexedSecondaryTypes = stCache.indexingSecondaryCache();
@@ -4921,7 +4978,7 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 
 		// Return cache if not empty and there's no new secondary types created during indexing
 		final PerProjectInfo projectInfo = getPerProjectInfoCheckExistence(project.getProject());
-		SecondaryTypesCache secondaryTypesCache = projectInfo.secondaryTypes.cache();
+		SecondaryTypesCache secondaryTypesCache = projectInfo.secondaryTypes.restore(project.getProject());
 		Hashtable<String, Map<String, IType>> secondaryTypes = secondaryTypesCache.secondaryTypes();
 		if (secondaryTypesCache.isIndexingDone()) {
 			return secondaryTypes;
@@ -5110,6 +5167,168 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 		}
 	}
 
+	/**
+	 * Returns the secondary type with the given name if the secondary types cache of the given project
+	 * already knows it, or <code>null</code> otherwise. Neither searches nor waits for the indexes, hence
+	 * callers should fall back to {@link #secondaryTypes(IJavaProject, boolean, IProgressMonitor)} when
+	 * the type is not known.
+	 * <p>
+	 * Types reported while indexing take precedence over the types of the same file in the current cache,
+	 * as the latter may have been removed from the file since.
+	 */
+	public IType secondaryTypeIfKnown(IJavaProject project, String packageName, String typeName) {
+		PerProjectInfo projectInfo = getPerProjectInfo(project.getProject(), true /* create info */);
+		SecondaryTypesCache stCache = projectInfo.secondaryTypes.restore(project.getProject());
+		Hashtable<String, Map<String, IType>> secondaryTypes = stCache.secondaryTypes();
+		if (secondaryTypes == null) {
+			return null;
+		}
+		Map<IFile, Map<String, Map<String, IType>>> indexingCache = stCache.indexingSecondaryCache();
+		if (indexingCache != null) {
+			synchronized (indexingCache) {
+				for (Map<String, Map<String, IType>> fileTypes : indexingCache.values()) {
+					Map<String, IType> types = fileTypes.get(packageName);
+					IType type = types == null ? null : types.get(typeName);
+					if (type != null) {
+						return type;
+					}
+				}
+			}
+		}
+		synchronized (projectInfo.secondaryTypes) {
+			Map<String, IType> types = secondaryTypes.get(packageName);
+			IType type = types == null ? null : types.get(typeName);
+			if (type == null || (indexingCache != null && indexingCache.containsKey(((JavaElement) type).resource()))) {
+				return null;
+			}
+			return type;
+		}
+	}
+
+	/*
+	 * Returns the file where the secondary types of the given project are saved between sessions.
+	 */
+	private static File getSecondaryTypesFile(IProject project) {
+		if (!project.isAccessible()) return null;
+		IPath workingLocation = project.getWorkingLocation(JavaCore.PLUGIN_ID);
+		return workingLocation.append("secondaryTypes.dat").toFile(); //$NON-NLS-1$
+	}
+
+	/*
+	 * Reads the secondary types saved for the given project in a previous session.
+	 * Returns null if there are none or if they cannot be read.
+	 *
+	 * The types of files that were changed or deleted since the save are dropped: such files
+	 * are reindexed, and their current secondary types are then merged as usual.
+	 */
+	static Hashtable<String, Map<String, IType>> loadSecondaryTypes(IProject project) {
+		File file = getSecondaryTypesFile(project);
+		if (file == null || !file.exists()) {
+			return null;
+		}
+		IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (!JavaCore.PLUGIN_ID.equals(in.readUTF())
+					|| !SECONDARY_TYPES_FILE_KIND.equals(in.readUTF())
+					|| in.readInt() != SECONDARY_TYPES_FILE_VERSION) {
+				return null;
+			}
+			int packagesCount = in.readInt();
+			Hashtable<String, Map<String, IType>> secondaryTypes = new Hashtable<>(Math.max(3, packagesCount));
+			for (int i = 0; i < packagesCount; i++) {
+				String packageName = in.readUTF();
+				int typesCount = in.readInt();
+				Map<String, IType> types = new HashMap<>(Math.max(3, typesCount));
+				for (int j = 0; j < typesCount; j++) {
+					String typeName = in.readUTF();
+					IFile typeFile = root.getFile(Path.fromPortableString(in.readUTF()));
+					long modificationStamp = in.readLong();
+					if (typeFile.getModificationStamp() != modificationStamp) {
+						continue;
+					}
+					ICompilationUnit unit = createCompilationUnitFrom(typeFile, null);
+					if (unit != null) {
+						types.put(typeName, unit.getType(typeName));
+					}
+				}
+				if (!types.isEmpty()) {
+					secondaryTypes.put(packageName, types);
+				}
+			}
+			if (VERBOSE) {
+				trace("JavaModelManager.loadSecondaryTypes(" + project.getName() + ')'); //$NON-NLS-1$
+				dumpSecondaryTypes(secondaryTypes);
+			}
+			return secondaryTypes;
+		} catch (IOException | RuntimeException e) {
+			Util.log(e, "Unable to read secondary types of " + project.getName()); //$NON-NLS-1$
+			return null;
+		}
+	}
+
+	/*
+	 * Saves the secondary types of the given project so that the next session does not need to search them.
+	 * Only a complete cache is saved, after merging the types found by a finished indexing. If the cache
+	 * is known to be incomplete or outdated, the types saved by a previous session are deleted instead.
+	 * If the secondary types were not needed during this session, the saved ones are left untouched.
+	 */
+	private void saveSecondaryTypes(PerProjectInfo info) throws CoreException {
+		SecondaryTypes secondaryTypes = info.secondaryTypes;
+		if (!secondaryTypes.restored && secondaryTypes.cache().secondaryTypes() == null) {
+			return;
+		}
+		File file = getSecondaryTypesFile(info.project);
+		if (file == null) return;
+		if (secondaryTypes.complete
+				&& !secondaryTypes.cache().isIndexingDone()
+				&& this.indexManager.awaitingJobsCount() == 0) {
+			secondaryTypesMerging(info);
+		}
+		synchronized (secondaryTypes) {
+			SecondaryTypesCache stCache = secondaryTypes.cache();
+			if (!secondaryTypes.complete || !stCache.isIndexingDone()) {
+				try {
+					file.delete();
+				} catch (SecurityException se) {
+					// could not delete file: cannot do much more
+				}
+				return;
+			}
+			Hashtable<String, Map<String, IType>> types = stCache.secondaryTypes();
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+				out.writeUTF(JavaCore.PLUGIN_ID);
+				out.writeUTF(SECONDARY_TYPES_FILE_KIND);
+				out.writeInt(SECONDARY_TYPES_FILE_VERSION);
+				out.writeInt(types.size());
+				for (Entry<String, Map<String, IType>> packageEntry : types.entrySet()) {
+					out.writeUTF(packageEntry.getKey());
+					Map<String, IType> packageTypes = packageEntry.getValue();
+					List<IType> savedTypes = new ArrayList<>(packageTypes.size());
+					for (IType type : packageTypes.values()) {
+						if (((JavaElement) type).resource() instanceof IFile) {
+							savedTypes.add(type);
+						}
+					}
+					out.writeInt(savedTypes.size());
+					for (IType type : savedTypes) {
+						IFile typeFile = (IFile) ((JavaElement) type).resource();
+						out.writeUTF(type.getElementName());
+						out.writeUTF(typeFile.getFullPath().toPortableString());
+						out.writeLong(typeFile.getModificationStamp());
+					}
+				}
+			} catch (IOException e) {
+				try {
+					file.delete();
+				} catch (SecurityException se) {
+					// could not delete file: cannot do much more
+				}
+				throw new CoreException(new Status(IStatus.ERROR, JavaCore.PLUGIN_ID, IStatus.ERROR,
+						"Problems while saving secondary types of " + info.project.getName(), e)); //$NON-NLS-1$
+			}
+		}
+	}
+
 	/**
 	 * Remove from secondary types cache all types belonging to a given file.
 	 * Clean secondary types cache built while indexing if requested.
@@ -5332,6 +5551,7 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 	}
 
 	public void setOptions(Hashtable<String, String> newOptions) {
+		this.deltaState.recordModelChange(null);
 		Hashtable<String, String> cachedValue = newOptions == null ? null : new Hashtable<>(newOptions);
 		IEclipsePreferences defaultPreferences = getDefaultPreferences();
 		IEclipsePreferences instancePreferences = getInstancePreferences();
@@ -5383,6 +5603,9 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 		try {
 			// initialize Java model cache
 			this.cache = new JavaModelCache();
+			this.memoryPressureMonitor = new MemoryPressureMonitor(this.cache::memoryPressureReported);
+			this.memoryPressureMonitor.install();
+			this.cache.setMemoryPressureMonitor(this.memoryPressureMonitor);
 
 			// request state folder creation (workaround 19885)
 			JavaCore.getPlugin().getStateLocation();
@@ -5395,6 +5618,7 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 				@Override
 				public void preferenceChange(PreferenceChangeEvent event) {
 					JavaModelManager.this.optionsCache = null;
+					JavaModelManager.this.deltaState.recordModelChange(null);
 				}
 			};
 			InstanceScope.INSTANCE.getNode(JavaCore.PLUGIN_ID).addPreferenceChangeListener(this.propertyListener);
@@ -5405,6 +5629,7 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 				public void preferenceChange(PreferenceChangeEvent event) {
 					if (ResourcesPlugin.PREF_ENCODING.equals(event.getKey())) {
 						JavaModelManager.this.optionsCache = null;
+						JavaModelManager.this.deltaState.recordModelChange(null);
 					}
 				}
 			};
@@ -5516,6 +5741,11 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 			this.indexManager.shutdown();
 		}
 
+		// Stop listening to memory notifications
+		if (this.memoryPressureMonitor != null) {
+			this.memoryPressureMonitor.uninstall();
+		}
+
 		// Stop listening to preferences changes
 		preferences.removePreferenceChangeListener(this.propertyListener);
 		((IEclipsePreferences) this.preferencesLookup[PREF_DEFAULT].parent()).removeNodeChangeListener(this.defaultNodeListener);
@@ -5570,6 +5800,7 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 	}
 
 	public synchronized void variablePut(String variableName, IPath variablePath){
+		this.deltaState.recordModelChange(null);
 
 		// set/unset the initialization in progress
 		Set<String> initializations = variableInitializationInProgress();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -29,6 +29,7 @@ import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.internal.core.DeltaProcessor.RootInfo;
 import org.eclipse.jdt.internal.core.util.HashSetOfArray;
 import org.eclipse.jdt.internal.core.util.HashtableOfArrayToObject;
+import org.eclipse.jdt.internal.core.util.PackageNameTrie;
 import org.eclipse.jdt.internal.core.util.Util;
 
 /**
@@ -64,6 +65,12 @@ class JavaProjectElementInfo extends OpenableElementInfo {
 		 */
 		public HashtableOfArrayToObject allPkgFragmentsCache;
 
+		/*
+		 * A trie of the keys of allPkgFragmentsCache, for prefix lookups of package names.
+		 * Rebuilt together with allPkgFragmentsCache.
+		 */
+		public PackageNameTrie allPkgNamesTrie;
+
 		/*
 		 * A cache of package fragments for each package fragment root of this project
 		 * (a map from IPackageFragmentRoot to a set of String[] (the package name))
@@ -363,9 +370,10 @@ class JavaProjectElementInfo extends OpenableElementInfo {
 					}
 				}
 			}
+			cache.allPkgNamesTrie = PackageNameTrie.of(allPkgFragmentsCache);
 			cache.allPkgFragmentsCache = allPkgFragmentsCache;
 		}
-		return new NameLookup(project, cache.allPkgFragmentRootsCache, cache.allPkgFragmentsCache, workingCopies, cache.rootToResolvedEntries);
+		return new NameLookup(project, cache.allPkgFragmentRootsCache, cache.allPkgFragmentsCache, cache.allPkgNamesTrie, workingCopies, cache.rootToResolvedEntries);
 	}
 
 	/*
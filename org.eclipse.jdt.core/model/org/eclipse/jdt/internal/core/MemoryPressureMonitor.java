@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.List;
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+
+/**
+ * Listens to the collection usage threshold notifications of the heap memory pools
+ * and runs a callback each time the heap is still nearly full after a garbage collection.
+ * <p>
+ * The collection usage threshold of a pool is only set if no other party set one before.
+ * The callback is run on the JMX notification thread and must therefore be cheap and
+ * must not acquire locks that may be held while allocating.
+ */
+public class MemoryPressureMonitor implements NotificationListener {
+
+	/**
+	 * The ratio of the maximum size of a heap pool above which the pool is considered under pressure
+	 * if it is still that full after a garbage collection.
+	 */
+	public static final double COLLECTION_USAGE_THRESHOLD_RATIO = 0.85;
+
+	private final Runnable callback;
+	private final List<MemoryPoolMXBean> monitoredPools = new ArrayList<>();
+	private boolean installed;
+
+public MemoryPressureMonitor(Runnable callback) {
+	this.callback = callback;
+}
+
+/**
+ * Starts listening to memory notifications. Does nothing if no heap pool supports
+ * collection usage thresholds.
+ */
+public synchronized void install() {
+	if (this.installed)
+		return;
+	for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+		if (pool.getType() != MemoryType.HEAP || !pool.isCollectionUsageThresholdSupported())
+			continue;
+		long max = pool.getUsage().getMax();
+		if (max <= 0)
+			continue;
+		try {
+			if (pool.getCollectionUsageThreshold() == 0) {
+				pool.setCollectionUsageThreshold((long) (max * COLLECTION_USAGE_THRESHOLD_RATIO));
+			}
+			this.monitoredPools.add(pool);
+		} catch (UnsupportedOperationException | IllegalArgumentException | SecurityException e) {
+			// pool cannot be monitored
+		}
+	}
+	if (this.monitoredPools.isEmpty())
+		return;
+	if (ManagementFactory.getMemoryMXBean() instanceof NotificationEmitter emitter) {
+		emitter.addNotificationListener(this, null, null);
+		this.installed = true;
+	}
+}
+
+/**
+ * Stops listening to memory notifications.
+ */
+public synchronized void uninstall() {
+	if (!this.installed)
+		return;
+	try {
+		((NotificationEmitter) ManagementFactory.getMemoryMXBean()).removeNotificationListener(this);
+	} catch (ListenerNotFoundException e) {
+		// already removed
+	}
+	this.monitoredPools.clear();
+	this.installed = false;
+}
+
+/**
+ * Returns whether one of the monitored pools is currently above its collection usage threshold.
+ */
+public boolean isUnderPressure() {
+	List<MemoryPoolMXBean> pools;
+	synchronized (this) {
+		pools = new ArrayList<>(this.monitoredPools);
+	}
+	for (MemoryPoolMXBean pool : pools) {
+		if (pool.isCollectionUsageThresholdExceeded())
+			return true;
+	}
+	return false;
+}
+
+@Override
+public void handleNotification(Notification notification, Object handback) {
+	if (MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(notification.getType())) {
+		this.callback.run();
+	}
+}
+}
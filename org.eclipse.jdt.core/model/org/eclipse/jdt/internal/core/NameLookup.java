@@ -46,6 +46,7 @@ import org.eclipse.jdt.internal.core.AbstractModule.AutoModule;
 import org.eclipse.jdt.internal.core.util.DeduplicationUtil;
 import org.eclipse.jdt.internal.core.util.HashtableOfArrayToObject;
 import org.eclipse.jdt.internal.core.util.Messages;
+import org.eclipse.jdt.internal.core.util.PackageNameTrie;
 import org.eclipse.jdt.internal.core.util.Util;
 
 /**
@@ -211,6 +212,12 @@ public class NameLookup implements SuffixConstants {
 	 */
 	protected HashtableOfArrayToObject packageFragments;
 
+	/**
+	 * Trie of the keys of {@link #packageFragments}, used for prefix lookups.
+	 * Created lazily if not given or if working copies added packages.
+	 */
+	protected PackageNameTrie packageNameTrie;
+
 	/**
 	 * Reverse map from root path to corresponding resolved CP entry
 	 * (so as to be able to figure inclusion/exclusion rules)
@@ -241,7 +248,17 @@ public class NameLookup implements SuffixConstants {
 			HashtableOfArrayToObject packageFragments,
 			ICompilationUnit[] workingCopies,
 			Map rootToResolvedEntries) {
+		this(rootProject, packageFragmentRoots, packageFragments, null, workingCopies, rootToResolvedEntries);
+	}
+
+	public NameLookup(
+			JavaProject rootProject, IPackageFragmentRoot[] packageFragmentRoots,
+			HashtableOfArrayToObject packageFragments,
+			PackageNameTrie packageNameTrie,
+			ICompilationUnit[] workingCopies,
+			Map rootToResolvedEntries) {
 		this.rootProject = rootProject;
+		this.packageNameTrie = packageNameTrie;
 		long start = -1;
 		if (VERBOSE) {
 			trace(" BUILDING NameLoopkup");  //$NON-NLS-1$
@@ -309,6 +326,8 @@ public class NameLookup implements SuffixConstants {
 				String[] pkgName = pkg.names;
 				Object existing = this.packageFragments.get(pkgName);
 				if (existing == null || existing == JavaProjectElementInfo.NO_ROOTS) {
+					if (existing == null)
+						this.packageNameTrie = null; // new package name
 					this.packageFragments.put(pkgName, root);
 					// ensure super packages (see https://bugs.eclipse.org/bugs/show_bug.cgi?id=119161)
 					// are also in the map
@@ -606,54 +625,24 @@ public class NameLookup implements SuffixConstants {
 		boolean isStarPattern = name.equals("*"); //$NON-NLS-1$
 		boolean hasPatternChars = isStarPattern || (patternMatch && (name.indexOf('*') >= 0 || name.indexOf('?') >= 0));
 		if (partialMatch || hasPatternChars) {
-			String[] splittedName = Util.splitOn('.', name, 0, name.length());
-			IPackageFragment[] oneFragment = null;
-			ArrayList pkgs = null;
-			char[] lowercaseName = hasPatternChars && !isStarPattern ? name.toLowerCase().toCharArray() : null;
-			Object[][] keys = this.packageFragments.keyTable;
-			for (int i = 0, length = keys.length; i < length; i++) {
-				String[] pkgName = (String[]) keys[i];
-				if (pkgName != null) {
-					boolean match = isStarPattern || (hasPatternChars
-						? CharOperation.match(lowercaseName, Util.concatCompoundNameToCharArray(pkgName), false)
-						: Util.startsWithIgnoreCase(pkgName, splittedName, partialMatch));
-					if (match) {
-						Object value = this.packageFragments.valueTable[i];
-						if (value instanceof PackageFragmentRoot) {
-							IPackageFragment pkg = ((PackageFragmentRoot) value).getPackageFragment(pkgName);
-							if (oneFragment == null) {
-								oneFragment = new IPackageFragment[] {pkg};
-							} else {
-								if (pkgs == null) {
-									pkgs = new ArrayList();
-									pkgs.add(oneFragment[0]);
-								}
-								pkgs.add(pkg);
-							}
-						} else {
-							IPackageFragmentRoot[] roots = (IPackageFragmentRoot[]) value;
-							for (IPackageFragmentRoot r : roots) {
-								PackageFragmentRoot root = (PackageFragmentRoot) r;
-								IPackageFragment pkg = root.getPackageFragment(pkgName);
-								if (oneFragment == null) {
-									oneFragment = new IPackageFragment[] {pkg};
-								} else {
-									if (pkgs == null) {
-										pkgs = new ArrayList();
-										pkgs.add(oneFragment[0]);
-									}
-									pkgs.add(pkg);
-								}
-							}
-						}
+			ArrayList<IPackageFragment> pkgs = new ArrayList<>();
+			if (hasPatternChars) {
+				char[] lowercaseName = isStarPattern ? null : name.toLowerCase().toCharArray();
+				Object[][] keys = this.packageFragments.keyTable;
+				for (int i = 0, length = keys.length; i < length; i++) {
+					String[] pkgName = (String[]) keys[i];
+					if (pkgName != null && (isStarPattern || CharOperation.match(lowercaseName, Util.concatCompoundNameToCharArray(pkgName), false))) {
+						addPackageFragments(pkgName, this.packageFragments.valueTable[i], pkgs);
 					}
 				}
+			} else {
+				String[] splittedName = Util.splitOn('.', name, 0, name.length());
+				for (String[] pkgName : getPackageNameTrie().findStartingWith(splittedName, partialMatch)) {
+					addPackageFragments(pkgName, this.packageFragments.get(pkgName), pkgs);
+				}
 			}
-			if (pkgs == null) return oneFragment;
-			int resultLength = pkgs.size();
-			IPackageFragment[] result = new IPackageFragment[resultLength];
-			pkgs.toArray(result);
-			return result;
+			if (pkgs.isEmpty()) return null;
+			return pkgs.toArray(new IPackageFragment[pkgs.size()]);
 		} else {
 			String[] splittedName = Util.splitOn('.', name, 0, name.length());
 			int pkgIndex = this.packageFragments.getIndex(splittedName);
@@ -675,6 +664,28 @@ public class NameLookup implements SuffixConstants {
 		}
 	}
 
+	private void addPackageFragments(String[] pkgName, Object value, List<IPackageFragment> pkgs) {
+		if (value instanceof PackageFragmentRoot) {
+			pkgs.add(((PackageFragmentRoot) value).getPackageFragment(pkgName));
+		} else {
+			for (IPackageFragmentRoot root : (IPackageFragmentRoot[]) value) {
+				pkgs.add(((PackageFragmentRoot) root).getPackageFragment(pkgName));
+			}
+		}
+	}
+
+	/*
+	 * Returns the trie of the package names known by this name lookup.
+	 */
+	private PackageNameTrie getPackageNameTrie() {
+		PackageNameTrie trie = this.packageNameTrie;
+		if (trie == null) {
+			trie = PackageNameTrie.of(this.packageFragments);
+			this.packageNameTrie = trie;
+		}
+		return trie;
+	}
+
 	/**
 	 * Returns the package fragment roots who contain a package fragment with the given qualified name.
 	 *
@@ -702,6 +713,11 @@ public class NameLookup implements SuffixConstants {
 		JavaModelManager manager = JavaModelManager.getJavaModelManager();
 		try {
 			IJavaProject javaProject = project;
+			// Types already known do not need to wait for the indexes
+			IType knownType = manager.secondaryTypeIfKnown(javaProject, packageName==null?"":packageName, typeName); //$NON-NLS-1$
+			if (knownType != null) {
+				return knownType;
+			}
 			Map<String, Map<String, IType>> secondaryTypePaths = manager.secondaryTypes(javaProject, waitForIndexes, monitor);
 			if (secondaryTypePaths.size() > 0) {
 				Map<String, IType> types = secondaryTypePaths.get(packageName==null?"":packageName); //$NON-NLS-1$
@@ -1277,13 +1293,20 @@ public class NameLookup implements SuffixConstants {
 			start = System.currentTimeMillis();
 		try {
 			boolean allPrefixMatch = CharOperation.equals(name.toCharArray(), CharOperation.ALL_PREFIX);
-			String lName = name.toLowerCase();
-			Arrays.stream(this.packageFragments.keyTable)
-			.filter(k -> k != null)
-			.filter(k -> allPrefixMatch || Util.concatWith((String[])k, '.').toLowerCase().startsWith(lName))
-			.forEach(k -> {
-				checkModulePackages(requestor, moduleContext, this.packageFragments.getIndex(k));
-			});
+			if (allPrefixMatch || name.isEmpty()) {
+				Arrays.stream(this.packageFragments.keyTable)
+				.filter(k -> k != null)
+				.forEach(k -> {
+					checkModulePackages(requestor, moduleContext, this.packageFragments.getIndex(k));
+				});
+			} else {
+				String[] splittedName = Util.splitOn('.', name, 0, name.length());
+				for (String[] pkgName : getPackageNameTrie().findStartingWith(splittedName, true/*partial match*/)) {
+					if (requestor.isCanceled())
+						return;
+					checkModulePackages(requestor, moduleContext, this.packageFragments.getIndex(pkgName));
+				}
+			}
 		} finally {
 			if (VERBOSE)
 				this.timeSpentInSeekModuleAwarePartialPackageFragments += System.currentTimeMillis()-start;
@@ -1333,24 +1356,20 @@ public class NameLookup implements SuffixConstants {
 		try {
 			if (partialMatch) {
 				String[] splittedName = Util.splitOn('.', name, 0, name.length());
-				Object[][] keys = this.packageFragments.keyTable;
-				for (int i = 0, length = keys.length; i < length; i++) {
+				for (String[] pkgName : getPackageNameTrie().findStartingWith(splittedName, partialMatch)) {
 					if (requestor.isCanceled())
 						return;
-					String[] pkgName = (String[]) keys[i];
-					if (pkgName != null && Util.startsWithIgnoreCase(pkgName, splittedName, partialMatch)) {
-						Object value = this.packageFragments.valueTable[i];
-						if (value instanceof PackageFragmentRoot) {
-							PackageFragmentRoot root = (PackageFragmentRoot) value;
+					Object value = this.packageFragments.get(pkgName);
+					if (value instanceof PackageFragmentRoot) {
+						PackageFragmentRoot root = (PackageFragmentRoot) value;
+						requestor.acceptPackageFragment(root.getPackageFragment(pkgName));
+					} else {
+						IPackageFragmentRoot[] roots = (IPackageFragmentRoot[]) value;
+						for (IPackageFragmentRoot r : roots) {
+							if (requestor.isCanceled())
+								return;
+							PackageFragmentRoot root = (PackageFragmentRoot) r;
 							requestor.acceptPackageFragment(root.getPackageFragment(pkgName));
-						} else {
-							IPackageFragmentRoot[] roots = (IPackageFragmentRoot[]) value;
-							for (IPackageFragmentRoot r : roots) {
-								if (requestor.isCanceled())
-									return;
-								PackageFragmentRoot root = (PackageFragmentRoot) r;
-								requestor.acceptPackageFragment(root.getPackageFragment(pkgName));
-							}
 						}
 					}
 				}
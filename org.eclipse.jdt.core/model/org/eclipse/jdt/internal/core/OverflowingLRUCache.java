@@ -286,6 +286,7 @@ protected void privateRemoveEntry(LRUCacheEntry<K, V> entry, boolean shuffle, bo
 			this.currentSpace -= entry.space;
 		} else {
 			if (!close(entry)) return;
+			this.evictionCount++;
 			// buffer close will recursively call #privateRemoveEntry with external==true
 			// thus entry will already be removed if reaching this point.
 			if (this.entryTable.get(entry.key) == null){
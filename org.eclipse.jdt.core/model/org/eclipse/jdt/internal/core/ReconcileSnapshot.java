@@ -0,0 +1,397 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.compiler.CategorizedProblem;
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.core.compiler.IProblem;
+import org.eclipse.jdt.internal.compiler.ASTVisitor;
+import org.eclipse.jdt.internal.compiler.CompilationResult;
+import org.eclipse.jdt.internal.compiler.ast.AbstractMethodDeclaration;
+import org.eclipse.jdt.internal.compiler.ast.Annotation;
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.ast.FieldReference;
+import org.eclipse.jdt.internal.compiler.ast.MethodDeclaration;
+import org.eclipse.jdt.internal.compiler.ast.QualifiedNameReference;
+import org.eclipse.jdt.internal.compiler.ast.SingleNameReference;
+import org.eclipse.jdt.internal.compiler.ast.TypeDeclaration;
+import org.eclipse.jdt.internal.compiler.lookup.Binding;
+import org.eclipse.jdt.internal.compiler.lookup.BlockScope;
+import org.eclipse.jdt.internal.compiler.lookup.ClassScope;
+import org.eclipse.jdt.internal.compiler.lookup.ExtraCompilerModifiers;
+import org.eclipse.jdt.internal.compiler.lookup.FieldBinding;
+import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
+import org.eclipse.jdt.internal.compiler.problem.AbortMethod;
+import org.eclipse.jdt.internal.compiler.problem.DefaultProblem;
+import org.eclipse.jdt.internal.compiler.util.Util;
+
+/**
+ * The state of a working copy after a reconcile, that allows the next reconcile to reuse the problems
+ * found in the methods which did not change.
+ * <p>
+ * When an edit is confined to the body of one method and no other Java element changed in between,
+ * the flow analysis and the code generation of the other methods report the same problems as before.
+ * The next reconcile still parses and resolves the whole unit, since the usage of imports and private
+ * members depends on all method bodies, but it skips the flow analysis and the code generation of the
+ * unchanged methods and reports their previous problems instead (shifted if they follow the edit).
+ * The compiler is told to skip these methods by flagging them as not to be investigated further once
+ * the unit is resolved, see CompilationUnitProblemFinder#unitResolved(CompilationUnitDeclaration).
+ * <p>
+ * Only the methods whose analysis cannot change the state shared with the other methods are skipped: the methods
+ * reading or writing a private field (whose usage is tracked by the analysis) are always analyzed, and no method is
+ * skipped when an AST is created, since the DOM bindings read the state computed by the analysis of the locals.
+ * <p>
+ * Any doubt falls back to a full reconcile: syntax errors, different options or reconcile flags,
+ * a structural change, a change in another unit, or methods in the scope of a <code>@SuppressWarnings</code>.
+ */
+public final class ReconcileSnapshot {
+
+	public static boolean ENABLED = !Boolean.getBoolean("org.eclipse.jdt.core.disableIncrementalReconcile"); //$NON-NLS-1$
+
+	private static final int DECLARATION_START = 0, DECLARATION_END = 1, BODY_START = 2, BODY_END = 3, SKIPPABLE = 4;
+	private static final int RANGE_LENGTH = 5;
+
+	private final char[] contents;
+	private final Map<String, String> options;
+	private final int reconcileFlags;
+	private final long modelChangeStamp;
+	// RANGE_LENGTH ints per method or constructor of the unit, in the order of collectMethods(...)
+	private final int[] ranges;
+	private final CategorizedProblem[] problems;
+
+	private ReconcileSnapshot(char[] contents, Map<String, String> options, int reconcileFlags, long modelChangeStamp, int[] ranges, CategorizedProblem[] problems) {
+		this.contents = contents;
+		this.options = options;
+		this.reconcileFlags = reconcileFlags;
+		this.modelChangeStamp = modelChangeStamp;
+		this.ranges = ranges;
+		this.problems = problems;
+	}
+
+	/**
+	 * Creates the snapshot of the given unit after it has been fully resolved and analyzed, or returns
+	 * <code>null</code> if it cannot be reused by the next reconcile.
+	 *
+	 * @param problems all the problems of the unit, including the ones reused from a previous snapshot
+	 */
+	static ReconcileSnapshot create(CompilationUnitDeclaration unit, char[] contents, Map<String, String> options, int reconcileFlags,
+			long modelChangeStamp, CategorizedProblem[] problems, int maxProblemsPerUnit) {
+		if (!ENABLED || contents == null || unit.compilationResult.hasSyntaxError || (reconcileFlags & ICompilationUnit.IGNORE_METHOD_BODIES) != 0)
+			return null;
+		if (problems == null) {
+			problems = new CategorizedProblem[0];
+		} else if (maxProblemsPerUnit > 0 && problems.length >= maxProblemsPerUnit) {
+			return null; // some problems might be missing
+		}
+		BitSet suppressWarningsScope = new BitSet();
+		List<AbstractMethodDeclaration> methods = collectMethods(unit, suppressWarningsScope);
+		int[] ranges = new int[methods.size() * RANGE_LENGTH];
+		for (int i = 0, length = methods.size(); i < length; i++) {
+			AbstractMethodDeclaration method = methods.get(i);
+			int index = i * RANGE_LENGTH;
+			ranges[index + DECLARATION_START] = method.declarationSourceStart;
+			ranges[index + DECLARATION_END] = method.declarationSourceEnd;
+			if ((method.modifiers & ExtraCompilerModifiers.AccSemicolonBody) == 0) {
+				ranges[index + BODY_START] = method.bodyStart;
+				ranges[index + BODY_END] = method.bodyEnd;
+			} else {
+				ranges[index + BODY_START] = -1;
+				ranges[index + BODY_END] = -1;
+			}
+			ranges[index + SKIPPABLE] = !suppressWarningsScope.get(i) && isSkippable(method) ? 1 : 0;
+		}
+		return new ReconcileSnapshot(contents, options, reconcileFlags, modelChangeStamp, ranges, problems);
+	}
+
+	/**
+	 * Prepares the given freshly parsed unit for an incremental reconcile: if the edit since this snapshot is confined
+	 * to one method body, the other methods are added to the given map with their previous problems.
+	 * Once the unit is resolved, the analysis of these methods is skipped with {@link #skipAnalysis(Map)}, and their
+	 * previous problems are added with {@link #addReusedProblems(CompilationResult, Map)}.
+	 * Returns <code>false</code> if a full reconcile is needed.
+	 */
+	boolean prepare(CompilationUnitDeclaration unit, ICompilationUnit workingCopy, char[] newContents,
+			Map<String, String> newOptions, int newReconcileFlags, Map<AbstractMethodDeclaration, List<CategorizedProblem>> skippedMethods) {
+		if (!ENABLED || newContents == null || unit.compilationResult.hasSyntaxError
+				|| newReconcileFlags != this.reconcileFlags || !this.options.equals(newOptions)
+				|| !JavaModelManager.getJavaModelManager().deltaState.isUnchangedSince(this.modelChangeStamp, workingCopy))
+			return false;
+
+		// find the changed region
+		char[] oldContents = this.contents;
+		int oldLength = oldContents.length, newLength = newContents.length;
+		int prefix = 0, max = Math.min(oldLength, newLength);
+		while (prefix < max && oldContents[prefix] == newContents[prefix])
+			prefix++;
+		if (prefix == oldLength && oldLength == newLength)
+			return false; // no change: nothing to gain
+		int suffix = 0;
+		max -= prefix;
+		while (suffix < max && oldContents[oldLength - 1 - suffix] == newContents[newLength - 1 - suffix])
+			suffix++;
+		int oldChangeEnd = oldLength - suffix;
+		int delta = newLength - oldLength;
+
+		// the change must be inside the body of a method, and the new unit must declare the same methods at the same (shifted) positions
+		List<AbstractMethodDeclaration> methods = collectMethods(unit, null);
+		int[] oldRanges = this.ranges;
+		if (methods.size() * RANGE_LENGTH != oldRanges.length)
+			return false;
+		int changedMethod = -1;
+		for (int i = 0, length = methods.size(); i < length; i++) {
+			int index = i * RANGE_LENGTH;
+			int bodyStart = oldRanges[index + BODY_START];
+			if (bodyStart >= 0 && bodyStart <= prefix && oldChangeEnd <= oldRanges[index + BODY_END]) {
+				changedMethod = i;
+				break;
+			}
+		}
+		if (changedMethod < 0)
+			return false;
+		for (int i = 0, length = methods.size(); i < length; i++) {
+			AbstractMethodDeclaration method = methods.get(i);
+			int index = i * RANGE_LENGTH;
+			if (method.declarationSourceStart != shift(oldRanges[index + DECLARATION_START], oldChangeEnd, delta)
+					|| method.declarationSourceEnd != shift(oldRanges[index + DECLARATION_END], oldChangeEnd, delta))
+				return false;
+			if (oldRanges[index + BODY_START] >= 0
+					&& (method.bodyStart != shift(oldRanges[index + BODY_START], oldChangeEnd, delta)
+						|| method.bodyEnd != shift(oldRanges[index + BODY_END], oldChangeEnd, delta)))
+				return false;
+		}
+
+		// collect the problems of the unchanged methods, and skip their analysis if all their problems can be reused
+		int[] lineEnds = unit.compilationResult.getLineSeparatorPositions();
+		nextMethod: for (int i = 0, length = methods.size(); i < length; i++) {
+			int index = i * RANGE_LENGTH;
+			if (i == changedMethod || oldRanges[index + SKIPPABLE] == 0)
+				continue;
+			AbstractMethodDeclaration method = methods.get(i);
+			int start = oldRanges[index + DECLARATION_START];
+			int end = oldRanges[index + DECLARATION_END];
+			int bodyStart = oldRanges[index + BODY_START];
+			int shift = start >= oldChangeEnd ? delta : 0;
+			List<CategorizedProblem> methodProblems = new ArrayList<>();
+			for (CategorizedProblem problem : this.problems) {
+				int problemStart = problem.getSourceStart();
+				if (problemStart < start || problemStart > end)
+					continue;
+				if (problem.getClass() != DefaultProblem.class)
+					continue nextMethod; // cannot be copied
+				if (isUsageProblem(problem) && (bodyStart < 0 || problemStart < bodyStart))
+					continue; // depends on the other methods, reported again by the declaration analysis
+				methodProblems.add(shift == 0 ? problem : shift((DefaultProblem) problem, shift, lineEnds));
+			}
+			skippedMethods.put(method, methodProblems);
+		}
+		return true;
+	}
+
+	/**
+	 * Skips the flow analysis and the code generation of the given methods of a resolved unit, after reporting the
+	 * problems of their declarations that depend on the other methods (see MethodDeclaration#analyseDeclaration(ClassScope)).
+	 * The methods are flagged as not to be investigated further, so the flag must be cleared with
+	 * {@link #restoreAnalysis(Map)} once the unit is analyzed. The methods that already had errors, and the methods
+	 * that use a private field, are removed from the map.
+	 */
+	static void skipAnalysis(Map<AbstractMethodDeclaration, List<CategorizedProblem>> methods) {
+		for (Iterator<AbstractMethodDeclaration> iterator = methods.keySet().iterator(); iterator.hasNext();) {
+			MethodDeclaration method = (MethodDeclaration) iterator.next();
+			if (method.ignoreFurtherInvestigation || method.binding == null || usesPrivateField(method)) {
+				iterator.remove();
+				continue;
+			}
+			try {
+				method.analyseDeclaration(method.scope.classScope());
+			} catch (AbortMethod e) {
+				iterator.remove();
+				continue;
+			}
+			method.ignoreFurtherInvestigation = true;
+		}
+	}
+
+	/**
+	 * Clears the flag set by {@link #skipAnalysis(Map)} on the given methods.
+	 */
+	static void restoreAnalysis(Map<AbstractMethodDeclaration, List<CategorizedProblem>> methods) {
+		for (AbstractMethodDeclaration method : methods.keySet())
+			method.ignoreFurtherInvestigation = false;
+	}
+
+	/**
+	 * Adds the reused problems to the given result of the resolved unit, unless the resolution already reported them.
+	 */
+	static void addReusedProblems(CompilationResult result, Map<AbstractMethodDeclaration, List<CategorizedProblem>> skippedMethods) {
+		int count = result.problemCount;
+		CategorizedProblem[] reported = count == 0 ? null : Arrays.copyOf(result.problems, count);
+		for (List<CategorizedProblem> reusedProblems : skippedMethods.values()) {
+			nextProblem: for (CategorizedProblem problem : reusedProblems) {
+				for (int i = 0; i < count; i++) {
+					if (isSameProblem(reported[i], problem))
+						continue nextProblem;
+				}
+				result.record(problem, null, false);
+			}
+		}
+	}
+
+	private static boolean isSameProblem(CategorizedProblem problem, CategorizedProblem other) {
+		return problem.getID() == other.getID()
+				&& problem.getSourceStart() == other.getSourceStart()
+				&& problem.getSourceEnd() == other.getSourceEnd()
+				&& problem.isError() == other.isError()
+				&& Arrays.equals(problem.getArguments(), other.getArguments());
+	}
+
+	/*
+	 * Problems reported on a method declaration which depend on the usage of the method in the other methods.
+	 */
+	private static boolean isUsageProblem(CategorizedProblem problem) {
+		switch (problem.getID()) {
+			case IProblem.UnusedPrivateMethod:
+			case IProblem.UnusedTypeParameter:
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	/*
+	 * Whether the given resolved method reads or writes a private field, or a field of a private type: the analysis of such
+	 * an access consumes the compound usages of the field that decide if its value is reported as not used.
+	 */
+	private static boolean usesPrivateField(MethodDeclaration method) {
+		class PrivateFieldFinder extends ASTVisitor {
+			boolean found;
+			private boolean check(Binding binding) {
+				if (binding instanceof FieldBinding && ((FieldBinding) binding).isOrEnclosedByPrivateType())
+					this.found = true;
+				return !this.found;
+			}
+			private boolean check(FieldBinding[] bindings) {
+				if (bindings != null) {
+					for (FieldBinding binding : bindings)
+						check(binding);
+				}
+				return !this.found;
+			}
+			@Override
+			public boolean visit(SingleNameReference reference, BlockScope scope) {
+				return check(reference.binding);
+			}
+			@Override
+			public boolean visit(SingleNameReference reference, ClassScope scope) {
+				return check(reference.binding);
+			}
+			@Override
+			public boolean visit(QualifiedNameReference reference, BlockScope scope) {
+				check(reference.binding);
+				return check(reference.otherBindings);
+			}
+			@Override
+			public boolean visit(QualifiedNameReference reference, ClassScope scope) {
+				check(reference.binding);
+				return check(reference.otherBindings);
+			}
+			@Override
+			public boolean visit(FieldReference reference, BlockScope scope) {
+				return check(reference.binding);
+			}
+			@Override
+			public boolean visit(FieldReference reference, ClassScope scope) {
+				return check(reference.binding);
+			}
+		}
+		PrivateFieldFinder finder = new PrivateFieldFinder();
+		method.traverse(finder, method.scope.classScope());
+		return finder.found;
+	}
+
+	private static int shift(int oldPosition, int oldChangeEnd, int delta) {
+		return oldPosition >= oldChangeEnd ? oldPosition + delta : oldPosition;
+	}
+
+	private static DefaultProblem shift(DefaultProblem problem, int shift, int[] lineEnds) {
+		int start = problem.getSourceStart() + shift;
+		int end = problem.getSourceEnd() + shift;
+		int line = lineEnds == null ? 1 : Util.getLineNumber(start, lineEnds, 0, lineEnds.length - 1);
+		int column = lineEnds == null ? start + 1 : Util.searchColumnNumber(lineEnds, line, start);
+		return new DefaultProblem(
+				problem.getOriginatingFileName(),
+				problem.getMessage(),
+				problem.getID(),
+				problem.getArguments(),
+				problem.severity,
+				start,
+				end,
+				line,
+				column);
+	}
+
+	/*
+	 * A method can be skipped if it is not a constructor (the analysis of constructors depends on the field initializers and
+	 * the other constructors) and if it is not annotated with @SuppressWarnings (whose usage is computed by the analysis).
+	 */
+	private static boolean isSkippable(AbstractMethodDeclaration method) {
+		return method instanceof MethodDeclaration && !hasSuppressWarnings(method.annotations);
+	}
+
+	private static boolean hasSuppressWarnings(Annotation[] annotations) {
+		if (annotations != null) {
+			for (Annotation annotation : annotations) {
+				if (CharOperation.equals(annotation.type.getLastToken(), TypeConstants.JAVA_LANG_SUPPRESSWARNINGS[2]))
+					return true;
+			}
+		}
+		return false;
+	}
+
+	/*
+	 * Returns the source methods and constructors of the types and member types of the given unit (not the ones of local types).
+	 * If not null, the given bit set is filled with the indexes of the methods that are in the scope of a @SuppressWarnings on their type.
+	 */
+	private static List<AbstractMethodDeclaration> collectMethods(CompilationUnitDeclaration unit, BitSet suppressWarningsScope) {
+		List<AbstractMethodDeclaration> methods = new ArrayList<>();
+		if (unit.types != null) {
+			for (TypeDeclaration type : unit.types)
+				collectMethods(type, false, methods, suppressWarningsScope);
+		}
+		return methods;
+	}
+
+	private static void collectMethods(TypeDeclaration type, boolean suppressWarnings, List<AbstractMethodDeclaration> methods, BitSet suppressWarningsScope) {
+		suppressWarnings |= hasSuppressWarnings(type.annotations);
+		if (type.methods != null) {
+			for (AbstractMethodDeclaration method : type.methods) {
+				if (method.isDefaultConstructor() || method.isClinit())
+					continue;
+				if (suppressWarnings && suppressWarningsScope != null)
+					suppressWarningsScope.set(methods.size());
+				methods.add(method);
+			}
+		}
+		if (type.memberTypes != null) {
+			for (TypeDeclaration memberType : type.memberTypes)
+				collectMethods(memberType, suppressWarnings, methods, suppressWarningsScope);
+		}
+	}
+}
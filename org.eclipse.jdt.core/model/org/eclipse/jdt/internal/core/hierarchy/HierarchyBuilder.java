@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -46,7 +46,7 @@ import org.eclipse.jdt.internal.core.util.DeduplicationUtil;
 import org.eclipse.jdt.internal.core.util.ResourceCompilationUnit;
 import org.eclipse.jdt.internal.core.util.Util;
 
-public abstract class HierarchyBuilder {
+public abstract class HierarchyBuilder implements HierarchyConnector {
 	/**
 	 * The hierarchy being built.
 	 */
@@ -140,6 +140,7 @@ public abstract class HierarchyBuilder {
 	 * The superclass and superinterfaces are the identical binary or source types as
 	 * supplied by the name environment.
 	 */
+	@Override
 	public void connect(
 		IGenericType type,
 		IType typeHandle,
@@ -196,6 +197,10 @@ public abstract class HierarchyBuilder {
 		// record flags
 		this.hierarchy.cacheFlags(typeHandle, type.getModifiers());
 	}
+	@Override
+	public void addMissingType(String simpleName) {
+		this.hierarchy.missingTypes.add(simpleName);
+	}
 	/**
 	 * Returns a handle for the given generic type or null if not found.
 	 */
@@ -0,0 +1,33 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.hierarchy;
+
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.internal.compiler.env.IGenericType;
+
+/**
+ * Receives the super types found by a {@link HierarchyResolver}: the builder of the hierarchy, or a buffer of
+ * the super types found by a thread of a {@link ParallelHierarchyResolver}.
+ */
+interface HierarchyConnector {
+	/**
+	 * Connects the given type to its superclass and superinterfaces.
+	 * @see HierarchyBuilder#connect(IGenericType, IType, IType, IType[])
+	 */
+	void connect(IGenericType type, IType typeHandle, IType superclassHandle, IType[] superinterfaceHandles);
+	/**
+	 * Records that the super type with the given simple name could not be found.
+	 */
+	void addMissingType(String simpleName);
+}
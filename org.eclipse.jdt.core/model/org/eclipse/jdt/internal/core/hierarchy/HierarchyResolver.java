@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -88,6 +88,8 @@ public class HierarchyResolver implements ITypeRequestor {
 	LookupEnvironment lookupEnvironment;
 	private CompilerOptions options;
 	HierarchyBuilder builder;
+	// receives the super types found, the builder unless the types are resolved by a thread of a parallel resolver
+	HierarchyConnector connector;
 	private ReferenceBinding[] typeBindings;
 	private final BindingMap<IGenericType> bindingMap = new BindingMap<>();
 
@@ -95,13 +97,9 @@ public class HierarchyResolver implements ITypeRequestor {
 	private IGenericType[] typeModels;
 	private Parser basicParser;
 
-	private static final CompilationUnitDeclaration FakeUnit;
-	static {
-		IErrorHandlingPolicy policy = DefaultErrorHandlingPolicies.exitAfterAllProblems();
-		ProblemReporter problemReporter = new ProblemReporter(policy, new CompilerOptions(), new DefaultProblemFactory());
-		CompilationResult result = new CompilationResult(CharOperation.NO_CHAR, 0, 0, 0);
-		FakeUnit = new CompilationUnitDeclaration(problemReporter, result, 0);
-	}
+	// the unit being completed while the super types of binary types are faulted in, one per resolver
+	// since the resolvers of a parallel hierarchy record the problems of the missing types concurrently
+	private final CompilationUnitDeclaration fakeUnit = newFakeUnit();
 
 public HierarchyResolver(INameEnvironment nameEnvironment, Map settings, HierarchyBuilder builder, IProblemFactory problemFactory) {
 	// create a problem handler with the 'exit after all problems' handling policy
@@ -116,6 +114,12 @@ public HierarchyResolver(INameEnvironment nameEnvironment, Map settings, Hierarc
 public HierarchyResolver(LookupEnvironment lookupEnvironment, HierarchyBuilder builder) {
 	setEnvironment(lookupEnvironment, builder);
 }
+private static CompilationUnitDeclaration newFakeUnit() {
+	IErrorHandlingPolicy policy = DefaultErrorHandlingPolicies.exitAfterAllProblems();
+	ProblemReporter problemReporter = new ProblemReporter(policy, new CompilerOptions(), new DefaultProblemFactory());
+	CompilationResult result = new CompilationResult(CharOperation.NO_CHAR, 0, 0, 0);
+	return new CompilationUnitDeclaration(problemReporter, result, 0);
+}
 
 /**
  * Add an additional binary type
@@ -229,7 +233,7 @@ private IType findSuperClass(IGenericType type, ReferenceBinding typeBinding) {
 		if (typeBinding.isHierarchyInconsistent()) {
 			if (superBinding.problemId() == ProblemReasons.NotFound) {
 				this.hasMissingSuperClass = true;
-				this.builder.hierarchy.missingTypes.add(new String(superBinding.sourceName)); // note: this could be Map$Entry
+				this.connector.addMissingType(new String(superBinding.sourceName)); // note: this could be Map$Entry
 				return null;
 			} else if ((superBinding.id == TypeIds.T_JavaLangObject)) {
 				char[] superclassName;
@@ -252,7 +256,7 @@ private IType findSuperClass(IGenericType type, ReferenceBinding typeBinding) {
 					char[] simpleName = lastSeparator == -1 ? superclassName : CharOperation.subarray(superclassName, lastSeparator+1, superclassName.length);
 					if (!CharOperation.equals(simpleName, TypeConstants.OBJECT)) {
 						this.hasMissingSuperClass = true;
-						this.builder.hierarchy.missingTypes.add(new String(simpleName));
+						this.connector.addMissingType(new String(simpleName));
 						return null;
 					}
 				}
@@ -346,7 +350,7 @@ private IType[] findSuperInterfaces(IGenericType type, ReferenceBinding typeBind
 				}
 			}
 		}
-		this.builder.hierarchy.missingTypes.add(new String(simpleName));
+		this.connector.addMissingType(new String(simpleName));
 	}
 	if (index != length)
 		System.arraycopy(superinterfaces, 0, superinterfaces = new IType[index], 0, index);
@@ -416,7 +420,7 @@ private void fixSupertypeBindings() {
 			} catch (AbortCompilation e) {
 				// allow subsequent call to superclass() to succeed so that we don't have to catch AbortCompilation everywhere
 				((BinaryTypeBinding) typeBinding).tagBits &= ~TagBits.HasUnresolvedSuperclass;
-				this.builder.hierarchy.missingTypes.add(new String(typeBinding.superclass().sourceName()));
+				this.connector.addMissingType(new String(typeBinding.superclass().sourceName()));
 				this.hasMissingSuperClass = true;
 			}
 			try {
@@ -606,12 +610,12 @@ private void reportHierarchy(IType focus, TypeDeclaration focusLocalType, Refere
 		}
 		IType[] superinterfaces = findSuperInterfaces(suppliedType, typeBinding);
 
-		this.builder.connect(suppliedType, this.builder.getHandle(suppliedType, typeBinding), superclass, superinterfaces);
+		this.connector.connect(suppliedType, this.builder.getHandle(suppliedType, typeBinding), superclass, superinterfaces);
 	}
 	// add java.lang.Object only if the super class is not missing
 	if (objectIndex > -1 && (!this.hasMissingSuperClass || this.focusType == null)) {
 		IGenericType objectType = this.typeModels[objectIndex];
-		this.builder.connect(objectType, this.builder.getHandle(objectType, this.typeBindings[objectIndex]), null, null);
+		this.connector.connect(objectType, this.builder.getHandle(objectType, this.typeBindings[objectIndex]), null, null);
 	}
 }
 private void reset(){
@@ -647,7 +651,7 @@ public void resolve(IGenericType suppliedType) {
 						// ensure that unitBeingCompleted is set so that we don't get an AbortCompilation for a missing type
 						// (see https://bugs.eclipse.org/bugs/show_bug.cgi?id=213249 )
 						if (previousUnitBeingCompleted == null) {
-							this.lookupEnvironment.unitBeingCompleted = FakeUnit;
+							this.lookupEnvironment.unitBeingCompleted = this.fakeUnit;
 						}
 						ReferenceBinding typeBinding = this.typeBindings[i];
 						typeBinding.superclass();
@@ -821,7 +825,7 @@ public void resolve(Openable[] openables, HashSet localTypes, IProgressMonitor m
 					// ensure that unitBeingCompleted is set so that we don't get an AbortCompilation for a missing type
 					// (see https://bugs.eclipse.org/bugs/show_bug.cgi?id=213249 )
 					if (previousUnitBeingCompleted == null) {
-						this.lookupEnvironment.unitBeingCompleted = FakeUnit;
+						this.lookupEnvironment.unitBeingCompleted = this.fakeUnit;
 					}
 					ReferenceBinding typeBinding = this.typeBindings[i];
 					typeBinding.superclass();
@@ -919,6 +923,7 @@ private char[] findAssociatedModuleName(Openable openable) {
 private void setEnvironment(LookupEnvironment lookupEnvironment, HierarchyBuilder builder) {
 	this.lookupEnvironment = lookupEnvironment;
 	this.builder = builder;
+	this.connector = builder;
 
 	this.typeIndex = -1;
 	this.typeModels = new IGenericType[5];
@@ -0,0 +1,209 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.hierarchy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.internal.compiler.env.IGenericType;
+import org.eclipse.jdt.internal.core.JavaModelManager;
+import org.eclipse.jdt.internal.core.JavaProject;
+import org.eclipse.jdt.internal.core.Openable;
+
+/**
+ * Resolves the super types of chunks of the openables of a region with several threads.
+ * <p>
+ * Each chunk is parsed and resolved like {@link HierarchyResolver#resolve(Openable[], java.util.HashSet, IProgressMonitor)}
+ * does, by a worker builder of the same hierarchy that has its own lookup environment and name lookup. The types of
+ * the other chunks are found by the name environment of the worker, like the types outside of the region. The super
+ * types found by a worker are buffered, and connected to the hierarchy by the thread of the builder in the order the
+ * chunks were submitted.
+ * <p>
+ * The chunks of all the hierarchies are resolved by the threads of a shared executor, whose threads stop when
+ * they are idle.
+ */
+class ParallelHierarchyResolver {
+
+	/**
+	 * The smallest number of openables resolved by a worker, so that the super types shared by the types of
+	 * a chunk are not resolved again by too many workers.
+	 */
+	static final int MIN_CHUNK_SIZE = 50;
+
+	private static class Connection {
+		final IGenericType type;
+		final IType typeHandle;
+		final IType superclassHandle;
+		final IType[] superinterfaceHandles;
+		Connection(IGenericType type, IType typeHandle, IType superclassHandle, IType[] superinterfaceHandles) {
+			this.type = type;
+			this.typeHandle = typeHandle;
+			this.superclassHandle = superclassHandle;
+			this.superinterfaceHandles = superinterfaceHandles;
+		}
+	}
+
+	/*
+	 * The types connected and the super types missing in a chunk, in the order they were found.
+	 */
+	private static class ChunkResult implements HierarchyConnector {
+		final List<Connection> connections = new ArrayList<>();
+		final List<String> missingTypes = new ArrayList<>();
+		final int length;
+		ChunkResult(int length) {
+			this.length = length;
+		}
+		@Override
+		public void connect(IGenericType type, IType typeHandle, IType superclassHandle, IType[] superinterfaceHandles) {
+			this.connections.add(new Connection(type, typeHandle, superclassHandle, superinterfaceHandles));
+		}
+		@Override
+		public void addMissingType(String simpleName) {
+			this.missingTypes.add(simpleName);
+		}
+	}
+
+	// the threads that resolve the chunks of all the hierarchies, created on the first parallel resolution
+	private static ThreadPoolExecutor executor;
+
+	private final RegionBasedHierarchyBuilder builder;
+	private final int threads;
+	private final ThreadPoolExecutor chunkExecutor;
+	private final ConcurrentLinkedQueue<RegionBasedHierarchyBuilder> idleWorkers = new ConcurrentLinkedQueue<>();
+
+	ParallelHierarchyResolver(RegionBasedHierarchyBuilder builder, int threads) {
+		this.builder = builder;
+		this.threads = threads;
+		this.chunkExecutor = getExecutor(threads);
+	}
+
+	/*
+	 * Returns the shared executor, with the given number of threads at most.
+	 */
+	private static synchronized ThreadPoolExecutor getExecutor(int threads) {
+		if (executor == null) {
+			AtomicInteger threadCount = new AtomicInteger();
+			executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+				Thread t = new Thread(runnable, "Java type hierarchy resolver #" + threadCount.incrementAndGet()); //$NON-NLS-1$
+				t.setDaemon(true);
+				return t;
+			});
+			executor.allowCoreThreadTimeOut(true);
+		} else if (threads > executor.getMaximumPoolSize()) {
+			executor.setMaximumPoolSize(threads);
+			executor.setCorePoolSize(threads);
+		} else if (threads < executor.getMaximumPoolSize()) {
+			executor.setCorePoolSize(threads);
+			executor.setMaximumPoolSize(threads);
+		}
+		return executor;
+	}
+
+	/**
+	 * Answers whether the given number of openables is large enough to be resolved in several chunks.
+	 */
+	boolean canResolveInParallel(int openablesLength) {
+		return openablesLength >= 2 * MIN_CHUNK_SIZE;
+	}
+
+	/**
+	 * Resolves the super types of the types of the given openables of the given project, and connects them to
+	 * the hierarchy of the builder.
+	 */
+	void resolve(JavaProject project, Openable[] openables, IProgressMonitor monitor) throws JavaModelException {
+		int length = openables.length;
+		// a few chunks per thread, so that the threads that resolve smaller chunks are not idle
+		int chunkSize = Math.max(MIN_CHUNK_SIZE, (length + 2 * this.threads - 1) / (2 * this.threads));
+		List<Future<ChunkResult>> results = new ArrayList<>();
+		try {
+			for (int start = 0; start < length; start += chunkSize) {
+				Openable[] chunk = Arrays.copyOfRange(openables, start, Math.min(start + chunkSize, length));
+				results.add(this.chunkExecutor.submit(() -> resolve(project, chunk)));
+			}
+			for (Future<ChunkResult> result : results)
+				connect(result, monitor);
+		} finally {
+			for (Future<ChunkResult> result : results)
+				result.cancel(false);
+		}
+	}
+
+	private void connect(Future<ChunkResult> future, IProgressMonitor monitor) throws JavaModelException {
+		ChunkResult result;
+		try {
+			result = future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (CancellationException e) {
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof JavaModelException)
+				throw (JavaModelException) cause;
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new IllegalStateException(cause);
+		}
+		for (Connection connection : result.connections)
+			this.builder.connect(connection.type, connection.typeHandle, connection.superclassHandle, connection.superinterfaceHandles);
+		for (String missingType : result.missingTypes)
+			this.builder.addMissingType(missingType);
+		// 1 for build binding, 1 for connect hierarchy
+		this.builder.worked(monitor, 2 * result.length);
+	}
+
+	/*
+	 * Runs in a thread of the executor.
+	 */
+	private ChunkResult resolve(JavaProject project, Openable[] openables) throws JavaModelException {
+		ChunkResult result = new ChunkResult(openables.length);
+		RegionBasedHierarchyBuilder worker = this.idleWorkers.poll();
+		if (worker == null)
+			worker = new RegionBasedHierarchyBuilder(this.builder.hierarchy);
+		JavaModelManager manager = JavaModelManager.getJavaModelManager();
+		try {
+			// optimize access to zip files while this thread resolves the chunk
+			manager.cacheZipFiles(worker);
+			worker.hierarchyResolver.connector = result;
+			worker.infoToHandle = new HashMap<>(openables.length);
+			worker.nameLookup = project.newSearchableNameEnvironment(this.builder.hierarchy.workingCopies).nameLookup;
+			// the worker only checks for cancellation through the hierarchy, the progress is reported as the
+			// types of the chunks are connected
+			worker.hierarchyResolver.resolve(openables, null, null);
+		} finally {
+			worker.hierarchyResolver.connector = worker;
+			worker.infoToHandle = null;
+			worker.nameLookup = null;
+			manager.flushZipFiles(worker);
+			this.idleWorkers.add(worker);
+		}
+		return result;
+	}
+}
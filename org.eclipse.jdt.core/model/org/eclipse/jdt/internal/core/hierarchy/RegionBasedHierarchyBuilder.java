@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -34,6 +34,13 @@ import org.eclipse.jdt.internal.core.SearchableEnvironment;
 @SuppressWarnings({ "rawtypes", "unchecked" })
 public class RegionBasedHierarchyBuilder extends HierarchyBuilder {
 
+	/**
+	 * The system property giving the number of threads that resolve the super types of the types of a region,
+	 * 1 by default. With more threads, the chunks of openables of the hierarchies without focus type are
+	 * resolved in parallel and connected to the hierarchy in the same order as with one thread.
+	 */
+	public static final String THREADS_PROPERTY = "org.eclipse.jdt.core.hierarchy.resolverThreads"; //$NON-NLS-1$
+
 	public RegionBasedHierarchyBuilder(TypeHierarchy hierarchy)
 		throws JavaModelException {
 
@@ -70,6 +77,11 @@ private void createTypeHierarchyBasedOnRegion(HashMap allOpenablesInRegion, IPro
 		int size = allOpenablesInRegion.size();
 		if (monitor != null) monitor.beginTask("", size * 2/* 1 for build binding, 1 for connect hierarchy*/); //$NON-NLS-1$
 		this.infoToHandle = new HashMap(size);
+		int threads = Integer.getInteger(THREADS_PROPERTY, 1);
+		ParallelHierarchyResolver parallelResolver = null;
+		// the types of a hierarchy with a focus type are only connected if they are related to the focus type
+		if (threads > 1 && this.hierarchy.focusType == null)
+			parallelResolver = new ParallelHierarchyResolver(this, threads);
 		Iterator javaProjects = allOpenablesInRegion.entrySet().iterator();
 		while (javaProjects.hasNext()) {
 			Map.Entry entry = (Map.Entry) javaProjects.next();
@@ -80,9 +92,13 @@ private void createTypeHierarchyBasedOnRegion(HashMap allOpenablesInRegion, IPro
 
 			try {
 				// resolve
-				SearchableEnvironment searchableEnvironment = project.newSearchableNameEnvironment(this.hierarchy.workingCopies);
-				this.nameLookup = searchableEnvironment.nameLookup;
-				this.hierarchyResolver.resolve(openables, null, monitor);
+				if (parallelResolver != null && parallelResolver.canResolveInParallel(openables.length)) {
+					parallelResolver.resolve(project, openables, monitor);
+				} else {
+					SearchableEnvironment searchableEnvironment = project.newSearchableNameEnvironment(this.hierarchy.workingCopies);
+					this.nameLookup = searchableEnvironment.nameLookup;
+					this.hierarchyResolver.resolve(openables, null, monitor);
+				}
 			} catch (JavaModelException e) {
 				// project doesn't exit: ignore
 			}
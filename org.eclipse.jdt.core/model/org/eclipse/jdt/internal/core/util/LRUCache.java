@@ -266,6 +266,21 @@ public class LRUCache<K, V> implements Cloneable {
 	 */
 	protected int timestampCounter;
 
+	/**
+	 * Number of successful lookups through {@link #get(Object)}
+	 */
+	protected long hitCount;
+
+	/**
+	 * Number of unsuccessful lookups through {@link #get(Object)}
+	 */
+	protected long missCount;
+
+	/**
+	 * Number of entries removed to make space for new entries
+	 */
+	protected long evictionCount;
+
 	/**
 	 * Hash table for fast random access to cache entries
 	 */
@@ -379,9 +394,10 @@ public class LRUCache<K, V> implements Cloneable {
 	public V get(K key) {
 		LRUCacheEntry<K, V> entry = this.entryTable.get(key);
 		if (entry == null) {
+			this.missCount++;
 			return null;
 		}
-
+		this.hitCount++;
 		updateTimestamp (entry);
 		return entry.value;
 	}
@@ -393,6 +409,27 @@ public class LRUCache<K, V> implements Cloneable {
 		return this.currentSpace;
 	}
 
+	/**
+	 * Returns the number of lookups that found a value in the cache.
+	 */
+	public long getHitCount() {
+		return this.hitCount;
+	}
+
+	/**
+	 * Returns the number of lookups that did not find a value in the cache.
+	 */
+	public long getMissCount() {
+		return this.missCount;
+	}
+
+	/**
+	 * Returns the number of entries that were removed to make space for new entries.
+	 */
+	public long getEvictionCount() {
+		return this.evictionCount;
+	}
+
 	/**
 	 * Returns the timestamps of the most recently used element in the cache.
 	 */
@@ -485,6 +522,7 @@ public class LRUCache<K, V> implements Cloneable {
 		/* Free up space by removing oldest entries */
 		while (this.currentSpace + space > limit && this.entryQueueTail != null) {
 			privateRemoveEntry (this.entryQueueTail, false);
+			this.evictionCount++;
 		}
 		return true;
 	}
@@ -695,6 +733,24 @@ public class LRUCache<K, V> implements Cloneable {
 		return buffer.toString();
 	}
 
+	public String toStringStatistics(String cacheName) {
+		StringBuilder buffer = new StringBuilder(cacheName);
+		buffer.append(": "); //$NON-NLS-1$
+		buffer.append(this.hitCount);
+		buffer.append(" hits, "); //$NON-NLS-1$
+		buffer.append(this.missCount);
+		buffer.append(" misses, "); //$NON-NLS-1$
+		buffer.append(this.evictionCount);
+		buffer.append(" evictions"); //$NON-NLS-1$
+		long lookups = this.hitCount + this.missCount;
+		if (lookups > 0) {
+			buffer.append(" ("); //$NON-NLS-1$
+			buffer.append(NumberFormat.getInstance().format(this.hitCount * 100.0 / lookups));
+			buffer.append("% hit rate)"); //$NON-NLS-1$
+		}
+		return buffer.toString();
+	}
+
 	/**
 	 * Updates the timestamp for the given entry, ensuring that the queue is
 	 * kept in correct order.  The entry must exist
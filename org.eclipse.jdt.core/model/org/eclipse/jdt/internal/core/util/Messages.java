@@ -205,6 +205,7 @@ public final class Messages extends NLS {
 	public static String savedState_jobName;
 	public static String refreshing_external_folders;
 	public static String synchronizing_projects_job;
+	public static String batchedDeltas_jobName;
 	public static String convention_unit_nullName;
 	public static String convention_unit_notJavaName;
 	public static String convention_classFile_nullName;
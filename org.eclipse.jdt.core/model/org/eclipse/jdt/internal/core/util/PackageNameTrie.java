@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * An immutable trie of package names (String[]) keyed by their lower case segments.
+ * <p>
+ * Answers the case insensitive prefix queries of {@link Util#startsWithIgnoreCase(String[], String[], boolean)}
+ * without scanning all package names: the first segments of the prefix are looked up exactly, and the
+ * children matching the last segment are found by binary search in the sorted children of a node.
+ * <p>
+ * The package names given to the trie are returned as is, so that they can be used as keys of the
+ * table they come from.
+ */
+public final class PackageNameTrie {
+
+	private static final String[] NO_SEGMENTS = new String[0];
+	private static final Node[] NO_NODES = new Node[0];
+	private static final String[][] NO_NAMES = new String[0][];
+
+	private static final class Node {
+		// lower case segments of the children, sorted
+		final String[] segments;
+		final Node[] children;
+		// the package names that end at this node (more than one if they only differ in case)
+		final String[][] names;
+
+		Node(String[] segments, Node[] children, String[][] names) {
+			this.segments = segments;
+			this.children = children;
+			this.names = names;
+		}
+
+		Node child(String segment) {
+			int index = Arrays.binarySearch(this.segments, segment);
+			return index < 0 ? null : this.children[index];
+		}
+
+		void collect(boolean includeDescendants, Consumer<String[]> collector) {
+			for (String[] name : this.names)
+				collector.accept(name);
+			if (includeDescendants) {
+				for (Node child : this.children)
+					child.collect(true, collector);
+			}
+		}
+	}
+
+	private static final class NodeBuilder {
+		Map<String, NodeBuilder> children;
+		List<String[]> names;
+
+		NodeBuilder child(String segment) {
+			if (this.children == null)
+				this.children = new HashMap<>();
+			return this.children.computeIfAbsent(segment, s -> new NodeBuilder());
+		}
+
+		Node build() {
+			String[][] nodeNames = this.names == null ? NO_NAMES : this.names.toArray(new String[this.names.size()][]);
+			if (this.children == null)
+				return new Node(NO_SEGMENTS, NO_NODES, nodeNames);
+			String[] segments = this.children.keySet().toArray(new String[this.children.size()]);
+			Arrays.sort(segments);
+			Node[] nodes = new Node[segments.length];
+			for (int i = 0; i < segments.length; i++)
+				nodes[i] = this.children.get(segments[i]).build();
+			return new Node(segments, nodes, nodeNames);
+		}
+	}
+
+	private final Node root;
+	private final int size;
+
+	private PackageNameTrie(Node root, int size) {
+		this.root = root;
+		this.size = size;
+	}
+
+	/**
+	 * Creates a trie of the keys of the given table. The keys must be String[].
+	 */
+	public static PackageNameTrie of(HashtableOfArrayToObject packageNames) {
+		NodeBuilder rootBuilder = new NodeBuilder();
+		int size = 0;
+		for (Object[] key : packageNames.keyTable) {
+			if (key == null)
+				continue;
+			String[] name = (String[]) key;
+			NodeBuilder builder = rootBuilder;
+			for (String segment : name)
+				builder = builder.child(segment.toLowerCase());
+			if (builder.names == null)
+				builder.names = new ArrayList<>(1);
+			builder.names.add(name);
+			size++;
+		}
+		return new PackageNameTrie(rootBuilder.build(), size);
+	}
+
+	/**
+	 * Passes to the given collector each package name that starts with the given prefix (ignoring case).
+	 * All segments of the prefix but the last one must be equal to the corresponding segments of the package
+	 * name, and the last one must be a prefix of the corresponding segment. If <code>partialMatch</code> is
+	 * <code>false</code>, the package name must also have as many segments as the prefix, otherwise it may
+	 * have more.
+	 *
+	 * @see Util#startsWithIgnoreCase(String[], String[], boolean)
+	 */
+	public void forEachStartingWith(String[] prefix, boolean partialMatch, Consumer<String[]> collector) {
+		int prefixLength = prefix.length;
+		if (prefixLength == 0)
+			return;
+		Node node = this.root;
+		for (int i = 0; i < prefixLength - 1; i++) {
+			node = node.child(prefix[i].toLowerCase());
+			if (node == null)
+				return;
+		}
+		String lastSegment = prefix[prefixLength - 1].toLowerCase();
+		String[] segments = node.segments;
+		int index = Arrays.binarySearch(segments, lastSegment);
+		if (index < 0)
+			index = -index - 1;
+		for (int length = segments.length; index < length && segments[index].startsWith(lastSegment); index++) {
+			node.children[index].collect(partialMatch, collector);
+		}
+	}
+
+	/**
+	 * Returns the package names that start with the given prefix (ignoring case).
+	 *
+	 * @see #forEachStartingWith(String[], boolean, Consumer)
+	 */
+	public String[][] findStartingWith(String[] prefix, boolean partialMatch) {
+		List<String[]> result = new ArrayList<>();
+		forEachStartingWith(prefix, partialMatch, result::add);
+		return result.toArray(new String[result.size()][]);
+	}
+
+	/**
+	 * Returns the number of package names in this trie.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	@Override
+	public String toString() {
+		return "PackageNameTrie[" + this.size + " packages]"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
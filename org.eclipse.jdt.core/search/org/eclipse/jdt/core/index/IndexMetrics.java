@@ -0,0 +1,299 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.index;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import org.eclipse.jdt.internal.core.JavaModelManager;
+import org.eclipse.jdt.internal.core.index.IndexMetricsRecorder;
+
+/**
+ * {@link IndexMetrics} is a snapshot of the metrics of the indexes used by the JDT search engine, recorded
+ * since the Java model was started or since the last {@link #reset()}: the latency of the queries of each
+ * index, the bytes read from the index files, the category tables loaded, the queue of the indexing jobs,
+ * the indexing throughput of each container and the time searches waited for the indexes to be ready.
+ *
+ * <p> The same metrics are emitted as JFR events of the category <code>Eclipse/JDT/Index</code> while a
+ * flight recording is running: <code>org.eclipse.jdt.core.IndexQuery</code>,
+ * <code>org.eclipse.jdt.core.Indexing</code>, <code>org.eclipse.jdt.core.IndexJobWait</code> and
+ * <code>org.eclipse.jdt.core.WaitUntilReady</code>. </p>
+ *
+ * @since 3.46
+ */
+public final class IndexMetrics {
+
+	/**
+	 * A histogram of durations. The bucket <code>i</code> counts the durations shorter than
+	 * 2<sup>i</sup> microseconds which are not counted by the previous buckets, the last bucket counts all
+	 * the longer durations.
+	 *
+	 * @since 3.46
+	 */
+	public static final class Histogram {
+
+		private final long[] bucketCounts;
+		private final long count;
+		private final long totalNanos;
+		private final long maxNanos;
+
+		Histogram(IndexMetricsRecorder.LatencyHistogram histogram) {
+			this.bucketCounts = histogram.getBucketCounts();
+			long sum = 0;
+			for (long bucketCount : this.bucketCounts)
+				sum += bucketCount;
+			this.count = sum;
+			this.totalNanos = histogram.getTotalNanos();
+			this.maxNanos = histogram.getMaxNanos();
+		}
+
+		/**
+		 * Returns the number of recorded durations.
+		 * @return the number of recorded durations
+		 */
+		public long getCount() {
+			return this.count;
+		}
+
+		/**
+		 * Returns the sum of the recorded durations.
+		 * @return the sum of the recorded durations, in nanoseconds
+		 */
+		public long getTotalNanos() {
+			return this.totalNanos;
+		}
+
+		/**
+		 * Returns the longest recorded duration.
+		 * @return the longest recorded duration, in nanoseconds
+		 */
+		public long getMaxNanos() {
+			return this.maxNanos;
+		}
+
+		/**
+		 * Returns the number of durations counted by each bucket.
+		 * @return a new array with the count of each bucket
+		 */
+		public long[] getBucketCounts() {
+			return this.bucketCounts.clone();
+		}
+
+		/**
+		 * Returns the upper bound of the durations counted by the given bucket.
+		 * @param bucket the index of a bucket
+		 * @return the upper bound of the bucket, exclusive, in nanoseconds
+		 */
+		public static long getBucketUpperBoundNanos(int bucket) {
+			return (1L << bucket) * 1000;
+		}
+
+		/**
+		 * Returns an upper bound of the given percentile of the recorded durations, that is the upper
+		 * bound of the bucket counting the duration of this percentile.
+		 * @param percentile a percentile between 0 and 100
+		 * @return the upper bound of the percentile in nanoseconds, or 0 if no duration was recorded
+		 */
+		public long getPercentileNanos(double percentile) {
+			if (percentile < 0 || percentile > 100)
+				throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile); //$NON-NLS-1$
+			if (this.count == 0)
+				return 0;
+			long rank = Math.max(1, (long) Math.ceil(this.count * percentile / 100));
+			long cumulated = 0;
+			for (int i = 0; i < this.bucketCounts.length - 1; i++) {
+				cumulated += this.bucketCounts[i];
+				if (cumulated >= rank)
+					return getBucketUpperBoundNanos(i);
+			}
+			return this.maxNanos;
+		}
+
+		@Override
+		public String toString() {
+			return "count=" + this.count //$NON-NLS-1$
+					+ ", total=" + this.totalNanos / 1000000 + "ms" //$NON-NLS-1$ //$NON-NLS-2$
+					+ ", p50<" + getPercentileNanos(50) / 1000 + "us" //$NON-NLS-1$ //$NON-NLS-2$
+					+ ", p99<" + getPercentileNanos(99) / 1000 + "us" //$NON-NLS-1$ //$NON-NLS-2$
+					+ ", max=" + this.maxNanos / 1000 + "us"; //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	/**
+	 * The documents indexed in a container and the time spent to index them.
+	 *
+	 * @since 3.46
+	 */
+	public static final class ContainerIndexing {
+
+		private final long documents;
+		private final long nanos;
+
+		ContainerIndexing(IndexMetricsRecorder.Indexing indexing) {
+			this.documents = indexing.getDocuments();
+			this.nanos = indexing.getNanos();
+		}
+
+		/**
+		 * Returns the number of documents indexed in the container.
+		 * @return the number of indexed documents
+		 */
+		public long getDocuments() {
+			return this.documents;
+		}
+
+		/**
+		 * Returns the time spent to index the documents of the container.
+		 * @return the indexing time, in nanoseconds
+		 */
+		public long getNanos() {
+			return this.nanos;
+		}
+
+		/**
+		 * Returns the number of documents indexed per second of indexing time.
+		 * @return the indexing throughput of the container
+		 */
+		public double getDocumentsPerSecond() {
+			return this.nanos == 0 ? 0 : this.documents * 1e9 / this.nanos;
+		}
+
+		@Override
+		public String toString() {
+			return this.documents + " documents in " + this.nanos / 1000000 + "ms"; //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	private final Map<String, Histogram> queryLatencies;
+	private final Map<String, ContainerIndexing> containerIndexing;
+	private final long bytesRead;
+	private final long categoryTablesLoaded;
+	private final int jobQueueLength;
+	private final int maxJobQueueLength;
+	private final Histogram jobWaits;
+	private final Histogram waitsUntilReady;
+
+	private IndexMetrics() {
+		Map<String, Histogram> latencies = new TreeMap<>();
+		IndexMetricsRecorder.getQueryLatencies().forEach((container, histogram) -> latencies.put(container, new Histogram(histogram)));
+		this.queryLatencies = Collections.unmodifiableMap(latencies);
+		Map<String, ContainerIndexing> indexing = new TreeMap<>();
+		IndexMetricsRecorder.getContainerIndexing().forEach((container, stats) -> indexing.put(container, new ContainerIndexing(stats)));
+		this.containerIndexing = Collections.unmodifiableMap(indexing);
+		this.bytesRead = IndexMetricsRecorder.getBytesRead();
+		this.categoryTablesLoaded = IndexMetricsRecorder.getCategoryTablesLoaded();
+		this.jobQueueLength = JavaModelManager.getIndexManager().awaitingJobsCount();
+		this.maxJobQueueLength = IndexMetricsRecorder.getMaxJobQueueLength();
+		this.jobWaits = new Histogram(IndexMetricsRecorder.getJobWaits());
+		this.waitsUntilReady = new Histogram(IndexMetricsRecorder.getWaitsUntilReady());
+	}
+
+	/**
+	 * Returns a snapshot of the current metrics of the indexes.
+	 * @return a new snapshot of the metrics
+	 */
+	public static IndexMetrics getSnapshot() {
+		return new IndexMetrics();
+	}
+
+	/**
+	 * Forgets the metrics recorded so far, the next snapshots only report the metrics recorded from now on.
+	 */
+	public static void reset() {
+		IndexMetricsRecorder.reset();
+	}
+
+	/**
+	 * Returns the latencies of the queries of each index.
+	 * @return an unmodifiable map from the path of the container of each queried index, a project or a
+	 * 	library, to the latencies of its queries
+	 */
+	public Map<String, Histogram> getQueryLatencies() {
+		return this.queryLatencies;
+	}
+
+	/**
+	 * Returns the number of bytes of document names and document numbers read from the index files, and
+	 * of category tables read from the index files which are not mapped in memory.
+	 * @return the number of bytes read from the index files
+	 */
+	public long getBytesRead() {
+		return this.bytesRead;
+	}
+
+	/**
+	 * Returns the number of category tables loaded from the index files to answer queries.
+	 * @return the number of category tables loaded
+	 */
+	public long getCategoryTablesLoaded() {
+		return this.categoryTablesLoaded;
+	}
+
+	/**
+	 * Returns the number of indexing jobs waiting to be executed when the snapshot was taken.
+	 * @return the length of the queue of the indexing jobs
+	 */
+	public int getJobQueueLength() {
+		return this.jobQueueLength;
+	}
+
+	/**
+	 * Returns the largest number of indexing jobs that were waiting to be executed at the same time.
+	 * @return the maximum length of the queue of the indexing jobs
+	 */
+	public int getMaxJobQueueLength() {
+		return this.maxJobQueueLength;
+	}
+
+	/**
+	 * Returns the times the indexing jobs waited in the queue before being executed.
+	 * @return the histogram of the job wait times
+	 */
+	public Histogram getJobWaitTimes() {
+		return this.jobWaits;
+	}
+
+	/**
+	 * Returns the indexing throughput of each container.
+	 * @return an unmodifiable map from the path of each indexed container, a project or a library, to its
+	 * 	indexing statistics
+	 */
+	public Map<String, ContainerIndexing> getContainerIndexing() {
+		return this.containerIndexing;
+	}
+
+	/**
+	 * Returns the times the searches waited for the indexing jobs to complete before querying the indexes.
+	 * @return the histogram of the wait times of the searches
+	 */
+	public Histogram getWaitUntilReadyTimes() {
+		return this.waitsUntilReady;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder buffer = new StringBuilder("Index metrics:\n"); //$NON-NLS-1$
+		buffer.append("  bytes read: ").append(this.bytesRead).append('\n'); //$NON-NLS-1$
+		buffer.append("  category tables loaded: ").append(this.categoryTablesLoaded).append('\n'); //$NON-NLS-1$
+		buffer.append("  job queue length: ").append(this.jobQueueLength) //$NON-NLS-1$
+				.append(" (max ").append(this.maxJobQueueLength).append(")\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		buffer.append("  job waits: ").append(this.jobWaits).append('\n'); //$NON-NLS-1$
+		buffer.append("  waits until ready: ").append(this.waitsUntilReady).append('\n'); //$NON-NLS-1$
+		buffer.append("  queries:\n"); //$NON-NLS-1$
+		this.queryLatencies.forEach((container, histogram) -> buffer.append("    ").append(container).append(": ").append(histogram).append('\n')); //$NON-NLS-1$ //$NON-NLS-2$
+		buffer.append("  indexing:\n"); //$NON-NLS-1$
+		this.containerIndexing.forEach((container, indexing) -> buffer.append("    ").append(container).append(": ").append(indexing).append('\n')); //$NON-NLS-1$ //$NON-NLS-2$
+		return buffer.toString();
+	}
+}
@@ -15,11 +15,19 @@ package org.eclipse.jdt.core.index;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 import org.eclipse.equinox.app.IApplication;
 import org.eclipse.equinox.app.IApplicationContext;
+import org.eclipse.jdt.internal.compiler.util.JRTUtil;
+import org.eclipse.jdt.internal.core.search.indexing.SharedIndexStore;
 import org.eclipse.osgi.util.NLS;
 
 /**
@@ -30,6 +38,11 @@ import org.eclipse.osgi.util.NLS;
  * eclipse.ini file is located. This makes it harder to use relative paths to point to the files to be jar'd or to
  * the index file that is generated.
  * </p>
+ * <p>
+ * With <code>-store</code>, the application rather adds the indexes of the given jars, directories of jars (such as
+ * a local Maven repository) and JDKs to a shared index store, which workspaces started with
+ * <code>-Dorg.eclipse.jdt.core.sharedIndexStore</code> use instead of indexing these libraries.
+ * </p>
  *
  *
  * @since 3.8
@@ -50,6 +63,10 @@ public class JavaIndexerApplication implements IApplication {
 		public static String CommandLineIndexFileNotSpecified;
 		public static String CaughtException;
 		public static String CommandLineJarFileNotExist;
+		public static String CommandLineStoreTakesArgs;
+		public static String CommandLineThreadsTakesArgs;
+		public static String CommandLineAddingToStore;
+		public static String CommandLineStoreSummary;
 
 		static {
 			NLS.initializeMessages(MESSAGES_NAME, Messages.class);
@@ -74,11 +91,16 @@ public class JavaIndexerApplication implements IApplication {
 
 	private String jarToIndex;
 	private String indexFile;
+	private String storeDirectory;
+	private final List<String> librariesToStore = new ArrayList<>(); // all the jars given on the command line
+	private int threads = Runtime.getRuntime().availableProcessors();
 	private boolean verbose = false;
 	private static final String PDE_LAUNCH = "-pdelaunch"; //$NON-NLS-1$
 	private static final String ARG_HELP = "-help"; //$NON-NLS-1$
 	private static final String ARG_VERBOSE = "-verbose"; //$NON-NLS-1$
 	private static final String ARG_OUTPUT = "-output"; //$NON-NLS-1$
+	private static final String ARG_STORE = "-store"; //$NON-NLS-1$
+	private static final String ARG_THREADS = "-threads"; //$NON-NLS-1$
 
 	private void displayHelp() {
 		System.out.println(Messages.bind(Messages.CommandLineUsage));
@@ -117,22 +139,112 @@ public class JavaIndexerApplication implements IApplication {
 					return false;
 				}
 				this.indexFile = argsArray[index++];
-			} else {
-				if (this.jarToIndex != null) {
-					displayError(Messages.bind(Messages.CommandLineOnlyOneJarError));
+			} else if (ARG_STORE.equals(currentArg)) {
+				if (index == argCount) {
+					displayError(Messages.bind(Messages.CommandLineStoreTakesArgs));
 					return false;
 				}
-				this.jarToIndex = currentArg;
+				this.storeDirectory = argsArray[index++];
+			} else if (ARG_THREADS.equals(currentArg)) {
+				try {
+					this.threads = index == argCount ? 0 : Integer.parseInt(argsArray[index++]);
+				} catch (NumberFormatException e) {
+					this.threads = 0;
+				}
+				if (this.threads <= 0) {
+					displayError(Messages.bind(Messages.CommandLineThreadsTakesArgs));
+					return false;
+				}
+			} else {
+				this.librariesToStore.add(currentArg);
 			}
 		}
+		if (this.storeDirectory == null) {
+			// a single jar is indexed into the output file
+			if (this.librariesToStore.size() > 1) {
+				displayError(Messages.bind(Messages.CommandLineOnlyOneJarError));
+				return false;
+			}
+			if (!this.librariesToStore.isEmpty())
+				this.jarToIndex = this.librariesToStore.get(0);
+		}
 		return true;
 	}
 
+	/*
+	 * Collects the jars and the jrt-fs.jar of the JDKs to add to the store: a directory is either the home of a JDK,
+	 * or searched for jars (except the ones of sources and javadoc, as published in Maven repositories).
+	 */
+	private List<File> collectLibraries() throws IOException {
+		List<File> libraries = new ArrayList<>();
+		for (String library : this.librariesToStore) {
+			File file = new File(library);
+			File jrt = new File(new File(file, "lib"), JRTUtil.JRT_FS_JAR); //$NON-NLS-1$
+			if (jrt.isFile()) {
+				libraries.add(jrt);
+			} else if (file.isDirectory()) {
+				try (Stream<java.nio.file.Path> paths = Files.walk(file.toPath())) {
+					paths.filter(path -> {
+						String name = path.getFileName().toString();
+						return name.endsWith(".jar") && !name.endsWith("-sources.jar") && !name.endsWith("-javadoc.jar") //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+								&& Files.isRegularFile(path);
+					}).forEach(path -> libraries.add(path.toFile()));
+				}
+			} else if (file.isFile()) {
+				libraries.add(file);
+			} else {
+				System.out.println(Messages.bind(Messages.CommandLineJarFileNotExist, library));
+			}
+		}
+		return libraries;
+	}
+
+	private void addToStore() throws IOException, InterruptedException {
+		SharedIndexStore store = new SharedIndexStore(new File(this.storeDirectory));
+		List<File> libraries = collectLibraries();
+		AtomicInteger added = new AtomicInteger();
+		AtomicInteger failed = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(this.threads);
+		try {
+			for (File library : libraries) {
+				executor.execute(() -> {
+					try {
+						if (store.add(library)) {
+							added.incrementAndGet();
+							if (this.verbose) {
+								System.out.println(Messages.bind(Messages.CommandLineAddingToStore, library, this.storeDirectory));
+							}
+						}
+					} catch (IOException | RuntimeException e) {
+						failed.incrementAndGet();
+						System.out.println(Messages.bind(Messages.CaughtException, e.getClass().getSimpleName(), library + ": " + e.getLocalizedMessage())); //$NON-NLS-1$
+					}
+				});
+			}
+		} finally {
+			executor.shutdown();
+		}
+		executor.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+		int present = libraries.size() - added.get() - failed.get();
+		System.out.println(Messages.bind(Messages.CommandLineStoreSummary, new Object[] {
+				Integer.valueOf(added.get()), this.storeDirectory, Integer.valueOf(present), Integer.valueOf(failed.get())}));
+	}
+
 	@Override
 	public Object start(IApplicationContext context) throws Exception {
 		boolean execute = processCommandLine((String[]) context.getArguments().get(IApplicationContext.APPLICATION_ARGS));
 		if (execute) {
-			if (this.jarToIndex != null && this.indexFile != null) {
+			if (this.storeDirectory != null) {
+				if (this.librariesToStore.isEmpty()) {
+					System.out.println(Messages.bind(Messages.CommandLineJarNotSpecified));
+				} else {
+					try {
+						addToStore();
+					} catch (IOException e) {
+						System.out.println(Messages.bind(Messages.CaughtException, "IOException", e.getLocalizedMessage())); //$NON-NLS-1$
+					}
+				}
+			} else if (this.jarToIndex != null && this.indexFile != null) {
 				File f = new File(this.jarToIndex);
 				if (f.exists()) {
 					if (this.verbose) {
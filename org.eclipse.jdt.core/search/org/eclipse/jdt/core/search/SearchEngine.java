@@ -14,6 +14,7 @@
  *******************************************************************************/
 package org.eclipse.jdt.core.search;
 
+import java.util.function.Predicate;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.runtime.CoreException;
@@ -22,6 +23,7 @@ import org.eclipse.jdt.core.*;
 import org.eclipse.jdt.internal.compiler.env.AccessRestriction;
 import org.eclipse.jdt.internal.core.search.BasicSearchEngine;
 import org.eclipse.jdt.internal.core.search.IRestrictedAccessTypeRequestor;
+import org.eclipse.jdt.internal.core.search.LimitedSearchRequestor;
 import org.eclipse.jdt.internal.core.search.MethodNameMatchRequestorWrapper;
 import org.eclipse.jdt.internal.core.search.MethodNameRequestorWrapper;
 import org.eclipse.jdt.internal.core.search.TypeNameMatchRequestorWrapper;
@@ -677,6 +679,62 @@ public class SearchEngine {
 		this.basicEngine.search(pattern, participants, scope, requestor, monitor);
 	}
 
+	/**
+	 * Searches for at most the given number of matches of a given search pattern. The search stops as soon as
+	 * the requestor accepted <code>maxMatches</code> matches: the remaining indexes are not queried and the
+	 * remaining possible matches are not resolved.
+	 * <p>
+	 * This is useful to find the first matches of a search or to know whether there is any match (with
+	 * <code>maxMatches</code> equal to 1), without paying for the full search.
+	 * </p>
+	 *
+	 * @param pattern the pattern to search
+	 * @param participants the participants in the search
+	 * @param scope the search scope
+	 * @param requestor the requestor to report the matches to
+	 * @param maxMatches the maximum number of matches to report, must be positive
+	 * @param monitor the progress monitor used to report progress
+	 * @return <code>true</code> if the search completed, <code>false</code> if it stopped after reporting
+	 * 	<code>maxMatches</code> matches, in which case there may be more matches
+	 * @exception CoreException if the search failed. Reasons include:
+	 *	<ul>
+	 *		<li>the classpath is incorrectly set</li>
+	 *	</ul>
+	 * @exception IllegalArgumentException if <code>maxMatches</code> is not positive
+	 * @see #search(SearchPattern, SearchParticipant[], IJavaSearchScope, SearchRequestor, IProgressMonitor)
+	 * @since 3.46
+	 */
+	public boolean search(SearchPattern pattern, SearchParticipant[] participants, IJavaSearchScope scope, SearchRequestor requestor, int maxMatches, IProgressMonitor monitor) throws CoreException {
+		return this.basicEngine.search(pattern, participants, scope, requestor, LimitedSearchRequestor.maxMatches(maxMatches), monitor);
+	}
+
+	/**
+	 * Searches for matches of a given search pattern until the given condition holds. Each match is first
+	 * reported to the requestor, then tested with the condition: the search stops as soon as the condition
+	 * holds, the remaining indexes are not queried and the remaining possible matches are not resolved.
+	 * <p>
+	 * Canceling the progress monitor still cancels the search with an {@link org.eclipse.core.runtime.OperationCanceledException}.
+	 * </p>
+	 *
+	 * @param pattern the pattern to search
+	 * @param participants the participants in the search
+	 * @param scope the search scope
+	 * @param requestor the requestor to report the matches to
+	 * @param stopCondition the condition tested with each reported match, the search stops once it holds
+	 * @param monitor the progress monitor used to report progress
+	 * @return <code>true</code> if the search completed, <code>false</code> if it stopped because the condition
+	 * 	held, in which case there may be more matches
+	 * @exception CoreException if the search failed. Reasons include:
+	 *	<ul>
+	 *		<li>the classpath is incorrectly set</li>
+	 *	</ul>
+	 * @see #search(SearchPattern, SearchParticipant[], IJavaSearchScope, SearchRequestor, IProgressMonitor)
+	 * @since 3.46
+	 */
+	public boolean search(SearchPattern pattern, SearchParticipant[] participants, IJavaSearchScope scope, SearchRequestor requestor, Predicate<SearchMatch> stopCondition, IProgressMonitor monitor) throws CoreException {
+		return this.basicEngine.search(pattern, participants, scope, requestor, stopCondition, monitor);
+	}
+
 	/**
 	 * Searches for all method declarations in the given scope. Accepted matches will be returned by
 	 * {@link MethodNameRequestor#acceptMethod}.
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.index;
+
+/**
+ * A fixed-size Bloom filter of words, stored in the meta index as a single word of {@link #ENCODED_LENGTH} chars.
+ * <p>
+ * A filter answers whether a word may have been added to it: a word that was added is always found, while a word
+ * that was not added may be found too. The more words are added, the more false positives there are, but the size
+ * of a filter does not depend on the number of words.
+ * </p>
+ */
+public final class BloomFilter {
+
+/** the number of bits of a filter */
+private static final int SIZE = 1 << 16;
+private static final int HASH_COUNT = 3;
+
+/** the length of an encoded filter, 16 bits per char */
+public static final int ENCODED_LENGTH = SIZE / 16;
+
+private final char[] bits = new char[ENCODED_LENGTH];
+
+public void add(char[] word) {
+	int hash1 = hash1(word);
+	int hash2 = hash2(word);
+	for (int i = 0; i < HASH_COUNT; i++) {
+		int bit = (hash1 + i * hash2) & (SIZE - 1);
+		this.bits[bit >>> 4] |= 1 << (bit & 15);
+	}
+}
+/**
+ * Returns the filter as a word of the meta index.
+ */
+public char[] encode() {
+	return this.bits.clone();
+}
+/**
+ * Answers whether the given word may have been added to the given encoded filter. Answers true if the
+ * filter is not a valid encoded filter.
+ */
+public static boolean mightContain(char[] encodedFilter, char[] word) {
+	if (encodedFilter == null || encodedFilter.length != ENCODED_LENGTH)
+		return true;
+	int hash1 = hash1(word);
+	int hash2 = hash2(word);
+	for (int i = 0; i < HASH_COUNT; i++) {
+		int bit = (hash1 + i * hash2) & (SIZE - 1);
+		if ((encodedFilter[bit >>> 4] & (1 << (bit & 15))) == 0)
+			return false;
+	}
+	return true;
+}
+private static int hash1(char[] word) {
+	int hash = 0;
+	for (char c : word)
+		hash = 31 * hash + c;
+	return hash ^ (hash >>> 16);
+}
+private static int hash2(char[] word) {
+	int hash = 0x811C9DC5; // FNV-1a
+	for (char c : word)
+		hash = (hash ^ c) * 0x01000193;
+	return hash | 1; // odd, so that the bits of the hashes are distinct
+}
+}
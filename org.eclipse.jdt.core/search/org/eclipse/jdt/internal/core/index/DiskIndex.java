@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
 package org.eclipse.jdt.internal.core.index;
 
 import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
 import java.io.EOFException;
 import java.io.File;
 import java.io.FileOutputStream;
@@ -22,8 +23,14 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.RandomAccessFile;
 import java.io.UTFDataFormatException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
 import java.util.regex.Pattern;
 import org.eclipse.core.runtime.ILog;
 import org.eclipse.jdt.core.compiler.CharOperation;
@@ -46,14 +53,16 @@ private int headerInfoOffset;
 private int numberOfChunks;
 private int sizeOfLastChunk;
 private int[] chunkOffsets;
-private int documentReferenceSize; // 1, 2 or more bytes... depends on # of document names
 private int startOfCategoryTables;
 private HashtableOfIntValues categoryOffsets, categoryEnds;
 
 private int cacheUserCount;
 private String[][] cachedChunks; // decompressed chunks of document names
-private HashtableOfObject categoryTables; // category name -> HashtableOfObject(words -> int[] of document #'s) or offset if not read yet
-private char[] cachedCategoryName;
+private HashtableOfObject categoryTables; // category name -> HashtableOfObject(words -> int[] of document #'s), only used while writing
+private ByteBuffer mappedIndex; // the whole index file when mapped, see mappedIndex()
+private Object indexFileIdentity; // identifies the file read or written by this index, see indexFileIdentity()
+private HashtableOfObject streamedCategoryTables; // category name -> CategoryTable read from the file when it is not mapped
+private char[] cachedCategoryName; // the category table kept in streamedCategoryTables once queries are done
 
 private static final int DEFAULT_BUFFER_SIZE = 2048;
 private static int BUFFER_READ_SIZE = DEFAULT_BUFFER_SIZE;
@@ -63,7 +72,7 @@ private int bufferIndex, bufferEnd; // used when reading from the file into the
 private int streamEnd; // used when writing data from the streamBuffer to the file
 char separator = Index.DEFAULT_SEPARATOR;
 
-public static final String INDEX_VERSION = "1.134"; //$NON-NLS-1$
+public static final String INDEX_VERSION = "1.138"; //$NON-NLS-1$
 public static final String SIGNATURE = "INDEX VERSION " + INDEX_VERSION; //$NON-NLS-1$
 private static final char[] SIGNATURE_CHARS = SIGNATURE.toCharArray();
 public static boolean DEBUG = false;
@@ -72,6 +81,25 @@ private static final int RE_INDEXED = -1;
 private static final int DELETED = -2;
 
 private static final int CHUNK_SIZE = 100;
+private static final int WORDS_PER_BLOCK = 32; // number of prefix compressed words between 2 entries of the block table of a category
+private static final int LARGE_LIST_SIZE = 256; // encoded document lists of this size or more are written before the words of a category
+
+// kinds of document references which follow each word of a category table, see writeCategoryTable()
+private static final int SINGLE_DOCUMENT = 0;
+private static final int INLINED_LIST = 1;
+private static final int LARGE_LIST = 2;
+
+/**
+ * Whether index files are memory-mapped to answer queries. Not the case on Windows, where a mapped
+ * file can neither be deleted nor replaced until its mapping is garbage collected.
+ */
+private static final boolean MAP_INDEX_FILES = File.separatorChar == '/'
+		&& !Boolean.getBoolean("org.eclipse.jdt.core.index.disableMapping"); //$NON-NLS-1$
+/*
+ * Whether index files are mapped, only changed by tests to read the same file both ways.
+ * Only read when an index file is first queried.
+ */
+static boolean mapIndexFiles = MAP_INDEX_FILES;
 
 private static final SimpleSetOfCharArray INTERNED_CATEGORY_NAMES = new SimpleSetOfCharArray(20);
 private static final String TMP_EXT = ".tmp"; //$NON-NLS-1$
@@ -100,16 +128,185 @@ int[] asArray() {
 }
 }
 
+/**
+ * Reads the sorted words of a category table (see writeCategoryTable()) directly from the bytes of the index,
+ * without building a table of all its words.
+ * <p>
+ * The current word is set by next(), its document numbers are only decoded if documents() is called.
+ */
+class CategoryTable {
+
+final ByteBuffer buffer;
+final int base; // offset in the file of the first byte of the buffer
+final int tableOffset;
+final int wordCount;
+final int blockCount;
+
+int position; // offset in the file of the next byte to read
+int nextWordNumber;
+int documentsPosition = -1; // offset in the file of the document numbers of the current word if not read yet
+char[] word;
+
+CategoryTable(ByteBuffer buffer, int base, int tableOffset) {
+	this.buffer = buffer;
+	this.base = base;
+	this.tableOffset = tableOffset;
+	this.wordCount = buffer.getInt(tableOffset - base);
+	this.blockCount = buffer.getInt(tableOffset + 4 - base);
+}
+private int blockOffset(int block) {
+	return this.buffer.getInt(this.tableOffset + 8 + (block * 4) - this.base);
+}
+/*
+ * Answers the last block whose first word is lower or equal to the given key, or the first block.
+ */
+private int findBlock(char[] key) throws UTFDataFormatException {
+	int low = 0, high = this.blockCount - 1, block = 0;
+	while (low <= high) {
+		int mid = (low + high) >>> 1;
+		this.position = blockOffset(mid);
+		if (CharOperation.compareTo(readChars(), key) <= 0) {
+			block = mid;
+			low = mid + 1;
+		} else {
+			high = mid - 1;
+		}
+	}
+	return block;
+}
+void seekBlock(int block) {
+	if (this.blockCount > 0)
+		this.position = blockOffset(block);
+	this.nextWordNumber = block * WORDS_PER_BLOCK;
+	this.documentsPosition = -1;
+	this.word = null;
+}
+/*
+ * Moves to the word of the given number, from the current word if it precedes it in the same block.
+ */
+void seekWord(int wordNumber) throws UTFDataFormatException {
+	int block = wordNumber / WORDS_PER_BLOCK;
+	if (this.word == null || this.nextWordNumber > wordNumber || (this.nextWordNumber - 1) / WORDS_PER_BLOCK != block)
+		seekBlock(block);
+	while (this.nextWordNumber <= wordNumber)
+		next();
+}
+/*
+ * Moves to the first word which is greater or equal to the given key. Answers false if there is none.
+ */
+boolean seek(char[] key) throws UTFDataFormatException {
+	seekBlock(findBlock(key));
+	while (next()) {
+		if (CharOperation.compareTo(this.word, key) >= 0)
+			return true;
+	}
+	return false;
+}
+boolean next() throws UTFDataFormatException {
+	if (this.documentsPosition != -1)
+		skipDocuments();
+	if (this.nextWordNumber >= this.wordCount)
+		return false;
+	if (this.nextWordNumber % WORDS_PER_BLOCK == 0) {
+		this.word = readChars();
+	} else {
+		// the first word of a block is complete, the following ones share a prefix with their previous word
+		int prefixLength = this.buffer.get(this.position++ - this.base) & 0xFF;
+		char[] suffix = readChars();
+		char[] nextWord = new char[prefixLength + suffix.length];
+		System.arraycopy(this.word, 0, nextWord, 0, prefixLength);
+		System.arraycopy(suffix, 0, nextWord, prefixLength, suffix.length);
+		this.word = nextWord;
+	}
+	this.documentsPosition = this.position;
+	this.nextWordNumber++;
+	return true;
+}
+/*
+ * Answers the document numbers of the current word: an int[], or an Integer offset to a large array of document numbers.
+ */
+Object documents() {
+	this.position = this.documentsPosition;
+	this.documentsPosition = -1;
+	int reference = readVarInt();
+	// see writeCategoryTable() for the meaning of reference
+	switch (reference & 3) {
+		case SINGLE_DOCUMENT :
+			return new int[] {reference >>> 2};
+		case INLINED_LIST :
+			int[] documentNumbers = PostingList.decode(this.buffer, this.position - this.base);
+			this.position += reference >>> 2;
+			return documentNumbers;
+		default :
+			return Integer.valueOf(readVarInt());
+	}
+}
+private void skipDocuments() {
+	this.position = this.documentsPosition;
+	this.documentsPosition = -1;
+	int reference = readVarInt();
+	if ((reference & 3) == INLINED_LIST)
+		this.position += reference >>> 2;
+	else if ((reference & 3) == LARGE_LIST)
+		readVarInt();
+}
+private int readInt() {
+	int value = this.buffer.getInt(this.position - this.base);
+	this.position += 4;
+	return value;
+}
+private int readVarInt() {
+	int value = PostingList.readVarInt(this.buffer, this.position - this.base);
+	this.position += PostingList.varIntSize(value);
+	return value;
+}
+/*
+ * Same encoding as readStreamChars().
+ */
+private char[] readChars() throws UTFDataFormatException {
+	ByteBuffer bytes = this.buffer;
+	int index = this.position - this.base;
+	int length = ((bytes.get(index) & 0xFF) << 8) + (bytes.get(index + 1) & 0xFF);
+	index += 2;
+	char[] chars = new char[length];
+	for (int i = 0; i < length; i++) {
+		int b = bytes.get(index++) & 0xFF;
+		switch (b >> 4) {
+			case 0 : case 1 : case 2 : case 3 : case 4 : case 5 : case 6 : case 7 :
+				chars[i] = (char) b;
+				break;
+			case 12 : case 13 :
+				int next = bytes.get(index++);
+				if ((next & 0xC0) != 0x80)
+					throw new UTFDataFormatException();
+				chars[i] = (char) (((b & 0x1F) << 6) | (next & 0x3F));
+				break;
+			case 14 :
+				int first = bytes.get(index++);
+				int second = bytes.get(index++);
+				if ((first & second & 0xC0) != 0x80)
+					throw new UTFDataFormatException();
+				chars[i] = (char) (((b & 0x0F) << 12) | ((first & 0x3F) << 6) | (second & 0x3F));
+				break;
+			default :
+				throw new UTFDataFormatException();
+		}
+	}
+	this.position = index + this.base;
+	return chars;
+}
+}
+
 
 DiskIndex() {
 	this.headerInfoOffset = -1;
 	this.numberOfChunks = -1;
 	this.sizeOfLastChunk = -1;
 	this.chunkOffsets = null;
-	this.documentReferenceSize = -1;
 	this.cacheUserCount = -1;
 	this.cachedChunks = null;
 	this.categoryTables = null;
+	this.streamedCategoryTables = null;
 	this.cachedCategoryName = null;
 	this.categoryOffsets = null;
 	this.categoryEnds = null;
@@ -184,83 +381,118 @@ HashtableOfObject addQueryResults(char[][] categories, char[] key, int matchRule
 	// No need to check the results table for duplicates while processing the
 	// first category table or if the first category tables doesn't have any results.
 	boolean prevResults = false;
-	if (key == null) {
-		for (char[] category : categories) {
-			HashtableOfObject wordsToDocNumbers = readCategoryTable(category, true); // cache if key is null since its a definite match
-			if (wordsToDocNumbers != null) {
-				char[][] words = wordsToDocNumbers.keyTable;
-				Object[] values = wordsToDocNumbers.valueTable;
-				if (results == null)
-					results = new HashtableOfObject(wordsToDocNumbers.elementSize);
-				for (int j = 0, m = words.length; j < m; j++)
-					if (words[j] != null)
-						results = addQueryResult(results, words[j], values[j], memoryIndex, prevResults);
-			}
-			prevResults = results != null;
-		}
-		if (results != null && this.cachedChunks == null)
-			cacheDocumentNames();
-	} else {
-		switch (matchRule) {
-			case SearchPattern.R_EXACT_MATCH | SearchPattern.R_CASE_SENSITIVE:
-				for (char[] category : categories) {
-					HashtableOfObject wordsToDocNumbers = readCategoryTable(category, false);
-					Object value;
-					if (wordsToDocNumbers != null && (value = wordsToDocNumbers.get(key)) != null)
-						results = addQueryResult(results, key, value, memoryIndex, prevResults);
-					prevResults = results != null;
+	try {
+		if (key == null) {
+			for (char[] category : categories) {
+				CategoryTable table = openCategoryTable(category);
+				if (table != null) {
+					if (results == null)
+						results = new HashtableOfObject(table.wordCount);
+					table.seekBlock(0);
+					while (table.next())
+						results = addQueryResult(results, table.word, table.documents(), memoryIndex, prevResults);
 				}
-				break;
-			case SearchPattern.R_PREFIX_MATCH | SearchPattern.R_CASE_SENSITIVE:
-				for (char[] category : categories) {
-					HashtableOfObject wordsToDocNumbers = readCategoryTable(category, false);
-					if (wordsToDocNumbers != null) {
-						char[][] words = wordsToDocNumbers.keyTable;
-						Object[] values = wordsToDocNumbers.valueTable;
-						for (int j = 0, m = words.length; j < m; j++) {
-							char[] word = words[j];
-							if (word != null && key[0] == word[0] && CharOperation.prefixEquals(key, word))
-								results = addQueryResult(results, word, values[j], memoryIndex, prevResults);
+				prevResults = results != null;
+			}
+			if (results != null && this.cachedChunks == null && mappedIndex() == null)
+				cacheDocumentNames();
+		} else {
+			switch (matchRule) {
+				case SearchPattern.R_EXACT_MATCH | SearchPattern.R_CASE_SENSITIVE:
+					for (char[] category : categories) {
+						CategoryTable table = openCategoryTable(category);
+						if (table != null && table.seek(key) && CharOperation.equals(key, table.word))
+							results = addQueryResult(results, key, table.documents(), memoryIndex, prevResults);
+						prevResults = results != null;
+					}
+					break;
+				case SearchPattern.R_PREFIX_MATCH | SearchPattern.R_CASE_SENSITIVE:
+					for (char[] category : categories) {
+						CategoryTable table = openCategoryTable(category);
+						// words are sorted, so the words starting with the key follow each other
+						if (table != null && table.seek(key)) {
+							do {
+								if (!CharOperation.prefixEquals(key, table.word))
+									break;
+								results = addQueryResult(results, table.word, table.documents(), memoryIndex, prevResults);
+							} while (table.next());
 						}
+						prevResults = results != null;
 					}
-					prevResults = results != null;
-				}
-				break;
-			case SearchPattern.R_REGEXP_MATCH:
-				Pattern pattern = Pattern.compile(new String(key));
-				for (char[] category : categories) {
-					HashtableOfObject wordsToDocNumbers = readCategoryTable(category, false);
-					if (wordsToDocNumbers != null) {
-						char[][] words = wordsToDocNumbers.keyTable;
-						Object[] values = wordsToDocNumbers.valueTable;
-						for (int j = 0, m = words.length; j < m; j++) {
-							char[] word = words[j];
-							if (word != null && pattern.matcher(new String(word)).matches())
-								results = addQueryResult(results, word, values[j], memoryIndex, prevResults);
+					break;
+				case SearchPattern.R_REGEXP_MATCH:
+					Pattern pattern = Pattern.compile(new String(key));
+					for (char[] category : categories) {
+						CategoryTable table = openCategoryTable(category);
+						if (table != null) {
+							table.seekBlock(0);
+							while (table.next()) {
+								if (pattern.matcher(new String(table.word)).matches())
+									results = addQueryResult(results, table.word, table.documents(), memoryIndex, prevResults);
+							}
 						}
+						prevResults = results != null;
 					}
-					prevResults = results != null;
-				}
-				break;
-			default:
-				for (char[] category : categories) {
-					HashtableOfObject wordsToDocNumbers = readCategoryTable(category, false);
-					if (wordsToDocNumbers != null) {
-						char[][] words = wordsToDocNumbers.keyTable;
-						Object[] values = wordsToDocNumbers.valueTable;
-						for (int j = 0, m = words.length; j < m; j++) {
-							char[] word = words[j];
-							if (word != null && Index.isMatch(key, word, matchRule))
-								results = addQueryResult(results, word, values[j], memoryIndex, prevResults);
+					break;
+				default:
+					for (char[] category : categories) {
+						CategoryTable table = openCategoryTable(category);
+						if (table != null) {
+							// only match the words which have the n-grams of the key, if the category has n-gram tables
+							int[] wordNumbers = NGrams.isIndexed(category) ? candidateWords(category, key, matchRule) : null;
+							if (wordNumbers != null) {
+								for (int wordNumber : wordNumbers) {
+									table.seekWord(wordNumber);
+									if (Index.isMatch(key, table.word, matchRule))
+										results = addQueryResult(results, table.word, table.documents(), memoryIndex, prevResults);
+								}
+							} else {
+								table.seekBlock(0);
+								while (table.next()) {
+									if (Index.isMatch(key, table.word, matchRule))
+										results = addQueryResult(results, table.word, table.documents(), memoryIndex, prevResults);
+								}
+							}
 						}
+						prevResults = results != null;
 					}
-					prevResults = results != null;
-				}
+			}
 		}
+	} catch (UTFDataFormatException ue) {
+		ILog.get().warn("Java Index broken - will be automatically deleted to repair: " + this.indexLocation, ue); //$NON-NLS-1$
+		// index is broken. automatically delete it
+		// https://github.com/eclipse-jdt/eclipse.jdt.core/issues/460
+		this.indexLocation.delete();
+		return null;
 	}
 
 	return results;
 }
+/*
+ * Answers the numbers of the words of the given category which may match the key, or null if all of them may
+ * match or if the category has no n-gram tables (index written by an older version).
+ */
+private int[] candidateWords(char[] categoryName, char[] key, int matchRule) throws IOException {
+	CategoryTable trigrams = openCategoryTable(NGrams.trigramsCategory(categoryName));
+	CategoryTable humps = openCategoryTable(NGrams.humpsCategory(categoryName));
+	if (trigrams == null || humps == null)
+		return null;
+	return NGrams.candidates(key, matchRule, new NGrams.Postings() {
+		@Override
+		public int[] trigram(char[] trigram) throws IOException {
+			return wordNumbers(trigrams, trigram);
+		}
+		@Override
+		public int[] humps(char[] prefix) throws IOException {
+			return wordNumbers(humps, prefix);
+		}
+	});
+}
+private int[] wordNumbers(CategoryTable table, char[] gram) throws IOException {
+	if (table.seek(gram) && CharOperation.equals(gram, table.word))
+		return readDocumentNumbers(table.documents());
+	return new int[0];
+}
 private synchronized void cacheDocumentNames() throws IOException {
 	// will need all document names so get them now
 	this.cachedChunks = new String[this.numberOfChunks][];
@@ -425,6 +657,7 @@ void initialize(boolean reuseExistingFile) throws IOException {
 			} finally {
 				this.indexLocation.close();
 			}
+			this.indexFileIdentity = indexFileIdentity();
 			return;
 		}
 		if (!this.indexLocation.delete()) {
@@ -445,6 +678,7 @@ void initialize(boolean reuseExistingFile) throws IOException {
 				this.bufferIndex = 0;
 			}
 		}
+		this.indexFileIdentity = indexFileIdentity();
 	} else {
 		if (DEBUG)
 			System.out.println("initialize - Failed to create new index " + this.indexLocation); //$NON-NLS-1$
@@ -471,7 +705,8 @@ private void mergeCategories(DiskIndex onDisk, int[] positions, OutputStream str
 	// at this point, this.categoryTables contains the names -> wordsToDocs added in copyQueryResults()
 	char[][] oldNames = onDisk.categoryOffsets.keyTable;
 	for (char[] oldName : oldNames) {
-		if (oldName != null && !this.categoryTables.containsKey(oldName))
+		// the n-gram tables are written again with the category they are derived from
+		if (oldName != null && !this.categoryTables.containsKey(oldName) && !NGrams.isDerived(oldName))
 			this.categoryTables.put(oldName, null);
 	}
 
@@ -486,7 +721,7 @@ private void mergeCategory(char[] categoryName, DiskIndex onDisk, int[] position
 	if (wordsToDocs == null)
 		wordsToDocs = new HashtableOfObject(3);
 
-	HashtableOfObject oldWordsToDocs = onDisk.readCategoryTable(categoryName, true);
+	HashtableOfObject oldWordsToDocs = onDisk.readCategoryTable(categoryName);
 	if (oldWordsToDocs != null) {
 		char[][] oldWords = oldWordsToDocs.keyTable;
 		Object[] oldArrayOffsets = oldWordsToDocs.valueTable;
@@ -523,7 +758,6 @@ private void mergeCategory(char[] categoryName, DiskIndex onDisk, int[] position
 				}
 			}
 		}
-		onDisk.categoryTables.put(categoryName, null); // flush cached table
 	}
 	writeCategoryTable(categoryName, wordsToDocs, stream);
 }
@@ -542,6 +776,7 @@ DiskIndex mergeWith(MemoryIndex memoryIndex) throws IOException {
 		if (previousLength == 0) return this; // nothing to do... memory index contained deleted documents that had never been saved
 
 		// index is now empty since all the saved documents were removed
+		release();
 		DiskIndex newDiskIndex = new DiskIndex(this.indexLocation);
 		newDiskIndex.initialize(false);
 		return newDiskIndex;
@@ -589,6 +824,7 @@ DiskIndex mergeWith(MemoryIndex memoryIndex) throws IOException {
 		newDiskIndex.writeOffsetToHeader(offsetToHeader);
 
 		// rename file by deleting previous index file & renaming temp one
+		release();
 		try {
 			Files.deleteIfExists(oldIndexFile.toPath());
 		} catch (Exception e2) {
@@ -623,6 +859,7 @@ DiskIndex mergeWith(MemoryIndex memoryIndex) throws IOException {
 
 	if (!usingTmp) // rename done, use the new file
 		newDiskIndex.indexLocation = this.indexLocation;
+	newDiskIndex.indexFileIdentity = newDiskIndex.indexFileIdentity();
 	return newDiskIndex;
 }
 private synchronized String[] readAllDocumentNames() throws IOException {
@@ -630,6 +867,23 @@ private synchronized String[] readAllDocumentNames() throws IOException {
 		return CharOperation.NO_STRINGS;
 
 	try {
+		ByteBuffer mapped = mappedIndex();
+		if (mapped != null) {
+			int offset = this.chunkOffsets[0];
+			this.streamBuffer = new byte[this.startOfCategoryTables - offset];
+			try {
+				mapped.get(offset, this.streamBuffer);
+				this.bufferIndex = 0;
+				this.bufferEnd = this.streamBuffer.length;
+				int lastIndex = this.numberOfChunks - 1;
+				String[] docNames = new String[lastIndex * CHUNK_SIZE + this.sizeOfLastChunk];
+				for (int i = 0; i < this.numberOfChunks; i++)
+					readChunk(docNames, null, i * CHUNK_SIZE, i < lastIndex ? CHUNK_SIZE : this.sizeOfLastChunk);
+				return docNames;
+			} finally {
+				this.streamBuffer = null;
+			}
+		}
 		try (InputStream stream = this.indexLocation.getInputStream();) {
 			int offset = this.chunkOffsets[0];
 			stream.skip(offset);
@@ -653,105 +907,112 @@ private synchronized String[] readAllDocumentNames() throws IOException {
 		return CharOperation.NO_STRINGS;
 	}
 }
-private synchronized HashtableOfObject readCategoryTable(char[] categoryName, boolean readDocNumbers) throws IOException {
+/**
+ * Answers the index file mapped in memory, or <code>null</code> if it is not a local file
+ * or if index files are not mapped.
+ * <p>
+ * Called by the readers of the index, which hold its read lock. The index may have been released by
+ * another thread since the file was last mapped (see {@link #release()}), and its file may have been
+ * replaced: the file is only mapped again if it is still the one read by this index.
+ * </p>
+ * @throws IOException if the index file was replaced since it was read
+ */
+private synchronized ByteBuffer mappedIndex() throws IOException {
+	if (this.mappedIndex == null && mapIndexFiles && this.indexLocation instanceof FileIndexLocation) {
+		Path path = this.indexLocation.getIndexFile().toPath();
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			// checked once the file is open, since it may be replaced in between
+			if (this.indexFileIdentity != null && !this.indexFileIdentity.equals(indexFileIdentity()))
+				throw new IOException("The index file changed since it was read " + this.indexLocation); //$NON-NLS-1$
+			this.mappedIndex = mapped;
+		}
+	}
+	return this.mappedIndex;
+}
+/*
+ * Answers what identifies the current index file: its file key (if the file system has file keys), its size and
+ * its modification time. A file replaced by a new one at the same location, or written again, has another identity.
+ * Answers null if the index file is not a local file.
+ */
+private Object indexFileIdentity() throws IOException {
+	if (!(this.indexLocation instanceof FileIndexLocation))
+		return null;
+	BasicFileAttributes attributes = Files.readAttributes(this.indexLocation.getIndexFile().toPath(), BasicFileAttributes.class);
+	return Arrays.asList(attributes.fileKey(), attributes.size(), attributes.lastModifiedTime());
+}
+private synchronized CategoryTable openCategoryTable(char[] categoryName) throws IOException {
 	// result will be null if categoryName is unknown
 	int offset = this.categoryOffsets.get(categoryName);
 	if (offset == HashtableOfIntValues.NO_VALUE) {
 		return null;
 	}
-
-	if (this.categoryTables == null) {
-		this.categoryTables = new HashtableOfObject(3);
+	ByteBuffer mapped = mappedIndex();
+	if (mapped != null) {
+		IndexMetricsRecorder.categoryTableLoaded();
+		return new CategoryTable(mapped, 0, offset);
+	}
+	if (this.streamedCategoryTables == null) {
+		this.streamedCategoryTables = new HashtableOfObject(3);
 	} else {
-		HashtableOfObject cachedTable = (HashtableOfObject) this.categoryTables.get(categoryName);
-		if (cachedTable != null) {
-			if (readDocNumbers) { // must cache remaining document number arrays
-				Object[] arrayOffsets = cachedTable.valueTable;
-				for (int i = 0, l = arrayOffsets.length; i < l; i++)
-					if (arrayOffsets[i] instanceof Integer)
-						arrayOffsets[i] = readDocumentNumbers(arrayOffsets[i]);
-			}
-			return cachedTable;
-		}
+		CategoryTable cached = (CategoryTable) this.streamedCategoryTables.get(categoryName);
+		if (cached != null)
+			return new CategoryTable(cached.buffer, cached.base, cached.tableOffset);
 	}
+	IndexMetricsRecorder.categoryTableLoaded();
 
-	HashtableOfObject categoryTable = null;
-	char[][] matchingWords = null;
-	int count = 0;
-	int firstOffset = -1;
+	// read the bytes of the category words, from the first block up to the end of the block table
+	int blockCount, firstBlockOffset;
 	this.streamBuffer = new byte[BUFFER_READ_SIZE];
+	try (InputStream stream = this.indexLocation.getInputStream()) {
+		stream.skip(offset);
+		this.bufferIndex = 0;
+		this.bufferEnd = stream.read(this.streamBuffer, 0, this.streamBuffer.length);
+		readStreamInt(stream); // number of words
+		blockCount = readStreamInt(stream);
+		firstBlockOffset = blockCount > 0 ? readStreamInt(stream) : offset;
+	} finally {
+		this.indexLocation.close();
+		this.streamBuffer = null;
+	}
+	int size = offset + 8 + (blockCount * 4) - firstBlockOffset;
+	long length = this.indexLocation.length();
+	if (blockCount < 0 || size < 0 || (length != -1 && size > length))
+		throw new UTFDataFormatException("Failed to read index data from " + this.indexLocation + " at offset " + offset); //$NON-NLS-1$ //$NON-NLS-2$
+	byte[] bytes = new byte[size];
+	try (InputStream stream = this.indexLocation.getInputStream()) {
+		stream.skip(firstBlockOffset);
+		if (stream.readNBytes(bytes, 0, size) != size)
+			throw new IOException(NLS.bind("Stream was closed for index location \"{0}\"", this.indexLocation)); //$NON-NLS-1$
+	} finally {
+		this.indexLocation.close();
+	}
+	IndexMetricsRecorder.bytesRead(size);
+	CategoryTable table = new CategoryTable(ByteBuffer.wrap(bytes), firstBlockOffset, offset);
+	// the table only holds the bytes of its words, it can be read again by the next queries
+	// cache it as long as its not too big, some tables contain more than 10K words
+	this.streamedCategoryTables.put(INTERNED_CATEGORY_NAMES.get(categoryName), table);
+	if (table.wordCount < 20000)
+		this.cachedCategoryName = categoryName;
+	return table;
+}
+private synchronized HashtableOfObject readCategoryTable(char[] categoryName) throws IOException {
+	// result will be null if categoryName is unknown
+	CategoryTable table = openCategoryTable(categoryName);
+	if (table == null) {
+		return null;
+	}
+	HashtableOfObject categoryTable = new HashtableOfObject(table.wordCount);
 	try {
-		try (InputStream stream = this.indexLocation.getInputStream()) {
-			stream.skip(offset);
-			this.bufferIndex = 0;
-			this.bufferEnd = stream.read(this.streamBuffer, 0, this.streamBuffer.length);
-			int size = readStreamInt(stream);
-			try {
-				categoryTable = new HashtableOfObject(size);
-			} catch (NegativeArraySizeException | OutOfMemoryError e) {
-				String message = "Failed to read index data from " + this.indexLocation + " at offset " + offset //$NON-NLS-1$ //$NON-NLS-2$
-						+ " and size " + size; //$NON-NLS-1$
-				UTFDataFormatException ue = new UTFDataFormatException(message);
-				ue.initCause(e);
-				throw ue;
-			}
-			int largeArraySize = 256;
-			for (int i = 0; i < size; i++) {
-				char[] word = readStreamChars(stream);
-				int arrayOffset = readStreamInt(stream);
-				// if arrayOffset is:
-				//		<= 0 then the array size == 1 with the value -> -arrayOffset
-				//		> 1 & < 256 then the size of the array is > 1 & < 256, the document array follows immediately
-				//		256 if the array size >= 256 followed by another int which is the offset to the array (written prior to the table)
-				if (arrayOffset <= 0) {
-					categoryTable.putUnsafely(word, new int[] {-arrayOffset}); // store 1 element array by negating documentNumber
-				} else if (arrayOffset < largeArraySize) {
-					categoryTable.putUnsafely(word, readStreamDocumentArray(stream, arrayOffset)); // read in-lined array providing size
-				} else {
-					arrayOffset = readStreamInt(stream); // read actual offset
-					if (readDocNumbers) {
-						if (matchingWords == null)
-							matchingWords = new char[size][];
-						if (count == 0)
-							firstOffset = arrayOffset;
-						matchingWords[count++] = word;
-					}
-					categoryTable.putUnsafely(word, Integer.valueOf(arrayOffset)); // offset to array in the file
-				}
-			}
-			this.categoryTables.put(INTERNED_CATEGORY_NAMES.get(categoryName), categoryTable);
-			// cache the table as long as its not too big
-			// in practice, some tables can be greater than 500K when they contain more than 10K elements
-			this.cachedCategoryName = categoryTable.elementSize < 20000 ? categoryName : null;
-		} catch (IOException ioe) {
-			this.streamBuffer = null;
-			throw ioe;
-		} finally {
-			this.indexLocation.close();
-		}
+		table.seekBlock(0);
+		while (table.next())
+			categoryTable.putUnsafely(table.word, readDocumentNumbers(table.documents()));
 	} catch (UTFDataFormatException ue) {
 		ILog.get().warn("Java Index broken - will be automatically deleted to repair: " + this.indexLocation, ue); //$NON-NLS-1$
 		// index is broken. automatically delete it
 		// https://github.com/eclipse-jdt/eclipse.jdt.core/issues/460
 		this.indexLocation.delete();
 	}
-
-	if (matchingWords != null && count > 0) {
-		try (InputStream stream = this.indexLocation.getInputStream()) {
-			stream.skip(firstOffset);
-			this.bufferIndex = 0;
-			this.bufferEnd = stream.read(this.streamBuffer, 0, this.streamBuffer.length);
-			for (int i = 0; i < count; i++) { // each array follows the previous one
-				categoryTable.put(matchingWords[i], readStreamDocumentArray(stream, readStreamInt(stream)));
-			}
-		} catch (IOException ioe) {
-			this.streamBuffer = null;
-			throw ioe;
-		} finally {
-			this.indexLocation.close();
-		}
-	}
-	this.streamBuffer = null;
 	return categoryTable;
 }
 private void readChunk(String[] docNames, InputStream stream, int index, int size) throws IOException {
@@ -796,17 +1057,23 @@ synchronized String readDocumentName(int docNumber) throws IOException {
 			throw new IllegalArgumentException();
 		this.streamBuffer = new byte[numberOfBytes];
 		this.bufferIndex = 0;
-		InputStream file = this.indexLocation.getInputStream();
-		try (file) {
-			file.skip(start);
-			if (file.read(this.streamBuffer, 0, numberOfBytes) != numberOfBytes)
-				throw new IOException();
-		} catch (IOException ioe) {
-			this.streamBuffer = null;
-			throw ioe;
-		} finally {
-			this.indexLocation.close();
+		ByteBuffer mapped = mappedIndex();
+		if (mapped != null) {
+			mapped.get(start, this.streamBuffer);
+		} else {
+			InputStream file = this.indexLocation.getInputStream();
+			try (file) {
+				file.skip(start);
+				if (file.read(this.streamBuffer, 0, numberOfBytes) != numberOfBytes)
+					throw new IOException();
+			} catch (IOException ioe) {
+				this.streamBuffer = null;
+				throw ioe;
+			} finally {
+				this.indexLocation.close();
+			}
 		}
+		IndexMetricsRecorder.bytesRead(numberOfBytes);
 		int numberOfNames = isLastChunk ? this.sizeOfLastChunk : CHUNK_SIZE;
 		chunk = new String[numberOfNames];
 		try {
@@ -825,17 +1092,22 @@ synchronized int[] readDocumentNumbers(Object arrayOffset) throws IOException {
 	if (arrayOffset instanceof int[])
 		return (int[]) arrayOffset;
 
+	ByteBuffer mapped = mappedIndex();
+	if (mapped != null) {
+		int offset = ((Integer) arrayOffset).intValue();
+		IndexMetricsRecorder.bytesRead(4 + mapped.getInt(offset));
+		return PostingList.decode(mapped, offset + 4);
+	}
 	InputStream stream = this.indexLocation.getInputStream();
-	try (stream) {
+	try (DataInputStream input = new DataInputStream(stream)) {
 		int offset = ((Integer) arrayOffset).intValue();
-		stream.skip(offset);
-		this.streamBuffer = new byte[BUFFER_READ_SIZE];
-		this.bufferIndex = 0;
-		this.bufferEnd = stream.read(this.streamBuffer, 0, this.streamBuffer.length);
-		return readStreamDocumentArray(stream, readStreamInt(stream));
+		input.skipNBytes(offset);
+		byte[] bytes = new byte[input.readInt()];
+		input.readFully(bytes);
+		IndexMetricsRecorder.bytesRead(4 + bytes.length);
+		return PostingList.decode(ByteBuffer.wrap(bytes), 0);
 	} finally {
 		this.indexLocation.close();
-		this.streamBuffer = null;
 	}
 }
 private void readHeaderInfo(InputStream stream) throws IOException {
@@ -843,7 +1115,7 @@ private void readHeaderInfo(InputStream stream) throws IOException {
 	// must be same order as writeHeaderInfo()
 	this.numberOfChunks = readStreamInt(stream);
 	this.sizeOfLastChunk = this.streamBuffer[this.bufferIndex++] & 0xFF;
-	this.documentReferenceSize = this.streamBuffer[this.bufferIndex++] & 0xFF;
+	this.bufferIndex++; // unused since document numbers are encoded as posting lists
 	this.separator = (char) (this.streamBuffer[this.bufferIndex++] & 0xFF);
 	long length = this.indexLocation.length();
 	if (length != -1 && this.numberOfChunks > length) {
@@ -881,7 +1153,6 @@ private void readHeaderInfo(InputStream stream) throws IOException {
 	if (previousCategory != null) {
 		this.categoryEnds.put(previousCategory, this.headerInfoOffset); // cache end of the category table
 	}
-	this.categoryTables = new HashtableOfObject(3);
 }
 synchronized void startQuery() {
 	this.cacheUserCount++;
@@ -891,17 +1162,30 @@ synchronized void stopQuery() {
 		// clear cached items
 		this.cacheUserCount = -1;
 		this.cachedChunks = null;
-		if (this.categoryTables != null) {
-			if (this.cachedCategoryName == null) {
-				this.categoryTables = null;
-			} else if (this.categoryTables.elementSize > 1) {
+		if (this.streamedCategoryTables != null) {
+			Object cachedTable = this.cachedCategoryName == null ? null : this.streamedCategoryTables.get(this.cachedCategoryName);
+			if (cachedTable == null) {
+				this.streamedCategoryTables = null;
+			} else if (this.streamedCategoryTables.elementSize > 1) {
 				HashtableOfObject newTables = new HashtableOfObject(3);
-				newTables.put(this.cachedCategoryName, this.categoryTables.get(this.cachedCategoryName));
-				this.categoryTables = newTables;
+				newTables.put(this.cachedCategoryName, cachedTable);
+				this.streamedCategoryTables = newTables;
 			}
 		}
 	}
 }
+/**
+ * Drops the memory mapping and the cached contents of the index file, once this index has been
+ * replaced by another one or deleted. The mapping itself is released when the buffer is garbage collected,
+ * so the readers which still use it are not affected. This is synchronized with the readers mapping the
+ * file again, which check that the file was not replaced in between (see {@link #mappedIndex()}).
+ */
+synchronized void release() {
+	this.mappedIndex = null;
+	this.cachedChunks = null;
+	this.streamedCategoryTables = null;
+	this.cachedCategoryName = null;
+}
 private void readStreamBuffer(InputStream stream) throws IOException {
 	// if we're about to read a known amount at the end of the existing buffer, but it does not completely fit
 	// so we need to shift the remaining bytes to be read, and fill the buffer from the stream
@@ -1002,47 +1286,6 @@ private char[] readStreamChars(InputStream stream) throws IOException {
 	}
 	return word;
 }
-private int[] readStreamDocumentArray(InputStream stream, int arraySize) throws IOException {
-	int[] indexes = new int[arraySize];
-	if (arraySize == 0) return indexes;
-
-	int i = 0;
-	switch (this.documentReferenceSize) {
-		case 1 :
-			while (i < arraySize) {
-				// how many bytes without refilling the buffer?
-				int bytesInBuffer = i + this.bufferEnd - this.bufferIndex;
-				if (bytesInBuffer > arraySize)
-					bytesInBuffer = arraySize;
-				while (i < bytesInBuffer) {
-					indexes[i++] = this.streamBuffer[this.bufferIndex++] & 0xFF;
-				}
-				if (i < arraySize && stream != null)
-					readStreamBuffer(stream);
-			}
-			break;
-		case 2 :
-			while (i < arraySize) {
-				// how many shorts without refilling the buffer?
-				int shortsInBuffer = i + ((this.bufferEnd - this.bufferIndex) / 2);
-				if (shortsInBuffer > arraySize)
-					shortsInBuffer = arraySize;
-				while (i < shortsInBuffer) {
-					int val = (this.streamBuffer[this.bufferIndex++] & 0xFF) << 8;
-					indexes[i++] = val + (this.streamBuffer[this.bufferIndex++] & 0xFF);
-				}
-				if (i < arraySize && stream != null)
-					readStreamBuffer(stream);
-			}
-			break;
-		default :
-			while (i < arraySize) {
-				indexes[i++] = readStreamInt(stream);
-			}
-			break;
-	}
-	return indexes;
-}
 private int readStreamInt(InputStream stream) throws IOException {
 	if (this.bufferIndex + 4 >= this.bufferEnd) {
 		readStreamBuffer(stream);
@@ -1073,7 +1316,6 @@ private void writeAllDocumentNames(String[] sortedDocNames, OutputStream stream)
 		this.numberOfChunks--;
 		this.sizeOfLastChunk = CHUNK_SIZE;
 	}
-	this.documentReferenceSize = size <= 0x7F ? 1 : (size <= 0x7FFF ? 2 : 4); // number of bytes used to encode a reference
 
 	this.chunkOffsets = new int[this.numberOfChunks];
 	int lastIndex = this.numberOfChunks - 1;
@@ -1128,14 +1370,19 @@ private void writeCategories(OutputStream stream) throws IOException {
 }
 private void writeCategoryTable(char[] categoryName, HashtableOfObject wordsToDocs, OutputStream stream) throws IOException {
 	// the format of a category table is as follows:
-	// any document number arrays with >= 256 elements are written before the table (the offset to each array is remembered)
-	// then the number of word->int[] pairs in the table is written
-	// for each word -> int[] pair, the word is written followed by:
-	//		an int <= 0 if the array size == 1
-	//		an int > 1 & < 256 for the size of the array if its > 1 & < 256, the document array follows immediately
-	//		256 if the array size >= 256 followed by another int which is the offset to the array (written prior to the table)
-
-	int largeArraySize = 256;
+	// the document numbers of each word are sorted & encoded as a posting list (see PostingList)
+	// any posting list of >= LARGE_LIST_SIZE bytes is written before the table as an int for its size followed by its bytes
+	// (the offset to each list is remembered)
+	// then the words are written in sorted order, in blocks of WORDS_PER_BLOCK words
+	// the first word of a block is written as is, each following word is written as:
+	//		a byte for the number of leading characters shared with the previous word (at most 255), then the remaining characters
+	// each word is followed by a varint whose 2 lowest bits give the kind of reference to its documents:
+	//		SINGLE_DOCUMENT, the remaining bits are the document number
+	//		INLINED_LIST, the remaining bits are the size of the posting list which follows immediately
+	//		LARGE_LIST, followed by another varint which is the offset to the posting list (written prior to the table)
+	// then, at the offset of the category, the number of words, the number of blocks & the offset to each block
+	// so that a word can be found with a binary search on the first words of the blocks (see CategoryTable)
+
 	Object[] values = wordsToDocs.valueTable;
 	for (int i = 0, l = values.length; i < l; i++) {
 		Object o = values[i];
@@ -1143,79 +1390,96 @@ private void writeCategoryTable(char[] categoryName, HashtableOfObject wordsToDo
 			if (o instanceof IntList)
 				o = values[i] = ((IntList) values[i]).asArray();
 			int[] documentNumbers = (int[]) o;
-			if (documentNumbers.length >= largeArraySize) {
-				values[i] = Integer.valueOf(this.streamEnd);
-				writeDocumentNumbers(documentNumbers, stream);
+			if (documentNumbers.length > 1) {
+				byte[] postingList = PostingList.encode(sortedDocumentNumbers(documentNumbers));
+				if (postingList.length >= LARGE_LIST_SIZE) {
+					values[i] = Integer.valueOf(this.streamEnd);
+					writeStreamInt(stream, postingList.length);
+					writeStreamBytes(stream, postingList);
+				} else {
+					values[i] = postingList;
+				}
 			}
 		}
 	}
 
-	this.categoryOffsets.put(categoryName, this.streamEnd); // remember the offset to the start of the table
-	this.categoryTables.put(categoryName, null); // flush cached table
-	writeStreamInt(stream, wordsToDocs.elementSize);
-	char[][] words = wordsToDocs.keyTable;
-	for (int i = 0, l = words.length; i < l; i++) {
-		Object o = values[i];
-		if (o != null) {
-			writeStreamChars(stream, words[i]);
-			if (o instanceof int[]) {
-				int[] documentNumbers = (int[]) o;
-				if (documentNumbers.length == 1)
-					writeStreamInt(stream, -documentNumbers[0]); // store an array of 1 element by negating the documentNumber (can be zero)
-				else
-					writeDocumentNumbers(documentNumbers, stream);
-			} else {
-				writeStreamInt(stream, largeArraySize); // mark to identify that an offset follows
-				writeStreamInt(stream, ((Integer) o).intValue()); // offset in the file of the array of document numbers
+	char[][] words = new char[wordsToDocs.elementSize][];
+	int wordCount = 0;
+	for (char[] word : wordsToDocs.keyTable)
+		if (word != null)
+			words[wordCount++] = word;
+	if (wordCount < words.length)
+		System.arraycopy(words, 0, words = new char[wordCount][], 0, wordCount);
+	Arrays.sort(words, CharOperation::compareTo);
+
+	int blockCount = (wordCount + WORDS_PER_BLOCK - 1) / WORDS_PER_BLOCK;
+	int[] blockOffsets = new int[blockCount];
+	char[] previous = null;
+	for (int i = 0; i < wordCount; i++) {
+		char[] word = words[i];
+		if (i % WORDS_PER_BLOCK == 0) {
+			blockOffsets[i / WORDS_PER_BLOCK] = this.streamEnd;
+			writeStreamChars(stream, word);
+		} else {
+			int max = Math.min(Math.min(previous.length, word.length), 255);
+			int prefixLength = 0;
+			while (prefixLength < max && previous[prefixLength] == word[prefixLength])
+				prefixLength++;
+			if ((this.bufferIndex + 1) >= BUFFER_WRITE_SIZE)  {
+				stream.write(this.streamBuffer, 0, this.bufferIndex);
+				this.bufferIndex = 0;
 			}
+			this.streamBuffer[this.bufferIndex++] = (byte) prefixLength;
+			this.streamEnd++;
+			writeStreamChars(stream, prefixLength == 0 ? word : CharOperation.subarray(word, prefixLength, word.length));
+		}
+		Object o = wordsToDocs.get(word);
+		if (o instanceof int[] documentNumbers) {
+			writeStreamVarInt(stream, (documentNumbers[0] << 2) | SINGLE_DOCUMENT);
+		} else if (o instanceof byte[] postingList) {
+			writeStreamVarInt(stream, (postingList.length << 2) | INLINED_LIST);
+			writeStreamBytes(stream, postingList);
+		} else {
+			writeStreamVarInt(stream, LARGE_LIST);
+			writeStreamVarInt(stream, ((Integer) o).intValue()); // offset in the file of the posting list
 		}
+		previous = word;
 	}
+
+	this.categoryOffsets.put(categoryName, this.streamEnd); // remember the offset to the start of the table
+	if (!NGrams.isDerived(categoryName)) // do not add categories to the table being written
+		this.categoryTables.put(categoryName, null); // flush cached table
+	writeStreamInt(stream, wordCount);
+	writeStreamInt(stream, blockCount);
+	for (int blockOffset : blockOffsets)
+		writeStreamInt(stream, blockOffset);
+
+	if (NGrams.isIndexed(categoryName))
+		writeNGramTables(categoryName, words, stream);
 }
-private void writeDocumentNumbers(int[] documentNumbers, OutputStream stream) throws IOException {
-	// must store length as a positive int to detect in-lined array of 1 element
-	int length = documentNumbers.length;
-	writeStreamInt(stream, length);
-	Util.sort(documentNumbers);
-	int start = 0;
-	switch (this.documentReferenceSize) {
-		case 1 :
-			while ((this.bufferIndex + length - start) >= BUFFER_WRITE_SIZE) {
-				// when documentNumbers is large, write BUFFER_WRITE_SIZE parts & fall thru to write the last part
-				int bytesLeft = BUFFER_WRITE_SIZE - this.bufferIndex;
-				for (int i=0; i < bytesLeft; i++) {
-					this.streamBuffer[this.bufferIndex++] = (byte) documentNumbers[start++];
-				}
-				stream.write(this.streamBuffer, 0, this.bufferIndex);
-				this.bufferIndex = 0;
-			}
-			while (start < length) {
-				this.streamBuffer[this.bufferIndex++] = (byte) documentNumbers[start++];
-			}
-			this.streamEnd += length;
-			break;
-		case 2 :
-			while ((this.bufferIndex + ((length - start) * 2)) >= BUFFER_WRITE_SIZE) {
-				// when documentNumbers is large, write BUFFER_WRITE_SIZE parts & fall thru to write the last part
-				int shortsLeft = (BUFFER_WRITE_SIZE - this.bufferIndex) / 2;
-				for (int i=0; i < shortsLeft; i++) {
-					this.streamBuffer[this.bufferIndex++] = (byte) (documentNumbers[start] >> 8);
-					this.streamBuffer[this.bufferIndex++] = (byte) documentNumbers[start++];
-				}
-				stream.write(this.streamBuffer, 0, this.bufferIndex);
-				this.bufferIndex = 0;
-			}
-			while (start < length) {
-				this.streamBuffer[this.bufferIndex++] = (byte) (documentNumbers[start] >> 8);
-				this.streamBuffer[this.bufferIndex++] = (byte) documentNumbers[start++];
-			}
-			this.streamEnd += length * 2;
-			break;
-		default :
-			while (start < length) {
-				writeStreamInt(stream, documentNumbers[start++]);
-			}
-			break;
+/*
+ * Writes the n-gram tables of the given sorted words (see NGrams), as category tables whose document numbers
+ * are the numbers of the words.
+ */
+private void writeNGramTables(char[] categoryName, char[][] sortedWords, OutputStream stream) throws IOException {
+	HashtableOfObject trigramsToWords = new HashtableOfObject(sortedWords.length);
+	HashtableOfObject humpsToWords = new HashtableOfObject(sortedWords.length / 4 + 3);
+	for (int i = 0, l = sortedWords.length; i < l; i++) {
+		NGrams.addTrigrams(sortedWords[i], i, trigramsToWords);
+		NGrams.addHumps(sortedWords[i], i, humpsToWords);
 	}
+	writeCategoryTable(NGrams.trigramsCategory(categoryName), trigramsToWords, stream);
+	writeCategoryTable(NGrams.humpsCategory(categoryName), humpsToWords, stream);
+}
+private static int[] sortedDocumentNumbers(int[] documentNumbers) {
+	Util.sort(documentNumbers);
+	int count = 1;
+	for (int i = 1, length = documentNumbers.length; i < length; i++)
+		if (documentNumbers[i] != documentNumbers[count - 1])
+			documentNumbers[count++] = documentNumbers[i];
+	if (count < documentNumbers.length)
+		System.arraycopy(documentNumbers, 0, documentNumbers = new int[count], 0, count);
+	return documentNumbers;
 }
 private void writeHeaderInfo(OutputStream stream) throws IOException {
 	writeStreamInt(stream, this.numberOfChunks);
@@ -1224,7 +1488,7 @@ private void writeHeaderInfo(OutputStream stream) throws IOException {
 		this.bufferIndex = 0;
 	}
 	this.streamBuffer[this.bufferIndex++] = (byte) this.sizeOfLastChunk;
-	this.streamBuffer[this.bufferIndex++] = (byte) this.documentReferenceSize;
+	this.streamBuffer[this.bufferIndex++] = 0; // unused, was the size of a document reference before posting lists
 	this.streamBuffer[this.bufferIndex++] = (byte) this.separator;
 	this.streamEnd += 3;
 
@@ -1349,6 +1613,29 @@ private void writeStreamChars(OutputStream stream, char[] array, int start, int
 	}
 	this.streamEnd += this.bufferIndex - oldIndex;
 }
+private void writeStreamBytes(OutputStream stream, byte[] bytes) throws IOException {
+	int length = bytes.length;
+	if ((this.bufferIndex + length) >= BUFFER_WRITE_SIZE)  {
+		stream.write(this.streamBuffer, 0, this.bufferIndex);
+		this.bufferIndex = 0;
+	}
+	if (length >= BUFFER_WRITE_SIZE) {
+		stream.write(bytes);
+	} else {
+		System.arraycopy(bytes, 0, this.streamBuffer, this.bufferIndex, length);
+		this.bufferIndex += length;
+	}
+	this.streamEnd += length;
+}
+private void writeStreamVarInt(OutputStream stream, int val) throws IOException {
+	if ((this.bufferIndex + 5) >= BUFFER_WRITE_SIZE)  {
+		stream.write(this.streamBuffer, 0, this.bufferIndex);
+		this.bufferIndex = 0;
+	}
+	int end = PostingList.writeVarInt(this.streamBuffer, this.bufferIndex, val);
+	this.streamEnd += end - this.bufferIndex;
+	this.bufferIndex = end;
+}
 private void writeStreamInt(OutputStream stream, int val) throws IOException {
 	if ((this.bufferIndex + 4) >= BUFFER_WRITE_SIZE)  {
 		stream.write(this.streamBuffer, 0, this.bufferIndex);
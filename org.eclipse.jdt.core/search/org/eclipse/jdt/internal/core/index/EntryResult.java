@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -47,21 +47,19 @@ public char[] getWord() {
 public String[] getDocumentNames(Index index) throws java.io.IOException {
 	if (this.documentTables != null) {
 		int length = this.documentTables.length;
-		if (length == 1 && this.documentNames == null) { // have a single table
-			Object offset = this.documentTables[0];
-			int[] numbers = index.diskIndex.readDocumentNumbers(offset);
+		// document numbers are sorted, so the numbers of several tables are merged before reading any name
+		int[] numbers = index.diskIndex.readDocumentNumbers(this.documentTables[0]);
+		for (int i = 1; i < length; i++)
+			numbers = PostingList.union(numbers, index.diskIndex.readDocumentNumbers(this.documentTables[i]));
+		if (this.documentNames == null) {
 			String[] names = new String[numbers.length];
 			for (int i = 0, l = numbers.length; i < l; i++)
 				names[i] = index.diskIndex.readDocumentName(numbers[i]);
 			return names;
 		}
 
-		for (int i = 0; i < length; i++) {
-			Object offset = this.documentTables[i];
-			int[] numbers = index.diskIndex.readDocumentNumbers(offset);
-			for (int number : numbers)
-				addDocumentName(index.diskIndex.readDocumentName(number));
-		}
+		for (int number : numbers)
+			addDocumentName(index.diskIndex.readDocumentName(number));
 	}
 
 	if (this.documentNames == null)
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -43,9 +43,12 @@ public volatile ReadWriteMonitor monitor;
 static final char DEFAULT_SEPARATOR = '/';
 public char separator = DEFAULT_SEPARATOR;
 static final char JAR_SEPARATOR = IJavaSearchScope.JAR_FILE_ENTRY_SEPARATOR.charAt(0);
+private static final EntryResult[] NO_ENTRY_RESULTS = new EntryResult[0];
 
 protected DiskIndex diskIndex;
 protected MemoryIndex memoryIndex;
+// the results of the last queries of the disk index, while the memory index has not changed
+private final QueryResultCache queryCache = new QueryResultCache();
 
 /**
  * Mask used on match rule for indexing.
@@ -151,6 +154,16 @@ public boolean hasChanged() {
  * If the key is null then all entries in specified categories are returned.
  */
 public EntryResult[] query(char[][] categories, char[] key, int matchRule) throws IOException {
+	long start = System.nanoTime();
+	EntryResult[] entryResults = null;
+	try {
+		entryResults = runQuery(categories, key, matchRule);
+	} finally {
+		IndexMetricsRecorder.queryDone(this.containerPath, categories, key, matchRule, start, entryResults == null ? 0 : entryResults.length);
+	}
+	return entryResults;
+}
+private EntryResult[] runQuery(char[][] categories, char[] key, int matchRule) throws IOException {
 	ReadWriteMonitor readWriteMonitor = this.monitor;
 	if(readWriteMonitor == null) {
 		// index got deleted since acquired
@@ -166,13 +179,24 @@ public EntryResult[] query(char[][] categories, char[] key, int matchRule) throw
 
 	HashtableOfObject results;
 	int rule = matchRule & MATCH_RULE_INDEX_MASK;
+	boolean cacheable = false;
 	if (this.memoryIndex.hasChanged()) {
 		results = this.diskIndex.addQueryResults(categories, key, rule, this.memoryIndex);
 		results = this.memoryIndex.addQueryResults(categories, key, rule, results);
 	} else {
+		cacheable = QueryResultCache.isCacheable(key);
+		if (cacheable) {
+			EntryResult[] cachedResults = this.queryCache.get(categories, key, rule);
+			if (cachedResults != null)
+				return cachedResults.length == 0 ? null : cachedResults.clone();
+		}
 		results = this.diskIndex.addQueryResults(categories, key, rule, null);
 	}
-	if (results == null) return null;
+	if (results == null) {
+		if (cacheable)
+			this.queryCache.put(categories, key, rule, NO_ENTRY_RESULTS);
+		return null;
+	}
 
 	EntryResult[] entryResults = new EntryResult[results.elementSize];
 	int count = 0;
@@ -182,8 +206,22 @@ public EntryResult[] query(char[][] categories, char[] key, int matchRule) throw
 		if (result != null)
 			entryResults[count++] = result;
 	}
+	if (cacheable)
+		this.queryCache.put(categories, key, rule, entryResults.clone());
 	return entryResults;
 }
+/**
+ * Returns the number of queries answered from the cache of the query results of this index.
+ */
+public long getQueryCacheHits() {
+	return this.queryCache.getHits();
+}
+/**
+ * Returns the number of queries that could be cached, but were not in the cache of the query results of this index.
+ */
+public long getQueryCacheMisses() {
+	return this.queryCache.getMisses();
+}
 /**
  * Returns the document names that contain the given substring, if null then returns all of them.
  */
@@ -212,10 +250,22 @@ public void remove(String containerRelativePath) {
  * Reset memory and disk indexes.
  */
 public void reset() throws IOException {
+	this.queryCache.clear();
 	this.memoryIndex = new MemoryIndex();
+	this.diskIndex.release();
 	this.diskIndex = new DiskIndex(this.diskIndex.indexLocation);
 	this.diskIndex.initialize(false/*do not reuse the index file*/);
 }
+/**
+ * Releases the memory held for the index file (its mapping and its cached contents),
+ * once this index is deleted or replaced by another one.
+ * The write lock is not needed: the readers which still query this index check that
+ * its file was not replaced before mapping it again.
+ */
+public void release() {
+	if (this.diskIndex != null)
+		this.diskIndex.release();
+}
 public boolean save() throws IOException {
 	ReadWriteMonitor readWriteMonitor = this.monitor;
 	if(readWriteMonitor == null) {
@@ -226,6 +276,7 @@ public boolean save() throws IOException {
 	if (!hasChanged()) return false;
 
 	this.diskIndex.separator = this.separator;
+	this.queryCache.clear();
 	this.diskIndex = this.diskIndex.mergeWith(this.memoryIndex);
 	this.memoryIndex = new MemoryIndex();
 	return true;
@@ -264,6 +315,27 @@ public List<IndexQualifier> getMetaIndexQualifications() throws IOException {
 				}
 			}
 		}
+		// a filter of the selectors of the method references and of the referenced names, so that the searches
+		// for method and field references skip the indexes which do not reference them (see QualifierQuery)
+		if (this.monitor == null)
+			return Collections.emptyList();
+		BloomFilter filter = new BloomFilter();
+		EntryResult[] results = query(new char[][] {IIndexConstants.METHOD_REF}, null,
+				SearchPattern.R_EXACT_MATCH | SearchPattern.R_CASE_SENSITIVE);
+		if (results != null) {
+			for (EntryResult result : results) {
+				char[] word = result.getWord();
+				int separator = CharOperation.indexOf('/', word);
+				filter.add(separator == -1 ? word : CharOperation.subarray(word, 0, separator));
+			}
+		}
+		results = query(new char[][] {IIndexConstants.REF}, null,
+				SearchPattern.R_EXACT_MATCH | SearchPattern.R_CASE_SENSITIVE);
+		if (results != null) {
+			for (EntryResult result : results)
+				filter.add(result.getWord());
+		}
+		qualifiers.add(IndexQualifier.qualifier(IIndexConstants.META_INDEX_NAME_REF_FILTER, filter.encode()));
 		return qualifiers;
 	} finally {
 		stopQuery();
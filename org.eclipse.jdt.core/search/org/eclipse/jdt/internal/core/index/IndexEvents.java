@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.index;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import org.eclipse.jdt.core.compiler.CharOperation;
+
+/**
+ * The JFR events of the index subsystem. This class is only loaded when the <code>jdk.jfr</code> module is
+ * available, see {@link IndexMetricsRecorder}.
+ * <p>
+ * The events carry the duration they measured as a field, because the durations are measured by the
+ * callers whether a recording is running or not.
+ */
+final class IndexEvents {
+
+@Name("org.eclipse.jdt.core.IndexQuery")
+@Label("Index Query")
+@Description("A query of the words of categories of an index")
+@Category({"Eclipse", "JDT", "Index"})
+@StackTrace(false)
+static final class QueryEvent extends Event {
+	@Label("Container")
+	String container;
+	@Label("Categories")
+	String categories;
+	@Label("Key")
+	String key;
+	@Label("Match Rule")
+	int matchRule;
+	@Label("Results")
+	int results;
+	@Label("Query Time")
+	@Timespan(Timespan.NANOSECONDS)
+	long time;
+}
+
+@Name("org.eclipse.jdt.core.Indexing")
+@Label("Document Indexing")
+@Description("The indexing of a document of a container")
+@Category({"Eclipse", "JDT", "Index"})
+@StackTrace(false)
+static final class IndexingEvent extends Event {
+	@Label("Container")
+	String container;
+	@Label("Document")
+	String document;
+	@Label("Indexing Time")
+	@Timespan(Timespan.NANOSECONDS)
+	long time;
+}
+
+@Name("org.eclipse.jdt.core.IndexJobWait")
+@Label("Index Job Wait")
+@Description("The time a job waited in the queue of the index manager before running")
+@Category({"Eclipse", "JDT", "Index"})
+@StackTrace(false)
+static final class JobWaitEvent extends Event {
+	@Label("Job")
+	String job;
+	@Label("Wait Time")
+	@Timespan(Timespan.NANOSECONDS)
+	long time;
+}
+
+@Name("org.eclipse.jdt.core.WaitUntilReady")
+@Label("Wait Until Indexes Ready")
+@Description("The time a search waited for the indexing jobs before querying the indexes")
+@Category({"Eclipse", "JDT", "Index"})
+static final class WaitUntilReadyEvent extends Event {
+	@Label("Job")
+	String job;
+	@Label("Wait Time")
+	@Timespan(Timespan.NANOSECONDS)
+	long time;
+}
+
+private IndexEvents() {
+	// not instantiable
+}
+
+static void query(String containerPath, char[][] categories, char[] key, int matchRule, long nanos, int results) {
+	QueryEvent event = new QueryEvent();
+	if (event.isEnabled()) {
+		event.container = containerPath;
+		event.categories = new String(CharOperation.concatWith(categories, ','));
+		event.key = key == null ? null : new String(key);
+		event.matchRule = matchRule;
+		event.results = results;
+		event.time = nanos;
+		event.commit();
+	}
+}
+
+static void indexing(String containerPath, String documentPath, long nanos) {
+	IndexingEvent event = new IndexingEvent();
+	if (event.isEnabled()) {
+		event.container = containerPath;
+		event.document = documentPath;
+		event.time = nanos;
+		event.commit();
+	}
+}
+
+static void jobWait(String job, long nanos) {
+	JobWaitEvent event = new JobWaitEvent();
+	if (event.isEnabled()) {
+		event.job = job;
+		event.time = nanos;
+		event.commit();
+	}
+}
+
+static void waitUntilReady(String job, long nanos) {
+	WaitUntilReadyEvent event = new WaitUntilReadyEvent();
+	if (event.isEnabled()) {
+		event.job = job;
+		event.time = nanos;
+		event.commit();
+	}
+}
+}
@@ -0,0 +1,201 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.index;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the metrics of the indexes, of the indexing and of the jobs of the index manager, which are
+ * reported by {@link org.eclipse.jdt.core.index.IndexMetrics}.
+ * <p>
+ * The metrics are counters that are always recorded. When a flight recording is running, each recorded
+ * query, indexed document, job wait and wait until ready is also emitted as a JFR event, see
+ * {@link IndexEvents}.
+ */
+public final class IndexMetricsRecorder {
+
+/**
+ * A histogram of durations, whose bucket <code>i</code> counts the durations shorter than 2<sup>i</sup>
+ * microseconds and not counted by the previous buckets.
+ */
+public static final class LatencyHistogram {
+	public static final int BUCKETS = 32;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+	private final LongAdder totalNanos = new LongAdder();
+	private final AtomicLong maxNanos = new AtomicLong();
+
+	void record(long nanos) {
+		this.buckets.incrementAndGet(bucket(nanos));
+		this.totalNanos.add(nanos);
+		this.maxNanos.accumulateAndGet(nanos, Math::max);
+	}
+	static int bucket(long nanos) {
+		return Math.min(64 - Long.numberOfLeadingZeros(nanos / 1000), BUCKETS - 1);
+	}
+	public long[] getBucketCounts() {
+		long[] counts = new long[BUCKETS];
+		for (int i = 0; i < BUCKETS; i++)
+			counts[i] = this.buckets.get(i);
+		return counts;
+	}
+	public long getTotalNanos() {
+		return this.totalNanos.sum();
+	}
+	public long getMaxNanos() {
+		return this.maxNanos.get();
+	}
+}
+
+/**
+ * The documents indexed in a container and the time spent to index them.
+ */
+public static final class Indexing {
+	private final LongAdder documents = new LongAdder();
+	private final LongAdder nanos = new LongAdder();
+
+	void record(long indexingNanos) {
+		this.documents.increment();
+		this.nanos.add(indexingNanos);
+	}
+	public long getDocuments() {
+		return this.documents.sum();
+	}
+	public long getNanos() {
+		return this.nanos.sum();
+	}
+}
+
+private static final boolean JFR_AVAILABLE = isJfrAvailable();
+
+private static volatile Map<String, LatencyHistogram> QUERY_LATENCIES = new ConcurrentHashMap<>();
+private static volatile Map<String, Indexing> CONTAINER_INDEXING = new ConcurrentHashMap<>();
+private static volatile LatencyHistogram JOB_WAITS = new LatencyHistogram();
+private static volatile LatencyHistogram WAITS_UNTIL_READY = new LatencyHistogram();
+private static final LongAdder BYTES_READ = new LongAdder();
+private static final LongAdder CATEGORY_TABLES_LOADED = new LongAdder();
+private static final AtomicInteger MAX_JOB_QUEUE_LENGTH = new AtomicInteger();
+
+private IndexMetricsRecorder() {
+	// not instantiable
+}
+
+private static boolean isJfrAvailable() {
+	try {
+		Class.forName("jdk.jfr.Event", false, IndexMetricsRecorder.class.getClassLoader()); //$NON-NLS-1$
+		return true;
+	} catch (ClassNotFoundException | LinkageError e) {
+		// the jdk.jfr module is not in the runtime image, or its package is not imported
+		return false;
+	}
+}
+
+/**
+ * Records a query of the index of the given container, which started at the given {@link System#nanoTime()}.
+ */
+public static void queryDone(String containerPath, char[][] categories, char[] key, int matchRule, long startNanos, int results) {
+	long nanos = System.nanoTime() - startNanos;
+	QUERY_LATENCIES.computeIfAbsent(String.valueOf(containerPath), path -> new LatencyHistogram()).record(nanos);
+	if (JFR_AVAILABLE)
+		IndexEvents.query(containerPath, categories, key, matchRule, nanos, results);
+}
+
+public static void bytesRead(int bytes) {
+	BYTES_READ.add(bytes);
+}
+
+public static void categoryTableLoaded() {
+	CATEGORY_TABLES_LOADED.increment();
+}
+
+/**
+ * Records a document indexed in the given container in the given time.
+ */
+public static void documentIndexed(String containerPath, String documentPath, long nanos) {
+	CONTAINER_INDEXING.computeIfAbsent(String.valueOf(containerPath), path -> new Indexing()).record(nanos);
+	if (JFR_AVAILABLE)
+		IndexEvents.indexing(containerPath, documentPath, nanos);
+}
+
+/**
+ * Records that a job was requested, leaving the given number of jobs waiting.
+ */
+public static void jobRequested(int queueLength) {
+	MAX_JOB_QUEUE_LENGTH.accumulateAndGet(queueLength, Math::max);
+}
+
+/**
+ * Records that a job started after waiting the given time in the queue of awaiting jobs.
+ */
+public static void jobStarted(String job, long waitNanos) {
+	JOB_WAITS.record(waitNanos);
+	if (JFR_AVAILABLE)
+		IndexEvents.jobWait(job, waitNanos);
+}
+
+/**
+ * Records that a job waited the given time for the awaiting jobs before running.
+ */
+public static void waitedUntilReady(String job, long nanos) {
+	WAITS_UNTIL_READY.record(nanos);
+	if (JFR_AVAILABLE)
+		IndexEvents.waitUntilReady(job, nanos);
+}
+
+public static Map<String, LatencyHistogram> getQueryLatencies() {
+	return QUERY_LATENCIES;
+}
+
+public static Map<String, Indexing> getContainerIndexing() {
+	return CONTAINER_INDEXING;
+}
+
+public static LatencyHistogram getJobWaits() {
+	return JOB_WAITS;
+}
+
+public static LatencyHistogram getWaitsUntilReady() {
+	return WAITS_UNTIL_READY;
+}
+
+public static long getBytesRead() {
+	return BYTES_READ.sum();
+}
+
+public static long getCategoryTablesLoaded() {
+	return CATEGORY_TABLES_LOADED.sum();
+}
+
+public static int getMaxJobQueueLength() {
+	return MAX_JOB_QUEUE_LENGTH.get();
+}
+
+/**
+ * Forgets the metrics recorded so far.
+ */
+public static void reset() {
+	QUERY_LATENCIES = new ConcurrentHashMap<>();
+	CONTAINER_INDEXING = new ConcurrentHashMap<>();
+	JOB_WAITS = new LatencyHistogram();
+	WAITS_UNTIL_READY = new LatencyHistogram();
+	BYTES_READ.reset();
+	CATEGORY_TABLES_LOADED.reset();
+	MAX_JOB_QUEUE_LENGTH.set(0);
+}
+}
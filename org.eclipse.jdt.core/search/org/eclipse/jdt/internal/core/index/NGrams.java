@@ -0,0 +1,262 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.index;
+
+import java.io.IOException;
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.internal.compiler.parser.ScannerHelper;
+import org.eclipse.jdt.internal.compiler.util.HashtableOfObject;
+import org.eclipse.jdt.internal.core.search.indexing.IIndexConstants;
+
+/**
+ * The n-grams of the words of a category, used to find the few words which may match a substring, pattern
+ * or camel case query without matching all the words of the category.
+ * <p>
+ * A disk index writes two derived category tables for each category of {@link #CATEGORIES}, whose words are
+ * n-grams and whose document numbers are the numbers of the words of the category (in sorted order):
+ * <ul>
+ * <li>the trigrams table: each sequence of 3 characters of a word, in lower case</li>
+ * <li>the humps table: the first 1, 2 and 3 humps of a word, where the humps are the characters that
+ * {@link CharOperation#camelCaseMatch(char[], char[], boolean)} does not skip (upper case letters and
+ * separators)</li>
+ * </ul>
+ * A word matching a substring, a prefix, a pattern or an exact key contains the trigrams of the literal
+ * parts of the key. A word matching a camel case key starts with the humps of the key.
+ */
+final class NGrams {
+
+// categories whose words are indexed by their n-grams
+static final char[][] CATEGORIES = { IIndexConstants.TYPE_DECL };
+
+private static final char[] TRIGRAMS_SUFFIX = "/trigrams".toCharArray(); //$NON-NLS-1$
+private static final char[] HUMPS_SUFFIX = "/humps".toCharArray(); //$NON-NLS-1$
+private static final int N = 3;
+private static final int MAX_HUMPS = 3;
+
+/**
+ * Gives the numbers of the words that contain an n-gram, in increasing order.
+ */
+interface Postings {
+	int[] trigram(char[] trigram) throws IOException;
+	int[] humps(char[] humps) throws IOException;
+}
+
+private NGrams() {
+	// not instantiable
+}
+
+static boolean isIndexed(char[] categoryName) {
+	for (char[] category : CATEGORIES)
+		if (CharOperation.equals(category, categoryName))
+			return true;
+	return false;
+}
+
+static boolean isDerived(char[] categoryName) {
+	return CharOperation.endsWith(categoryName, TRIGRAMS_SUFFIX) || CharOperation.endsWith(categoryName, HUMPS_SUFFIX);
+}
+
+static char[] trigramsCategory(char[] categoryName) {
+	return CharOperation.concat(categoryName, TRIGRAMS_SUFFIX);
+}
+
+static char[] humpsCategory(char[] categoryName) {
+	return CharOperation.concat(categoryName, HUMPS_SUFFIX);
+}
+
+/**
+ * Adds the given word number to the trigrams table for each trigram of the word.
+ */
+static void addTrigrams(char[] word, int wordNumber, HashtableOfObject trigramsToWords) {
+	for (int i = 0, end = word.length - N; i <= end; i++) {
+		char[] trigram = lowerCase(word, i);
+		Object o = trigramsToWords.get(trigram);
+		DiskIndex.IntList list;
+		if (o == null) {
+			trigramsToWords.putUnsafely(trigram, list = new DiskIndex.IntList(new int[] {wordNumber}));
+		} else {
+			list = (DiskIndex.IntList) o;
+			if (list.elements[list.size - 1] != wordNumber) // a word may contain the same trigram several times
+				list.add(wordNumber);
+		}
+	}
+}
+
+/**
+ * Adds the given word number to the humps table for the first humps of the word.
+ */
+static void addHumps(char[] word, int wordNumber, HashtableOfObject humpsToWords) {
+	char[] humps = humps(word, MAX_HUMPS);
+	for (int length = 1; length <= humps.length; length++) {
+		char[] prefix = length == humps.length ? humps : CharOperation.subarray(humps, 0, length);
+		Object o = humpsToWords.get(prefix);
+		if (o == null)
+			humpsToWords.putUnsafely(prefix, new DiskIndex.IntList(new int[] {wordNumber}));
+		else
+			((DiskIndex.IntList) o).add(wordNumber);
+	}
+}
+
+/**
+ * Answers the numbers of the words which may match the given key with the given match rule (see
+ * {@link Index#isMatch(char[], char[], int)}), in increasing order, or null if the n-grams cannot narrow
+ * the words down.
+ */
+static int[] candidates(char[] key, int matchRule, Postings postings) throws IOException {
+	if ((matchRule & SearchPattern.R_SUBWORD_MATCH) != 0)
+		return null;
+	int[] substringCandidates = null;
+	if ((matchRule & SearchPattern.R_SUBSTRING_MATCH) != 0) {
+		substringCandidates = containing(key, postings);
+		if (substringCandidates == null)
+			return null;
+		matchRule &= ~SearchPattern.R_SUBSTRING_MATCH;
+	}
+	int[] candidates;
+	switch (matchRule & Index.MATCH_RULE_INDEX_MASK) {
+		case SearchPattern.R_EXACT_MATCH :
+		case SearchPattern.R_PREFIX_MATCH :
+		case SearchPattern.R_EXACT_MATCH | SearchPattern.R_CASE_SENSITIVE :
+		case SearchPattern.R_PREFIX_MATCH | SearchPattern.R_CASE_SENSITIVE :
+			candidates = containing(key, postings);
+			break;
+		case SearchPattern.R_PATTERN_MATCH :
+		case SearchPattern.R_PATTERN_MATCH | SearchPattern.R_CASE_SENSITIVE :
+			candidates = matchingPattern(key, postings);
+			break;
+		case SearchPattern.R_CAMELCASE_MATCH :
+		case SearchPattern.R_CAMELCASE_SAME_PART_COUNT_MATCH :
+			// a camel case match or a prefix match
+			candidates = camelCaseMatching(key, postings);
+			int[] prefixCandidates = containing(key, postings);
+			candidates = candidates == null || prefixCandidates == null ? null : PostingList.union(candidates, prefixCandidates);
+			break;
+		case SearchPattern.R_CAMELCASE_MATCH | SearchPattern.R_CASE_SENSITIVE :
+		case SearchPattern.R_CAMELCASE_SAME_PART_COUNT_MATCH | SearchPattern.R_CASE_SENSITIVE :
+			candidates = camelCaseMatching(key, postings);
+			break;
+		default :
+			return null;
+	}
+	if (candidates == null || substringCandidates == null)
+		return candidates;
+	return PostingList.union(substringCandidates, candidates);
+}
+
+/*
+ * The words that contain all the trigrams of the given characters, or null if there are less than 3 characters.
+ */
+private static int[] containing(char[] chars, Postings postings) throws IOException {
+	return containing(chars, 0, chars.length, null, postings);
+}
+
+private static int[] containing(char[] chars, int start, int end, int[] candidates, Postings postings) throws IOException {
+	for (int i = start; i <= end - N; i++) {
+		int[] words = postings.trigram(lowerCase(chars, i));
+		candidates = candidates == null ? words : intersection(candidates, words);
+		if (candidates.length == 0)
+			break;
+	}
+	return candidates;
+}
+
+/*
+ * The words that contain all the trigrams of the literal parts of the given pattern, or null if no part
+ * has 3 characters.
+ */
+private static int[] matchingPattern(char[] pattern, Postings postings) throws IOException {
+	int[] candidates = null;
+	int start = 0;
+	for (int i = 0, length = pattern.length; i <= length; i++) {
+		if (i == length || pattern[i] == '*' || pattern[i] == '?') {
+			candidates = containing(pattern, start, i, candidates, postings);
+			if (candidates != null && candidates.length == 0)
+				break;
+			start = i + 1;
+		}
+	}
+	return candidates;
+}
+
+/*
+ * The words whose first humps are the humps of the given camel case pattern, or null if the pattern has no
+ * humps: the humps of a pattern cannot skip any hump of the word they match.
+ */
+private static int[] camelCaseMatching(char[] pattern, Postings postings) throws IOException {
+	char[] humps = humps(pattern, MAX_HUMPS);
+	if (humps.length == 0) {
+		// without humps nor digits, a camel case pattern must be a prefix of the word
+		for (char c : pattern)
+			if (isDigit(c))
+				return null;
+		return containing(pattern, postings);
+	}
+	return postings.humps(humps);
+}
+
+private static char[] humps(char[] word, int max) {
+	char[] humps = new char[max];
+	int count = 0;
+	for (int i = 0, length = word.length; i < length && count < max; i++) {
+		char c = word[i];
+		if (isHump(c))
+			humps[count++] = c;
+	}
+	return count == max ? humps : CharOperation.subarray(humps, 0, count);
+}
+
+/*
+ * Same as the characters of a name that CharOperation.camelCaseMatch() does not skip.
+ */
+private static boolean isHump(char c) {
+	if (c < ScannerHelper.MAX_OBVIOUS)
+		return (ScannerHelper.OBVIOUS_IDENT_CHAR_NATURES[c] & (ScannerHelper.C_LOWER_LETTER | ScannerHelper.C_SPECIAL | ScannerHelper.C_DIGIT)) == 0;
+	return !(Character.isJavaIdentifierPart(c) && !Character.isUpperCase(c)) && !Character.isDigit(c);
+}
+
+private static boolean isDigit(char c) {
+	if (c < ScannerHelper.MAX_OBVIOUS)
+		return (ScannerHelper.OBVIOUS_IDENT_CHAR_NATURES[c] & ScannerHelper.C_DIGIT) != 0;
+	return Character.isDigit(c);
+}
+
+private static char[] lowerCase(char[] chars, int start) {
+	char[] trigram = new char[N];
+	for (int i = 0; i < N; i++)
+		trigram[i] = Character.toLowerCase(chars[start + i]);
+	return trigram;
+}
+
+private static int[] intersection(int[] numbers1, int[] numbers2) {
+	int length1 = numbers1.length, length2 = numbers2.length;
+	int[] result = new int[Math.min(length1, length2)];
+	int i = 0, j = 0, count = 0;
+	while (i < length1 && j < length2) {
+		int number1 = numbers1[i], number2 = numbers2[j];
+		if (number1 < number2) {
+			i++;
+		} else if (number1 > number2) {
+			j++;
+		} else {
+			result[count++] = number1;
+			i++;
+			j++;
+		}
+	}
+	if (count < result.length)
+		System.arraycopy(result, 0, result = new int[count], 0, count);
+	return result;
+}
+}
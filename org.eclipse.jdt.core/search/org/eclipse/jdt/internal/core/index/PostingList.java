@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.index;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Encoding of the sorted document numbers of an index word.
+ * <p>
+ * A posting list starts with a byte giving its kind, followed by the number of documents as a varint, then:
+ * <ul>
+ * <li>{@link #DELTAS}: each document number as a varint of its difference with the previous one (the first one as is)</li>
+ * <li>{@link #BITMAP}: the index of the first byte of the bitmap and its number of bytes as varints, then the bitmap
+ * where bit <code>n % 8</code> of byte <code>n / 8 - firstByte</code> is set for each document number <code>n</code></li>
+ * </ul>
+ * The smallest encoding is used, so that dense lists such as the references to <code>Object</code> only cost
+ * one bit per document.
+ * <p>
+ * Varints are unsigned, 7 bits per byte, least significant bits first.
+ */
+final class PostingList {
+
+static final byte DELTAS = 0;
+static final byte BITMAP = 1;
+
+private PostingList() {
+	// not instantiable
+}
+
+/**
+ * Encodes the given document numbers, which must be sorted and without duplicates.
+ */
+static byte[] encode(int[] sortedNumbers) {
+	int length = sortedNumbers.length;
+	int deltasSize = 0;
+	int previous = 0;
+	for (int number : sortedNumbers) {
+		deltasSize += varIntSize(number - previous);
+		previous = number;
+	}
+	int firstByte = length == 0 ? 0 : sortedNumbers[0] >>> 3;
+	int bitmapSize = length == 0 ? 0 : (sortedNumbers[length - 1] >>> 3) - firstByte + 1;
+	int bitmapHeaderSize = varIntSize(firstByte) + varIntSize(bitmapSize);
+	int headerSize = 1 + varIntSize(length);
+
+	byte[] bytes;
+	if (length > 0 && bitmapHeaderSize + bitmapSize < deltasSize) {
+		bytes = new byte[headerSize + bitmapHeaderSize + bitmapSize];
+		bytes[0] = BITMAP;
+		int index = writeVarInt(bytes, 1, length);
+		index = writeVarInt(bytes, index, firstByte);
+		index = writeVarInt(bytes, index, bitmapSize);
+		for (int number : sortedNumbers)
+			bytes[index + (number >>> 3) - firstByte] |= 1 << (number & 7);
+	} else {
+		bytes = new byte[headerSize + deltasSize];
+		bytes[0] = DELTAS;
+		int index = writeVarInt(bytes, 1, length);
+		previous = 0;
+		for (int number : sortedNumbers) {
+			index = writeVarInt(bytes, index, number - previous);
+			previous = number;
+		}
+	}
+	return bytes;
+}
+
+/**
+ * Decodes the posting list starting at the given index of the buffer. The returned numbers are sorted.
+ */
+static int[] decode(ByteBuffer buffer, int index) {
+	byte kind = buffer.get(index++);
+	int length = readVarInt(buffer, index);
+	index += varIntSize(length);
+	int[] numbers = new int[length];
+	if (kind == BITMAP) {
+		int firstByte = readVarInt(buffer, index);
+		index += varIntSize(firstByte);
+		int bitmapSize = readVarInt(buffer, index);
+		index += varIntSize(bitmapSize);
+		int count = 0;
+		for (int i = 0; i < bitmapSize && count < length; i++) {
+			int bits = buffer.get(index + i) & 0xFF;
+			while (bits != 0) {
+				numbers[count++] = ((firstByte + i) << 3) + Integer.numberOfTrailingZeros(bits);
+				bits &= bits - 1;
+			}
+		}
+	} else {
+		int previous = 0;
+		for (int i = 0; i < length; i++) {
+			int delta = readVarInt(buffer, index);
+			index += varIntSize(delta);
+			numbers[i] = previous += delta;
+		}
+	}
+	return numbers;
+}
+
+/**
+ * Answers the sorted union of two sorted arrays of document numbers.
+ */
+static int[] union(int[] numbers1, int[] numbers2) {
+	int length1 = numbers1.length, length2 = numbers2.length;
+	if (length1 == 0) return numbers2;
+	if (length2 == 0) return numbers1;
+	int[] result = new int[length1 + length2];
+	int i = 0, j = 0, count = 0;
+	while (i < length1 && j < length2) {
+		int number1 = numbers1[i], number2 = numbers2[j];
+		if (number1 < number2) {
+			result[count++] = number1;
+			i++;
+		} else if (number1 > number2) {
+			result[count++] = number2;
+			j++;
+		} else {
+			result[count++] = number1;
+			i++;
+			j++;
+		}
+	}
+	while (i < length1)
+		result[count++] = numbers1[i++];
+	while (j < length2)
+		result[count++] = numbers2[j++];
+	if (count < result.length)
+		System.arraycopy(result, 0, result = new int[count], 0, count);
+	return result;
+}
+
+static int readVarInt(ByteBuffer buffer, int index) {
+	int value = 0;
+	int shift = 0;
+	byte b;
+	do {
+		b = buffer.get(index++);
+		value |= (b & 0x7F) << shift;
+		shift += 7;
+	} while (b < 0);
+	return value;
+}
+
+static int varIntSize(int value) {
+	int size = 1;
+	while ((value >>>= 7) != 0)
+		size++;
+	return size;
+}
+
+static int writeVarInt(byte[] bytes, int index, int value) {
+	while ((value & ~0x7F) != 0) {
+		bytes[index++] = (byte) ((value & 0x7F) | 0x80);
+		value >>>= 7;
+	}
+	bytes[index++] = (byte) value;
+	return index;
+}
+}
@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.index;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.eclipse.jdt.core.compiler.CharOperation;
+
+/**
+ * The results of the last queries of the disk index of an index, least recently used first.
+ * <p>
+ * Only the results of queries of the disk index are cached: their document names are read from the disk
+ * index when asked for, so the cached results are shared by the queries. The cache must be cleared when the
+ * disk index is replaced.
+ */
+final class QueryResultCache {
+
+/**
+ * The maximum number of query results cached per index, 0 to disable the cache.
+ */
+static final int SIZE = Integer.getInteger("org.eclipse.jdt.core.index.queryCacheSize", 32).intValue(); //$NON-NLS-1$
+/**
+ * Results with more entries are not cached, they would keep too many words in memory.
+ */
+static final int MAX_ENTRIES = 1000;
+
+private static final class Query {
+	final char[][] categories;
+	final char[] key;
+	final int matchRule;
+	final int hashCode;
+
+	Query(char[][] categories, char[] key, int matchRule) {
+		this.categories = categories;
+		this.key = key;
+		this.matchRule = matchRule;
+		int hash = matchRule;
+		for (char[] category : categories)
+			hash = 31 * hash + CharOperation.hashCode(category);
+		this.hashCode = 31 * hash + CharOperation.hashCode(key);
+	}
+	@Override
+	public boolean equals(Object o) {
+		if (!(o instanceof Query))
+			return false;
+		Query other = (Query) o;
+		return this.matchRule == other.matchRule
+				&& CharOperation.equals(this.key, other.key)
+				&& CharOperation.equals(this.categories, other.categories);
+	}
+	@Override
+	public int hashCode() {
+		return this.hashCode;
+	}
+}
+
+private final Map<Query, EntryResult[]> results = new LinkedHashMap<>(16, 0.75f, true) {
+	private static final long serialVersionUID = 1L;
+	@Override
+	protected boolean removeEldestEntry(Map.Entry<Query, EntryResult[]> eldest) {
+		return size() > SIZE;
+	}
+};
+private long hits;
+private long misses;
+
+/**
+ * Answers whether the results of a query of the given key may be cached.
+ */
+static boolean isCacheable(char[] key) {
+	// the queries of all the words of categories have too many results
+	return SIZE > 0 && key != null;
+}
+
+/**
+ * Answers the cached results of the given query, an empty array if there were none, or null if the query is
+ * not cached.
+ */
+synchronized EntryResult[] get(char[][] categories, char[] key, int matchRule) {
+	EntryResult[] entryResults = this.results.get(new Query(categories, key, matchRule));
+	if (entryResults == null) {
+		this.misses++;
+		return null;
+	}
+	this.hits++;
+	return entryResults;
+}
+
+synchronized void put(char[][] categories, char[] key, int matchRule, EntryResult[] entryResults) {
+	if (entryResults.length <= MAX_ENTRIES)
+		this.results.put(new Query(categories.clone(), key.clone(), matchRule), entryResults);
+}
+
+synchronized void clear() {
+	if (!this.results.isEmpty())
+		this.results.clear();
+}
+
+synchronized long getHits() {
+	return this.hits;
+}
+
+synchronized long getMisses() {
+	return this.misses;
+}
+}
@@ -22,6 +22,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
@@ -621,6 +622,29 @@ public class BasicSearchEngine {
 		}
 		findMatches(pattern, participants, scope, requestor, monitor);
 	}
+	/**
+	 * Searches for matches of a given search pattern until the given condition holds for a reported match.
+	 *
+	 * @see SearchEngine#search(SearchPattern, SearchParticipant[], IJavaSearchScope, SearchRequestor, Predicate, IProgressMonitor)
+	 * 	for detailed comment
+	 */
+	public boolean search(SearchPattern pattern, SearchParticipant[] participants, IJavaSearchScope scope, SearchRequestor requestor, Predicate<SearchMatch> stopCondition, IProgressMonitor monitor) throws CoreException {
+		if (VERBOSE) {
+			trace("BasicSearchEngine.search(SearchPattern, SearchParticipant[], IJavaSearchScope, SearchRequestor, Predicate, IProgressMonitor)"); //$NON-NLS-1$
+		}
+		LimitedSearchRequestor limitedRequestor = new LimitedSearchRequestor(requestor, stopCondition);
+		try {
+			findMatches(pattern, participants, scope, limitedRequestor, limitedRequestor.wrap(monitor));
+		} catch (OperationCanceledException e) {
+			// the search was stopped because the condition held, unless the client canceled it too
+			if (!limitedRequestor.isStopped() || (monitor != null && monitor.isCanceled()))
+				throw e;
+			if (VERBOSE) {
+				trace("Search stopped after the requested matches"); //$NON-NLS-1$
+			}
+		}
+		return !limitedRequestor.isStopped();
+	}
 
 	public void searchAllConstructorDeclarations(
 			final char[] packageName,
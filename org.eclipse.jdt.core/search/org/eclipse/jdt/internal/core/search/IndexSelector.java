@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -302,9 +302,10 @@ public IndexLocation[] getIndexLocations() {
 	}
 
 	IndexLocation[] filtered = this.indexLocations;
-	if(this.pattern != null && this.pattern.indexQualifierQuery != null && this.pattern.indexQualifierQuery.length > 0) {
+	char[] indexQualifierQuery = this.pattern == null ? null : MatchLocator.getIndexQualifierQuery(this.pattern);
+	if(indexQualifierQuery != null && indexQualifierQuery.length > 0) {
 		Optional<Set<String>> indexNamesResult = JavaModelManager.getIndexManager()
-				.findMatchingIndexNames(QualifierQuery.fromEncodedQuery(this.pattern.indexQualifierQuery));
+				.findMatchingIndexNames(QualifierQuery.fromEncodedQuery(indexQualifierQuery));
 		if(indexNamesResult.isPresent()) {
 			Set<String> indexNames = indexNamesResult.get();
 			filtered = Stream.of(this.indexLocations).filter(l -> indexNames.contains(l.fileName()))
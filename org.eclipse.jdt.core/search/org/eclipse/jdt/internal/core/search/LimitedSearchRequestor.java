@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.search;
+
+import java.util.function.Predicate;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.ProgressMonitorWrapper;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchParticipant;
+import org.eclipse.jdt.core.search.SearchRequestor;
+
+/**
+ * Forwards the matches of a search to a client requestor until a stop condition holds for one of them.
+ * <p>
+ * The search is stopped through the progress monitor returned by {@link #wrap(IProgressMonitor)}, which is
+ * canceled from then on: index queries, the search job and the match locator check it regularly. The
+ * matches that are still reported while the search stops are not forwarded.
+ */
+public class LimitedSearchRequestor extends SearchRequestor {
+
+	private final SearchRequestor requestor;
+	private final Predicate<SearchMatch> stopCondition;
+	private volatile boolean stopped;
+
+	public LimitedSearchRequestor(SearchRequestor requestor, Predicate<SearchMatch> stopCondition) {
+		this.requestor = requestor;
+		this.stopCondition = stopCondition;
+	}
+
+	/**
+	 * Answers a predicate that holds once it was tested with the given number of matches.
+	 */
+	public static Predicate<SearchMatch> maxMatches(int maxMatches) {
+		if (maxMatches <= 0)
+			throw new IllegalArgumentException("maxMatches must be positive: " + maxMatches); //$NON-NLS-1$
+		int[] count = new int[1];
+		return match -> ++count[0] >= maxMatches;
+	}
+
+	@Override
+	public void acceptSearchMatch(SearchMatch match) throws CoreException {
+		if (this.stopped)
+			return;
+		this.requestor.acceptSearchMatch(match);
+		if (this.stopCondition.test(match))
+			this.stopped = true;
+	}
+
+	@Override
+	public void beginReporting() {
+		this.requestor.beginReporting();
+	}
+
+	@Override
+	public void endReporting() {
+		this.requestor.endReporting();
+	}
+
+	@Override
+	public void enterParticipant(SearchParticipant participant) {
+		this.requestor.enterParticipant(participant);
+	}
+
+	@Override
+	public void exitParticipant(SearchParticipant participant) {
+		this.requestor.exitParticipant(participant);
+	}
+
+	/**
+	 * Answers whether the stop condition held for a match.
+	 */
+	public boolean isStopped() {
+		return this.stopped;
+	}
+
+	/**
+	 * Answers a monitor that reports the progress to the given one, and that is canceled once the search
+	 * must stop.
+	 */
+	public IProgressMonitor wrap(IProgressMonitor monitor) {
+		return new ProgressMonitorWrapper(monitor == null ? new NullProgressMonitor() : monitor) {
+			@Override
+			public boolean isCanceled() {
+				return LimitedSearchRequestor.this.stopped || super.isCanceled();
+			}
+		};
+	}
+}
@@ -160,6 +160,8 @@ public class AddJrtToIndex extends BinaryContainer {
 			if (added) return true;
 			this.indexFileURL = null;
 		}
+		if (this.indexFileURL == null && !this.forceIndexUpdate && this.manager.addSharedIndex(this.containerPath, this.resource))
+			return true;
 
 		try {
 			// if index is already cached, then do not perform any check
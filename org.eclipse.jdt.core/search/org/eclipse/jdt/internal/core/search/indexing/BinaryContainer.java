@@ -26,8 +26,14 @@ public abstract class BinaryContainer extends IndexRequest {
 		super(containerPath, manager);
 	}
 
-	private boolean isIdentifier() throws InvalidInputException {
-		switch(this.scanner.scanIdentifier()) {
+	@Override
+	public boolean canRunConcurrently() {
+		// a library has its own index, which is not updated by other kinds of jobs
+		return true;
+	}
+
+	private static boolean isIdentifier(Scanner scanner) throws InvalidInputException {
+		switch(scanner.scanIdentifier()) {
 			// assert and enum will not be recognized as java identifiers
 			// in 1.7 mode, which are in 1.3.
 			case TokenNameIdentifier:
@@ -39,24 +45,29 @@ public abstract class BinaryContainer extends IndexRequest {
 		}
 	}
 	protected boolean isValidPackageNameForClassOrisModule(String className) {
+		if (this.scanner == null)
+			this.scanner = createScanner();
+		return isValidPackageNameForClassOrisModule(className, this.scanner);
+	}
+	static Scanner createScanner() {
+		// use ClassFileConstants.getLatestJDKLevel() as the source level as there are more valid tokens in latest JLS mode
+		// https://bugs.eclipse.org/bugs/show_bug.cgi?id=376673
+		return new Scanner(false /* comment */, true /* whitespace */, false /* nls */,
+				ClassFileConstants.getLatestJDKLevel()/* sourceLevel */, null/* taskTag */, null/* taskPriorities */, true /* taskCaseSensitive */);
+	}
+	static boolean isValidPackageNameForClassOrisModule(String className, Scanner scanner) {
 		if (className.substring(0, className.length() - (SuffixConstants.SUFFIX_CLASS.length)).equals(new String(IIndexConstants.MODULE_INFO)))
 			return true;
 		char[] classNameArray = className.toCharArray();
-		// use ClassFileConstants.getLatestJDKLevel() as the source level as there are more valid tokens in latest JLS mode
-		// https://bugs.eclipse.org/bugs/show_bug.cgi?id=376673
-		if (this.scanner == null)
-			this.scanner = new Scanner(false /* comment */, true /* whitespace */, false /* nls */,
-					ClassFileConstants.getLatestJDKLevel()/* sourceLevel */, null/* taskTag */, null/* taskPriorities */, true /* taskCaseSensitive */);
-
-		this.scanner.setSource(classNameArray);
-		this.scanner.eofPosition = classNameArray.length - SuffixConstants.SUFFIX_CLASS.length;
+		scanner.setSource(classNameArray);
+		scanner.eofPosition = classNameArray.length - SuffixConstants.SUFFIX_CLASS.length;
 		try {
-			if (isIdentifier()) {
-				while (this.scanner.eofPosition > this.scanner.currentPosition) {
-					if (this.scanner.getNextChar() != '/' || this.scanner.eofPosition <= this.scanner.currentPosition) {
+			if (isIdentifier(scanner)) {
+				while (scanner.eofPosition > scanner.currentPosition) {
+					if (scanner.getNextChar() != '/' || scanner.eofPosition <= scanner.currentPosition) {
 						return false;
 					}
-					if (!isIdentifier()) return false;
+					if (!isIdentifier(scanner)) return false;
 				}
 				return true;
 			}
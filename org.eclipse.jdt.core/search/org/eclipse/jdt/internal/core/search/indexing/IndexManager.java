@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -61,14 +61,17 @@ import org.eclipse.jdt.internal.core.ClasspathEntry;
 import org.eclipse.jdt.internal.core.JavaModel;
 import org.eclipse.jdt.internal.core.JavaModelManager;
 import org.eclipse.jdt.internal.core.JavaProject;
+import org.eclipse.jdt.internal.core.index.BloomFilter;
 import org.eclipse.jdt.internal.core.index.DiskIndex;
 import org.eclipse.jdt.internal.core.index.EntryResult;
 import org.eclipse.jdt.internal.core.index.FileIndexLocation;
 import org.eclipse.jdt.internal.core.index.Index;
 import org.eclipse.jdt.internal.core.index.IndexLocation;
+import org.eclipse.jdt.internal.core.index.IndexMetricsRecorder;
 import org.eclipse.jdt.internal.core.index.IndexQualifier;
 import org.eclipse.jdt.internal.core.index.MetaIndex;
 import org.eclipse.jdt.internal.core.search.BasicSearchEngine;
+import org.eclipse.jdt.internal.core.search.JavaSearchParticipant;
 import org.eclipse.jdt.internal.core.search.PatternSearchJob;
 import org.eclipse.jdt.internal.core.search.indexing.QualifierQuery.QueryCategory;
 import org.eclipse.jdt.internal.core.search.processing.IJob;
@@ -133,6 +136,14 @@ public class IndexManager extends JobManager implements IIndexConstants {
 	private SimpleLookupTable participantsContainers;
 	/** synchronized by IndexManager.this */
 	private boolean participantUpdated;
+	/**
+	 * The waiting requests indexing or removing a single document, keyed by the container path and the document path.
+	 * A new request for the same document supersedes the waiting one, since it runs later and determines the final
+	 * state of the document in the index (e.g. when a checkout or a refresh reports the same file several times).
+	 * <br>
+	 * synchronized by IndexManager.this
+	 */
+	private final Map<String, IndexRequest> waitingDocumentRequests = new HashMap<>();
 	private volatile MetaIndex metaIndex;
 
 	// should JDT manage (update, delete as needed) pre-built indexes?
@@ -532,6 +543,7 @@ public synchronized Index[] getIndexes(IndexLocation[] locations, IProgressMonit
 					// non jar files indexes (i.e. containing sources) need to be rebuilt.
 					// see bug https://bugs.eclipse.org/bugs/show_bug.cgi?id=286379
 					File indexFile = index.getIndexFile();
+					index.release();
 					if (indexFile.exists()) {
 						if (DEBUG)
 							trace("Change in javaLikeNames - removing index file for " + containerPath ); //$NON-NLS-1$
@@ -659,11 +671,13 @@ private boolean hasJavaLikeNamesChanged() {
 	return false;
 }
 public void indexDocument(SearchDocument searchDocument, SearchParticipant searchParticipant, Index index, IPath indexLocation) {
+	long start = System.nanoTime();
 	try {
 		searchDocument.setIndex(index);
 		searchParticipant.indexDocument(searchDocument, indexLocation);
 	} finally {
 		searchDocument.setIndex(null);
+		IndexMetricsRecorder.documentIndexed(index.containerPath, searchDocument.getPath(), System.nanoTime() - start);
 	}
 }
 public void indexResolvedDocument(SearchDocument searchDocument, SearchParticipant searchParticipant, Index index, IPath indexLocation) {
@@ -782,6 +796,57 @@ synchronized boolean addIndex(IPath containerPath, IndexLocation indexFile) {
 	return true;
 }
 
+/**
+ * Use the index of the given library from the shared index store instead of indexing it, unless the library
+ * was already indexed in this workspace. Answers whether the shared index was added.
+ *
+ * @param resource the library if it is in the workspace, null if it is external
+ * @see SharedIndexStore
+ */
+boolean addSharedIndex(IPath containerPath, IFile resource) {
+	SharedIndexStore store = SharedIndexStore.getDefault();
+	if (store == null)
+		return false;
+	IndexLocation current;
+	synchronized (this) {
+		current = computeIndexLocation(containerPath);
+	}
+	boolean currentIsShared = store.contains(current.getIndexFile());
+	if (!currentIsShared && current.exists())
+		return false; // indexed in this workspace
+
+	IndexLocation sharedLocation = null;
+	File library = resource == null ? containerPath.toFile() : resource.getLocation() == null ? null : resource.getLocation().toFile();
+	if (library != null && library.isFile()) {
+		try {
+			File sharedIndexFile = store.getIndexFile(library);
+			if (sharedIndexFile != null && sharedIndexFile.isFile())
+				sharedLocation = new FileIndexLocation(sharedIndexFile);
+		} catch (IOException e) {
+			if (VERBOSE)
+				trace("-> cannot look up " + library + " in the shared index store", e); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+	if (currentIsShared && !current.equals(sharedLocation)) {
+		// the library changed since its shared index was added, make sure the store is never updated
+		removeIndex(containerPath);
+	}
+	if (sharedLocation == null)
+		return false;
+
+	Index index;
+	synchronized (this) {
+		if (!addIndex(containerPath, sharedLocation))
+			return false;
+		index = getIndex(sharedLocation);
+	}
+	if (VERBOSE)
+		trace("-> reusing shared index " + sharedLocation + " for " + containerPath); //$NON-NLS-1$ //$NON-NLS-2$
+	if (index != null)
+		updateMetaIndex(index);
+	return true;
+}
+
 /**
  * Index the content of the given source folder.
  */
@@ -800,19 +865,29 @@ public synchronized void jobWasCancelled(IPath containerPath) {
 	Index index = getIndex(indexLocation);
 	if (index != null) {
 		index.monitor = null;
+		index.release();
 		this.indexes.removeKey(indexLocation);
 	}
 	updateIndexState(indexLocation, UNKNOWN_STATE);
 }
 /**
- * Advance to the next available job, once the current one has been completed.
+ * Remove the given job from the queue once it has been completed.
  * Note: clients awaiting until the job count is zero are still waiting at this point.
  */
 @Override
-protected synchronized void moveToNextJob() {
+protected synchronized void finishJob(IJob job) {
 	// remember that one job was executed, and we will need to save indexes at some point
 	this.needToSave = true;
-	super.moveToNextJob();
+	if (job instanceof IndexRequest request && request.documentKey != null)
+		this.waitingDocumentRequests.remove(request.documentKey, request);
+	super.finishJob(job);
+}
+@Override
+public void discardJobs(String jobFamily) {
+	super.discardJobs(jobFamily);
+	synchronized (this) {
+		this.waitingDocumentRequests.values().removeIf(request -> jobFamily == null || request.belongsTo(jobFamily));
+	}
 }
 /**
  * No more job awaiting.
@@ -887,6 +962,8 @@ public synchronized Index recreateIndex(IPath containerPath) {
 		IndexLocation indexLocation = computeIndexLocation(containerPath);
 		Index index = getIndex(indexLocation);
 		ReadWriteMonitor monitor = index == null ? null : index.monitor;
+		if (index != null)
+			index.release();
 
 		if (VERBOSE)
 			trace("-> recreating index: "+indexLocation+" for path: "+containerPathString); //$NON-NLS-1$ //$NON-NLS-2$
@@ -909,7 +986,21 @@ public synchronized Index recreateIndex(IPath containerPath) {
 public void remove(String containerRelativePath, IPath indexedContainer){
 	// New index is disabled, see bug 544898
 	// this.indexer.makeWorkspacePathDirty(indexedContainer);
-	request(new RemoveFromIndex(containerRelativePath, indexedContainer, this));
+	requestDocumentJob(new RemoveFromIndex(containerRelativePath, indexedContainer, this), indexedContainer, indexedContainer.append(containerRelativePath).toString());
+}
+/*
+ * Requests the given job indexing or removing the given document, cancelling the waiting job for the same document if any.
+ */
+private synchronized void requestDocumentJob(IndexRequest request, IPath containerPath, String documentPath) {
+	request.documentKey = containerPath.toString() + '|' + documentPath;
+	IndexRequest superseded = this.waitingDocumentRequests.put(request.documentKey, request);
+	if (superseded != null) {
+		// no need to tag the index as inconsistent, the new request will update it
+		superseded.isCancelled = true;
+		if (VERBOSE)
+			trace("-> superseding background job - " + superseded); //$NON-NLS-1$
+	}
+	request(request);
 }
 /**
  * Removes the index for a given path.
@@ -927,6 +1018,7 @@ public void removeIndex(IPath containerPath) {
 		index = getIndex(indexLocation);
 		if (index != null) {
 			index.monitor = null;
+			index.release();
 			indexFile = index.getIndexFile();
 		}
 		if (indexFile == null)
@@ -992,6 +1084,7 @@ public void removeIndexPath(IPath path) {
 					this.metaIndexUpdates.remove(index);
 				}
 				index.monitor = null;
+				index.release();
 				if (locations == null)
 					locations = new IndexLocation[max];
 				locations[count++] = indexLocation;
@@ -1253,7 +1346,7 @@ public void scheduleDocumentIndexing(final SearchDocument searchDocument, IPath
 //	if (targetLocation != null) {
 //		 this.indexer.makeDirty(targetLocation);
 //	}
-	request(new IndexRequest(container, this) {
+	IndexRequest request = new IndexRequest(container, this) {
 		@Override
 		public boolean execute(IProgressMonitor progressMonitor) {
 			if (this.isCancelled || progressMonitor != null && progressMonitor.isCanceled()) return true;
@@ -1284,7 +1377,13 @@ public void scheduleDocumentIndexing(final SearchDocument searchDocument, IPath
 		public boolean waitNeeded() {
 			return false;
 		}
-	});
+	};
+	if (searchParticipant instanceof JavaSearchParticipant) {
+		// the Java participant removes the previous entries of a document before indexing it again
+		requestDocumentJob(request, container, searchDocument.getPath());
+	} else {
+		request(request);
+	}
 }
 
 @Override
@@ -1538,6 +1637,7 @@ public Optional<Set<String>> findMatchingIndexNames(QualifierQuery query) {
 		try {
 			List<char[]> qualifiedCategories = new ArrayList<>(2);
 			List<char[]> simpleCategories = new ArrayList<>(2);
+			boolean filterNames = false;
 
 			for (QueryCategory cat : query.getCategories()) {
 				if(cat == QueryCategory.REF) {
@@ -1546,6 +1646,8 @@ public Optional<Set<String>> findMatchingIndexNames(QualifierQuery query) {
 				} else if(cat == QueryCategory.SUPER) {
 					qualifiedCategories.add(META_INDEX_QUALIFIED_SUPER_TYPE_QUALIFIER_REF);
 					simpleCategories.add(META_INDEX_SIMPLE_SUPER_TYPE_QUALIFIER_REF);
+				} else if(cat == QueryCategory.METHOD_REF || cat == QueryCategory.NAME_REF) {
+					filterNames = true;
 				}
 			}
 
@@ -1553,23 +1655,34 @@ public Optional<Set<String>> findMatchingIndexNames(QualifierQuery query) {
 			if(query.getQualifiedKey().length > 0) {
 				results.addAll(runQuery(mindex, qualifiedCategories.toArray(new char[0][]), query.getQualifiedKey()));
 			}
-			results.addAll(runQuery(mindex, simpleCategories.toArray(new char[0][]), query.getSimpleKey()));
+			if(!simpleCategories.isEmpty()) {
+				results.addAll(runQuery(mindex, simpleCategories.toArray(new char[0][]), query.getSimpleKey()));
+			}
+			if (filterNames) {
+				// each index has a single filter of the names it references
+				for (EntryResult result : runQuery(mindex, new char[][] { META_INDEX_NAME_REF_FILTER }, null)) {
+					if (BloomFilter.mightContain(result.getWord(), query.getSimpleKey()))
+						results.add(result);
+				}
+			}
 
 			Set<String> indexesNotInMeta;
+			Set<String> changedIndexes;
 			synchronized (this) {
 				indexesNotInMeta = mindex.getIndexesNotInMeta(this.indexes);
+				changedIndexes = getIndexesChangedSinceMetaIndexUpdate();
 			}
 			if (VERBOSE) {
-				trace("-> not in meta-index: " + indexesNotInMeta.size() + ", in: "+results.size() + " for query " + query); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				trace("-> not in meta-index: " + indexesNotInMeta.size() + ", changed: " + changedIndexes.size() + ", in: "+results.size() + " for query " + query); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
 			}
 			final Index i = mindex.getIndex();
-			return Optional.of(Stream.concat(indexesNotInMeta.stream(), results.stream().flatMap(r -> {
+			return Optional.of(Stream.of(indexesNotInMeta.stream(), changedIndexes.stream(), results.stream().flatMap(r -> {
 				try {
 					return Stream.of(r.getDocumentNames(i));
 				} catch (IOException e) {
 					return Stream.empty();
 				}
-			})).collect(Collectors.toSet()));
+			})).flatMap(names -> names).collect(Collectors.toSet()));
 		} finally {
 			mindex.stopQuery();
 			monitor.exitRead();
@@ -1584,6 +1697,21 @@ public Optional<Set<String>> findMatchingIndexNames(QualifierQuery query) {
 		}
 	}
 }
+/*
+ * The names of the indexes whose words may not be in the meta index yet: the meta index is updated once
+ * an index is saved, while searches also find the words added to an index since then.
+ */
+private Set<String> getIndexesChangedSinceMetaIndexUpdate() {
+	Set<String> names = new HashSet<>();
+	for (Object value : this.indexes.valueTable) {
+		if (value instanceof Index index && (index.hasChanged() || this.metaIndexUpdates.contains(index))) {
+			File indexFile = index.getIndexFile();
+			if (indexFile != null)
+				names.add(indexFile.getName());
+		}
+	}
+	return names;
+}
 private List<EntryResult> runQuery(MetaIndex index, char[][] categories, char[] key) throws IOException {
 	EntryResult[] result = index.query(categories, key,
 			SearchPattern.R_EXACT_MATCH | SearchPattern.R_CASE_SENSITIVE);
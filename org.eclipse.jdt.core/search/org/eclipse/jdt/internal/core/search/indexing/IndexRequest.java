@@ -20,6 +20,8 @@ public abstract class IndexRequest implements IJob {
 	protected volatile boolean isCancelled;
 	protected IPath containerPath;
 	protected IndexManager manager;
+	// the key of the single document indexed or removed by this request, null if the request concerns a whole container
+	String documentKey;
 
 	public IndexRequest(IPath containerPath, IndexManager manager) {
 		this.containerPath = containerPath;
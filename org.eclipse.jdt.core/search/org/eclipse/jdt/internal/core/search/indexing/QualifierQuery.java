@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 Gayan Perera and others.
+ * Copyright (c) 2021, 2026 Gayan Perera and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,7 +24,11 @@ public final class QualifierQuery {
 
 	public enum QueryCategory {
 		SUPER,
-		REF;
+		REF,
+		/** the selector of a method reference */
+		METHOD_REF,
+		/** a referenced name, such as the name of a field reference */
+		NAME_REF;
 
 		public static QueryCategory[] fromEncoded(char[][] encoded) {
 			return Stream.of(encoded).map(c -> QueryCategory.valueOf(String.valueOf(c))).toArray(QueryCategory[]::new);
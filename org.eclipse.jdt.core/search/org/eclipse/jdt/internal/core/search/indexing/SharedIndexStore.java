@@ -0,0 +1,225 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.search.indexing;
+
+import static org.eclipse.jdt.internal.compiler.util.Util.isJrt;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Enumeration;
+import java.util.HexFormat;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchDocument;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchParticipant;
+import org.eclipse.jdt.internal.compiler.env.AutomaticModuleNaming;
+import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
+import org.eclipse.jdt.internal.compiler.parser.Scanner;
+import org.eclipse.jdt.internal.compiler.util.JRTUtil;
+import org.eclipse.jdt.internal.compiler.util.Util;
+import org.eclipse.jdt.internal.core.index.DiskIndex;
+import org.eclipse.jdt.internal.core.index.FileIndexLocation;
+import org.eclipse.jdt.internal.core.index.Index;
+import org.eclipse.jdt.internal.core.search.JavaSearchDocument;
+
+/**
+ * A directory of pre-built indexes of jars and JDKs, shared by several workspaces. The store of the running
+ * instance is given by the {@value #STORE_PROPERTY} system property.
+ * <p>
+ * Indexes are named after the SHA-256 of what they depend on: the content and the automatic module name of a jar,
+ * or the <code>release</code> file of a JDK, which gives its version, its vendor and its modules. The version of
+ * the index format is part of the name too. The document names of these indexes are relative to their library,
+ * so that an index can be used for any copy of the library.
+ * <p>
+ * The index manager never writes into the store: its indexes are used as is, like the pre-built indexes given
+ * by the classpath (see {@link IndexManager#addSharedIndex(IPath, org.eclipse.core.resources.IFile)}). The
+ * store is populated by the <code>org.eclipse.jdt.core.JavaIndexer</code> application.
+ */
+public final class SharedIndexStore {
+
+	public static final String STORE_PROPERTY = "org.eclipse.jdt.core.sharedIndexStore"; //$NON-NLS-1$
+
+	private static volatile SharedIndexStore defaultStore;
+
+	private static final String INDEX_SUFFIX = ".index"; //$NON-NLS-1$
+	private static final char JAR_SEPARATOR = IJavaSearchScope.JAR_FILE_ENTRY_SEPARATOR.charAt(0);
+
+	private final File directory;
+
+	public SharedIndexStore(File directory) {
+		this.directory = directory.getAbsoluteFile();
+	}
+
+	/**
+	 * Answers the store configured for this instance, or null if there is none.
+	 */
+	public static SharedIndexStore getDefault() {
+		String directory = System.getProperty(STORE_PROPERTY);
+		if (directory == null || directory.isEmpty())
+			return null;
+		SharedIndexStore store = defaultStore;
+		if (store == null || !store.directory.equals(new File(directory).getAbsoluteFile()))
+			defaultStore = store = new SharedIndexStore(new File(directory));
+		return store;
+	}
+
+	/**
+	 * Answers whether the given index file is one of the indexes of this store.
+	 */
+	public boolean contains(File indexFile) {
+		return indexFile != null && this.directory.equals(indexFile.getAbsoluteFile().getParentFile());
+	}
+
+	/**
+	 * Answers the file of the index of the given jar or <code>jrt-fs.jar</code> of a JDK in this store, or null if
+	 * the library cannot be identified. The file only exists if the library was added to the store.
+	 */
+	public File getIndexFile(File library) throws IOException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			throw new IOException(e);
+		}
+		if (isJrt(library.getName())) {
+			File home = library.getAbsoluteFile().getParentFile().getParentFile(); // <home>/lib/jrt-fs.jar
+			File release = home == null ? null : new File(home, "release"); //$NON-NLS-1$
+			if (release == null || !release.isFile())
+				return null;
+			digest.update(Files.readAllBytes(release.toPath()));
+		} else {
+			byte[] buffer = new byte[8192];
+			try (InputStream input = new FileInputStream(library)) {
+				int read;
+				while ((read = input.read(buffer)) != -1)
+					digest.update(buffer, 0, read);
+			}
+			// the index of a jar without module-info.class contains its automatic module name, see AddJarFileToIndex
+			char[] automaticModuleName = AutomaticModuleNaming.determineAutomaticModuleName(library.getAbsolutePath());
+			digest.update(new String(automaticModuleName).getBytes(StandardCharsets.UTF_8));
+		}
+		digest.update(DiskIndex.INDEX_VERSION.getBytes(StandardCharsets.UTF_8));
+		return new File(this.directory, HexFormat.of().formatHex(digest.digest()) + INDEX_SUFFIX);
+	}
+
+	/**
+	 * Indexes the given jar or <code>jrt-fs.jar</code> of a JDK into this store, unless the store already has
+	 * an index of it. The index is written to a temporary file first, so that workspaces never see a partial index.
+	 *
+	 * @return whether an index was added
+	 */
+	public boolean add(File library) throws IOException {
+		File indexFile = getIndexFile(library);
+		if (indexFile == null || indexFile.exists())
+			return false;
+		Files.createDirectories(this.directory.toPath());
+		File tempFile = File.createTempFile(indexFile.getName(), ".tmp", this.directory); //$NON-NLS-1$
+		try {
+			Index index = new Index(new FileIndexLocation(tempFile), library.getAbsolutePath(), false /*do not reuse index file*/);
+			index.separator = JAR_SEPARATOR;
+			if (isJrt(library.getName()))
+				indexJrt(library, index);
+			else
+				indexJar(library, index);
+			index.save();
+			try {
+				Files.move(tempFile.toPath(), indexFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tempFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+			return true;
+		} finally {
+			Files.deleteIfExists(tempFile.toPath());
+		}
+	}
+
+	/*
+	 * Same documents as AddJarFileToIndex.
+	 */
+	private static void indexJar(File jar, Index index) throws IOException {
+		SearchParticipant participant = SearchEngine.getDefaultSearchParticipant();
+		IPath jarPath = new Path(jar.getAbsolutePath());
+		Scanner scanner = BinaryContainer.createScanner();
+		boolean hasModuleInfoClass = false;
+		try (ZipFile zip = new ZipFile(jar)) {
+			for (Enumeration<? extends ZipEntry> e = zip.entries(); e.hasMoreElements();) {
+				ZipEntry ze = e.nextElement();
+				String zipEntryName = ze.getName();
+				if (Util.isClassFileName(zipEntryName) && BinaryContainer.isValidPackageNameForClassOrisModule(zipEntryName, scanner)) {
+					hasModuleInfoClass |= zipEntryName.contains(TypeConstants.MODULE_INFO_NAME_STRING);
+					byte[] classFileBytes = Util.getZipEntryByteContent(ze, zip);
+					indexDocument(new JavaSearchDocument(ze, jarPath, classFileBytes, participant), participant, index);
+				}
+			}
+		}
+		if (!hasModuleInfoClass) {
+			char[] autoModuleName = AutomaticModuleNaming.determineAutomaticModuleName(jar.getAbsolutePath());
+			char[] contents = CharOperation.append(CharOperation.append(TypeConstants.AUTOMATIC_MODULE_NAME.toCharArray(), ':'), autoModuleName);
+			ZipEntry ze = new ZipEntry(TypeConstants.AUTOMATIC_MODULE_NAME);
+			indexDocument(new JavaSearchDocument(ze, jarPath, new String(contents).getBytes(Charset.defaultCharset()), participant), participant, index);
+		}
+	}
+
+	/*
+	 * Same documents as AddJrtToIndex.
+	 */
+	private static void indexJrt(File jrt, Index index) throws IOException {
+		SearchParticipant participant = SearchEngine.getDefaultSearchParticipant();
+		String jrtPath = new Path(jrt.getAbsolutePath()).toString();
+		Scanner scanner = BinaryContainer.createScanner();
+		JRTUtil.walkModuleImage(jrt, new JRTUtil.JrtFileVisitor<java.nio.file.Path>() {
+			@Override
+			public FileVisitResult visitFile(java.nio.file.Path path, java.nio.file.Path mod, BasicFileAttributes attrs) throws IOException {
+				String name = JRTUtil.sanitizedFileName(path);
+				if (Util.isClassFileName(name) && BinaryContainer.isValidPackageNameForClassOrisModule(name, scanner)) {
+					String fullPath = path.toString();
+					byte[] classFileBytes = JRTUtil.getClassfileContent(jrt, fullPath, mod.toString());
+					String documentPath = jrtPath + JAR_SEPARATOR + mod.toString() + JAR_SEPARATOR + fullPath;
+					indexDocument(new JavaSearchDocument(documentPath, classFileBytes, participant), participant, index);
+				}
+				return FileVisitResult.CONTINUE;
+			}
+		}, JRTUtil.NOTIFY_FILES);
+	}
+
+	private static void indexDocument(SearchDocument document, SearchParticipant participant, Index index) {
+		try {
+			document.setIndex(index);
+			participant.indexDocument(document, index.getIndexLocation().getIndexPath());
+		} finally {
+			document.setIndex(null);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "Shared index store " + this.directory; //$NON-NLS-1$
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2025 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -81,7 +81,9 @@ import org.eclipse.jdt.internal.core.search.HierarchyScope;
 import org.eclipse.jdt.internal.core.search.IndexQueryRequestor;
 import org.eclipse.jdt.internal.core.search.IndexSelector;
 import org.eclipse.jdt.internal.core.search.JavaSearchDocument;
+import org.eclipse.jdt.internal.core.search.indexing.IndexManager;
 import org.eclipse.jdt.internal.core.search.indexing.QualifierQuery;
+import org.eclipse.jdt.internal.core.search.indexing.QualifierQuery.QueryCategory;
 import org.eclipse.jdt.internal.core.search.processing.JobManager;
 import org.eclipse.jdt.internal.core.util.ASTNodeFinder;
 import org.eclipse.jdt.internal.core.util.DeduplicationUtil;
@@ -91,6 +93,12 @@ import org.eclipse.jdt.internal.core.util.Util;
 public class MatchLocator implements ITypeRequestor {
 
 public static final int MAX_AT_ONCE;
+/**
+ * The system property giving the number of threads that locate the matches of a search, 1 by default.
+ * With more threads, the chunks of possible matches are resolved in parallel and their matches are
+ * reported in the same order as with one thread.
+ */
+public static final String THREADS_PROPERTY = "org.eclipse.jdt.core.search.matchLocatorThreads"; //$NON-NLS-1$
 static {
 	long maxMemory = Runtime.getRuntime().maxMemory();
 	int ratio = (int) Math.round(((double) maxMemory) / (64 * 0x100000));
@@ -165,6 +173,9 @@ private final boolean searchPackageDeclaration;
 private int sourceStartOfMethodToRetain;
 private int sourceEndOfMethodToRetain;
 
+// not null while the chunks of possible matches are located by several threads
+private ParallelMatchLocator parallelLocator;
+
 public static class WorkingCopyDocument extends JavaSearchDocument {
 	public org.eclipse.jdt.core.ICompilationUnit workingCopy;
 	WorkingCopyDocument(org.eclipse.jdt.core.ICompilationUnit workingCopy, SearchParticipant participant) {
@@ -231,6 +242,33 @@ public static void setIndexQualifierQuery(SearchPattern pattern, char[] queries)
 	pattern.indexQualifierQuery = queries;
 }
 
+/**
+ * Answers the qualifier query of the meta index which selects the indexes that may have matches of the given
+ * pattern, or null if all the indexes must be searched: the qualifier query set into the pattern, otherwise
+ * the selector of a search for method references or the name of a search for field references.
+ * @see IndexManager#findMatchingIndexNames(QualifierQuery)
+ */
+public static char[] getIndexQualifierQuery(SearchPattern pattern) {
+	if (pattern.indexQualifierQuery != null)
+		return pattern.indexQualifierQuery;
+	// the meta index has a filter of the exact selectors and names referenced by each index
+	int matchRule = pattern.getMatchRule();
+	if ((matchRule & SearchPattern.R_CASE_SENSITIVE) == 0
+			|| (matchRule & (SearchPattern.R_PREFIX_MATCH | SearchPattern.R_PATTERN_MATCH | SearchPattern.R_REGEXP_MATCH
+					| SearchPattern.R_CAMELCASE_MATCH | SearchPattern.R_CAMELCASE_SAME_PART_COUNT_MATCH
+					| SearchPattern.R_SUBSTRING_MATCH | SearchPattern.R_SUBWORD_MATCH)) != 0)
+		return null;
+	if (pattern instanceof MethodPattern methodPattern) {
+		if (methodPattern.findReferences && !methodPattern.findDeclarations && methodPattern.selector != null)
+			return QualifierQuery.encodeQuery(new QueryCategory[] { QueryCategory.METHOD_REF }, methodPattern.selector, QualifierQuery.NO_CHARS);
+	} else if (pattern instanceof FieldPattern fieldPattern) {
+		// field initializers are write accesses found with the field declarations
+		if (fieldPattern.findReferences && !fieldPattern.findDeclarations && !fieldPattern.writeAccess && fieldPattern.name != null)
+			return QualifierQuery.encodeQuery(new QueryCategory[] { QueryCategory.NAME_REF }, fieldPattern.name, QualifierQuery.NO_CHARS);
+	}
+	return null;
+}
+
 /*
  * Returns the working copies that can see the given focus.
  */
@@ -1394,7 +1432,10 @@ protected void locateMatches(JavaProject javaProject, PossibleMatchSet matchSet,
 	// locate matches (processed matches are limited to avoid problem while using VM default memory heap size)
 	for (int index = 0; index < length;) {
 		int max = Math.min(MAX_AT_ONCE, length - index);
-		locateMatches(javaProject, possibleMatches, index, max);
+		if (this.parallelLocator != null)
+			this.parallelLocator.submit(javaProject, possibleMatches, index, max);
+		else
+			locateMatches(javaProject, possibleMatches, index, max);
 		index += max;
 	}
 	this.patternLocator.clear();
@@ -1454,6 +1495,10 @@ public void locateMatches(SearchDocument[] searchDocuments) throws CoreException
 		// initialize pattern for polymorphic search (i.e. method reference pattern)
 		this.patternLocator.initializePolymorphicSearch(this);
 
+		int threads = Integer.getInteger(THREADS_PROPERTY, 1);
+		if (threads > 1 && ParallelMatchLocator.canLocateInParallel(this))
+			this.parallelLocator = new ParallelMatchLocator(this, threads);
+
 		JavaProject previousJavaProject = null;
 		PossibleMatchSet matchSet = new PossibleMatchSet();
 		Util.sort(searchDocuments, new Util.Comparer() {
@@ -1543,12 +1588,18 @@ public void locateMatches(SearchDocument[] searchDocuments) throws CoreException
 				// problem with classpath in last project -> ignore
 			}
 		}
+		if (this.parallelLocator != null)
+			this.parallelLocator.finish();
 
 		if (this.searchPackageDeclaration) {
 			locatePackageDeclarations(searchParticipant, javaModelProjects);
 		}
 
 	} finally {
+		if (this.parallelLocator != null) {
+			this.parallelLocator.shutdown();
+			this.parallelLocator = null;
+		}
 		if (this.progressMonitor != null)
 			this.progressMonitor.done();
 		if (this.nameEnvironment != null)
@@ -0,0 +1,232 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.search.matching;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.SearchRequestor;
+import org.eclipse.jdt.internal.core.JavaModelManager;
+import org.eclipse.jdt.internal.core.JavaProject;
+import org.eclipse.jdt.internal.core.search.HierarchyScope;
+import org.eclipse.jdt.internal.core.util.HandleFactory;
+
+/**
+ * Locates the matches of chunks of possible matches with several threads.
+ * <p>
+ * Each chunk is resolved like {@link MatchLocator#locateMatches(JavaProject, PossibleMatch[], int, int)}
+ * does, by a worker locator that has its own lookup environment. The matches found in a chunk are
+ * buffered and reported to the requestor of the search by the thread of the search, in the order the
+ * chunks were submitted, so that the matches are reported in the same order as a serial search.
+ */
+class ParallelMatchLocator {
+
+	/*
+	 * The matches found in a chunk, in the order they were found.
+	 */
+	private static class MatchBuffer extends SearchRequestor {
+		final List<SearchMatch> matches = new ArrayList<>();
+		@Override
+		public void acceptSearchMatch(SearchMatch match) {
+			this.matches.add(match);
+		}
+	}
+
+	private static class Chunk {
+		final Future<MatchBuffer> result;
+		final int length;
+		Chunk(Future<MatchBuffer> result, int length) {
+			this.result = result;
+			this.length = length;
+		}
+	}
+
+	private final MatchLocator locator;
+	private final int threads;
+	private final ExecutorService executor;
+	private final ConcurrentLinkedQueue<MatchLocator> idleWorkers = new ConcurrentLinkedQueue<>();
+	// chunks whose matches are not reported yet, in the order they were submitted
+	private final ArrayDeque<Chunk> chunks = new ArrayDeque<>();
+
+	ParallelMatchLocator(MatchLocator locator, int threads) {
+		this.locator = locator;
+		this.threads = threads;
+		AtomicInteger threadCount = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread t = new Thread(runnable, "Java search match locator #" + threadCount.incrementAndGet()); //$NON-NLS-1$
+			t.setDaemon(true);
+			return t;
+		});
+	}
+
+	/**
+	 * Answers whether the matches of the given locator can be located in parallel: the pattern and the scope
+	 * of the search must not share state between the possible matches.
+	 */
+	static boolean canLocateInParallel(MatchLocator locator) {
+		if (JavaSearchDelegateDiscovery.getInstance() != null)
+			return false;
+		if (locator.scope instanceof HierarchyScope)
+			return false;
+		return canLocateInParallel(locator.pattern);
+	}
+
+	private static boolean canLocateInParallel(SearchPattern pattern) {
+		if (pattern instanceof OrPattern) {
+			for (SearchPattern p : ((OrPattern) pattern).patterns) {
+				if (!canLocateInParallel(p))
+					return false;
+			}
+			return true;
+		}
+		if (pattern instanceof AndPattern) {
+			for (SearchPattern p : ((AndPattern) pattern).patterns) {
+				if (!canLocateInParallel(p))
+					return false;
+			}
+			return true;
+		}
+		// the declaration patterns remember the declarations already reported during the whole search,
+		// and the bindings of module declarations are collected from the locator
+		return !(pattern instanceof DeclarationOfAccessedFieldsPattern
+				|| pattern instanceof DeclarationOfReferencedMethodsPattern
+				|| pattern instanceof DeclarationOfReferencedTypesPattern
+				|| pattern instanceof ModulePattern);
+	}
+
+	/**
+	 * Submits the given chunk of possible matches, then reports the matches of the chunks that are done.
+	 * Waits for the oldest chunk if there are too many chunks in progress, so that the parsed units of at
+	 * most a few chunks per thread are in memory.
+	 */
+	void submit(JavaProject javaProject, PossibleMatch[] possibleMatches, int start, int length) throws CoreException {
+		Future<MatchBuffer> result = this.executor.submit(() -> locateMatches(javaProject, possibleMatches, start, length));
+		this.chunks.add(new Chunk(result, length));
+		while (!this.chunks.isEmpty() && (this.chunks.size() > 2 * this.threads || this.chunks.peek().result.isDone()))
+			reportMatches(this.chunks.poll());
+	}
+
+	/**
+	 * Reports the matches of all the submitted chunks.
+	 */
+	void finish() throws CoreException {
+		while (!this.chunks.isEmpty())
+			reportMatches(this.chunks.poll());
+	}
+
+	/**
+	 * Stops the threads, cancelling the chunks that were not reported.
+	 */
+	void shutdown() {
+		for (Chunk chunk : this.chunks)
+			chunk.result.cancel(false);
+		this.chunks.clear();
+		this.executor.shutdown();
+	}
+
+	private void reportMatches(Chunk chunk) throws CoreException {
+		MatchBuffer buffer;
+		try {
+			buffer = chunk.result.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (CancellationException e) {
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof CoreException)
+				throw (CoreException) cause;
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new IllegalStateException(cause);
+		}
+		// the matches were already filtered and traced by the worker
+		for (SearchMatch match : buffer.matches)
+			this.locator.requestor.acceptSearchMatch(match);
+		IProgressMonitor monitor = this.locator.progressMonitor;
+		if (monitor != null) {
+			for (int i = 0; i < chunk.length; i++) {
+				this.locator.progressWorked++;
+				if ((this.locator.progressWorked%this.locator.progressStep)==0) monitor.worked(this.locator.progressStep);
+			}
+		}
+	}
+
+	/*
+	 * Runs in a thread of the executor.
+	 */
+	private MatchBuffer locateMatches(JavaProject javaProject, PossibleMatch[] possibleMatches, int start, int length) throws CoreException {
+		MatchBuffer buffer = new MatchBuffer();
+		MatchLocator worker = this.idleWorkers.poll();
+		if (worker == null)
+			worker = newWorker();
+		JavaModelManager manager = JavaModelManager.getJavaModelManager();
+		try {
+			// optimize access to zip files while this thread locates the matches of the chunk
+			manager.cacheZipFiles(worker);
+			worker.requestor = buffer;
+			try {
+				worker.locateMatchesDefaultImpl(javaProject, possibleMatches, start, length);
+			} catch (JavaModelException e) {
+				// problem with classpath in this project -> skip the chunk
+			}
+		} finally {
+			worker.patternLocator.clear();
+			worker.requestor = null;
+			if (worker.nameEnvironment != null) {
+				worker.nameEnvironment.cleanup();
+				worker.nameEnvironment = null;
+			}
+			worker.unitScope = null;
+			manager.flushZipFiles(worker);
+			this.idleWorkers.add(worker);
+		}
+		return buffer;
+	}
+
+	private MatchLocator newWorker() {
+		MatchLocator main = this.locator;
+		IProgressMonitor mainMonitor = main.progressMonitor;
+		// workers only check for cancellation, the progress is reported as the matches of the chunks are reported
+		IProgressMonitor monitor = new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				return mainMonitor != null && mainMonitor.isCanceled();
+			}
+		};
+		MatchLocator worker = new MatchLocator(main.pattern, null, main.scope, monitor);
+		worker.workingCopies = main.workingCopies;
+		worker.handleFactory = new HandleFactory();
+		worker.progressStep = 1;
+		worker.patternLocator.initializePolymorphicSearch(worker);
+		return worker;
+	}
+}
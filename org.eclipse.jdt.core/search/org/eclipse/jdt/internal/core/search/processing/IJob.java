@@ -58,4 +58,15 @@ public interface IJob {
 	public default boolean waitNeeded() {
 		return false;
 	}
+
+	/**
+	 * Answers whether this job may be executed concurrently with the other jobs that can, as long as they don't
+	 * belong to the same family. Such a job must only update the index of its own container, so that the jobs of
+	 * an index are still executed in the order they were requested. Default implementation returns {@code false}.
+	 *
+	 * @return true if the job manager may execute this job on one of its workers
+	 */
+	public default boolean canRunConcurrently() {
+		return false;
+	}
 }
@@ -15,10 +15,19 @@ package org.eclipse.jdt.internal.core.search.processing;
 
 import static org.eclipse.jdt.internal.core.JavaModelManager.trace;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -28,6 +37,7 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.internal.core.JavaModelManager;
+import org.eclipse.jdt.internal.core.index.IndexMetricsRecorder;
 import org.eclipse.jdt.internal.core.util.Messages;
 import org.eclipse.jdt.internal.core.util.Util;
 
@@ -40,7 +50,32 @@ public abstract class JobManager {
 	 */
 	private final List<IJob> awaitingJobs = new LinkedList<>();
 
-	private volatile boolean executing;
+	/**
+	 * jobs being executed, either by the processing thread or by the workers
+	 * <br>
+	 * synchronized by JobManager.this
+	 */
+	private final Set<IJob> runningJobs = Collections.newSetFromMap(new IdentityHashMap<>());
+
+	/**
+	 * times at which the awaiting jobs were requested, see {@link System#nanoTime()}
+	 * <br>
+	 * synchronized by JobManager.this
+	 */
+	private final Map<IJob, Long> requestTimes = new IdentityHashMap<>();
+
+	/**
+	 * threads executing the jobs which can run concurrently, created on demand
+	 * <br>
+	 * synchronized by JobManager.this
+	 */
+	private ThreadPoolExecutor workers;
+
+	/**
+	 * Maximum number of jobs executed at the same time, see {@link IJob#canRunConcurrently()}.
+	 */
+	public static final int MAX_CONCURRENT_JOBS = Integer.getInteger("org.eclipse.jdt.core.indexer.threads", //$NON-NLS-1$
+			Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2)));
 
 	/**
 	 * background processing
@@ -142,20 +177,26 @@ public abstract class JobManager {
 
 		try {
 			IJob currentJob;
-			// cancel current job if it belongs to the given family
+			List<IJob> currentJobs;
+			// cancel current jobs if they belong to the given family
 			synchronized(this){
 				currentJob = currentJob();
+				currentJobs = new ArrayList<>(this.runningJobs);
+				if (currentJob != null && !this.runningJobs.contains(currentJob))
+					currentJobs.add(currentJob);
 				disable();
 			}
-			if (currentJob != null && (jobFamily == null || currentJob.belongsTo(jobFamily))) {
-				currentJob.cancel();
+			currentJobs.removeIf(job -> jobFamily != null && !job.belongsTo(jobFamily));
+			if (!currentJobs.isEmpty()) {
+				for (IJob job : currentJobs)
+					job.cancel();
 
 				synchronized (this) {
-					// wait until current active job has finished
-					while (getProcessingThread() != null && this.executing){
+					// wait until current active jobs have finished
+					while (getProcessingThread() != null && currentJobs.stream().anyMatch(this.runningJobs::contains)){
 						try {
 							if (VERBOSE) {
-								trace("-> waiting end of current background job - " + currentJob); //$NON-NLS-1$
+								trace("-> waiting end of current background jobs - " + currentJobs); //$NON-NLS-1$
 							}
 							this.wait(50);
 						} catch(InterruptedException e){
@@ -176,6 +217,7 @@ public abstract class JobManager {
 						}
 						currentJob.cancel();
 						it.remove();
+						this.requestTimes.remove(currentJob);
 						notify = true;
 					}
 				}
@@ -218,6 +260,10 @@ public abstract class JobManager {
 			if(job == first) {
 				break;
 			}
+			// neither jobs which are executed concurrently
+			if (this.runningJobs.contains(job)) {
+				continue;
+			}
 			if (request.test(job)) {
 				return true;
 			}
@@ -233,13 +279,40 @@ public abstract class JobManager {
 		//if (!enabled) return;
 
 		if (!this.awaitingJobs.isEmpty()) {
-			this.awaitingJobs.remove(0);
-			if (awaitingJobsCount() == 0) {
-				synchronized (this) {
-					this.notifyAll();
-				}
+			finishJob(this.awaitingJobs.get(0));
+		}
+	}
+	/**
+	 * Remove the given job from the queue once it has been completed. Jobs executed concurrently
+	 * are not necessarily the first one of the queue.
+	 * Note: clients awaiting until the job count is zero are still waiting at this point.
+	 */
+	protected synchronized void finishJob(IJob job) {
+		this.runningJobs.remove(job);
+		this.requestTimes.remove(job);
+		for (Iterator<IJob> it = this.awaitingJobs.iterator(); it.hasNext();) {
+			if (it.next() == job) {
+				it.remove();
+				break;
 			}
 		}
+		// wake up clients awaiting until the job count is zero, or the processing thread dispatching concurrent jobs
+		notifyAll();
+	}
+	/**
+	 * Mark the given job as running, and record how long it waited in the queue.
+	 */
+	private synchronized void startJob(IJob job) {
+		this.runningJobs.add(job);
+		Long requestTime = this.requestTimes.remove(job);
+		if (requestTime != null)
+			IndexMetricsRecorder.jobStarted(job.getJobFamily(), System.nanoTime() - requestTime.longValue());
+	}
+	/**
+	 * Answers the maximum number of jobs that may be executed at the same time.
+	 */
+	protected int getMaxConcurrentJobs() {
+		return MAX_CONCURRENT_JOBS;
 	}
 	/**
 	 * When idle, give chance to do something
@@ -300,6 +373,7 @@ public abstract class JobManager {
 						throw new OperationCanceledException();
 
 					case IJob.WaitUntilReady :
+						long waitStart = System.nanoTime();
 						int totalWork = 1000;
 						SubMonitor waitMonitor = subMonitor.setWorkRemaining(10).split(8).setWorkRemaining(totalWork);
 						// use local variable to avoid potential NPE (see bug 20435 NPE when searching java method
@@ -377,6 +451,7 @@ public abstract class JobManager {
 							this.awaitingClients.decrementAndGet();
 							if (t != null && originalPriority > -1 && t.isAlive())
 								t.setPriority(originalPriority);
+							IndexMetricsRecorder.waitedUntilReady(searchJob.toString(), System.nanoTime() - waitStart);
 						}
 				}
 			}
@@ -409,6 +484,8 @@ public abstract class JobManager {
 		job.ensureReadyToRun();
 		// append the job to the list of ones to process later on
 		this.awaitingJobs.add(job);
+		this.requestTimes.put(job, Long.valueOf(System.nanoTime()));
+		IndexMetricsRecorder.jobRequested(this.awaitingJobs.size());
 		if (VERBOSE) {
 			trace("REQUEST   background job - " + job); //$NON-NLS-1$
 			trace("AWAITING JOBS count: " + awaitingJobsCount()); //$NON-NLS-1$
@@ -525,8 +602,8 @@ public abstract class JobManager {
 						trace(awaitingJobsCount() + " awaiting jobs"); //$NON-NLS-1$
 						trace("STARTING background job - " + job); //$NON-NLS-1$
 					}
+					boolean concurrent = job.canRunConcurrently() && getMaxConcurrentJobs() > 1;
 					try {
-						this.executing = true;
 						if (this.progressJob == null) {
 							ProgressJob pJob = new ProgressJob(Messages.bind(Messages.jobmanager_indexing, "", "")); //$NON-NLS-1$ //$NON-NLS-2$
 							pJob.setPriority(Job.LONG);
@@ -538,13 +615,19 @@ public abstract class JobManager {
 							JavaModelManager.getJavaModelManager().cacheZipFiles(this);
 							cacheZipFiles = true;
 						}
-						job.execute(null); // may enqueue a new job
+						if (concurrent) {
+							executeConcurrentJobs();
+						} else {
+							startJob(job);
+							job.execute(null); // may enqueue a new job
+						}
 					} finally {
-						this.executing = false;
 						if (VERBOSE) {
 							trace("FINISHED background job - " + job); //$NON-NLS-1$
 						}
-						moveToNextJob();
+						if (!concurrent) {
+							moveToNextJob();
+						}
 						if (this.awaitingClients.get() == 0 && job.waitNeeded()) {
 							if (VERBOSE) {
 								trace("WAITING after job - " + job); //$NON-NLS-1$
@@ -577,6 +660,84 @@ public abstract class JobManager {
 			}
 		}
 	}
+	/**
+	 * Execute the jobs at the start of the queue which can run concurrently with the workers, and return
+	 * once all of them have completed. At most one job of a given family is executed at a time, and the jobs
+	 * which cannot run concurrently are not started before, so that jobs on the same index remain ordered.
+	 */
+	private synchronized void executeConcurrentJobs() throws InterruptedException {
+		int maxConcurrentJobs = getMaxConcurrentJobs();
+		while (true) {
+			IJob job = null;
+			if (this.enableCount > 0 && this.processingThread != null && this.runningJobs.size() < maxConcurrentJobs)
+				job = nextConcurrentJob();
+			if (job != null) {
+				startJob(job);
+				if (this.workers == null) {
+					AtomicInteger workerCount = new AtomicInteger();
+					this.workers = new ThreadPoolExecutor(maxConcurrentJobs, maxConcurrentJobs, 5, TimeUnit.SECONDS,
+							new LinkedBlockingQueue<>(), runnable -> {
+								Thread t = new Thread(runnable, processName() + " #" + workerCount.incrementAndGet()); //$NON-NLS-1$
+								t.setDaemon(true);
+								t.setPriority(Thread.NORM_PRIORITY-1);
+								t.setContextClassLoader(this.getClass().getClassLoader());
+								return t;
+							});
+					this.workers.allowCoreThreadTimeOut(true);
+				}
+				IJob concurrentJob = job;
+				this.workers.execute(() -> executeConcurrentJob(concurrentJob));
+			} else if (this.runningJobs.isEmpty()) {
+				return;
+			} else {
+				wait(); // until a job completes, a new job is posted or disabled indexer is enabled again
+			}
+		}
+	}
+	/**
+	 * Answer the first job of the queue which can be started concurrently with the running ones, or null if
+	 * a job which cannot run concurrently must be executed first.
+	 */
+	private IJob nextConcurrentJob() {
+		Set<String> families = new HashSet<>();
+		for (IJob job : this.runningJobs)
+			families.add(job.getJobFamily());
+		for (IJob job : this.awaitingJobs) {
+			if (!job.canRunConcurrently())
+				return null;
+			// a job waits for the previous jobs of its family
+			if (!this.runningJobs.contains(job) && families.add(job.getJobFamily()))
+				return job;
+		}
+		return null;
+	}
+	private void executeConcurrentJob(IJob job) {
+		// workers are less prioritary by default, unless clients are actively waiting on them
+		Thread.currentThread().setPriority(this.awaitingClients.get() > 0 ? Thread.NORM_PRIORITY : Thread.NORM_PRIORITY-1);
+		JavaModelManager.getJavaModelManager().cacheZipFiles(this);
+		try {
+			if (VERBOSE) {
+				trace("STARTING concurrent background job - " + job); //$NON-NLS-1$
+			}
+			job.execute(null); // may enqueue a new job
+			if (this.awaitingClients.get() == 0 && job.waitNeeded()) {
+				synchronized (this.idleMonitor) {
+					this.idleMonitor.wait(5); // avoid sleep fixed time
+				}
+			}
+		} catch (InterruptedException e) {
+			// background indexing was interrupted
+		} catch (RuntimeException|Error e) {
+			// keep the other jobs going, the index of this job may be inconsistent
+			Util.log(e, "Background Indexer Crash Recovery"); //$NON-NLS-1$
+		} finally {
+			JavaModelManager.getJavaModelManager().flushZipFiles(this);
+			if (VERBOSE) {
+				trace("FINISHED concurrent background job - " + job); //$NON-NLS-1$
+			}
+			finishJob(job);
+		}
+	}
 	/**
 	 * Stop background processing, and wait until the current job is completed before returning
 	 */
@@ -601,6 +762,14 @@ public abstract class JobManager {
 				// in case processing thread is handling a job
 				thread.join();
 			}
+			ThreadPoolExecutor executor;
+			synchronized (this) {
+				executor = this.workers;
+				this.workers = null;
+			}
+			if (executor != null) {
+				executor.shutdown();
+			}
 			Job job = this.progressJob;
 			if (job != null) {
 				job.cancel();